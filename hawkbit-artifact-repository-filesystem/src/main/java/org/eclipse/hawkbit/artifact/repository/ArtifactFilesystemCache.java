@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.CachedDbArtifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Size-bounded cache of small artifact binaries in direct {@link ByteBuffer}s,
+ * so frequently downloaded artifacts are served without opening their files.
+ *
+ * An artifact is admitted after it has been requested
+ * {@link ArtifactFilesystemProperties.Cache#getAdmissionThreshold()} times.
+ * Once the cache is full the artifacts are evicted by their request frequency
+ * and recency (W-TinyLFU).
+ * The memory of an evicted buffer is released by the garbage collector, so the
+ * JVM option <code>-XX:MaxDirectMemorySize</code> has to leave room for it.
+ */
+public class ArtifactFilesystemCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactFilesystemCache.class);
+
+    private final long maxArtifactSize;
+    private final int admissionThreshold;
+
+    private final Cache<String, CachedDbArtifact> artifacts;
+    private final Cache<String, AtomicInteger> requests;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong hitBytes = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param properties
+     *            of the cache
+     */
+    public ArtifactFilesystemCache(final ArtifactFilesystemProperties.Cache properties) {
+        this.maxArtifactSize = Math.min(properties.getMaxArtifactSize(), Integer.MAX_VALUE);
+        this.admissionThreshold = properties.getAdmissionThreshold();
+        this.artifacts = Caffeine.newBuilder().maximumWeight(properties.getMaxSize())
+                .<String, CachedDbArtifact> weigher((key, artifact) -> (int) artifact.getSize())
+                .expireAfterAccess(properties.getTimeToIdle(), TimeUnit.MILLISECONDS).build();
+        this.requests = Caffeine.newBuilder().maximumSize(properties.getMaxTrackedArtifacts())
+                .expireAfterAccess(properties.getTimeToIdle(), TimeUnit.MILLISECONDS).build();
+    }
+
+    /**
+     * Returns the cached binary of the given artifact without accessing the
+     * file-system. A cached binary is removed by {@link #invalidate(String)}
+     * and {@link #invalidate(String, String)} when its file is deleted.
+     *
+     * @param tenant
+     *            of the artifact
+     * @param sha1
+     *            of the artifact
+     * @return the cached artifact or <code>null</code> if it is not cached
+     */
+    AbstractDbArtifact getIfPresent(final String tenant, final String sha1) {
+        final CachedDbArtifact cached = artifacts.getIfPresent(key(tenant, sha1));
+        if (cached != null) {
+            hits.incrementAndGet();
+            hitBytes.addAndGet(cached.getSize());
+        }
+        return cached;
+    }
+
+    /**
+     * Counts the request of an artifact that is not cached and loads its
+     * binary if it is admitted.
+     *
+     * @param tenant
+     *            of the artifact
+     * @param artifact
+     *            stored in the file-system
+     * @param file
+     *            of the artifact
+     * @return the cached artifact or the given one if it is not admitted
+     */
+    AbstractDbArtifact admit(final String tenant, final AbstractDbArtifact artifact, final File file) {
+        final String key = key(tenant, artifact.getHashes().getSha1());
+        misses.incrementAndGet();
+        if (artifact.getSize() <= 0 || artifact.getSize() > maxArtifactSize
+                || requests.get(key, k -> new AtomicInteger()).incrementAndGet() < admissionThreshold) {
+            return artifact;
+        }
+
+        final CachedDbArtifact loaded = artifacts.get(key, k -> load(artifact, file));
+        if (loaded == null) {
+            return artifact;
+        }
+        requests.invalidate(key);
+        return loaded;
+    }
+
+    private static CachedDbArtifact load(final AbstractDbArtifact artifact, final File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer content = ByteBuffer.allocateDirect((int) channel.size());
+            while (content.hasRemaining() && channel.read(content) >= 0) {
+                // read until the buffer is filled
+            }
+            content.flip();
+            return new CachedDbArtifact(artifact.getArtifactId(), artifact.getHashes(), content,
+                    artifact.getContentType());
+        } catch (final IOException | OutOfMemoryError e) {
+            LOG.warn("Cannot cache artifact {}: {}", artifact.getHashes().getSha1(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Removes the artifact of the given tenant from the cache.
+     *
+     * @param tenant
+     *            of the artifact
+     * @param sha1
+     *            of the artifact
+     */
+    void invalidate(final String tenant, final String sha1) {
+        final String key = key(tenant, sha1);
+        artifacts.invalidate(key);
+        requests.invalidate(key);
+    }
+
+    /**
+     * Removes all artifacts of the given tenant from the cache.
+     *
+     * @param tenant
+     *            of the artifacts
+     */
+    void invalidate(final String tenant) {
+        final String prefix = key(tenant, "");
+        artifacts.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        requests.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private static String key(final String tenant, final String sha1) {
+        return tenant + "/" + sha1;
+    }
+
+    /**
+     * @return number of requests served by the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of requests of artifacts that were not cached
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of bytes of the artifacts served by the cache
+     */
+    public long getHitBytes() {
+        return hitBytes.get();
+    }
+
+    /**
+     * @return number of cached artifacts
+     */
+    public long getCachedArtifacts() {
+        return artifacts.estimatedSize();
+    }
+
+    /**
+     * @return number of bytes held by the cached artifacts
+     */
+    public long getCachedBytes() {
+        return artifacts.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+}
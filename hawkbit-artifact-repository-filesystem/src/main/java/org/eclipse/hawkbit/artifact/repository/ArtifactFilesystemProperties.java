@@ -8,6 +8,8 @@
  */
 package org.eclipse.hawkbit.artifact.repository;
 
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -22,6 +24,17 @@ public class ArtifactFilesystemProperties {
      */
     private String path = "./artifactrepo";
 
+    /**
+     * Store every binary only once for all tenants in a shared
+     * content-addressed directory below the base-path. The tenants reference
+     * the shared binary by a hard link, which is removed on deletion. The
+     * shared binary is removed with its last reference, which requires a
+     * file-system that provides the link count of the files (unix).
+     */
+    private boolean deduplicate;
+
+    private final Cache cache = new Cache();
+
     public String getPath() {
         return path;
     }
@@ -29,4 +42,104 @@ public class ArtifactFilesystemProperties {
     public void setPath(final String path) {
         this.path = path;
     }
+
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    public void setDeduplicate(final boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * Configuration of the off-heap cache of small, frequently downloaded
+     * artifacts.
+     */
+    public static class Cache {
+
+        /**
+         * Serve frequently downloaded artifacts from memory.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum size of all cached artifacts in bytes. The cache is held in
+         * direct memory.
+         */
+        private long maxSize = 256L * 1024 * 1024;
+
+        /**
+         * Maximum size of a cached artifact in bytes.
+         */
+        private long maxArtifactSize = 32L * 1024 * 1024;
+
+        /**
+         * Number of requests of an artifact until it is cached.
+         */
+        private int admissionThreshold = 2;
+
+        /**
+         * Maximum number of not yet cached artifacts whose requests are
+         * counted.
+         */
+        private long maxTrackedArtifacts = 10_000;
+
+        /**
+         * Time in milliseconds after which an artifact that is not requested
+         * anymore is removed from the cache.
+         */
+        private long timeToIdle = TimeUnit.MINUTES.toMillis(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(final long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getMaxArtifactSize() {
+            return maxArtifactSize;
+        }
+
+        public void setMaxArtifactSize(final long maxArtifactSize) {
+            this.maxArtifactSize = maxArtifactSize;
+        }
+
+        public int getAdmissionThreshold() {
+            return admissionThreshold;
+        }
+
+        public void setAdmissionThreshold(final int admissionThreshold) {
+            this.admissionThreshold = admissionThreshold;
+        }
+
+        public long getMaxTrackedArtifacts() {
+            return maxTrackedArtifacts;
+        }
+
+        public void setMaxTrackedArtifacts(final long maxTrackedArtifacts) {
+            this.maxTrackedArtifacts = maxTrackedArtifacts;
+        }
+
+        public long getTimeToIdle() {
+            return timeToIdle;
+        }
+
+        public void setTimeToIdle(final long timeToIdle) {
+            this.timeToIdle = timeToIdle;
+        }
+    }
 }
@@ -10,13 +10,25 @@ package org.eclipse.hawkbit.artifact.repository;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.validation.annotation.Validated;
 
 import com.google.common.base.Splitter;
@@ -26,43 +38,109 @@ import com.google.common.io.Files;
  * Implementation of the {@link ArtifactRepository} to store artifacts on the
  * file-system. The files are stored by their SHA1 hash of the artifact binary.
  * Duplicate files with the same SHA1 hash will only stored once.
- * 
+ *
  * All files are stored flat in one base directory configured in the
  * {@link ArtifactFilesystemProperties#getPath()}.
- * 
+ *
  * Due the limit of many file-systems of files within one directory, the files
  * are stored in different sub-directories based on the last four digits of the
  * SHA1-hash {@code (/basepath/[two digit sha1]/[two digit sha1])}.
+ *
+ * With {@link ArtifactFilesystemProperties#isDeduplicate()} the binaries are
+ * stored once for all tenants in the {@value #SHARED_DIRECTORY} directory of
+ * the base directory. The file of the tenant is a hard link to the shared
+ * binary, so the tenants are still isolated by their directories while they
+ * share the disk space and the page cache of the binary. The references of a
+ * shared binary are counted by the file-system as the link count of the file,
+ * so it is deleted as soon as it is not linked by any tenant anymore. The
+ * deduplication is disabled if the file-system does not provide the link
+ * count.
  */
 @Validated
 public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactFilesystemRepository.class);
+
+    /**
+     * Directory of the shared binaries. It is lower case and does never clash
+     * with a (upper case) tenant directory.
+     */
+    static final String SHARED_DIRECTORY = ".shared";
+
+    private static final String LINK_COUNT_ATTRIBUTE = "unix:nlink";
+
     private final ArtifactFilesystemProperties artifactResourceProperties;
 
+    private final boolean deduplicate;
+
+    private final ArtifactFilesystemCache cache;
+
     /**
      * Constructor.
-     * 
+     *
      * @param artifactResourceProperties
      *            the properties which holds the necessary configuration for the
      *            file-system repository
      */
     public ArtifactFilesystemRepository(final ArtifactFilesystemProperties artifactResourceProperties) {
         this.artifactResourceProperties = artifactResourceProperties;
+        this.deduplicate = artifactResourceProperties.isDeduplicate() && isLinkCountSupported();
+        this.cache = artifactResourceProperties.getCache().isEnabled()
+                ? new ArtifactFilesystemCache(artifactResourceProperties.getCache())
+                : null;
+    }
+
+    private static boolean isLinkCountSupported() {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("unix")) {
+            return true;
+        }
+        LOG.warn("The file-system does not provide the link count of files, the artifacts are not deduplicated.");
+        return false;
+    }
+
+    /**
+     * @return the cache of frequently downloaded artifacts or
+     *         <code>null</code> if it is disabled
+     */
+    public ArtifactFilesystemCache getCache() {
+        return cache;
     }
 
     @Override
     public void deleteBySha1(final String tenant, final String sha1Hash) {
-        FileUtils.deleteQuietly(getFile(tenant, sha1Hash));
+        if (cache != null) {
+            cache.invalidate(sanitizeTenant(tenant), sha1Hash);
+        }
+
+        final Lock lock = getLock(sha1Hash);
+        lock.lock();
+        try {
+            FileUtils.deleteQuietly(getFile(tenant, sha1Hash));
+            if (deduplicate) {
+                deleteSharedFileIfUnreferenced(getSharedFile(sha1Hash));
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
-    public ArtifactFilesystem getArtifactBySha1(final String tenant, final String sha1) {
+    public AbstractDbArtifact getArtifactBySha1(final String tenant, final String sha1) {
+        if (cache != null) {
+            final AbstractDbArtifact cached = cache.getIfPresent(sanitizeTenant(tenant), sha1);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         final File file = getFile(tenant, sha1);
         if (!file.exists()) {
             return null;
         }
 
-        return new ArtifactFilesystem(file, sha1, new DbArtifactHash(sha1, null, null), file.length(), null);
+        final ArtifactFilesystem artifact = new ArtifactFilesystem(file, sha1, new DbArtifactHash(sha1, null, null),
+                file.length(), null);
+        return cache != null ? cache.admit(sanitizeTenant(tenant), artifact, file) : artifact;
     }
 
     @Override
@@ -74,38 +152,263 @@ public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
 
     private ArtifactFilesystem renameFileToSHA1Naming(final String tenant, final File file,
             final AbstractDbArtifact artifact) throws IOException {
-        final File fileSHA1Naming = getFile(tenant, artifact.getHashes().getSha1());
-        if (fileSHA1Naming.exists()) {
-            FileUtils.deleteQuietly(file);
-        } else {
-            Files.move(file, fileSHA1Naming);
+        final String sha1 = artifact.getHashes().getSha1();
+        final File fileSHA1Naming = getFile(tenant, sha1);
+        final Lock lock = getLock(sha1);
+        lock.lock();
+        try {
+            if (fileSHA1Naming.exists()) {
+                FileUtils.deleteQuietly(file);
+                touch(fileSHA1Naming);
+            } else if (deduplicate) {
+                linkSharedFile(file, fileSHA1Naming, sha1);
+            } else {
+                Files.move(file, fileSHA1Naming);
+            }
+        } finally {
+            lock.unlock();
         }
 
         return new ArtifactFilesystem(fileSHA1Naming, artifact.getArtifactId(), artifact.getHashes(),
                 artifact.getSize(), artifact.getContentType());
     }
 
+    private void linkSharedFile(final File file, final File fileSHA1Naming, final String sha1) throws IOException {
+        final File sharedFile = getSharedFile(sha1);
+        if (sharedFile.exists()) {
+            FileUtils.deleteQuietly(file);
+        } else {
+            Files.move(file, sharedFile);
+        }
+
+        link(sharedFile.toPath(), fileSHA1Naming.toPath(), sha1);
+        touch(fileSHA1Naming);
+        // in case the tenant got a copy
+        deleteSharedFileIfUnreferenced(sharedFile);
+    }
+
+    private static void link(final Path sharedFile, final Path link, final String sha1) throws IOException {
+        try {
+            java.nio.file.Files.createLink(link, sharedFile);
+        } catch (final FileAlreadyExistsException e) {
+            // stored by a concurrent upload of the same binary
+            LOG.debug("Artifact {} of the tenant exists already", sha1);
+        } catch (final UnsupportedOperationException e) {
+            LOG.warn("Cannot link shared artifact {}, the tenant gets a copy instead: {}", sha1, e.getMessage());
+            java.nio.file.Files.copy(sharedFile, link, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final FileSystemException e) {
+            if (java.nio.file.Files.getFileStore(sharedFile)
+                    .equals(java.nio.file.Files.getFileStore(link.getParent()))) {
+                throw e;
+            }
+            LOG.warn("Cannot link shared artifact {} across file-systems, the tenant gets a copy instead", sha1);
+            java.nio.file.Files.copy(sharedFile, link, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * The last modified time of a file is the time it was stored the last
+     * time. A reused or linked binary would keep the time of the original
+     * otherwise, see {@link #getStoredAt(String, String)}.
+     *
+     * With {@link ArtifactFilesystemProperties#isDeduplicate()} the time
+     * belongs to the shared binary, i.e. it is the time the binary was stored
+     * the last time by any tenant.
+     */
+    private static void touch(final File file) {
+        if (!file.setLastModified(System.currentTimeMillis())) {
+            LOG.debug("Cannot update the last modified time of {}", file);
+        }
+    }
+
+    private static void deleteSharedFileIfUnreferenced(final File sharedFile) {
+        try {
+            if (getLinkCount(sharedFile) == 1) {
+                FileUtils.deleteQuietly(sharedFile);
+            }
+        } catch (final IOException e) {
+            LOG.warn("Cannot read the link count of the shared artifact {}, it is kept", sharedFile, e);
+        }
+    }
+
+    /**
+     * @return the number of directory entries of the file, i.e. one for the
+     *         shared binary itself plus one per tenant that references it, or
+     *         <code>0</code> if the file does not exist
+     */
+    private static int getLinkCount(final File file) throws IOException {
+        try {
+            return (Integer) java.nio.file.Files.getAttribute(file.toPath(), LINK_COUNT_ATTRIBUTE);
+        } catch (final NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Retrieves the storage usage of a tenant. The logical size is the size of
+     * all binaries of the tenant. The shared size is the part of it that is
+     * stored only once together with other tenants due to
+     * {@link ArtifactFilesystemProperties#isDeduplicate()}.
+     *
+     * @param tenant
+     *            the tenant to retrieve the usage for
+     * @return the storage usage of the tenant
+     */
+    public StorageUsage getStorageUsage(final String tenant) {
+        final File tenantDirectory = Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant)).toFile();
+        if (!tenantDirectory.isDirectory()) {
+            return new StorageUsage(0, 0, 0);
+        }
+
+        final Collection<File> files = FileUtils.listFiles(tenantDirectory, TrueFileFilter.INSTANCE,
+                TrueFileFilter.INSTANCE);
+        long logicalSize = 0;
+        long sharedSize = 0;
+        for (final File file : files) {
+            logicalSize += file.length();
+            if (deduplicate && isSharedWithOtherTenant(file)) {
+                sharedSize += file.length();
+            }
+        }
+        return new StorageUsage(files.size(), logicalSize, sharedSize);
+    }
+
+    private static boolean isSharedWithOtherTenant(final File file) {
+        try {
+            // the shared binary, the file itself and at least one other tenant
+            return getLinkCount(file) > 2;
+        } catch (final IOException e) {
+            LOG.debug("Cannot read the link count of {}", file, e);
+            return false;
+        }
+    }
+
     private File getFile(final String tenant, final String sha1) {
         final File aritfactDirectory = getSha1DirectoryPath(tenant, sha1).toFile();
         aritfactDirectory.mkdirs();
         return new File(aritfactDirectory, sha1);
     }
 
+    private File getSharedFile(final String sha1) {
+        final File sharedDirectory = getSha1DirectoryPath(SHARED_DIRECTORY, sha1).toFile();
+        sharedDirectory.mkdirs();
+        return new File(sharedDirectory, sha1);
+    }
+
     private Path getSha1DirectoryPath(final String tenant, final String sha1) {
         final int length = sha1.length();
         final List<String> folders = Splitter.fixedLength(2).splitToList(sha1.substring(length - 4, length));
         final String folder1 = folders.get(0);
         final String folder2 = folders.get(1);
-        return Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant), folder1, folder2);
+        final String directory = SHARED_DIRECTORY.equals(tenant) ? tenant : sanitizeTenant(tenant);
+        return Paths.get(artifactResourceProperties.getPath(), directory, folder1, folder2);
     }
 
     @Override
     public void deleteByTenant(final String tenant) {
-        FileUtils.deleteQuietly(Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant)).toFile());
+        if (cache != null) {
+            cache.invalidate(sanitizeTenant(tenant));
+        }
+
+        final File tenantDirectory = Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant)).toFile();
+        if (deduplicate && tenantDirectory.isDirectory()) {
+            FileUtils.listFiles(tenantDirectory, TrueFileFilter.INSTANCE, TrueFileFilter.INSTANCE)
+                    .forEach(file -> deleteBySha1(tenant, file.getName()));
+        }
+        FileUtils.deleteQuietly(tenantDirectory);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * With {@link ArtifactFilesystemProperties#isDeduplicate()} the time a
+     * shared binary was stored is the same for all tenants, see
+     * {@link #getStoredAt(String, String)}.
+     */
+    @Override
+    public List<String> findSha1ByTenantAndStoredBefore(final String tenant, final long timestamp) {
+        final File tenantDirectory = Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant)).toFile();
+        if (!tenantDirectory.isDirectory()) {
+            return Collections.emptyList();
+        }
+
+        return FileUtils.listFiles(tenantDirectory, TrueFileFilter.INSTANCE, TrueFileFilter.INSTANCE).stream()
+                .filter(file -> file.lastModified() < timestamp).map(File::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * With {@link ArtifactFilesystemProperties#isDeduplicate()} the hard links
+     * of all tenants share the last modified time of the binary, so the
+     * returned time is the time the binary was stored the last time by any
+     * tenant. It is never before the time the given tenant stored it. A
+     * garbage collector that compares it to the time the binary became
+     * unreferenced for the tenant therefore keeps a binary that another tenant
+     * stored in the meantime, and collects it only once no tenant has stored
+     * it for its grace period. The binary of the tenant is never collected too
+     * early.
+     */
+    @Override
+    public long getStoredAt(final String tenant, final String sha1Hash) {
+        return getFile(tenant, sha1Hash).lastModified();
+    }
+
+    @Override
+    public void refreshBySha1(final String tenant, final String sha1Hash) {
+        final File file = getFile(tenant, sha1Hash);
+        if (file.exists()) {
+            touch(file);
+        }
     }
 
     @Override
     public boolean existsByTenantAndSha1(final String tenant, final String sha1) {
         return getFile(tenant, sha1).exists();
     }
+
+    /**
+     * Storage usage of a tenant in the file-system repository.
+     */
+    public static final class StorageUsage {
+        private final long artifacts;
+        private final long logicalSize;
+        private final long sharedSize;
+
+        StorageUsage(final long artifacts, final long logicalSize, final long sharedSize) {
+            this.artifacts = artifacts;
+            this.logicalSize = logicalSize;
+            this.sharedSize = sharedSize;
+        }
+
+        /**
+         * @return number of binaries of the tenant
+         */
+        public long getArtifacts() {
+            return artifacts;
+        }
+
+        /**
+         * @return size of all binaries of the tenant in bytes
+         */
+        public long getLogicalSize() {
+            return logicalSize;
+        }
+
+        /**
+         * @return size of the binaries in bytes that are shared with other
+         *         tenants
+         */
+        public long getSharedSize() {
+            return sharedSize;
+        }
+
+        /**
+         * @return size of the binaries in bytes that are used by the tenant
+         *         only
+         */
+        public long getExclusiveSize() {
+            return logicalSize - sharedSize;
+        }
+    }
 }
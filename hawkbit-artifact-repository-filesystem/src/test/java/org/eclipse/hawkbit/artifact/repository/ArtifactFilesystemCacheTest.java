@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.CachedDbArtifact;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.io.Files;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Artifact File System Repository")
+@Story("Test caching artifact binaries in memory")
+public class ArtifactFilesystemCacheTest {
+
+    private static final String TENANT = "test_tenant";
+
+    private ArtifactFilesystemProperties properties;
+
+    private ArtifactFilesystemRepository repository;
+
+    @Before
+    public void setup() {
+        properties = new ArtifactFilesystemProperties();
+        properties.setPath(Files.createTempDir().getAbsolutePath());
+        properties.getCache().setEnabled(true);
+        properties.getCache().setAdmissionThreshold(2);
+        properties.getCache().setMaxArtifactSize(1024);
+
+        repository = new ArtifactFilesystemRepository(properties);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        FileUtils.deleteDirectory(new File(properties.getPath()));
+    }
+
+    @Test
+    @Description("Verfies that an artifact is cached after it has been requested as often as the admission "
+            + "threshold and that the cached content and ranges equal the stored binary")
+    public void artifactIsCachedAfterAdmissionThreshold() throws IOException {
+        final byte[] fileContent = randomBytes(512);
+        final String sha1 = store(fileContent);
+
+        assertThat(repository.getArtifactBySha1(TENANT, sha1)).isInstanceOf(ArtifactFilesystem.class);
+        final AbstractDbArtifact cached = repository.getArtifactBySha1(TENANT, sha1);
+        assertThat(cached).isInstanceOf(CachedDbArtifact.class);
+        assertThat(repository.getArtifactBySha1(TENANT, sha1)).isSameAs(cached);
+
+        assertThat(read(cached.getFileInputStream(), 0, fileContent.length)).isEqualTo(fileContent);
+        assertThat(read(cached.getFileInputStream(), 100, 10))
+                .isEqualTo(Arrays.copyOfRange(fileContent, 100, 110));
+
+        final ArtifactFilesystemCache cache = repository.getCache();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.getHitBytes()).isEqualTo(fileContent.length);
+        assertThat(cache.getCachedArtifacts()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verfies that artifacts exceeding the maximum artifact size are never cached and that deleted "
+            + "artifacts are removed from the cache")
+    public void largeAndDeletedArtifactsAreNotServedFromCache() {
+        final String large = store(randomBytes(2048));
+        final String small = store(randomBytes(128));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(repository.getArtifactBySha1(TENANT, large)).isInstanceOf(ArtifactFilesystem.class);
+            repository.getArtifactBySha1(TENANT, small);
+        }
+        assertThat(repository.getArtifactBySha1(TENANT, small)).isInstanceOf(CachedDbArtifact.class);
+
+        repository.deleteBySha1(TENANT, small);
+        assertThat(repository.getArtifactBySha1(TENANT, small)).isNull();
+        assertThat(repository.getCache().getCachedArtifacts()).isZero();
+    }
+
+    @Test
+    @Description("Verfies that a cached artifact is served without accessing its file")
+    public void cachedArtifactIsServedWithoutFileAccess() {
+        final String sha1 = store(randomBytes(256));
+        repository.getArtifactBySha1(TENANT, sha1);
+        final AbstractDbArtifact cached = repository.getArtifactBySha1(TENANT, sha1);
+        assertThat(cached).isInstanceOf(CachedDbArtifact.class);
+
+        FileUtils.listFiles(new File(properties.getPath()), TrueFileFilter.INSTANCE, TrueFileFilter.INSTANCE).stream()
+                .filter(file -> file.getName().equals(sha1)).forEach(FileUtils::deleteQuietly);
+
+        assertThat(repository.getArtifactBySha1(TENANT, sha1)).isSameAs(cached);
+        assertThat(repository.getCache().getHits()).isEqualTo(1);
+        assertThat(repository.getCache().getMisses()).isEqualTo(2);
+    }
+
+    private String store(final byte[] fileContent) {
+        return repository.store(TENANT, new ByteArrayInputStream(fileContent), "filename.tmp", "application/txt", null)
+                .getHashes().getSha1();
+    }
+
+    private static byte[] read(final InputStream stream, final long skip, final int length) throws IOException {
+        final byte[] content = new byte[length];
+        IOUtils.skipFully(stream, skip);
+        IOUtils.readFully(stream, content);
+        return content;
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] randomBytes = new byte[length];
+        new Random().nextBytes(randomBytes);
+        return randomBytes;
+    }
+}
@@ -13,10 +13,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Random;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.assertj.core.api.Assertions;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.junit.AfterClass;
@@ -38,23 +40,40 @@ public class ArtifactFilesystemRepositoryTest {
 
     private static final String TENANT = "test_tenant";
 
+    private static final String OTHER_TENANT = "other_tenant";
+
     private static ArtifactFilesystemProperties artifactResourceProperties;
 
     private static ArtifactFilesystemRepository artifactFilesystemRepository;
 
+    private static ArtifactFilesystemProperties deduplicatingProperties;
+
+    private static ArtifactFilesystemRepository deduplicatingRepository;
+
     @BeforeClass
     public static void setup() {
         artifactResourceProperties = new ArtifactFilesystemProperties();
         artifactResourceProperties.setPath(Files.createTempDir().getAbsolutePath());
 
         artifactFilesystemRepository = new ArtifactFilesystemRepository(artifactResourceProperties);
+
+        deduplicatingProperties = new ArtifactFilesystemProperties();
+        deduplicatingProperties.setPath(Files.createTempDir().getAbsolutePath());
+        deduplicatingProperties.setDeduplicate(true);
+
+        deduplicatingRepository = new ArtifactFilesystemRepository(deduplicatingProperties);
     }
 
     @AfterClass
     public static void afterClass() {
-        if (new File(artifactResourceProperties.getPath()).exists()) {
+        deleteDirectory(artifactResourceProperties.getPath());
+        deleteDirectory(deduplicatingProperties.getPath());
+    }
+
+    private static void deleteDirectory(final String path) {
+        if (new File(path).exists()) {
             try {
-                FileUtils.deleteDirectory(new File(artifactResourceProperties.getPath()));
+                FileUtils.deleteDirectory(new File(path));
             } catch (final IOException | IllegalArgumentException e) {
                 LOG.warn("Cannot delete file-directory", e);
             }
@@ -122,6 +141,100 @@ public class ArtifactFilesystemRepositoryTest {
         }
     }
 
+    @Test
+    @Description("Verfies that a binary uploaded by two tenants is stored once and deleted with its last reference "
+            + "if the deduplication is enabled")
+    public void deduplicatedArtifactIsDeletedWithLastReference() throws IOException {
+        final byte[] fileContent = randomBytes();
+        final AbstractDbArtifact artifact = deduplicatingRepository.store(TENANT,
+                new ByteArrayInputStream(fileContent), "filename.tmp", "application/txt", null);
+        deduplicatingRepository.store(OTHER_TENANT, new ByteArrayInputStream(fileContent), "filename.tmp",
+                "application/txt", null);
+        final String sha1 = artifact.getHashes().getSha1();
+
+        assertThat(sharedFiles()).hasSize(1);
+        assertThat(deduplicatingRepository.getStorageUsage(TENANT).getSharedSize()).isEqualTo(fileContent.length);
+
+        deduplicatingRepository.deleteBySha1(TENANT, sha1);
+        assertThat(deduplicatingRepository.existsByTenantAndSha1(TENANT, sha1)).isFalse();
+        assertThat(sharedFiles()).hasSize(1);
+
+        final byte[] readContent = new byte[fileContent.length];
+        IOUtils.read(deduplicatingRepository.getArtifactBySha1(OTHER_TENANT, sha1).getFileInputStream(),
+                readContent);
+        assertThat(readContent).isEqualTo(fileContent);
+        assertThat(deduplicatingRepository.getStorageUsage(OTHER_TENANT).getExclusiveSize())
+                .isEqualTo(fileContent.length);
+
+        deduplicatingRepository.deleteBySha1(OTHER_TENANT, sha1);
+        assertThat(sharedFiles()).isEmpty();
+    }
+
+    @Test
+    @Description("Verfies that the deletion of a tenant keeps the deduplicated binaries of other tenants")
+    public void deleteTenantKeepsDeduplicatedArtifactOfOtherTenant() {
+        final byte[] fileContent = randomBytes();
+        final AbstractDbArtifact artifact = deduplicatingRepository.store(TENANT,
+                new ByteArrayInputStream(fileContent), "filename.tmp", "application/txt", null);
+        deduplicatingRepository.store(OTHER_TENANT, new ByteArrayInputStream(fileContent), "filename.tmp",
+                "application/txt", null);
+        deduplicatingRepository.store(TENANT, new ByteArrayInputStream(randomBytes()), "filename.tmp",
+                "application/txt", null);
+
+        deduplicatingRepository.deleteByTenant(TENANT);
+
+        assertThat(deduplicatingRepository.getStorageUsage(TENANT).getArtifacts()).isZero();
+        assertThat(deduplicatingRepository.getArtifactBySha1(OTHER_TENANT, artifact.getHashes().getSha1()))
+                .isNotNull();
+        assertThat(sharedFiles()).extracting(File::getName).containsOnly(artifact.getHashes().getSha1());
+
+        deduplicatingRepository.deleteByTenant(OTHER_TENANT);
+        assertThat(sharedFiles()).isEmpty();
+    }
+
+    @Test
+    @Description("Verfies that the binaries of a tenant are listed by the time they were stored")
+    public void findSha1ByTenantAndStoredBefore() {
+        final String tenant = "listed_tenant";
+        final AbstractDbArtifact artifact = artifactFilesystemRepository.store(tenant,
+                new ByteArrayInputStream(randomBytes()), "filename.tmp", "application/txt", null);
+
+        assertThat(artifactFilesystemRepository.findSha1ByTenantAndStoredBefore(tenant,
+                System.currentTimeMillis() + 1000)).containsOnly(artifact.getHashes().getSha1());
+        assertThat(artifactFilesystemRepository.findSha1ByTenantAndStoredBefore(tenant, 0)).isEmpty();
+        assertThat(artifactFilesystemRepository.findSha1ByTenantAndStoredBefore("unknown_tenant",
+                System.currentTimeMillis() + 1000)).isEmpty();
+    }
+
+    @Test
+    @Description("Verfies that the tenants share the time a deduplicated binary was stored, so a store of another "
+            + "tenant postpones its garbage collection but never advances it")
+    public void deduplicatedArtifactIsStoredAtTheLastStoreOfAnyTenant() {
+        final byte[] fileContent = randomBytes();
+        final String sha1 = deduplicatingRepository.store(TENANT, new ByteArrayInputStream(fileContent),
+                "filename.tmp", "application/txt", null).getHashes().getSha1();
+        deduplicatingRepository.store(OTHER_TENANT, new ByteArrayInputStream(fileContent), "filename.tmp",
+                "application/txt", null);
+        final File sharedFile = sharedFiles().stream().filter(file -> file.getName().equals(sha1)).findAny().get();
+        assertThat(sharedFile.setLastModified(1000)).isTrue();
+        assertThat(deduplicatingRepository.getStoredAt(TENANT, sha1)).isEqualTo(1000);
+
+        final long refreshedAt = System.currentTimeMillis() - 1000;
+        deduplicatingRepository.refreshBySha1(OTHER_TENANT, sha1);
+
+        assertThat(deduplicatingRepository.getStoredAt(TENANT, sha1)).isGreaterThanOrEqualTo(refreshedAt);
+        assertThat(deduplicatingRepository.findSha1ByTenantAndStoredBefore(TENANT, refreshedAt)).doesNotContain(sha1);
+
+        deduplicatingRepository.deleteBySha1(TENANT, sha1);
+        deduplicatingRepository.deleteBySha1(OTHER_TENANT, sha1);
+    }
+
+    private static Collection<File> sharedFiles() {
+        final File sharedDirectory = new File(deduplicatingProperties.getPath(),
+                ArtifactFilesystemRepository.SHARED_DIRECTORY);
+        return FileUtils.listFiles(sharedDirectory, TrueFileFilter.INSTANCE, TrueFileFilter.INSTANCE);
+    }
+
     private AbstractDbArtifact storeRandomArtifact(final byte[] fileContent) {
         final String fileName = "filename.tmp";
         final ByteArrayInputStream inputStream = new ByteArrayInputStream(fileContent);
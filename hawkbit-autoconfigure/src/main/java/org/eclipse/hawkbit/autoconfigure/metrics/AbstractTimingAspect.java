@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Base class of the aspects that record the duration of the advised methods
+ * as {@link Timer}s. Every timer is tagged with the simple name of the thrown
+ * exception or <code>none</code>.
+ */
+abstract class AbstractTimingAspect {
+
+    static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    AbstractTimingAspect(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    Object time(final ProceedingJoinPoint joinPoint, final String name, final Tags tags) throws Throwable {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (final Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name).tags(tags).tag("exception", exception).register(meterRegistry));
+        }
+    }
+}
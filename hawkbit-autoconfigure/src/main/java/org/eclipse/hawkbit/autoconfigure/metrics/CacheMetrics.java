@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.function.ToLongFunction;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Binds the statistics of the Caffeine caches of the direct
+ * {@link CacheManager}. The caches are created per tenant on demand, so the
+ * statistics are summed up over all caches.
+ */
+public final class CacheMetrics {
+
+    private CacheMetrics() {
+        // utility class
+    }
+
+    /**
+     * Registers the cache meters in case the given {@link CacheManager} is a
+     * {@link CaffeineCacheManager}.
+     *
+     * @param cacheManager
+     *            the direct cache manager
+     * @param meterRegistry
+     *            to register the meters
+     */
+    public static void bindTo(final CacheManager cacheManager, final MeterRegistry meterRegistry) {
+        if (!(cacheManager instanceof CaffeineCacheManager)) {
+            return;
+        }
+
+        FunctionCounter.builder("hawkbit.cache.gets", cacheManager, manager -> sum(manager, CacheStats::hitCount))
+                .tag("result", "hit").description("Number of cache hits of all caches").register(meterRegistry);
+        FunctionCounter.builder("hawkbit.cache.gets", cacheManager, manager -> sum(manager, CacheStats::missCount))
+                .tag("result", "miss").description("Number of cache misses of all caches").register(meterRegistry);
+        FunctionCounter
+                .builder("hawkbit.cache.evictions", cacheManager, manager -> sum(manager, CacheStats::evictionCount))
+                .description("Number of evicted entries of all caches").register(meterRegistry);
+        Gauge.builder("hawkbit.cache.hit.ratio", cacheManager, CacheMetrics::hitRatio)
+                .description("Hit ratio of all caches").register(meterRegistry);
+    }
+
+    private static double hitRatio(final CacheManager cacheManager) {
+        final long hits = sum(cacheManager, CacheStats::hitCount);
+        final long requests = hits + sum(cacheManager, CacheStats::missCount);
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    private static long sum(final CacheManager cacheManager, final ToLongFunction<CacheStats> statistic) {
+        long sum = 0;
+        for (final String name : cacheManager.getCacheNames()) {
+            final Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache) {
+                sum += statistic.applyAsLong(((CaffeineCache) cache).getNativeCache().stats());
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.eclipse.hawkbit.amqp.AmqpMessageDispatcherService;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Records the duration of the handling of the incoming DMF messages (i.e. the
+ * {@link RabbitListener}s) and of the events that are dispatched as DMF
+ * messages by the {@link AmqpMessageDispatcherService}.
+ */
+@Aspect
+public class DmfMetricsAspect extends AbstractTimingAspect {
+
+    static final String REQUEST_METRIC = "hawkbit.dmf.requests";
+    static final String DISPATCH_METRIC = "hawkbit.dmf.dispatch";
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry
+     *            to record the timers
+     */
+    public DmfMetricsAspect(final MeterRegistry meterRegistry) {
+        super(meterRegistry);
+    }
+
+    @Around("@annotation(org.springframework.amqp.rabbit.annotation.RabbitListener) && within(org.eclipse.hawkbit.amqp..*) && args(message,..)")
+    public Object timeListener(final ProceedingJoinPoint joinPoint, final Message message) throws Throwable {
+        final Object type = message.getMessageProperties().getHeaders().get(MessageHeaderKey.TYPE);
+        return time(joinPoint, REQUEST_METRIC,
+                Tags.of("listener", joinPoint.getSignature().getDeclaringType().getSimpleName(), "type",
+                        type == null ? NONE : type.toString()));
+    }
+
+    @Around("@annotation(org.springframework.context.event.EventListener) && within(org.eclipse.hawkbit.amqp.AmqpMessageDispatcherService) && args(event)")
+    public Object timeDispatcher(final ProceedingJoinPoint joinPoint, final Object event) throws Throwable {
+        return time(joinPoint, DISPATCH_METRIC, Tags.of("event", event.getClass().getSimpleName()));
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of the Micrometer instrumentation of hawkBit.
+ */
+@ConfigurationProperties("hawkbit.metrics")
+public class MetricsProperties {
+
+    /**
+     * Set to <code>false</code> to disable the instrumentation.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Set to <code>true</code> to tag the scheduler runs with the tenant. Every
+     * tenant adds its own timers, so keep it disabled for many tenants.
+     */
+    private boolean tenantTag;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isTenantTag() {
+        return tenantTag;
+    }
+
+    public void setTenantTag(final boolean tenantTag) {
+        this.tenantTag = tenantTag;
+    }
+}
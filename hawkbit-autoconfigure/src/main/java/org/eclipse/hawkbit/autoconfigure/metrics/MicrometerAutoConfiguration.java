@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.amqp.AmqpMessageDispatcherService;
+import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystemCache;
+import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystemRepository;
+import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.event.RemoteEventBatcher;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.jpa.ArtifactGarbageCollector;
+import org.eclipse.hawkbit.repository.jpa.JpaControllerManagement;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.ui.push.DelayedEventBusPushStrategy;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.RetryListener;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Auto configuration of the Micrometer instrumentation of hawkBit. The meters
+ * are registered in the {@link MeterRegistry} of Spring Boot Actuator and
+ * can be disabled by <code>hawkbit.metrics.enabled=false</code>, see
+ * {@link MetricsProperties}.
+ *
+ * Note: the HTTP requests of the DDI and Management API are timed by Spring
+ * Boot Actuator itself (<code>http.server.requests</code>).
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "hawkbit.metrics", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(MetricsProperties.class)
+@AutoConfigureAfter(name = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration" })
+public class MicrometerAutoConfiguration {
+
+    /**
+     * Repository instrumentation.
+     */
+    @Configuration
+    @ConditionalOnClass(JpaControllerManagement.class)
+    static class RepositoryMetricsConfiguration {
+
+        /**
+         * @return aspect that times the management methods and scheduler runs
+         */
+        @Bean
+        RepositoryMetricsAspect repositoryMetricsAspect(final MeterRegistry meterRegistry,
+                final TenantAware tenantAware, final MetricsProperties properties) {
+            return new RepositoryMetricsAspect(meterRegistry, properties.isTenantTag() ? tenantAware : null);
+        }
+
+        /**
+         * @return {@link RetryListener} that counts the failed attempts
+         */
+        @Bean
+        RetryMetricsListener retryMetricsListener(final MeterRegistry meterRegistry) {
+            return new RetryMetricsListener(meterRegistry);
+        }
+
+        /**
+         * Binds the poll write-behind buffer, cache, artifact garbage
+         * collection and remote event batching meters after all singletons are
+         * instantiated, as the {@link ControllerManagement} is advised by the
+         * {@link RepositoryMetricsAspect} and by this depends on the
+         * {@link MeterRegistry} itself.
+         *
+         * @return binder of the poll write-behind buffer, cache, artifact
+         *         garbage collection and remote event batching meters
+         */
+        @Bean
+        SmartInitializingSingleton repositoryMeterBinder(final MeterRegistry meterRegistry,
+                final ObjectProvider<ControllerManagement> controllerManagement,
+                @Qualifier("directCacheManager") final ObjectProvider<CacheManager> directCacheManager,
+                final ObjectProvider<ArtifactGarbageCollector> artifactGarbageCollector,
+                final ObjectProvider<RemoteEventBatcher> remoteEventBatcher) {
+            return () -> {
+                directCacheManager.ifAvailable(cacheManager -> CacheMetrics.bindTo(cacheManager, meterRegistry));
+                controllerManagement.ifAvailable(management -> bindPollBuffer(management, meterRegistry));
+                artifactGarbageCollector.ifAvailable(collector -> bindArtifactGc(collector, meterRegistry));
+                remoteEventBatcher.ifAvailable(batcher -> FunctionCounter
+                        .builder("hawkbit.bus.events.dropped", batcher, RemoteEventBatcher::getDroppedEvents)
+                        .description("Number of remote events that could not be sent to the other nodes")
+                        .register(meterRegistry));
+            };
+        }
+
+        private static void bindArtifactGc(final ArtifactGarbageCollector collector,
+                final MeterRegistry meterRegistry) {
+            FunctionCounter
+                    .builder("hawkbit.artifact.gc.collected", collector, ArtifactGarbageCollector::getCollected)
+                    .description("Number of unreferenced artifact binaries deleted after their grace period")
+                    .register(meterRegistry);
+            FunctionCounter.builder("hawkbit.artifact.gc.orphans", collector, ArtifactGarbageCollector::getOrphans)
+                    .description("Number of orphaned artifact binaries deleted by the sweeps")
+                    .register(meterRegistry);
+            Gauge.builder("hawkbit.artifact.gc.missing", collector, ArtifactGarbageCollector::getMissing)
+                    .description("Number of artifacts whose binary was missing in the last sweep")
+                    .register(meterRegistry);
+        }
+
+        private static void bindPollBuffer(final ControllerManagement controllerManagement,
+                final MeterRegistry meterRegistry) {
+            final Object target = AopProxyUtils.getSingletonTarget(controllerManagement);
+            final Object candidate = target != null ? target : controllerManagement;
+            if (!(candidate instanceof JpaControllerManagement)) {
+                return;
+            }
+
+            final JpaControllerManagement management = (JpaControllerManagement) candidate;
+            Gauge.builder("hawkbit.repository.poll.buffer.size", management, JpaControllerManagement::getBufferedPolls)
+                    .description("Number of targets with a buffered poll that is not persisted yet")
+                    .register(meterRegistry);
+            FunctionCounter
+                    .builder("hawkbit.repository.poll.flushed", management, JpaControllerManagement::getFlushedPolls)
+                    .description("Number of persisted buffered polls").register(meterRegistry);
+            Gauge.builder("hawkbit.repository.poll.flush.duration", management,
+                    m -> TimeUnit.NANOSECONDS.toMillis(m.getLastPollFlushDuration()))
+                    .description("Duration of the last flush of the buffered polls").baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * DMF instrumentation.
+     */
+    @Configuration
+    @ConditionalOnClass(AmqpMessageDispatcherService.class)
+    static class DmfMetricsConfiguration {
+
+        /**
+         * @return aspect that times the DMF message handling and dispatching
+         */
+        @Bean
+        DmfMetricsAspect dmfMetricsAspect(final MeterRegistry meterRegistry) {
+            return new DmfMetricsAspect(meterRegistry);
+        }
+    }
+
+    /**
+     * Artifact repository instrumentation.
+     */
+    @Configuration
+    @ConditionalOnClass(ArtifactFilesystemRepository.class)
+    static class ArtifactMetricsConfiguration {
+
+        /**
+         * @return binder of the artifact cache meters, if the cache of the
+         *         file-system repository is enabled
+         */
+        @Bean
+        SmartInitializingSingleton artifactCacheMeterBinder(final MeterRegistry meterRegistry,
+                final ObjectProvider<ArtifactRepository> artifactRepository) {
+            return () -> artifactRepository.ifAvailable(repository -> {
+                final Object target = AopProxyUtils.getSingletonTarget(repository);
+                final Object candidate = target != null ? target : repository;
+                if (candidate instanceof ArtifactFilesystemRepository
+                        && ((ArtifactFilesystemRepository) candidate).getCache() != null) {
+                    bindArtifactCache(((ArtifactFilesystemRepository) candidate).getCache(), meterRegistry);
+                }
+            });
+        }
+
+        private static void bindArtifactCache(final ArtifactFilesystemCache cache, final MeterRegistry meterRegistry) {
+            FunctionCounter.builder("hawkbit.artifact.cache.hits", cache, ArtifactFilesystemCache::getHits)
+                    .description("Number of artifact downloads served from memory").register(meterRegistry);
+            FunctionCounter.builder("hawkbit.artifact.cache.misses", cache, ArtifactFilesystemCache::getMisses)
+                    .description("Number of artifact downloads served from the file-system").register(meterRegistry);
+            FunctionCounter.builder("hawkbit.artifact.cache.hit.bytes", cache, ArtifactFilesystemCache::getHitBytes)
+                    .description("Size of the artifacts served from memory").baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("hawkbit.artifact.cache.size", cache, ArtifactFilesystemCache::getCachedArtifacts)
+                    .description("Number of cached artifacts").register(meterRegistry);
+            Gauge.builder("hawkbit.artifact.cache.bytes", cache, ArtifactFilesystemCache::getCachedBytes)
+                    .description("Direct memory held by the cached artifacts").baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Management UI instrumentation.
+     */
+    @Configuration
+    @ConditionalOnClass(DelayedEventBusPushStrategy.class)
+    static class UiMetricsConfiguration {
+
+        /**
+         * @return binder of the UI event push queue meters
+         */
+        @Bean
+        MeterBinder uiPushMeterBinder() {
+            return registry -> {
+                Gauge.builder("hawkbit.ui.push.queue.size", DelayedEventBusPushStrategy::getQueuedEvents)
+                        .description("Number of events queued for the UIs").register(registry);
+                Gauge.builder("hawkbit.ui.push.strategies", DelayedEventBusPushStrategy::getActiveStrategies)
+                        .description("Number of UIs with an event push strategy").register(registry);
+                FunctionCounter
+                        .builder("hawkbit.ui.push.dropped", DelayedEventBusPushStrategy.class,
+                                type -> DelayedEventBusPushStrategy.getDroppedEvents())
+                        .description("Number of events dropped because the UI queue was full")
+                        .register(registry);
+            };
+        }
+    }
+}
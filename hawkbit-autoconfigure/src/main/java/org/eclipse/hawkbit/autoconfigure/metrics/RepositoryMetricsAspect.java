@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignChecker;
+import org.eclipse.hawkbit.repository.jpa.autocleanup.CleanupTask;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Records the duration of the {@link ControllerManagement} and
+ * {@link DeploymentManagement} methods as well as the per tenant runs of the
+ * rollout, auto assignment and cleanup schedulers. The scheduler runs are
+ * tagged with the tenant only if {@link MetricsProperties#isTenantTag()} is
+ * enabled, as every tenant adds its own timers otherwise.
+ */
+@Aspect
+public class RepositoryMetricsAspect extends AbstractTimingAspect {
+
+    static final String MANAGEMENT_METRIC = "hawkbit.repository.management";
+    static final String SCHEDULER_METRIC = "hawkbit.scheduler.tick";
+
+    private final TenantAware tenantAware;
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry
+     *            to record the timers
+     * @param tenantAware
+     *            to tag the scheduler runs with the current tenant or
+     *            <code>null</code> to not tag them with the tenant
+     */
+    public RepositoryMetricsAspect(final MeterRegistry meterRegistry, final TenantAware tenantAware) {
+        super(meterRegistry);
+        this.tenantAware = tenantAware;
+    }
+
+    @Around("execution(public * org.eclipse.hawkbit.repository.ControllerManagement.*(..))")
+    public Object timeControllerManagement(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, MANAGEMENT_METRIC, Tags.of("management", ControllerManagement.class.getSimpleName(),
+                "method", joinPoint.getSignature().getName()));
+    }
+
+    @Around("execution(public * org.eclipse.hawkbit.repository.DeploymentManagement.*(..))")
+    public Object timeDeploymentManagement(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, MANAGEMENT_METRIC, Tags.of("management", DeploymentManagement.class.getSimpleName(),
+                "method", joinPoint.getSignature().getName()));
+    }
+
+    /**
+     * {@link RolloutManagement#handleRollouts()} is called by the scheduler
+     * for every tenant.
+     */
+    @Around("execution(* org.eclipse.hawkbit.repository.RolloutManagement.handleRollouts())")
+    public Object timeRolloutScheduler(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SCHEDULER_METRIC, schedulerTags("rollout"));
+    }
+
+    /**
+     * {@link AutoAssignChecker#check()} is called by the scheduler for every
+     * tenant.
+     */
+    @Around("execution(* org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignChecker.check())")
+    public Object timeAutoAssignScheduler(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SCHEDULER_METRIC, schedulerTags("autoassign"));
+    }
+
+    /**
+     * {@link CleanupTask#run()} is called by the scheduler for every tenant.
+     */
+    @Around("execution(* org.eclipse.hawkbit.repository.jpa.autocleanup.CleanupTask.run()) && target(task)")
+    public Object timeCleanupScheduler(final ProceedingJoinPoint joinPoint, final CleanupTask task)
+            throws Throwable {
+        return time(joinPoint, SCHEDULER_METRIC, schedulerTags("cleanup." + task.getId()));
+    }
+
+    private Tags schedulerTags(final String task) {
+        if (tenantAware == null) {
+            return Tags.of("task", task);
+        }
+        final String tenant = tenantAware.getCurrentTenant();
+        return Tags.of("task", task, "tenant", tenant == null ? NONE : tenant);
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.retry.listener.RetryListenerSupport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * {@link RetryListener} that counts the failed attempts of the
+ * {@link Retryable} methods and in particular the
+ * {@link ConcurrencyFailureException}s among them.
+ */
+public class RetryMetricsListener extends RetryListenerSupport {
+
+    static final String RETRY_METRIC = "hawkbit.repository.retries";
+    static final String CONCURRENCY_FAILURE_METRIC = "hawkbit.repository.concurrency.failures";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry
+     *            to record the counters
+     */
+    public RetryMetricsListener(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(final RetryContext context, final RetryCallback<T, E> callback,
+            final Throwable throwable) {
+        meterRegistry.counter(RETRY_METRIC, "exception", throwable.getClass().getSimpleName()).increment();
+
+        if (throwable instanceof ConcurrencyFailureException) {
+            meterRegistry.counter(CONCURRENCY_FAILURE_METRIC).increment();
+        }
+    }
+}
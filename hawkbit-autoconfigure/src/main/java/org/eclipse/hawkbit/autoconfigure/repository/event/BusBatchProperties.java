@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.repository.event;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties for batching the remote events that are sent over the cloud bus
+ * into {@link RemoteEventEnvelope}s.
+ */
+@ConfigurationProperties("hawkbit.server.bus.batch")
+public class BusBatchProperties {
+
+    /**
+     * Set to <code>false</code> to send every remote event as its own bus
+     * message.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of events in one bus message.
+     */
+    private int maxSize = 100;
+
+    /**
+     * Maximum time in millis an event is collected before it is sent.
+     */
+    private long maxDelay = 5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(final long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+}
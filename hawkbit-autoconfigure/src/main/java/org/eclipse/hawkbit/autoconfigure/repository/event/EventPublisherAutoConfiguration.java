@@ -9,29 +9,44 @@
 package org.eclipse.hawkbit.autoconfigure.repository.event;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.hawkbit.event.BusProtoStuffMessageConverter;
+import org.eclipse.hawkbit.event.RemoteEventBatcher;
 import org.eclipse.hawkbit.repository.event.ApplicationEventFilter;
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
 import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.bus.ConditionalOnBusEnabled;
 import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.SpringCloudBusClient;
 import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 import org.springframework.cloud.stream.annotation.StreamMessageConverter;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.event.ApplicationEventMulticaster;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.support.InterceptableChannel;
+import org.springframework.util.MimeType;
 
 import io.protostuff.ProtostuffIOUtil;
 import io.protostuff.Schema;
@@ -111,6 +126,12 @@ public class EventPublisherAutoConfiguration {
                 return;
             }
 
+            if (event instanceof RemoteEventEnvelope) {
+                // unpack the events of a remote node in the original order
+                ((RemoteEventEnvelope) event).forEach(remoteEvent -> multicastEvent(remoteEvent, null));
+                return;
+            }
+
             if (serviceMatcher == null || !(event instanceof RemoteTenantAwareEvent)) {
                 super.multicastEvent(event, eventType);
                 return;
@@ -145,4 +166,65 @@ public class EventPublisherAutoConfiguration {
 
     }
 
+    /**
+     * Batches the remote events only if they are serialized by the
+     * {@link BusProtoStuffMessageConverter}, which is the only converter that
+     * knows the {@link RemoteEventEnvelope}.
+     */
+    @ConditionalOnBusEnabled
+    @ConditionalOnClass({ Schema.class, ProtostuffIOUtil.class })
+    @ConditionalOnProperty(prefix = "hawkbit.server.bus.batch", name = "enabled", matchIfMissing = true)
+    @Conditional(ProtoStuffBusOutputCondition.class)
+    @EnableConfigurationProperties(BusBatchProperties.class)
+    protected static class BusBatchAutoConfiguration {
+        /**
+         * Batches the outgoing remote events into {@link RemoteEventEnvelope}s.
+         * 
+         * @return the remote event batcher registered at the outbound bus
+         *         channel
+         */
+        @Bean
+        public RemoteEventBatcher remoteEventBatcher(
+                @Qualifier(SpringCloudBusClient.OUTPUT) final MessageChannel busOutput,
+                final ServiceMatcher serviceMatcher, final ScheduledExecutorService executorService,
+                final BusBatchProperties properties) {
+            final RemoteEventBatcher batcher = new RemoteEventBatcher(busOutput, serviceMatcher.getServiceId(),
+                    executorService, properties.getMaxSize(), properties.getMaxDelay());
+
+            if (busOutput instanceof InterceptableChannel) {
+                // in front of the message conversion of the channel binding
+                ((InterceptableChannel) busOutput).addInterceptor(0, batcher);
+            }
+
+            return batcher;
+        }
+
+    }
+
+    /**
+     * Matches if the content type of the outbound bus binding is the one of
+     * the {@link BusProtoStuffMessageConverter}.
+     */
+    static class ProtoStuffBusOutputCondition extends SpringBootCondition {
+
+        private static final String BINDINGS = "spring.cloud.stream.bindings.";
+        private static final String DEFAULT_BINDING = "spring.cloud.stream.default";
+        private static final String CONTENT_TYPE = ".content-type";
+
+        @Override
+        public ConditionOutcome getMatchOutcome(final ConditionContext context,
+                final AnnotatedTypeMetadata metadata) {
+            final Binder binder = Binder.get(context.getEnvironment());
+            final String contentType = binder
+                    .bind(BINDINGS + SpringCloudBusClient.OUTPUT + CONTENT_TYPE, String.class)
+                    .orElseGet(() -> binder.bind(DEFAULT_BINDING + CONTENT_TYPE, String.class).orElse(null));
+
+            if (contentType != null && BusProtoStuffMessageConverter.APPLICATION_BINARY_PROTOSTUFF
+                    .equalsTypeAndSubtype(MimeType.valueOf(contentType))) {
+                return ConditionOutcome.match("bus output content type is " + contentType);
+            }
+            return ConditionOutcome.noMatch("bus output content type is " + contentType);
+        }
+    }
+
 }
@@ -272,7 +272,7 @@ public class SecurityManagedConfiguration {
     static class ControllerDownloadSecurityConfigurationAdapter extends WebSecurityConfigurerAdapter {
 
         private static final String DDI_DL_ANT_MATCHER = DdiRestConstants.BASE_V1_REQUEST_MAPPING
-                + "/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/*";
+                + "/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/**";
 
         private final ControllerManagement controllerManagement;
         private final TenantConfigurationManagement tenantConfigurationManagement;
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.artifact.repository.AbstractArtifactRepository;
+import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystemProperties;
+import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystemRepository;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Upload of an artifact by {@link AbstractArtifactRepository#store}, which
+ * calculates the SHA1, MD5 and SHA256 hashes while the content is written to
+ * a temporary file, into the {@link ArtifactFilesystemRepository}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactStoreBenchmark {
+
+    @Param({ "65536", "16777216" })
+    private int size;
+
+    private byte[] content;
+    private File directory;
+    private ArtifactFilesystemRepository repository;
+
+    @Setup
+    public void setup() throws IOException {
+        content = new byte[size];
+        ThreadLocalRandom.current().nextBytes(content);
+
+        directory = Files.createTempDirectory("hawkbit-benchmark").toFile();
+        final ArtifactFilesystemProperties properties = new ArtifactFilesystemProperties();
+        properties.setPath(directory.getAbsolutePath());
+        repository = new ArtifactFilesystemRepository(properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public AbstractDbArtifact store() {
+        return repository.store("DEFAULT", new ByteArrayInputStream(content), "file.bin", null, null);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.api.ApiType;
+import org.eclipse.hawkbit.api.ArtifactUrl;
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties;
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
+import org.eclipse.hawkbit.api.PropertyBasedArtifactUrlHandler;
+import org.eclipse.hawkbit.api.URLPlaceholder;
+import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generation of the artifact download URLs by the
+ * {@link PropertyBasedArtifactUrlHandler}, which is done for every artifact
+ * of every deployment base and DMF download request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactUrlBenchmark {
+
+    private PropertyBasedArtifactUrlHandler urlHandler;
+    private URLPlaceholder placeholder;
+    private URI requestUri;
+
+    @Setup
+    public void setup() {
+        final ArtifactUrlHandlerProperties properties = new ArtifactUrlHandlerProperties();
+        properties.getProtocols().put("download-http", new UrlProtocol());
+
+        final UrlProtocol md5 = new UrlProtocol();
+        md5.setRel("md5sum-http");
+        md5.setRef(md5.getRef() + ".MD5SUM");
+        properties.getProtocols().put("md5sum-http", md5);
+
+        final UrlProtocol https = new UrlProtocol();
+        https.setRel("download");
+        https.setProtocol("https");
+        https.setPort(443);
+        https.setRef("{protocol}://{hostnameRequest}:{portRequest}/{tenant}/controller/v1/{controllerId}"
+                + "/softwaremodules/{softwareModuleId}/artifacts/{artifactFileName}");
+        properties.getProtocols().put("download", https);
+
+        urlHandler = new PropertyBasedArtifactUrlHandler(properties);
+        placeholder = new URLPlaceholder("DEFAULT", 1L, "controller-4711", 4711L,
+                new SoftwareData(42L, "firmware image.bin", 815L, "2d86c2a659e364e9abba49ea6ffcd53dd5559f05"));
+        requestUri = URI.create("https://hawkbit.example.com:8443/DEFAULT/controller/v1/controller-4711");
+    }
+
+    @Benchmark
+    public List<ArtifactUrl> ddi() {
+        return urlHandler.getUrls(placeholder, ApiType.DDI, requestUri);
+    }
+
+    @Benchmark
+    public List<ArtifactUrl> dmf() {
+        return urlHandler.getUrls(placeholder, ApiType.DMF);
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.dmf.json.model.DmfActionStatus;
+import org.eclipse.hawkbit.dmf.json.model.DmfActionUpdateStatus;
+import org.eclipse.hawkbit.dmf.json.model.DmfArtifact;
+import org.eclipse.hawkbit.dmf.json.model.DmfArtifactHash;
+import org.eclipse.hawkbit.dmf.json.model.DmfDownloadAndUpdateRequest;
+import org.eclipse.hawkbit.dmf.json.model.DmfSoftwareModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+/**
+ * Conversion of the DMF messages with the {@link Jackson2JsonMessageConverter}
+ * of the DMF API: the download and update request that is sent for every
+ * assignment and the action status update that is received for every
+ * feedback of a device.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DmfMessageBenchmark {
+
+    private Jackson2JsonMessageConverter converter;
+    private DmfDownloadAndUpdateRequest downloadAndUpdateRequest;
+    private Message actionUpdateStatus;
+
+    @Setup
+    public void setup() {
+        converter = new Jackson2JsonMessageConverter();
+
+        downloadAndUpdateRequest = new DmfDownloadAndUpdateRequest();
+        downloadAndUpdateRequest.setActionId(4711L);
+        downloadAndUpdateRequest.setTargetSecurityToken("3f7a5a8b2c4d4e6f8a9b0c1d2e3f4a5b");
+        for (long moduleId = 1; moduleId <= 3; moduleId++) {
+            downloadAndUpdateRequest.addSoftwareModule(createSoftwareModule(moduleId));
+        }
+
+        final DmfActionUpdateStatus status = new DmfActionUpdateStatus(4711L, DmfActionStatus.RUNNING);
+        status.addMessage(Arrays.asList("Download started", "Download finished", "Installation started"));
+        actionUpdateStatus = converter.toMessage(status, new MessageProperties());
+        actionUpdateStatus.getMessageProperties().getHeaders().put(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                DmfActionUpdateStatus.class.getName());
+    }
+
+    @Benchmark
+    public Message downloadAndUpdateRequest() {
+        return converter.toMessage(downloadAndUpdateRequest, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object actionUpdateStatus() {
+        return converter.fromMessage(actionUpdateStatus);
+    }
+
+    private static DmfSoftwareModule createSoftwareModule(final long moduleId) {
+        final DmfSoftwareModule module = new DmfSoftwareModule();
+        module.setModuleId(moduleId);
+        module.setModuleType("os");
+        module.setModuleVersion("1.0." + moduleId);
+
+        final DmfArtifact artifact = new DmfArtifact();
+        artifact.setFilename("firmware-" + moduleId + ".bin");
+        artifact.setSize(16_777_216L);
+        artifact.setLastModified(1_549_881_289_000L);
+        artifact.setHashes(new DmfArtifactHash("2d86c2a659e364e9abba49ea6ffcd53dd5559f05",
+                "0d1b08c34858921bc7c662b228acb7ba"));
+        final Map<String, String> urls = new HashMap<>();
+        urls.put("HTTP", "http://localhost:8080/DEFAULT/controller/v1/controller-4711/softwaremodules/" + moduleId
+                + "/artifacts/firmware-" + moduleId + ".bin");
+        urls.put("HTTPS", "https://localhost:8443/DEFAULT/controller/v1/controller-4711/softwaremodules/" + moduleId
+                + "/artifacts/firmware-" + moduleId + ".bin");
+        artifact.setUrls(urls);
+        module.setArtifacts(Arrays.asList(artifact));
+
+        return module;
+    }
+}
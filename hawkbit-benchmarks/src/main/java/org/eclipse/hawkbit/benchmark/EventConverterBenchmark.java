@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.hawkbit.event.BusProtoStuffMessageConverter;
+import org.eclipse.hawkbit.event.EventType;
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.messaging.Message;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Encoding and decoding of the remote events by the
+ * {@link BusProtoStuffMessageConverter} for every {@link EventType}. The
+ * events are created by their serialization constructor and filled with
+ * dummy values, the {@link RemoteEventEnvelope} carries
+ * {@value #ENVELOPE_SIZE} poll events. The {@link EventType}s are not listed
+ * here but set by the {@link BenchmarkRunner} from the registered types,
+ * unless given explicitly by <code>-p eventType=...</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventConverterBenchmark {
+
+    static final String EVENT_TYPE_PARAM = "eventType";
+
+    private static final int ENVELOPE_SIZE = 100;
+
+    @Param
+    private int eventType;
+
+    private BusProtoStuffMessageConverter converter;
+    private Object event;
+    private Message<?> message;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        converter = new BusProtoStuffMessageConverter();
+        event = createEvent(new EventType(eventType).getTargetClass());
+        message = converter.toMessage(event, null);
+    }
+
+    @Benchmark
+    public Message<?> encode() {
+        return converter.toMessage(event, null);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return converter.fromMessage(message, RemoteApplicationEvent.class);
+    }
+
+    private static Object createEvent(final Class<?> eventClass) throws ReflectiveOperationException {
+        if (RemoteEventEnvelope.class.equals(eventClass)) {
+            final List<TargetPollEvent> polls = IntStream.range(0, ENVELOPE_SIZE)
+                    .mapToObj(i -> new TargetPollEvent("controller-" + i, "DEFAULT", "node"))
+                    .collect(Collectors.toList());
+            return new RemoteEventEnvelope("node", polls);
+        }
+
+        final Object event = eventClass.getConstructor().newInstance();
+        ReflectionUtils.doWithFields(eventClass, field -> fill(event, field),
+                field -> !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()));
+        return event;
+    }
+
+    private static void fill(final Object event, final Field field) throws IllegalAccessException {
+        ReflectionUtils.makeAccessible(field);
+        if (String.class.equals(field.getType())) {
+            field.set(event, field.getName() + "-4711");
+        } else if (Long.class.equals(field.getType())) {
+            field.set(event, 4711L);
+        }
+    }
+}
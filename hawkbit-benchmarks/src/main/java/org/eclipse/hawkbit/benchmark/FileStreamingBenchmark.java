@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.artifact.repository.ArtifactFilesystem;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.CachedDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.rest.util.FileStreamingProgressListener;
+import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Full and range download of an artifact from the file system or from the
+ * in-memory artifact cache by {@link FileStreamingUtil}. The response is
+ * buffered in memory, so the results include the copying but no network I/O.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileStreamingBenchmark {
+
+    private static final FileStreamingProgressListener PROGRESS = (requested, shipped, total) -> {
+        // progress is not tracked
+    };
+
+    @Param({ "65536", "16777216" })
+    private int size;
+
+    @Param({ "file", "cache" })
+    private String source;
+
+    private File file;
+    private AbstractDbArtifact artifact;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        final byte[] content = new byte[size];
+        ThreadLocalRandom.current().nextBytes(content);
+        file = File.createTempFile("hawkbit-benchmark", ".bin");
+        Files.write(file.toPath(), content);
+        final DbArtifactHash hashes = new DbArtifactHash("sha1", "md5", "sha256");
+        if ("cache".equals(source)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+            buffer.put(content).flip();
+            artifact = new CachedDbArtifact("4711", hashes, buffer, null);
+        } else {
+            artifact = new ArtifactFilesystem(file, "4711", hashes, (long) size, null);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createRequest() {
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public ResponseEntity<InputStream> full() {
+        return FileStreamingUtil.writeFileResponse(artifact, "file.bin", 0, response, request, PROGRESS);
+    }
+
+    @Benchmark
+    public ResponseEntity<InputStream> range() {
+        request.addHeader(HttpHeaders.RANGE, "bytes=" + size / 4 + "-" + (size / 2 - 1));
+        return FileStreamingUtil.writeFileResponse(artifact, "file.bin", 0, response, request, PROGRESS);
+    }
+
+    @Benchmark
+    public ResponseEntity<InputStream> multipartRange() {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1023," + size / 2 + "-" + (size - 1));
+        return FileStreamingUtil.writeFileResponse(artifact, "file.bin", 0, response, request, PROGRESS);
+    }
+}
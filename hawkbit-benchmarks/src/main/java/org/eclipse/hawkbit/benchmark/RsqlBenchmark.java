@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and planning of RSQL target filter queries by {@link RSQLUtility}.
+ * The uncached variants make every query unique so that the query plan cache
+ * is missed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RsqlBenchmark {
+
+    @Param({ "name==target*", "name==target* and (updatestatus==pending or attribute.revision=ge=1.2)",
+            "(tag==alpha,tag==beta);assignedds.name==ds*;installedds.version!=1.0;lastcontrollerrequestat=lt=1549881289" })
+    private String query;
+
+    private long counter;
+
+    @Benchmark
+    public void syntaxCached() {
+        RSQLUtility.isValid(query);
+    }
+
+    @Benchmark
+    public void syntaxUncached() {
+        RSQLUtility.isValid(query + ";controllerid!=" + counter++);
+    }
+
+    @Benchmark
+    public void planCached() {
+        RSQLUtility.validateRsqlFor(query, TargetFields.class);
+    }
+
+    @Benchmark
+    public void planUncached() {
+        RSQLUtility.validateRsqlFor(query + ";controllerid!=" + counter++, TargetFields.class);
+    }
+}
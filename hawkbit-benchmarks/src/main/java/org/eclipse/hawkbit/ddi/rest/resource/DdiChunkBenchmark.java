@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties;
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
+import org.eclipse.hawkbit.api.PropertyBasedArtifactUrlHandler;
+import org.eclipse.hawkbit.ddi.json.model.DdiChunk;
+import org.eclipse.hawkbit.repository.ArtifactDeltaManagement;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.DistributionSetSnapshot;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleSnapshot;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleType;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Creation of the chunks of the DDI deployment base by
+ * {@link DataConversionHelper#createChunks}. The snapshot cache is stubbed,
+ * so the results contain the mapping and the URL generation only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DdiChunkBenchmark {
+
+    @Param({ "1", "3", "10" })
+    private int modules;
+
+    @Param({ "1", "5" })
+    private int artifactsPerModule;
+
+    private Target target;
+    private Action action;
+    private PropertyBasedArtifactUrlHandler urlHandler;
+    private SystemManagement systemManagement;
+    private ControllerManagement controllerManagement;
+    private ArtifactDeltaManagement artifactDeltaManagement;
+    private HttpRequest request;
+
+    @Setup
+    public void setup() {
+        target = mock(Target.class);
+        when(target.getId()).thenReturn(4711L);
+        when(target.getControllerId()).thenReturn("controller-4711");
+
+        final TenantMetaData tenantMetaData = mock(TenantMetaData.class);
+        when(tenantMetaData.getId()).thenReturn(1L);
+        when(tenantMetaData.getTenant()).thenReturn("DEFAULT");
+        systemManagement = mock(SystemManagement.class);
+        when(systemManagement.getTenantMetadata()).thenReturn(tenantMetaData);
+
+        final List<SoftwareModuleSnapshot> softwareModules = new ArrayList<>();
+        for (long moduleId = 1; moduleId <= modules; moduleId++) {
+            softwareModules.add(new SoftwareModuleSnapshot(createSoftwareModule(moduleId), createMetadata(moduleId)));
+        }
+        final DistributionSet distributionSet = mock(DistributionSet.class);
+        when(distributionSet.getId()).thenReturn(1L);
+        action = mock(Action.class);
+        when(action.getDistributionSet()).thenReturn(distributionSet);
+
+        artifactDeltaManagement = mock(ArtifactDeltaManagement.class);
+
+        controllerManagement = mock(ControllerManagement.class);
+        when(controllerManagement.getDistributionSetSnapshot(anyLong()))
+                .thenReturn(Optional.of(new DistributionSetSnapshot(distributionSet, softwareModules)));
+
+        final ArtifactUrlHandlerProperties properties = new ArtifactUrlHandlerProperties();
+        properties.getProtocols().put("download-http", new UrlProtocol());
+        urlHandler = new PropertyBasedArtifactUrlHandler(properties);
+
+        final MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET",
+                "/DEFAULT/controller/v1/controller-4711/deploymentBase/4711");
+        request = new ServletServerHttpRequest(servletRequest);
+    }
+
+    @Benchmark
+    public List<DdiChunk> createChunks() {
+        return DataConversionHelper.createChunks(target, action, urlHandler, systemManagement, request,
+                controllerManagement, artifactDeltaManagement);
+    }
+
+    private SoftwareModule createSoftwareModule(final long moduleId) {
+        final SoftwareModuleType type = mock(SoftwareModuleType.class);
+        when(type.getKey()).thenReturn(moduleId == 1 ? "os" : "application");
+
+        final SoftwareModule module = mock(SoftwareModule.class);
+        when(module.getId()).thenReturn(moduleId);
+        when(module.getName()).thenReturn("module-" + moduleId);
+        when(module.getVersion()).thenReturn("1.0." + moduleId);
+        when(module.getType()).thenReturn(type);
+
+        final List<Artifact> artifacts = new ArrayList<>();
+        for (long artifactId = 1; artifactId <= artifactsPerModule; artifactId++) {
+            final Artifact artifact = mock(Artifact.class);
+            when(artifact.getId()).thenReturn(moduleId * 1000 + artifactId);
+            when(artifact.getFilename()).thenReturn("artifact-" + artifactId + ".bin");
+            when(artifact.getSize()).thenReturn(16_777_216L);
+            when(artifact.getSha1Hash()).thenReturn("2d86c2a659e364e9abba49ea6ffcd53dd5559f05");
+            when(artifact.getMd5Hash()).thenReturn("0d1b08c34858921bc7c662b228acb7ba");
+            when(artifact.getSha256Hash())
+                    .thenReturn("a03b221c6c6eae7122ca51695d456d5222e524889136394944b2f9763b483615");
+            when(artifact.getSoftwareModule()).thenReturn(module);
+            artifacts.add(artifact);
+        }
+        when(module.getArtifacts()).thenReturn(artifacts);
+
+        return module;
+    }
+
+    private static List<SoftwareModuleMetadata> createMetadata(final long moduleId) {
+        final SoftwareModuleMetadata metadata = mock(SoftwareModuleMetadata.class);
+        when(metadata.getKey()).thenReturn("installation.path");
+        when(metadata.getValue()).thenReturn("/opt/module-" + moduleId);
+
+        final List<SoftwareModuleMetadata> result = new ArrayList<>();
+        result.add(metadata);
+        return result;
+    }
+}
@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.api;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -46,4 +47,26 @@ public interface ArtifactUrlHandler {
      * @return an URL for the given artifact parameters in a given protocol
      */
     List<ArtifactUrl> getUrls(URLPlaceholder placeholder, ApiType api, URI requestUri);
+
+    /**
+     * Returns the generated download URLs of the binary delta that turns the
+     * artifact with the given SHA1 hash into the artifact of the placeholder.
+     * Handlers that do not host deltas return no URLs.
+     *
+     * @param placeholder
+     *            data for URL generation of the (target) artifact
+     * @param sourceSha1Hash
+     *            SHA1 hash of the artifact the delta is applied to
+     * @param api
+     *            given protocol that URL needs to support
+     * @param requestUri
+     *            of the request that allows the handler to align the generated
+     *            URL to the original request.
+     *
+     * @return the URLs of the delta in the given protocol
+     */
+    default List<ArtifactUrl> getDeltaUrls(final URLPlaceholder placeholder, final String sourceSha1Hash,
+            final ApiType api, final URI requestUri) {
+        return Collections.emptyList();
+    }
 }
@@ -59,6 +59,14 @@ public class ArtifactUrlHandlerProperties {
          */
         private String ref = "{protocol}://{hostname}:{port}/{tenant}/controller/v1/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/{artifactFileName}";
 
+        /**
+         * Hypermedia ref pattern of binary deltas for this protocol. Supports
+         * the place holders of the ref pattern and deltaSourceSHA1, the SHA1
+         * hash of the artifact the delta is applied to. Defaults to the ref
+         * pattern followed by /deltas/{deltaSourceSHA1}.
+         */
+        private String deltaRef;
+
         /**
          * Protocol name placeholder that can be used in ref pattern.
          */
@@ -110,6 +118,14 @@ public class ArtifactUrlHandlerProperties {
             this.ref = ref;
         }
 
+        public String getDeltaRef() {
+            return deltaRef != null ? deltaRef : (ref + "/deltas/{deltaSourceSHA1}");
+        }
+
+        public void setDeltaRef(final String deltaRef) {
+            this.deltaRef = deltaRef;
+        }
+
         public String getHostname() {
             return hostname;
         }
@@ -12,13 +12,13 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
@@ -42,30 +42,28 @@ import org.springframework.util.StringUtils;
  * {protocol}://{hostname}:{port}/{tenant}/controller/v1/{controllerId}/
  * softwaremodules/{softwareModuleId}/artifacts/{artifactFileName}.MD5SUM
  * 
+ * Default (binary deltas):
+ * {protocol}://{hostname}:{port}/{tenant}/controller/v1/{controllerId}/
+ * softwaremodules/{softwareModuleId}/artifacts/{artifactFileName}/deltas/
+ * {deltaSourceSHA1}
+ * 
  */
 public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(PropertyBasedArtifactUrlHandler.class);
 
-    private static final String PROTOCOL_PLACEHOLDER = "protocol";
-    private static final String CONTROLLER_ID_PLACEHOLDER = "controllerId";
-    private static final String TARGET_ID_BASE10_PLACEHOLDER = "targetId";
-    private static final String TARGET_ID_BASE62_PLACEHOLDER = "targetIdBase62";
-    private static final String IP_PLACEHOLDER = "ip";
-    private static final String PORT_PLACEHOLDER = "port";
-    private static final String HOSTNAME_PLACEHOLDER = "hostname";
-    private static final String HOSTNAME_REQUEST_PLACEHOLDER = "hostnameRequest";
-    private static final String PORT_REQUEST_PLACEHOLDER = "portRequest";
-    private static final String HOSTNAME_WITH_DOMAIN_REQUEST_PLACEHOLDER = "domainRequest";
-    private static final String ARTIFACT_FILENAME_PLACEHOLDER = "artifactFileName";
-    private static final String ARTIFACT_SHA1_PLACEHOLDER = "artifactSHA1";
-    private static final String ARTIFACT_ID_BASE10_PLACEHOLDER = "artifactId";
-    private static final String ARTIFACT_ID_BASE62_PLACEHOLDER = "artifactIdBase62";
-    private static final String TENANT_PLACEHOLDER = "tenant";
-    private static final String TENANT_ID_BASE10_PLACEHOLDER = "tenantId";
-    private static final String TENANT_ID_BASE62_PLACEHOLDER = "tenantIdBase62";
-    private static final String SOFTWARE_MODULE_ID_BASE10_PLACDEHOLDER = "softwareModuleId";
-    private static final String SOFTWARE_MODULE_ID_BASE62_PLACDEHOLDER = "softwareModuleIdBase62";
+    /**
+     * Maximum number of cached compiled URL patterns.
+     */
+    private static final int MAX_PATTERNS = 100;
+
+    /**
+     * Placeholder of the {@link UrlProtocol#getDeltaRef()} patterns for the
+     * SHA1 hash of the artifact a delta is applied to.
+     */
+    static final String DELTA_SOURCE_SHA1 = "{deltaSourceSHA1}";
+
+    private final Map<String, UrlPattern> patterns = new ConcurrentHashMap<>();
 
     private final ArtifactUrlHandlerProperties urlHandlerProperties;
 
@@ -93,57 +91,249 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
     }
 
-    private static String generateUrl(final UrlProtocol protocol, final URLPlaceholder placeholder,
-            final URI requestUri) {
-        final Set<Entry<String, String>> entrySet = getReplaceMap(protocol, placeholder, requestUri).entrySet();
+    @Override
+    public List<ArtifactUrl> getDeltaUrls(final URLPlaceholder placeholder, final String sourceSha1Hash,
+            final ApiType api, final URI requestUri) {
+
+        return urlHandlerProperties.getProtocols().values().stream()
+                .filter(urlProtocol -> urlProtocol.getSupports().contains(api) && urlProtocol.isEnabled())
+                .map(urlProtocol -> new ArtifactUrl(urlProtocol.getProtocol().toUpperCase(), urlProtocol.getRel(),
+                        getPattern(urlProtocol.getDeltaRef()).expand(urlProtocol, placeholder, requestUri)
+                                .replace(DELTA_SOURCE_SHA1, sourceSha1Hash)))
+                .collect(Collectors.toList());
+    }
 
-        String urlPattern = protocol.getRef();
+    private String generateUrl(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+        return getPattern(protocol.getRef()).expand(protocol, placeholder, requestUri);
+    }
 
-        for (final Entry<String, String> entry : entrySet) {
-            if (entry.getKey().equals(PORT_PLACEHOLDER)) {
-                urlPattern = urlPattern.replace(":{" + entry.getKey() + "}",
-                        StringUtils.isEmpty(entry.getValue()) ? "" : (":" + entry.getValue()));
-            } else {
-                urlPattern = urlPattern.replace("{" + entry.getKey() + "}", entry.getValue());
+    private UrlPattern getPattern(final String ref) {
+        final UrlPattern pattern = patterns.get(ref);
+        if (pattern != null) {
+            return pattern;
+        }
+
+        if (patterns.size() >= MAX_PATTERNS) {
+            patterns.clear();
+        }
+        return patterns.computeIfAbsent(ref, UrlPattern::new);
+    }
+
+    /**
+     * The placeholders that are supported in the {@link UrlProtocol#getRef()}
+     * patterns.
+     */
+    private enum Placeholder {
+        PROTOCOL("protocol") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return protocol.getProtocol();
+            }
+        },
+        CONTROLLER_ID("controllerId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return placeholder.getControllerId();
+            }
+        },
+        TARGET_ID_BASE10("targetId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return String.valueOf(placeholder.getTargetId());
+            }
+        },
+        TARGET_ID_BASE62("targetIdBase62") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return Base62Util.fromBase10(placeholder.getTargetId());
+            }
+        },
+        IP("ip") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return protocol.getIp();
+            }
+        },
+        /**
+         * Replaces <code>:{port}</code> including the colon, i.e. the colon is
+         * omitted if no port is configured.
+         */
+        PORT("port") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                final String port = getPort(protocol);
+                return StringUtils.isEmpty(port) ? "" : (":" + port);
+            }
+        },
+        HOSTNAME("hostname") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return protocol.getHostname();
+            }
+        },
+        HOSTNAME_REQUEST("hostnameRequest") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return getRequestHost(protocol, requestUri);
+            }
+        },
+        PORT_REQUEST("portRequest") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return getRequestPort(protocol, requestUri);
             }
+        },
+        HOSTNAME_WITH_DOMAIN_REQUEST("domainRequest") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return computeHostWithRequestDomain(protocol, requestUri);
+            }
+        },
+        ARTIFACT_FILENAME("artifactFileName") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                try {
+                    return URLEncoder.encode(placeholder.getSoftwareData().getFilename(),
+                            StandardCharsets.UTF_8.toString());
+                } catch (final UnsupportedEncodingException e) {
+                    LOG.error("Could not encode {}", placeholder.getSoftwareData().getFilename(), e);
+                    return "{" + getName() + "}";
+                }
+            }
+        },
+        ARTIFACT_SHA1("artifactSHA1") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return placeholder.getSoftwareData().getSha1Hash();
+            }
+        },
+        ARTIFACT_ID_BASE10("artifactId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return String.valueOf(placeholder.getSoftwareData().getArtifactId());
+            }
+        },
+        ARTIFACT_ID_BASE62("artifactIdBase62") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId());
+            }
+        },
+        TENANT("tenant") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return placeholder.getTenant();
+            }
+        },
+        TENANT_ID_BASE10("tenantId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return String.valueOf(placeholder.getTenantId());
+            }
+        },
+        TENANT_ID_BASE62("tenantIdBase62") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return Base62Util.fromBase10(placeholder.getTenantId());
+            }
+        },
+        SOFTWARE_MODULE_ID_BASE10("softwareModuleId") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return String.valueOf(placeholder.getSoftwareData().getSoftwareModuleId());
+            }
+        },
+        SOFTWARE_MODULE_ID_BASE62("softwareModuleIdBase62") {
+            @Override
+            String resolve(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+                return Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId());
+            }
+        };
+
+        private static final Map<String, Placeholder> BY_NAME = Arrays.stream(values())
+                .collect(Collectors.toMap(Placeholder::getName, Function.identity()));
+
+        private final String name;
+
+        Placeholder(final String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        abstract String resolve(UrlProtocol protocol, URLPlaceholder placeholder, URI requestUri);
+
+        private static Placeholder fromName(final String name) {
+            return BY_NAME.get(name);
         }
-        return urlPattern;
     }
 
-    private static Map<String, String> getReplaceMap(final UrlProtocol protocol, final URLPlaceholder placeholder,
-            final URI requestUri) {
-        final Map<String, String> replaceMap = new HashMap<>();
-        replaceMap.put(IP_PLACEHOLDER, protocol.getIp());
-        replaceMap.put(HOSTNAME_PLACEHOLDER, protocol.getHostname());
-
-        replaceMap.put(HOSTNAME_REQUEST_PLACEHOLDER, getRequestHost(protocol, requestUri));
-        replaceMap.put(PORT_REQUEST_PLACEHOLDER, getRequestPort(protocol, requestUri));
-        replaceMap.put(HOSTNAME_WITH_DOMAIN_REQUEST_PLACEHOLDER, computeHostWithRequestDomain(protocol, requestUri));
-
-        try {
-            replaceMap.put(ARTIFACT_FILENAME_PLACEHOLDER,
-                    URLEncoder.encode(placeholder.getSoftwareData().getFilename(), StandardCharsets.UTF_8.toString()));
-        } catch (final UnsupportedEncodingException e) {
-            LOG.error("Could not encode {}", placeholder.getSoftwareData().getFilename(), e);
+    /**
+     * A {@link UrlProtocol#getRef()} pattern that is split once into its
+     * literal parts and the {@link Placeholder}s in between so that only the
+     * placeholders that are actually used are resolved for every URL.
+     */
+    private static final class UrlPattern {
+
+        private final String[] literals;
+        private final Placeholder[] placeholders;
+        private final int literalsLength;
+
+        private UrlPattern(final String ref) {
+            final List<String> literalParts = new ArrayList<>();
+            final List<Placeholder> placeholderParts = new ArrayList<>();
+
+            final StringBuilder literal = new StringBuilder();
+            int position = 0;
+            int length = 0;
+            while (position < ref.length()) {
+                final int open = ref.indexOf('{', position);
+                final int close = open < 0 ? -1 : ref.indexOf('}', open);
+                if (close < 0) {
+                    break;
+                }
+
+                literal.append(ref, position, open);
+                final Placeholder placeholder = Placeholder.fromName(ref.substring(open + 1, close));
+
+                if (placeholder == null || !isApplicable(placeholder, literal)) {
+                    // unknown placeholders are kept as they are
+                    literal.append(ref, open, close + 1);
+                } else {
+                    if (placeholder == Placeholder.PORT) {
+                        literal.setLength(literal.length() - 1);
+                    }
+                    literalParts.add(literal.toString());
+                    length += literal.length();
+                    literal.setLength(0);
+                    placeholderParts.add(placeholder);
+                }
+                position = close + 1;
+            }
+            literal.append(ref, position, ref.length());
+            literalParts.add(literal.toString());
+            length += literal.length();
+
+            this.literals = literalParts.toArray(new String[0]);
+            this.placeholders = placeholderParts.toArray(new Placeholder[0]);
+            this.literalsLength = length;
         }
 
-        replaceMap.put(ARTIFACT_SHA1_PLACEHOLDER, placeholder.getSoftwareData().getSha1Hash());
-        replaceMap.put(PROTOCOL_PLACEHOLDER, protocol.getProtocol());
-        replaceMap.put(PORT_PLACEHOLDER, getPort(protocol));
-        replaceMap.put(TENANT_PLACEHOLDER, placeholder.getTenant());
-        replaceMap.put(TENANT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTenantId()));
-        replaceMap.put(TENANT_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTenantId()));
-        replaceMap.put(CONTROLLER_ID_PLACEHOLDER, placeholder.getControllerId());
-        replaceMap.put(TARGET_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTargetId()));
-        replaceMap.put(TARGET_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTargetId()));
-        replaceMap.put(ARTIFACT_ID_BASE62_PLACEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(ARTIFACT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE10_PLACDEHOLDER,
-                String.valueOf(placeholder.getSoftwareData().getSoftwareModuleId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE62_PLACDEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId()));
-        return replaceMap;
+        private static boolean isApplicable(final Placeholder placeholder, final CharSequence precedingLiteral) {
+            // the port is only replaced together with the preceding colon
+            return placeholder != Placeholder.PORT || (precedingLiteral.length() > 0
+                    && precedingLiteral.charAt(precedingLiteral.length() - 1) == ':');
+        }
+
+        private String expand(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+            final StringBuilder url = new StringBuilder(literalsLength + 32 * placeholders.length);
+            for (int i = 0; i < placeholders.length; i++) {
+                url.append(literals[i]).append(placeholders[i].resolve(protocol, placeholder, requestUri));
+            }
+            return url.append(literals[literals.length - 1]).toString();
+        }
     }
 
     private static String getRequestPort(final UrlProtocol protocol, final URI requestUri) {
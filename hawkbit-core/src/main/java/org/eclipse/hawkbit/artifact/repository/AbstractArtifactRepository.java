@@ -17,15 +17,18 @@ import java.io.OutputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.locks.Lock;
 
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import com.google.common.io.BaseEncoding;
 import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.Striped;
 
 /**
  * Abstract utility class for ArtifactRepository implementations with common
@@ -37,6 +40,13 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractArtifactRepository.class);
 
+    private final Striped<Lock> locks = Striped.lock(64);
+
+    @Override
+    public Lock getLock(final String sha1Hash) {
+        return locks.get(sha1Hash);
+    }
+
     @Override
     // suppress warning, of not strong enough hashing algorithm, SHA-1 and MD5
     // is not used security related
@@ -76,6 +86,25 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
         }
     }
 
+    /**
+     * Hands the already hashed file over to
+     * {@link #store(String, DbArtifactHash, String, String)}, so it is not read
+     * again.
+     */
+    @Override
+    public AbstractDbArtifact store(final String tenant, final File file, final String contentType,
+            final DbArtifactHash hashes) {
+        try {
+            Assert.notNull(hashes, "Hashes cannot be null");
+            Assert.notNull(hashes.getSha1(), "SHA1 hash cannot be null");
+            return store(sanitizeTenant(tenant), hashes, contentType, file.getPath());
+        } catch (final IOException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        } finally {
+            deleteTempFile(file.getPath());
+        }
+    }
+
     protected void deleteTempFile(final String tempFile) {
         final File file = new File(tempFile);
 
@@ -8,7 +8,14 @@
  */
 package org.eclipse.hawkbit.artifact.repository;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
@@ -50,6 +57,42 @@ public interface ArtifactRepository {
     AbstractDbArtifact store(@NotEmpty String tenant, @NotNull InputStream content, @NotEmpty String filename,
             String contentType, DbArtifactHash hash);
 
+    /**
+     * Stores an artifact whose binary has been written to a local file and
+     * hashed already, e.g. assembled from the chunks of a resumable upload.
+     * The file is consumed, i.e. it is moved into the repository or deleted
+     * afterwards.
+     *
+     * The default implementation streams the file through
+     * {@link #store(String, InputStream, String, String, DbArtifactHash)} and
+     * by this hashes it again.
+     *
+     * @param tenant
+     *            the tenant to store the artifact
+     * @param file
+     *            the binary of the artifact
+     * @param contentType
+     *            the content type of the artifact
+     * @param hashes
+     *            the complete hashes of the binary
+     * @return the stored artifact
+     *
+     * @throws ArtifactStoreException
+     *             in case storing of the artifact was not successful
+     */
+    default AbstractDbArtifact store(@NotEmpty final String tenant, @NotNull final File file,
+            final String contentType, @NotNull final DbArtifactHash hashes) {
+        try (InputStream content = new FileInputStream(file)) {
+            return store(tenant, content, file.getName(), contentType, hashes);
+        } catch (final IOException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        } finally {
+            if (file.exists() && !file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
     /**
      * Deletes an artifact by its SHA1 hash.
      * 
@@ -96,4 +139,77 @@ public interface ArtifactRepository {
      * @return the boolean whether the atrifact exists or not
      */
     boolean existsByTenantAndSha1(@NotEmpty String tenant, @NotEmpty String sha1Hash);
+
+    /**
+     * Retrieves the SHA1 hashes of the artifacts of a tenant that were stored
+     * before the given time, e.g. to find artifacts that are not referenced
+     * anymore.
+     *
+     * The default implementation returns an empty list, i.e. the repository
+     * does not support to list its artifacts.
+     *
+     * @param tenant
+     *            the tenant
+     * @param timestamp
+     *            in milliseconds since the epoch
+     *
+     * @return the sha1-hashes of the artifacts
+     */
+    default List<String> findSha1ByTenantAndStoredBefore(@NotEmpty final String tenant, final long timestamp) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Retrieves the time an artifact was stored the last time, i.e. including
+     * stores of the same binary and reuses by
+     * {@link #refreshBySha1(String, String)}.
+     *
+     * The default implementation returns {@code 0}, i.e. the repository does
+     * not know the time.
+     *
+     * @param tenant
+     *            the tenant
+     * @param sha1Hash
+     *            the sha1-hash of the artifact
+     *
+     * @return the time in milliseconds since the epoch or {@code 0} if the
+     *         artifact does not exist
+     */
+    default long getStoredAt(@NotEmpty final String tenant, @NotEmpty final String sha1Hash) {
+        return 0;
+    }
+
+    /**
+     * Updates the stored time of an existing artifact that is reused for a new
+     * artifact without storing its binary again, so it is not deleted as
+     * unreferenced in the meantime.
+     *
+     * The default implementation does nothing.
+     *
+     * @param tenant
+     *            the tenant
+     * @param sha1Hash
+     *            the sha1-hash of the artifact
+     */
+    default void refreshBySha1(@NotEmpty final String tenant, @NotEmpty final String sha1Hash) {
+        // the stored time is not tracked
+    }
+
+    /**
+     * Retrieves the lock that serializes the storing and the deletion of the
+     * artifacts with the given SHA1 hash within this JVM. It does not
+     * serialize the access of other nodes of a cluster that share the
+     * repository.
+     *
+     * The default implementation returns a new lock on every call, i.e. does
+     * not serialize anything.
+     *
+     * @param sha1Hash
+     *            the sha1-hash of the artifact
+     *
+     * @return the lock
+     */
+    default Lock getLock(@NotEmpty final String sha1Hash) {
+        return new ReentrantLock();
+    }
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository.model;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Artifact whose binary is held in memory, typically in a direct
+ * {@link ByteBuffer} of an artifact cache. The buffer is shared by all readers
+ * and is never modified.
+ */
+public class CachedDbArtifact extends AbstractDbArtifact {
+
+    private final ByteBuffer content;
+
+    /**
+     * Constructor.
+     *
+     * @param artifactId
+     *            ID of the artifact
+     * @param hashes
+     *            of the artifact
+     * @param content
+     *            binary of the artifact from position zero to its limit
+     * @param contentType
+     *            content-type or <code>null</code>
+     */
+    public CachedDbArtifact(final String artifactId, final DbArtifactHash hashes, final ByteBuffer content,
+            final String contentType) {
+        super(artifactId, hashes, content.limit(), contentType);
+        this.content = content.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return read-only view on the binary with its own position, so it can be
+     *         consumed by the caller without affecting other readers
+     */
+    public ByteBuffer getContent() {
+        return content.duplicate();
+    }
+
+    @Override
+    public InputStream getFileInputStream() {
+        return new ByteBufferInputStream(getContent());
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, read);
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
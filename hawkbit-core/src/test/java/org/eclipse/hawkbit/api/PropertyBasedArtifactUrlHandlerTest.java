@@ -10,8 +10,11 @@ package org.eclipse.hawkbit.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -79,6 +82,24 @@ public class PropertyBasedArtifactUrlHandlerTest {
         assertThat(ddiUrls).isEqualTo(dmfUrls);
     }
 
+    @Test
+    @Description("Verifies that filenames with special characters are URL encoded and controller IDs are inserted "
+            + "as they are, without expanding placeholders within the values.")
+    public void urlGenerationWithSpecialCharacters() throws UnsupportedEncodingException {
+        properties.getProtocols().put("download-http", new UrlProtocol());
+
+        for (final String name : Arrays.asList("with space", "a+b", "100%", "%20", "ümlaut-äöü", "Ω≈ç",
+                "reserved:@!$&'()*,;=", "query?fragment#", "dots..and~tilde", "{controllerId}")) {
+            final URLPlaceholder special = new URLPlaceholder(TENANT, TENANT_ID, name, TARGETID,
+                    new SoftwareData(SOFTWAREMODULEID, name, ARTIFACTID, SHA1HASH));
+
+            assertThat(urlHandlerUnderTest.getUrls(special, ApiType.DDI)).as(name)
+                    .containsExactly(new ArtifactUrl("HTTP", "download-http",
+                            HTTP_LOCALHOST + TENANT + "/controller/v1/" + name + "/softwaremodules/" + SOFTWAREMODULEID
+                                    + "/artifacts/" + URLEncoder.encode(name, StandardCharsets.UTF_8.name())));
+        }
+    }
+
     @Test
     @Description("Tests the generation of custom download url with a CoAP example that supports DMF only.")
     public void urlGenerationWithCustomConfiguration() {
@@ -187,4 +208,35 @@ public class PropertyBasedArtifactUrlHandlerTest {
                         + SOFTWAREMODULEID + "/artifacts/" + FILENAME_ENCODE));
 
     }
+
+    @Test
+    @Description("Verifies that the port is omitted together with its colon if not set and that unknown placeholders are kept in the generated url.")
+    public void urlGenerationWithoutPortAndUnknownPlaceholder() {
+        final UrlProtocol proto = new UrlProtocol();
+        proto.setPort(null);
+        proto.setRef("{protocol}://{hostname}:{port}/{unknown}/{tenantIdBase62}/{controllerId}");
+        properties.getProtocols().put("download-http", proto);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI))
+                    .containsExactly(new ArtifactUrl("http".toUpperCase(), "download-http", "http://localhost/{unknown}/"
+                            + Base62Util.fromBase10(TENANT_ID) + "/" + CONTROLLER_ID));
+        }
+    }
+
+    @Test
+    @Description("Verifies that delta urls are generated from the default delta pattern and from a custom one.")
+    public void deltaUrlGeneration() {
+        final UrlProtocol proto = new UrlProtocol();
+        properties.getProtocols().put("download-http", proto);
+
+        assertThat(urlHandlerUnderTest.getDeltaUrls(placeholder, "source1", ApiType.DDI, null))
+                .containsExactly(new ArtifactUrl("http".toUpperCase(), "download-http",
+                        HTTP_LOCALHOST + TENANT + "/controller/v1/" + CONTROLLER_ID + "/softwaremodules/"
+                                + SOFTWAREMODULEID + "/artifacts/" + FILENAME_ENCODE + "/deltas/source1"));
+
+        proto.setDeltaRef("{protocol}://{hostname}/deltas/{deltaSourceSHA1}/{artifactSHA1}");
+        assertThat(urlHandlerUnderTest.getDeltaUrls(placeholder, "source1", ApiType.DMF, null)).containsExactly(
+                new ArtifactUrl("http".toUpperCase(), "download-http", "http://localhost/deltas/source1/" + SHA1HASH));
+    }
 }
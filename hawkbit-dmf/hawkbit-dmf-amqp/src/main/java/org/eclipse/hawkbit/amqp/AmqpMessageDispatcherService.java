@@ -12,10 +12,8 @@ import static org.eclipse.hawkbit.repository.RepositoryConstants.MAX_ACTION_COUN
 
 import java.net.URI;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -29,15 +27,15 @@ import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
 import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
 import org.eclipse.hawkbit.dmf.json.model.DmfActionRequest;
 import org.eclipse.hawkbit.dmf.json.model.DmfArtifact;
+import org.eclipse.hawkbit.dmf.json.model.DmfArtifactDelta;
 import org.eclipse.hawkbit.dmf.json.model.DmfArtifactHash;
 import org.eclipse.hawkbit.dmf.json.model.DmfDownloadAndUpdateRequest;
 import org.eclipse.hawkbit.dmf.json.model.DmfMetadata;
 import org.eclipse.hawkbit.dmf.json.model.DmfMultiActionRequest;
 import org.eclipse.hawkbit.dmf.json.model.DmfSoftwareModule;
+import org.eclipse.hawkbit.repository.ArtifactDeltaManagement;
+import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
-import org.eclipse.hawkbit.repository.DistributionSetManagement;
-import org.eclipse.hawkbit.repository.RepositoryConstants;
-import org.eclipse.hawkbit.repository.SoftwareModuleManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
@@ -47,10 +45,10 @@ import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.ActionProperties;
-import org.eclipse.hawkbit.repository.model.Artifact;
-import org.eclipse.hawkbit.repository.model.DistributionSet;
-import org.eclipse.hawkbit.repository.model.SoftwareModule;
-import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.repository.model.ArtifactDelta;
+import org.eclipse.hawkbit.repository.model.ArtifactSnapshot;
+import org.eclipse.hawkbit.repository.model.DistributionSetSnapshot;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleSnapshot;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
@@ -63,7 +61,6 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.cloud.bus.ServiceMatcher;
 import org.springframework.cloud.bus.event.RemoteApplicationEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -84,9 +81,9 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     private final SystemManagement systemManagement;
     private final TargetManagement targetManagement;
     private final ServiceMatcher serviceMatcher;
-    private final DistributionSetManagement distributionSetManagement;
+    private final ControllerManagement controllerManagement;
     private final DeploymentManagement deploymentManagement;
-    private final SoftwareModuleManagement softwareModuleManagement;
+    private final ArtifactDeltaManagement artifactDeltaManagement;
 
     /**
      * Constructor.
@@ -106,15 +103,19 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
      * @param serviceMatcher
      *            to check in cluster case if the message is from the same
      *            cluster node
-     * @param distributionSetManagement
-     *            to retrieve modules
+     * @param controllerManagement
+     *            to retrieve the cached snapshots of the modules
+     * @param deploymentManagement
+     *            to retrieve the active actions of a target
+     * @param artifactDeltaManagement
+     *            to retrieve the binary deltas a target can download
      */
     protected AmqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
             final AmqpMessageSenderService amqpSenderService, final ArtifactUrlHandler artifactUrlHandler,
             final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
             final TargetManagement targetManagement, final ServiceMatcher serviceMatcher,
-            final DistributionSetManagement distributionSetManagement,
-            final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement) {
+            final ControllerManagement controllerManagement, final DeploymentManagement deploymentManagement,
+            final ArtifactDeltaManagement artifactDeltaManagement) {
         super(rabbitTemplate);
         this.artifactUrlHandler = artifactUrlHandler;
         this.amqpSenderService = amqpSenderService;
@@ -122,9 +123,9 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         this.systemManagement = systemManagement;
         this.targetManagement = targetManagement;
         this.serviceMatcher = serviceMatcher;
-        this.distributionSetManagement = distributionSetManagement;
-        this.softwareModuleManagement = softwareModuleManagement;
+        this.controllerManagement = controllerManagement;
         this.deploymentManagement = deploymentManagement;
+        this.artifactDeltaManagement = artifactDeltaManagement;
     }
 
     /**
@@ -142,14 +143,11 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
         LOG.debug("targetAssignDistributionSet retrieved. I will forward it to DMF broker.");
 
-        distributionSetManagement.get(assignedEvent.getDistributionSetId()).ifPresent(ds -> {
-
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules = getSoftwareModulesWithMetadata(
-                    ds);
+        controllerManagement.getDistributionSetSnapshot(assignedEvent.getDistributionSetId()).ifPresent(ds -> {
 
             targetManagement.getByControllerID(assignedEvent.getActions().keySet()).forEach(
                     target -> sendUpdateMessageToTarget(assignedEvent.getActions().get(target.getControllerId()),
-                            target, softwareModules));
+                            target, ds.getModules()));
 
         });
     }
@@ -171,20 +169,14 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
     private void sendMultiActionRequestMessages(final String tenant, final List<String> controllerIds) {
 
-        final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModuleMetadata = new HashMap<>();
         targetManagement.getByControllerID(controllerIds).stream()
                 .filter(target -> IpUtil.isAmqpUri(target.getAddress())).forEach(target -> {
 
                     final List<Action> activeActions = deploymentManagement
                             .findActiveActionsWithHighestWeight(target.getControllerId(), MAX_ACTION_COUNT);
 
-                    activeActions.forEach(action -> action.getDistributionSet().getModules().forEach(
-                            module -> softwareModuleMetadata.computeIfAbsent(module, this::getSoftwareModuleMetadata)));
-
                     if (!activeActions.isEmpty()) {
-                        sendMultiActionRequestToTarget(tenant, target, activeActions,
-                                action -> action.getDistributionSet().getModules().stream()
-                                        .collect(Collectors.toMap(m -> m, softwareModuleMetadata::get)));
+                        sendMultiActionRequestToTarget(tenant, target, activeActions, this::getSoftwareModules);
                     }
 
                 });
@@ -192,7 +184,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     protected void sendMultiActionRequestToTarget(final String tenant, final Target target, final List<Action> actions,
-            final Function<Action, Map<SoftwareModule, List<SoftwareModuleMetadata>>> getSoftwareModuleMetaData) {
+            final Function<Action, List<SoftwareModuleSnapshot>> getSoftwareModules) {
 
         final URI targetAdress = target.getAddress();
         if (!IpUtil.isAmqpUri(targetAdress) || CollectionUtils.isEmpty(actions)) {
@@ -202,7 +194,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         final DmfMultiActionRequest multiActionRequest = new DmfMultiActionRequest();
         actions.forEach(action -> {
             final DmfActionRequest actionRequest = createDmfActionRequest(target, action,
-                    getSoftwareModuleMetaData.apply(action));
+                    getSoftwareModules.apply(action));
             final int weight = deploymentManagement.getWeightConsideringDefault(action);
             multiActionRequest.addElement(getEventTypeForAction(action), actionRequest, weight);
         });
@@ -214,7 +206,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private DmfActionRequest createDmfActionRequest(final Target target, final Action action,
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+            final List<SoftwareModuleSnapshot> softwareModules) {
         if (action.isCancelingOrCanceled()) {
             return createPlainActionRequest(action);
         }
@@ -229,13 +221,12 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private DmfDownloadAndUpdateRequest createDownloadAndUpdateRequest(final Target target, final Action action,
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> softwareModules) {
+            final List<SoftwareModuleSnapshot> softwareModules) {
         final DmfDownloadAndUpdateRequest request = new DmfDownloadAndUpdateRequest();
         request.setActionId(action.getId());
         request.setTargetSecurityToken(systemSecurityContext.runAsSystem(target::getSecurityToken));
         if (softwareModules != null) {
-            softwareModules.entrySet()
-                    .forEach(entry -> request.addSoftwareModule(convertToAmqpSoftwareModule(target, entry)));
+            softwareModules.forEach(module -> request.addSoftwareModule(convertToAmqpSoftwareModule(target, module)));
         }
         return request;
     }
@@ -322,7 +313,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     protected void sendUpdateMessageToTarget(final ActionProperties action, final Target target,
-            final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
+            final List<SoftwareModuleSnapshot> modules) {
 
         final String tenant = action.getTenant();
 
@@ -337,9 +328,9 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         final String targetSecurityToken = systemSecurityContext.runAsSystem(target::getSecurityToken);
         downloadAndUpdateRequest.setTargetSecurityToken(targetSecurityToken);
 
-        modules.entrySet().forEach(entry -> {
+        modules.forEach(module -> {
 
-            final DmfSoftwareModule amqpSoftwareModule = convertToAmqpSoftwareModule(target, entry);
+            final DmfSoftwareModule amqpSoftwareModule = convertToAmqpSoftwareModule(target, module);
             downloadAndUpdateRequest.addSoftwareModule(amqpSoftwareModule);
         });
 
@@ -433,59 +424,77 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return messageProperties;
     }
 
-    private DmfSoftwareModule convertToAmqpSoftwareModule(final Target target,
-            final Entry<SoftwareModule, List<SoftwareModuleMetadata>> entry) {
+    private DmfSoftwareModule convertToAmqpSoftwareModule(final Target target, final SoftwareModuleSnapshot module) {
         final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
-        amqpSoftwareModule.setModuleId(entry.getKey().getId());
-        amqpSoftwareModule.setModuleType(entry.getKey().getType().getKey());
-        amqpSoftwareModule.setModuleVersion(entry.getKey().getVersion());
-        amqpSoftwareModule.setArtifacts(convertArtifacts(target, entry.getKey().getArtifacts()));
+        amqpSoftwareModule.setModuleId(module.getId());
+        amqpSoftwareModule.setModuleType(module.getTypeKey());
+        amqpSoftwareModule.setModuleVersion(module.getVersion());
+        amqpSoftwareModule.setArtifacts(convertArtifacts(target, module.getArtifacts()));
 
-        if (!CollectionUtils.isEmpty(entry.getValue())) {
-            amqpSoftwareModule.setMetadata(convertMetadata(entry.getValue()));
+        if (!CollectionUtils.isEmpty(module.getMetadata())) {
+            amqpSoftwareModule.setMetadata(convertMetadata(module.getMetadata()));
         }
 
         return amqpSoftwareModule;
     }
 
-    private List<DmfMetadata> convertMetadata(final List<SoftwareModuleMetadata> metadata) {
-        return metadata.stream().map(md -> new DmfMetadata(md.getKey(), md.getValue())).collect(Collectors.toList());
+    private static List<DmfMetadata> convertMetadata(final Map<String, String> metadata) {
+        return metadata.entrySet().stream().map(md -> new DmfMetadata(md.getKey(), md.getValue()))
+                .collect(Collectors.toList());
     }
 
-    private List<DmfArtifact> convertArtifacts(final Target target, final List<Artifact> localArtifacts) {
+    private List<DmfArtifact> convertArtifacts(final Target target, final List<ArtifactSnapshot> localArtifacts) {
         if (localArtifacts.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return localArtifacts.stream().map(localArtifact -> convertArtifact(target, localArtifact))
+        final Map<String, List<ArtifactDelta>> deltas = systemSecurityContext
+                .runAsSystem(() -> artifactDeltaManagement.findByControllerIdAndTargetSha1Hashes(
+                        target.getControllerId(), localArtifacts.stream().map(ArtifactSnapshot::getSha1Hash)
+                                .collect(Collectors.toList())));
+
+        return localArtifacts.stream()
+                .map(localArtifact -> convertArtifact(target, localArtifact,
+                        deltas.getOrDefault(localArtifact.getSha1Hash(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
-    private DmfArtifact convertArtifact(final Target target, final Artifact localArtifact) {
+    private DmfArtifact convertArtifact(final Target target, final ArtifactSnapshot localArtifact,
+            final List<ArtifactDelta> deltas) {
         final DmfArtifact artifact = new DmfArtifact();
 
-        artifact.setUrls(artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
-                        new SoftwareData(localArtifact.getSoftwareModule().getId(), localArtifact.getFilename(),
-                                localArtifact.getId(), localArtifact.getSha1Hash())),
-                        ApiType.DMF)
-                .stream().collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
+        final URLPlaceholder placeholder = new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
+                systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
+                new SoftwareData(localArtifact.getSoftwareModuleId(), localArtifact.getFilename(),
+                        localArtifact.getId(), localArtifact.getSha1Hash()));
+        artifact.setUrls(artifactUrlHandler.getUrls(placeholder, ApiType.DMF).stream()
+                .collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
 
         artifact.setFilename(localArtifact.getFilename());
         artifact.setHashes(new DmfArtifactHash(localArtifact.getSha1Hash(), localArtifact.getMd5Hash()));
         artifact.setSize(localArtifact.getSize());
+
+        if (!deltas.isEmpty()) {
+            artifact.setDeltas(deltas.stream().map(delta -> convertArtifactDelta(placeholder, delta))
+                    .collect(Collectors.toList()));
+        }
         return artifact;
     }
 
-    private Map<SoftwareModule, List<SoftwareModuleMetadata>> getSoftwareModulesWithMetadata(
-            final DistributionSet distributionSet) {
-        return distributionSet.getModules().stream().collect(Collectors.toMap(m -> m, this::getSoftwareModuleMetadata));
+    private DmfArtifactDelta convertArtifactDelta(final URLPlaceholder placeholder, final ArtifactDelta delta) {
+        final DmfArtifactDelta artifactDelta = new DmfArtifactDelta();
+        artifactDelta.setFrom(delta.getSourceSha1Hash());
+        artifactDelta.setHashes(new DmfArtifactHash(delta.getSha1Hash(), delta.getMd5Hash()));
+        artifactDelta.setSize(delta.getSize());
+        artifactDelta.setUrls(artifactUrlHandler
+                .getDeltaUrls(placeholder, delta.getSourceSha1Hash(), ApiType.DMF, null).stream()
+                .collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
+        return artifactDelta;
     }
 
-    private List<SoftwareModuleMetadata> getSoftwareModuleMetadata(final SoftwareModule module) {
-        return softwareModuleManagement.findMetaDataBySoftwareModuleIdAndTargetVisible(
-                PageRequest.of(0, RepositoryConstants.MAX_META_DATA_COUNT), module.getId()).getContent();
+    private List<SoftwareModuleSnapshot> getSoftwareModules(final Action action) {
+        return controllerManagement.getDistributionSetSnapshot(action.getDistributionSet().getId())
+                .map(DistributionSetSnapshot::getModules).orElse(Collections.emptyList());
     }
 
-}
\ No newline at end of file
+}
@@ -41,9 +41,8 @@ import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionProperties;
-import org.eclipse.hawkbit.repository.model.DistributionSet;
-import org.eclipse.hawkbit.repository.model.SoftwareModule;
-import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.repository.model.DistributionSetSnapshot;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleSnapshot;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
@@ -254,10 +253,10 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         final List<Action> actions = controllerManagement
                 .findActiveActionsWithHighestWeight(target.getControllerId(), MAX_ACTION_COUNT);
 
-        final Set<DistributionSet> distributionSets = actions.stream().map(Action::getDistributionSet)
+        final Set<Long> distributionSetIds = actions.stream().map(action -> action.getDistributionSet().getId())
                 .collect(Collectors.toSet());
-        final Map<Long, Map<SoftwareModule, List<SoftwareModuleMetadata>>> softwareModulesPerDistributionSet = distributionSets
-                .stream().collect(Collectors.toMap(DistributionSet::getId, this::getSoftwareModulesWithMetadata));
+        final Map<Long, List<SoftwareModuleSnapshot>> softwareModulesPerDistributionSet = distributionSetIds.stream()
+                .collect(Collectors.toMap(id -> id, this::getSoftwareModules));
 
         amqpMessageDispatcherService.sendMultiActionRequestToTarget(target.getTenant(), target, actions,
                 action -> softwareModulesPerDistributionSet.get(action.getDistributionSet().getId()));
@@ -277,21 +276,13 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
                     action.getId(), target.getAddress());
         } else {
             amqpMessageDispatcherService.sendUpdateMessageToTarget(new ActionProperties(action), action.getTarget(),
-                    getSoftwareModulesWithMetadata(action.getDistributionSet()));
+                    getSoftwareModules(action.getDistributionSet().getId()));
         }
     }
 
-    private Map<SoftwareModule, List<SoftwareModuleMetadata>> getSoftwareModulesWithMetadata(
-            final DistributionSet distributionSet) {
-        final List<Long> smIds = distributionSet.getModules().stream().map(SoftwareModule::getId)
-                .collect(Collectors.toList());
-
-        final Map<Long, List<SoftwareModuleMetadata>> metadata = controllerManagement
-                .findTargetVisibleMetaDataBySoftwareModuleId(smIds);
-
-        return distributionSet.getModules().stream()
-                .collect(Collectors.toMap(sm -> sm, sm -> metadata.getOrDefault(sm.getId(), Collections.emptyList())));
-
+    private List<SoftwareModuleSnapshot> getSoftwareModules(final long distributionSetId) {
+        return controllerManagement.getDistributionSetSnapshot(distributionSetId)
+                .map(DistributionSetSnapshot::getModules).orElse(Collections.emptyList());
     }
 
     /**
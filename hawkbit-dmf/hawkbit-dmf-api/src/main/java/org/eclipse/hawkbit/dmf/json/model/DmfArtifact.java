@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.dmf.json.model;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -37,6 +38,9 @@ public class DmfArtifact {
     @JsonProperty
     private Map<String, String> urls;
 
+    @JsonProperty
+    private List<DmfArtifactDelta> deltas;
+
     public Map<String, String> getUrls() {
         if (urls == null) {
             return Collections.emptyMap();
@@ -81,4 +85,16 @@ public class DmfArtifact {
         this.size = size;
     }
 
+    public List<DmfArtifactDelta> getDeltas() {
+        if (deltas == null) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(deltas);
+    }
+
+    public void setDeltas(final List<DmfArtifactDelta> deltas) {
+        this.deltas = deltas;
+    }
+
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.dmf.json.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * JSON representation of a binary delta that turns an artifact of the
+ * installed distribution set into the {@link DmfArtifact} it belongs to.
+ */
+@JsonInclude(Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DmfArtifactDelta {
+
+    /**
+     * SHA1 hash of the installed artifact the delta is applied to.
+     */
+    @JsonProperty
+    private String from;
+
+    @JsonProperty
+    private DmfArtifactHash hashes;
+
+    @JsonProperty
+    private long size;
+
+    @JsonProperty
+    private Map<String, String> urls;
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(final String from) {
+        this.from = from;
+    }
+
+    public DmfArtifactHash getHashes() {
+        return hashes;
+    }
+
+    public void setHashes(final DmfArtifactHash hashes) {
+        this.hashes = hashes;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(final long size) {
+        this.size = size;
+    }
+
+    public Map<String, String> getUrls() {
+        if (urls == null) {
+            return Collections.emptyMap();
+        }
+
+        return Collections.unmodifiableMap(urls);
+    }
+
+    public void setUrls(final Map<String, String> urls) {
+        this.urls = urls;
+    }
+
+}
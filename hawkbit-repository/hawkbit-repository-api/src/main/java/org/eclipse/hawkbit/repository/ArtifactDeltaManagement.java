@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ArtifactDelta;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * Management service for binary deltas between {@link Artifact}s of different
+ * {@link DistributionSet}s.
+ *
+ * The deltas are generated in a bounded background pool, from the artifacts
+ * of the installed distribution set of a {@link Target} to the corresponding
+ * artifacts of the assigned one. The artifacts correspond if their software
+ * modules are of the same type and they have the same filename, or if both
+ * modules have exactly one artifact. Devices that do not know a delta simply
+ * download the full artifact.
+ */
+public interface ArtifactDeltaManagement {
+
+    /**
+     * Finds the deltas a target can apply to the artifacts of its installed
+     * distribution set to get the given artifacts.
+     *
+     * @param controllerId
+     *            of the {@link Target}
+     * @param targetSha1Hashes
+     *            of the artifacts the target has to download
+     * @return the deltas by the SHA1 hash of the artifact they result in, empty
+     *         if deltas are disabled
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.IS_CONTROLLER)
+    Map<String, List<ArtifactDelta>> findByControllerIdAndTargetSha1Hashes(@NotEmpty String controllerId,
+            @NotNull Collection<String> targetSha1Hashes);
+
+    /**
+     * Finds the delta between two artifact binaries.
+     *
+     * @param sourceSha1Hash
+     *            of the artifact the delta is applied to
+     * @param targetSha1Hash
+     *            of the artifact the delta results in
+     * @return the delta if generated already
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.IS_CONTROLLER)
+    Optional<ArtifactDelta> get(@NotEmpty String sourceSha1Hash, @NotEmpty String targetSha1Hash);
+
+    /**
+     * Loads the binary of a delta from the artifact store.
+     *
+     * @param delta
+     *            to load the binary of
+     * @return the loaded binary, empty if it is not in the store anymore
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_DOWNLOAD_ARTIFACT + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.IS_CONTROLLER)
+    Optional<AbstractDbArtifact> loadDeltaBinary(@NotNull ArtifactDelta delta);
+
+    /**
+     * Schedules the generation of the deltas from the artifacts of one
+     * distribution set to the corresponding artifacts of another one. Deltas
+     * that exist already or are generated at the moment are skipped, as well as
+     * all deltas if they are disabled.
+     *
+     * @param sourceDistributionSetId
+     *            of the distribution set the deltas are applied to
+     * @param targetDistributionSetId
+     *            of the distribution set the deltas result in
+     * @return number of deltas that have been scheduled for generation
+     *
+     * @throws EntityNotFoundException
+     *             if one of the distribution sets does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_REPOSITORY)
+    int generateDeltas(long sourceDistributionSetId, long targetDistributionSetId);
+
+    /**
+     * Schedules the generation of the deltas from the installed distribution
+     * sets of the given targets to the assigned one, see
+     * {@link #generateDeltas(long, long)}. Does nothing if deltas are
+     * disabled.
+     *
+     * @param controllerIds
+     *            of the targets the distribution set has been assigned to
+     * @param distributionSetId
+     *            of the assigned distribution set
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    void generateDeltasForAssignment(@NotNull Collection<String> controllerIds, long distributionSetId);
+
+}
@@ -68,18 +68,48 @@ public interface ArtifactManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_REPOSITORY)
     Artifact create(@NotNull @Valid ArtifactUpload artifactUpload);
 
+    /**
+     * Persists the meta data of an artifact whose binary has been stored in
+     * the artifact repository already, e.g. by an {@link ArtifactUploadManagement}
+     * session, and assigns it to the given {@link SoftwareModule}. The binary
+     * is deleted again if the meta data cannot be persisted.
+     *
+     * @param moduleId
+     *            of the software module to assign the artifact to
+     * @param filename
+     *            of the artifact
+     * @param overrideExisting
+     *            to <code>true</code> if an artifact with the same filename
+     *            can be overridden
+     * @param binary
+     *            the stored binary
+     *
+     * @return created {@link Artifact}
+     *
+     * @throws EntityNotFoundException
+     *             if given software module does not exist
+     * @throws EntityAlreadyExistsException
+     *             if File with that name already exists in the Software Module
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_REPOSITORY)
+    Artifact create(long moduleId, @NotEmpty String filename, boolean overrideExisting,
+            @NotNull AbstractDbArtifact binary);
+
     /**
      * Garbage collects artifact binaries if only referenced by given
      * {@link SoftwareModule#getId()} or {@link SoftwareModules} that are marged
      * as deleted.
      * 
+     * The binary is only marked as unreferenced in the current transaction
+     * and deleted in the background after a grace period, unless it is
+     * referenced again in the meantime.
      *
      * @param artifactSha1Hash
      *            no longer needed
      * @param moduleId
      *            the garbage collection call is made for
      * 
-     * @return <code>true</code> if an binary was actually garbage collected
+     * @return <code>true</code> if an binary was marked for garbage collection
      */
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_DELETE_REPOSITORY)
     boolean clearArtifactBinary(@NotEmpty String artifactSha1Hash, long moduleId);
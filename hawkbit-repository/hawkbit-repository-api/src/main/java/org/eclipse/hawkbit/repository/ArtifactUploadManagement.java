@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
+import org.eclipse.hawkbit.repository.exception.ArtifactUploadSessionNotFoundException;
+import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.exception.FileSizeQuotaExceededException;
+import org.eclipse.hawkbit.repository.exception.InvalidSHA1HashException;
+import org.eclipse.hawkbit.repository.exception.StorageQuotaExceededException;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ArtifactUploadSession;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * Management service for resumable uploads of {@link Artifact} binaries.
+ *
+ * An upload session is created with the size of the binary. The chunks of
+ * the binary are uploaded by their offset, in any order and in parallel, and
+ * are written directly to their position in the assembled file. The binary is
+ * hashed incrementally as soon as a gap-free prefix has been received, so the
+ * commit only stores the assembled file and creates the {@link Artifact}.
+ *
+ * The sessions are held by the node that created them. Sessions that are not
+ * used for the configured timeout expire and their chunks are deleted.
+ */
+public interface ArtifactUploadManagement {
+
+    /**
+     * Creates an upload session for a new artifact of a software module.
+     *
+     * @param moduleId
+     *            of the {@link SoftwareModule} the artifact is created for
+     * @param filename
+     *            of the artifact
+     * @param size
+     *            of the binary in bytes
+     * @param contentType
+     *            of the binary, might be <code>null</code>
+     * @param providedHashes
+     *            to check the binary against on commit, might be
+     *            <code>null</code>
+     * @return the created session
+     *
+     * @throws EntityNotFoundException
+     *             if the software module does not exist
+     * @throws EntityAlreadyExistsException
+     *             if the software module has an artifact with the filename
+     *             already
+     * @throws FileSizeQuotaExceededException
+     *             if the size exceeds the maximum artifact size
+     * @throws StorageQuotaExceededException
+     *             if the size exceeds the remaining artifact storage
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_REPOSITORY)
+    ArtifactUploadSession createSession(long moduleId, @NotEmpty String filename, long size, String contentType,
+            DbArtifactHash providedHashes);
+
+    /**
+     * Writes a chunk of the binary at the given offset. Chunks can be uploaded
+     * in parallel and can be repeated, bytes that have been received already
+     * are skipped and not overwritten. A chunk that overlaps a chunk that is
+     * being written is rejected.
+     *
+     * @param sessionId
+     *            of the upload
+     * @param offset
+     *            of the first byte of the chunk in the binary
+     * @param chunk
+     *            content of the chunk, is not closed
+     * @param length
+     *            of the chunk in bytes
+     * @return the session after the chunk has been written
+     *
+     * @throws ArtifactUploadSessionNotFoundException
+     *             if the session does not exist or has expired
+     * @throws javax.validation.ValidationException
+     *             if the chunk exceeds the binary, overlaps a chunk that is
+     *             being written or the stream ends before the length of the
+     *             chunk has been read
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_REPOSITORY)
+    ArtifactUploadSession uploadChunk(@NotEmpty String sessionId, long offset, @NotNull InputStream chunk,
+            long length);
+
+    /**
+     * Retrieves the state of an upload session of the current tenant.
+     *
+     * @param sessionId
+     *            of the upload
+     * @return the session
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_REPOSITORY + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY)
+    Optional<ArtifactUploadSession> getSession(@NotEmpty String sessionId);
+
+    /**
+     * Completes the upload and creates the artifact. The session is removed.
+     *
+     * @param sessionId
+     *            of the upload
+     * @return the created artifact
+     *
+     * @throws ArtifactUploadSessionNotFoundException
+     *             if the session does not exist or has expired
+     * @throws javax.validation.ValidationException
+     *             if the binary has not been received completely
+     * @throws InvalidSHA1HashException
+     *             if the binary does not match the provided hashes
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_REPOSITORY)
+    Artifact commitSession(@NotEmpty String sessionId);
+
+    /**
+     * Aborts the upload and deletes the received chunks.
+     *
+     * @param sessionId
+     *            of the upload
+     *
+     * @throws ArtifactUploadSessionNotFoundException
+     *             if the session does not exist or has expired
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_REPOSITORY)
+    void abortSession(@NotEmpty String sessionId);
+}
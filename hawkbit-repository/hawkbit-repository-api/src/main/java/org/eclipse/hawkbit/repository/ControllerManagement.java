@@ -29,8 +29,11 @@ import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.DistributionSetSnapshot;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleSnapshot;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
@@ -79,6 +82,33 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Optional<SoftwareModule> getSoftwareModule(long moduleId);
 
+    /**
+     * Retrieves the immutable snapshot of a {@link SoftwareModule} as handed
+     * out to controllers, i.e. with its artifacts and target visible
+     * metadata. Snapshots are cached per tenant and shared between all
+     * controllers.
+     *
+     * @param moduleId
+     *            of the {@link SoftwareModule}
+     * @return {@link SoftwareModuleSnapshot} of the module
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY)
+    Optional<SoftwareModuleSnapshot> getSoftwareModuleSnapshot(long moduleId);
+
+    /**
+     * Retrieves the immutable snapshot of a {@link DistributionSet} with the
+     * snapshots of its modules as handed out to controllers. Snapshots are
+     * cached per tenant and shared between all controllers.
+     *
+     * @param distributionSetId
+     *            of the {@link DistributionSet}
+     * @return {@link DistributionSetSnapshot} of the distribution set
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY)
+    Optional<DistributionSetSnapshot> getDistributionSetSnapshot(long distributionSetId);
+
     /**
      * Retrieves {@link SoftwareModuleMetadata} where
      * {@link SoftwareModuleMetadata#isTargetVisible()}.
@@ -300,6 +330,21 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     String getPollingTimeForAction(long actionId);
 
+    /**
+     * Returns polling time based on the maintenance window for the given
+     * action without reloading it.
+     *
+     * @param action
+     *            the {@link Action} for which polling time is calculated based
+     *            on it having maintenance window or not
+     *
+     * @return current {@link TenantConfigurationKey#POLLING_TIME_INTERVAL}.
+     * 
+     * @see #getPollingTimeForAction(long)
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    String getPollingTimeForAction(@NotNull Action action);
+
     /**
      * Checks if a given target has currently or has even been assigned to the
      * given artifact through the action history list. This can e.g. indicate if
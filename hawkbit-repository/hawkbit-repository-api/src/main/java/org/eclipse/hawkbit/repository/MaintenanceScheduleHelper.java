@@ -13,7 +13,10 @@ import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.hawkbit.repository.exception.InvalidMaintenanceScheduleException;
 import org.springframework.util.StringUtils;
@@ -35,6 +38,13 @@ public final class MaintenanceScheduleHelper {
     private static final CronParser cronParser = new CronParser(
             CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
 
+    /**
+     * Maximum number of cached compiled maintenance schedules.
+     */
+    private static final int MAX_SCHEDULES = 10_000;
+
+    private static final Map<ScheduleKey, CompiledSchedule> SCHEDULES = new ConcurrentHashMap<>();
+
     private MaintenanceScheduleHelper() {
         throw new IllegalStateException("Utility class");
     }
@@ -60,20 +70,48 @@ public final class MaintenanceScheduleHelper {
      *         errors, returns empty value.
      * 
      */
-    // Exception squid:S1166 - if there are validation error(format of cron
-    // expression or duration is wrong), we simply return empty value
-    @SuppressWarnings("squid:S1166")
     public static Optional<ZonedDateTime> getNextMaintenanceWindow(final String cronSchedule, final String duration,
             final String timezone) {
-        try {
-            final ExecutionTime scheduleExecutor = ExecutionTime.forCron(getCronFromExpression(cronSchedule));
-            final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.of(timezone));
-            final ZonedDateTime after = now.minus(convertToISODuration(duration));
-            final ZonedDateTime next = scheduleExecutor.nextExecution(after);
-            return Optional.of(next);
-        } catch (final RuntimeException ignored) {
-            return Optional.empty();
+        return getSchedule(cronSchedule, duration, timezone).getNextWindow().map(Window::getStart);
+    }
+
+    /**
+     * Calculate the end of the next available maintenance window, i.e. the
+     * end of the window returned by
+     * {@link #getNextMaintenanceWindow(String, String, String)}.
+     *
+     * @param cronSchedule
+     *            is a cron expression with 6 mandatory fields and 1 last
+     *            optional field: "second minute hour dayofmonth month weekday
+     *            year".
+     * @param duration
+     *            in HH:mm:ss format specifying the duration of a maintenance
+     *            window, for example 00:30:00 for 30 minutes.
+     * @param timezone
+     *            is the time zone specified as +/-hh:mm offset from UTC.
+     *
+     * @return { @link Optional<ZonedDateTime>} of the end of the next
+     *         available window. In case there is none, or there are
+     *         maintenance window validation errors, returns empty value.
+     */
+    public static Optional<ZonedDateTime> getNextMaintenanceWindowEnd(final String cronSchedule,
+            final String duration, final String timezone) {
+        return getSchedule(cronSchedule, duration, timezone).getNextWindow().map(Window::getEnd);
+    }
+
+    private static CompiledSchedule getSchedule(final String cronSchedule, final String duration,
+            final String timezone) {
+        final ScheduleKey key = new ScheduleKey(cronSchedule, duration, timezone);
+
+        final CompiledSchedule schedule = SCHEDULES.get(key);
+        if (schedule != null) {
+            return schedule;
+        }
+
+        if (SCHEDULES.size() >= MAX_SCHEDULES) {
+            SCHEDULES.clear();
         }
+        return SCHEDULES.computeIfAbsent(key, CompiledSchedule::compile);
     }
 
     /**
@@ -205,4 +243,115 @@ public final class MaintenanceScheduleHelper {
             throw new InvalidMaintenanceScheduleException(e.getMessage(), e);
         }
     }
+
+    private static final class ScheduleKey {
+        private final String cronSchedule;
+        private final String duration;
+        private final String timezone;
+
+        private ScheduleKey(final String cronSchedule, final String duration, final String timezone) {
+            this.cronSchedule = cronSchedule;
+            this.duration = duration;
+            this.timezone = timezone;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cronSchedule, duration, timezone);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final ScheduleKey other = (ScheduleKey) obj;
+            return Objects.equals(cronSchedule, other.cronSchedule) && Objects.equals(duration, other.duration)
+                    && Objects.equals(timezone, other.timezone);
+        }
+    }
+
+    /**
+     * A maintenance window with its start and end time.
+     */
+    private static final class Window {
+        private final ZonedDateTime start;
+        private final ZonedDateTime end;
+
+        private Window(final ZonedDateTime start, final ZonedDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        private ZonedDateTime getStart() {
+            return start;
+        }
+
+        private ZonedDateTime getEnd() {
+            return end;
+        }
+    }
+
+    /**
+     * A parsed maintenance schedule that memoizes the next window until it has
+     * elapsed. As the next window is calculated relative to the current time
+     * minus the window duration it does not change before the end of that
+     * window. Once there is no further window the schedule stays lapsed.
+     */
+    private static final class CompiledSchedule {
+        private static final CompiledSchedule INVALID = new CompiledSchedule(null, null, null);
+
+        private final ExecutionTime executionTime;
+        private final Duration duration;
+        private final ZoneOffset zoneOffset;
+
+        private volatile Optional<Window> nextWindow;
+
+        private CompiledSchedule(final ExecutionTime executionTime, final Duration duration,
+                final ZoneOffset zoneOffset) {
+            this.executionTime = executionTime;
+            this.duration = duration;
+            this.zoneOffset = zoneOffset;
+            this.nextWindow = executionTime == null ? Optional.empty() : null;
+        }
+
+        // Exception squid:S1166 - if there are validation error(format of cron
+        // expression or duration is wrong), we simply return empty value
+        @SuppressWarnings("squid:S1166")
+        private static CompiledSchedule compile(final ScheduleKey key) {
+            try {
+                return new CompiledSchedule(ExecutionTime.forCron(getCronFromExpression(key.cronSchedule)),
+                        convertToISODuration(key.duration), ZoneOffset.of(key.timezone));
+            } catch (final RuntimeException ignored) {
+                return INVALID;
+            }
+        }
+
+        private Optional<Window> getNextWindow() {
+            final Optional<Window> window = nextWindow;
+            if (window != null && (!window.isPresent() || ZonedDateTime.now(zoneOffset).isBefore(window.get().end))) {
+                return window;
+            }
+
+            final Optional<Window> calculated = calculateNextWindow();
+            nextWindow = calculated;
+            return calculated;
+        }
+
+        // Exception squid:S1166 - if there is no further execution we simply
+        // return empty value
+        @SuppressWarnings("squid:S1166")
+        private Optional<Window> calculateNextWindow() {
+            try {
+                final ZonedDateTime after = ZonedDateTime.now(zoneOffset).minus(duration);
+                return Optional.ofNullable(executionTime.nextExecution(after))
+                        .map(start -> new Window(start, start.plus(duration)));
+            } catch (final RuntimeException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
 }
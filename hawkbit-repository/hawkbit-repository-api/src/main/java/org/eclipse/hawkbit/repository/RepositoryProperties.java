@@ -10,6 +10,8 @@ package org.eclipse.hawkbit.repository;
 
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressBatchEvent;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -40,7 +42,9 @@ public class RepositoryProperties {
     private boolean publishTargetPollEvent = true;
 
     /**
-     * Maximum number of poll operations queued before flush.
+     * Number of poll operations after which the buffered polls are flushed
+     * before the {@link #pollPersistenceFlushTime} is over. Repeated polls of
+     * the same target are buffered only once.
      */
     private int pollPersistenceQueueSize = 10_000;
 
@@ -59,6 +63,118 @@ public class RepositoryProperties {
      */
     private int actionWeightIfAbsent = 1000;
 
+    /**
+     * Set to <code>true</code> if the repository should publish events about
+     * the download progress of artifacts. Activated by default but may be worth
+     * to disable if nobody is watching the progress.
+     */
+    private boolean publishDownloadProgressEvent = true;
+
+    /**
+     * Interval in {@link TimeUnit#MILLISECONDS} in which the download progress
+     * is aggregated per download and published as
+     * {@link DownloadProgressBatchEvent} per tenant. Set to zero to publish
+     * every progress update as {@link DownloadProgressEvent} right away.
+     *
+     * Listeners of the {@link DownloadProgressEvent}, e.g. on other nodes or
+     * bus consumers, do not receive the progress if an interval is configured.
+     * Configure one only if all consumers handle the
+     * {@link DownloadProgressBatchEvent}.
+     */
+    private long downloadProgressEventInterval;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the resolved authorization of an
+     * artifact download (i.e. target, artifact and action) is reused for
+     * further requests of the same target and artifact, e.g. HTTP range
+     * requests. Set to zero to resolve every download request on its own.
+     */
+    private long downloadTicketTtl = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Maximum number of distribution set and software module snapshots each
+     * that are cached for the controller APIs.
+     */
+    private long entitySnapshotCacheSize = 10_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} a cached distribution set or
+     * software module snapshot is served at most. Bounds the staleness of
+     * changes that are not published as remote event, e.g. of artifacts.
+     */
+    private long entitySnapshotCacheTtl = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Directory the chunks of resumable artifact uploads are assembled in,
+     * by default the <code>.uploads</code> directory of the file-system
+     * artifact repository. Should be located on the same file-system as the
+     * artifact repository, so the assembled binary is moved and not copied
+     * into it. Every node uses its own sub-directory, the uploads of other
+     * nodes are deleted only after they have expired.
+     */
+    private String artifactUploadPath;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after which a resumable artifact
+     * upload that is not used anymore expires and its chunks are deleted.
+     */
+    private long artifactUploadSessionTimeout = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Generates binary deltas from the artifacts of the installed distribution
+     * set of a target to the artifacts of the assigned one and advertises them
+     * to the devices next to the full artifacts.
+     */
+    private boolean artifactDeltaEnabled;
+
+    /**
+     * Number of threads that generate binary deltas in the background.
+     */
+    private int artifactDeltaThreads = 1;
+
+    /**
+     * Number of binary deltas that wait for generation at most. Further deltas
+     * are skipped until the queue has capacity again.
+     */
+    private int artifactDeltaQueueSize = 100;
+
+    /**
+     * Maximum size in bytes of the artifacts a binary delta is generated for.
+     * Bounds the memory used by the generation, which holds both binaries and
+     * a suffix array of 8 bytes per byte of the source binary in memory.
+     */
+    private long artifactDeltaMaxArtifactSize = 32L * 1024 * 1024;
+
+    /**
+     * Maximum size of a binary delta relative to the size of the artifact it
+     * results in. Deltas that do not save enough are discarded.
+     */
+    private double artifactDeltaMaxSizeRatio = 0.8;
+
+    /**
+     * Time in milliseconds an unreferenced artifact binary is kept before the
+     * garbage collector deletes it.
+     */
+    private long artifactGcGracePeriod = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Maximum number of artifact binaries the garbage collector deletes per
+     * second.
+     */
+    private double artifactGcRate = 20;
+
+    /**
+     * Number of unreferenced artifact binaries the garbage collector processes
+     * per tenant and run.
+     */
+    private int artifactGcBatchSize = 500;
+
+    /**
+     * Number of rows of a table that are deleted per transaction when a tenant
+     * is deleted.
+     */
+    private int tenantDeletionChunkSize = 500;
+
     public boolean isEagerPollPersistence() {
         return eagerPollPersistence;
     }
@@ -107,4 +223,132 @@ public class RepositoryProperties {
         this.actionWeightIfAbsent = actionWeightIfAbsent;
     }
 
+    public boolean isPublishDownloadProgressEvent() {
+        return publishDownloadProgressEvent;
+    }
+
+    public void setPublishDownloadProgressEvent(final boolean publishDownloadProgressEvent) {
+        this.publishDownloadProgressEvent = publishDownloadProgressEvent;
+    }
+
+    public long getDownloadProgressEventInterval() {
+        return downloadProgressEventInterval;
+    }
+
+    public void setDownloadProgressEventInterval(final long downloadProgressEventInterval) {
+        this.downloadProgressEventInterval = downloadProgressEventInterval;
+    }
+
+    public long getDownloadTicketTtl() {
+        return downloadTicketTtl;
+    }
+
+    public void setDownloadTicketTtl(final long downloadTicketTtl) {
+        this.downloadTicketTtl = downloadTicketTtl;
+    }
+
+    public long getEntitySnapshotCacheSize() {
+        return entitySnapshotCacheSize;
+    }
+
+    public void setEntitySnapshotCacheSize(final long entitySnapshotCacheSize) {
+        this.entitySnapshotCacheSize = entitySnapshotCacheSize;
+    }
+
+    public long getEntitySnapshotCacheTtl() {
+        return entitySnapshotCacheTtl;
+    }
+
+    public void setEntitySnapshotCacheTtl(final long entitySnapshotCacheTtl) {
+        this.entitySnapshotCacheTtl = entitySnapshotCacheTtl;
+    }
+
+    public String getArtifactUploadPath() {
+        return artifactUploadPath;
+    }
+
+    public void setArtifactUploadPath(final String artifactUploadPath) {
+        this.artifactUploadPath = artifactUploadPath;
+    }
+
+    public long getArtifactUploadSessionTimeout() {
+        return artifactUploadSessionTimeout;
+    }
+
+    public void setArtifactUploadSessionTimeout(final long artifactUploadSessionTimeout) {
+        this.artifactUploadSessionTimeout = artifactUploadSessionTimeout;
+    }
+
+    public boolean isArtifactDeltaEnabled() {
+        return artifactDeltaEnabled;
+    }
+
+    public void setArtifactDeltaEnabled(final boolean artifactDeltaEnabled) {
+        this.artifactDeltaEnabled = artifactDeltaEnabled;
+    }
+
+    public int getArtifactDeltaThreads() {
+        return artifactDeltaThreads;
+    }
+
+    public void setArtifactDeltaThreads(final int artifactDeltaThreads) {
+        this.artifactDeltaThreads = artifactDeltaThreads;
+    }
+
+    public int getArtifactDeltaQueueSize() {
+        return artifactDeltaQueueSize;
+    }
+
+    public void setArtifactDeltaQueueSize(final int artifactDeltaQueueSize) {
+        this.artifactDeltaQueueSize = artifactDeltaQueueSize;
+    }
+
+    public long getArtifactDeltaMaxArtifactSize() {
+        return artifactDeltaMaxArtifactSize;
+    }
+
+    public void setArtifactDeltaMaxArtifactSize(final long artifactDeltaMaxArtifactSize) {
+        this.artifactDeltaMaxArtifactSize = artifactDeltaMaxArtifactSize;
+    }
+
+    public double getArtifactDeltaMaxSizeRatio() {
+        return artifactDeltaMaxSizeRatio;
+    }
+
+    public void setArtifactDeltaMaxSizeRatio(final double artifactDeltaMaxSizeRatio) {
+        this.artifactDeltaMaxSizeRatio = artifactDeltaMaxSizeRatio;
+    }
+
+    public long getArtifactGcGracePeriod() {
+        return artifactGcGracePeriod;
+    }
+
+    public void setArtifactGcGracePeriod(final long artifactGcGracePeriod) {
+        this.artifactGcGracePeriod = artifactGcGracePeriod;
+    }
+
+    public double getArtifactGcRate() {
+        return artifactGcRate;
+    }
+
+    public void setArtifactGcRate(final double artifactGcRate) {
+        this.artifactGcRate = artifactGcRate;
+    }
+
+    public int getArtifactGcBatchSize() {
+        return artifactGcBatchSize;
+    }
+
+    public void setArtifactGcBatchSize(final int artifactGcBatchSize) {
+        this.artifactGcBatchSize = artifactGcBatchSize;
+    }
+
+    public int getTenantDeletionChunkSize() {
+        return tenantDeletionChunkSize;
+    }
+
+    public void setTenantDeletionChunkSize(final int tenantDeletionChunkSize) {
+        this.tenantDeletionChunkSize = tenantDeletionChunkSize;
+    }
+
 }
@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository;
 
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import javax.validation.constraints.NotNull;
@@ -15,6 +16,7 @@ import javax.validation.constraints.NotNull;
 import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleType;
+import org.eclipse.hawkbit.repository.model.TenantDeletion;
 import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.repository.report.model.SystemUsageReport;
 import org.eclipse.hawkbit.repository.report.model.SystemUsageReportWithTenants;
@@ -37,7 +39,9 @@ public interface SystemManagement {
     String currentTenant();
 
     /**
-     * Deletes all data related to a given tenant.
+     * Marks a given tenant as deleting. The requests of the tenant are
+     * rejected from now on and all data related to it is deleted in the
+     * background by {@link #runTenantDeletion(String)}.
      *
      * @param tenant
      *            to delete
@@ -45,6 +49,40 @@ public interface SystemManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_SYSTEM_ADMIN)
     void deleteTenant(@NotNull String tenant);
 
+    /**
+     * Deletes the data of a tenant that has been marked by
+     * {@link #deleteTenant(String)} in chunks, continuing after the last
+     * completed chunk if the deletion has been interrupted before. Blocks until
+     * the deletion is complete, waiting for a deletion of the same tenant in
+     * progress on any node first.
+     *
+     * @param tenant
+     *            to delete
+     * @return <code>true</code> if the tenant has been deleted,
+     *         <code>false</code> if it has not been marked as deleting
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    boolean runTenantDeletion(@NotNull String tenant);
+
+    /**
+     * Retrieves the progress of the deletion of a tenant.
+     *
+     * @param tenant
+     *            that is deleted
+     * @return the {@link TenantDeletion} or empty if the tenant is not being
+     *         deleted
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_SYSTEM_ADMIN)
+    Optional<TenantDeletion> getTenantDeletion(@NotNull String tenant);
+
+    /**
+     * @param pageable
+     *            for paging information
+     * @return the deletions of all tenants that are being deleted
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_SYSTEM_ADMIN)
+    Page<TenantDeletion> findTenantDeletions(@NotNull Pageable pageable);
+
     /**
      *
      * @param pageable
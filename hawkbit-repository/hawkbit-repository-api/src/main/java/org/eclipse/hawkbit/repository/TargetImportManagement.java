@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.exception.InsufficientPermissionException;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetImportJob;
+import org.eclipse.hawkbit.repository.model.TargetImportRequest;
+import org.eclipse.hawkbit.repository.model.TargetImportRequest.Format;
+import org.eclipse.hawkbit.repository.model.TargetImportRequestBuilder;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * Management service for the bulk import of {@link Target}s.
+ *
+ * The imported stream is read once and the targets are created in chunks,
+ * each chunk in its own transaction. Existing targets are skipped. The tags
+ * and the distribution set of the {@link TargetImportRequest} are applied to
+ * the created targets of every chunk.
+ */
+public interface TargetImportManagement {
+
+    /**
+     * Imports the targets of the given stream in the calling thread.
+     *
+     * @param stream
+     *            with the targets in the format of the request, is not closed
+     * @param request
+     *            of the import
+     * @param progress
+     *            is notified after every chunk
+     * @return the finished or failed import
+     *
+     * @throws EntityNotFoundException
+     *             if one of the tags or the distribution set of the request
+     *             does not exist
+     * @throws InsufficientPermissionException
+     *             if the request assigns tags and the caller is not allowed to
+     *             update targets
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_TARGET)
+    TargetImportJob importTargets(@NotNull InputStream stream, @NotNull TargetImportRequest request,
+            @NotNull Consumer<TargetImportJob> progress);
+
+    /**
+     * Starts the asynchronous import of the targets of the given stream. The
+     * stream is buffered before this method returns, so it can be closed by
+     * the caller afterwards.
+     *
+     * @param stream
+     *            with the targets in the format of the request
+     * @param request
+     *            of the import
+     * @return the running import
+     *
+     * @throws EntityNotFoundException
+     *             if one of the tags or the distribution set of the request
+     *             does not exist
+     * @throws InsufficientPermissionException
+     *             if the request assigns tags and the caller is not allowed to
+     *             update targets
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_TARGET)
+    TargetImportJob startImport(@NotNull InputStream stream, @NotNull TargetImportRequest request);
+
+    /**
+     * Retrieves the state of an import of the current tenant that has been
+     * started on this node with {@link #startImport(InputStream, TargetImportRequest)}.
+     * Finished imports are retained for a limited time only.
+     *
+     * @param jobId
+     *            of the import
+     * @return the import
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_CREATE_TARGET + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Optional<TargetImportJob> getImportJob(@NotEmpty String jobId);
+
+    /**
+     * build a {@link TargetImportRequest} for an import of the given format
+     *
+     * @param format
+     *            of the imported stream
+     * @return the builder
+     */
+    static TargetImportRequestBuilder importRequest(final Format format) {
+        return new TargetImportRequestBuilder(format);
+    }
+}
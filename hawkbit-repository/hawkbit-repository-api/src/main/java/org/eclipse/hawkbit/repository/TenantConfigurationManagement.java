@@ -12,6 +12,7 @@ import java.io.Serializable;
 
 import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
 import org.eclipse.hawkbit.repository.model.TenantConfiguration;
+import org.eclipse.hawkbit.repository.model.TenantConfigurationSnapshot;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationValidatorException;
@@ -140,4 +141,19 @@ public interface TenantConfigurationManagement {
      */
     @PreAuthorize(value = SpringEvalExpressions.HAS_AUTH_TENANT_CONFIGURATION)
     <T> T getGlobalConfigurationValue(String configurationKeyName, Class<T> propertyType);
+
+    /**
+     * Retrieves the immutable snapshot of the configuration values of the
+     * current tenant that are read on the hot paths of the repository. The
+     * snapshot is loaded with one query and replaced on every change of the
+     * tenant configuration on any node of the cluster.
+     *
+     * @return the current {@link TenantConfigurationSnapshot}
+     */
+    @PreAuthorize(value = SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.HAS_AUTH_READ_TARGET + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.HAS_AUTH_UPDATE_TARGET + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.HAS_AUTH_TENANT_CONFIGURATION + SpringEvalExpressions.HAS_AUTH_OR
+            + SpringEvalExpressions.IS_CONTROLLER)
+    TenantConfigurationSnapshot getConfigurationSnapshot();
 }
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+
+/**
+ * TenantAwareEvent that contains the aggregated download progress of multiple
+ * downloads of a tenant since the last event, i.e. the shipped bytes per
+ * {@link ActionStatus} that was written for a download request.
+ */
+public class DownloadProgressBatchEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Long, Long> shippedBytesSinceLast = new HashMap<>();
+
+    /**
+     * Default constructor.
+     */
+    public DownloadProgressBatchEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenant
+     *            the tenant
+     * @param shippedBytesSinceLast
+     *            the shipped bytes since the last event per ID of the
+     *            {@link ActionStatus} the download belongs to
+     * @param applicationId
+     *            the application id.
+     */
+    public DownloadProgressBatchEvent(final String tenant, final Map<Long, Long> shippedBytesSinceLast,
+            final String applicationId) {
+        super(applicationId, tenant, applicationId);
+        this.shippedBytesSinceLast.putAll(shippedBytesSinceLast);
+    }
+
+    /**
+     * @return the shipped bytes since the last event per ID of the
+     *         {@link ActionStatus} the download belongs to
+     */
+    public Map<Long, Long> getShippedBytesSinceLast() {
+        return shippedBytesSinceLast;
+    }
+
+}
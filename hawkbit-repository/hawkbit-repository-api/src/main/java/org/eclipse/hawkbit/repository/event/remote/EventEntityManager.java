@@ -8,6 +8,11 @@
  */
 package org.eclipse.hawkbit.repository.event.remote;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
 
 /**
@@ -29,4 +34,22 @@ public interface EventEntityManager {
      */
     <E extends TenantAwareBaseEntity> E findEntity(String tenant, Long id, Class<E> entityType);
 
+    /**
+     * Find the entities by given ids and return them. Entities that do not
+     * exist (anymore) are not part of the result.
+     * 
+     * @param tenant
+     *            the tenant
+     * @param ids
+     *            the ids
+     * @param entityType
+     *            the entity type
+     * @return the found entities
+     */
+    default <E extends TenantAwareBaseEntity> List<E> findEntities(final String tenant, final Collection<Long> ids,
+            final Class<E> entityType) {
+        return ids.stream().map(id -> findEntity(tenant, id, entityType)).filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * Envelope that transports multiple {@link RemoteApplicationEvent}s of one
+ * node in a single bus message. The events are unpacked on the receiving side
+ * and published as individual application events in the order they have been
+ * added to the envelope.
+ */
+public class RemoteEventEnvelope extends RemoteApplicationEvent implements Iterable<RemoteApplicationEvent> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Transient as the events are serialized individually by the message
+     * converter.
+     */
+    private final transient List<RemoteApplicationEvent> events = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    public RemoteEventEnvelope() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param applicationId
+     *            the application id
+     * @param events
+     *            the events to transport
+     */
+    public RemoteEventEnvelope(final String applicationId, final List<? extends RemoteApplicationEvent> events) {
+        super(applicationId, applicationId);
+        this.events.addAll(events);
+    }
+
+    public List<RemoteApplicationEvent> getEvents() {
+        return events;
+    }
+
+    @Override
+    public Iterator<RemoteApplicationEvent> iterator() {
+        return events.iterator();
+    }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defines the remote event of a chunk of targets that has been created by a
+ * bulk import. The event replaces the single target created events of the
+ * chunk.
+ */
+public class TargetsImportedEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private String jobId;
+
+    private final List<String> controllerIds = new ArrayList<>();
+
+    /**
+     * Default constructor.
+     */
+    public TargetsImportedEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenant
+     *            tenant the event is scoped to
+     * @param applicationId
+     *            the application id
+     * @param jobId
+     *            the ID of the import
+     * @param controllerIds
+     *            the controller IDs of the created targets
+     */
+    public TargetsImportedEvent(final String tenant, final String applicationId, final String jobId,
+            final List<String> controllerIds) {
+        super(jobId, tenant, applicationId);
+        this.jobId = jobId;
+        this.controllerIds.addAll(controllerIds);
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public List<String> getControllerIds() {
+        return controllerIds;
+    }
+}
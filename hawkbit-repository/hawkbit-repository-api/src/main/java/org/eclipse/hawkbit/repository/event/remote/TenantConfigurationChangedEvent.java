@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+/**
+ * Defines the remote event of a changed or deleted tenant configuration. The
+ * nodes of the cluster invalidate their configuration snapshot of the tenant.
+ */
+public class TenantConfigurationChangedEvent extends RemoteTenantAwareEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Default constructor.
+     */
+    public TenantConfigurationChangedEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tenant
+     *            the tenant
+     * @param applicationId
+     *            the origin application id
+     */
+    public TenantConfigurationChangedEvent(final String tenant, final String applicationId) {
+        super(tenant, tenant, applicationId);
+    }
+}
@@ -8,8 +8,17 @@
  */
 package org.eclipse.hawkbit.repository.event.remote.entity;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManagerHolder;
 import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +68,41 @@ public class RemoteEntityEvent<E extends TenantAwareBaseEntity> extends RemoteId
         return entity;
     }
 
+    /**
+     * Loads the entities of the given events that are not loaded yet with one
+     * {@link EventEntityManager#findEntities(String, Collection, Class)} call
+     * per tenant and entity type instead of one query per event.
+     * 
+     * @param events
+     *            to load the entities for
+     */
+    public static void loadEntities(final Collection<? extends RemoteEntityEvent<?>> events) {
+        final Map<String, Map<String, List<RemoteEntityEvent<?>>>> notLoaded = events.stream()
+                .<RemoteEntityEvent<?>> map(Function.identity()).filter(event -> event.entity == null)
+                .collect(Collectors.groupingBy(
+                        RemoteTenantAwareEvent::getTenant, Collectors.groupingBy(RemoteIdEvent::getEntityClass)));
+
+        notLoaded.forEach((tenant, eventsPerClass) -> eventsPerClass
+                .forEach((entityClass, classEvents) -> loadEntities(tenant, entityClass, classEvents)));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void loadEntities(final String tenant, final String entityClass,
+            final List<RemoteEntityEvent<?>> events) {
+        try {
+            final Class<TenantAwareBaseEntity> clazz = (Class<TenantAwareBaseEntity>) Class.forName(entityClass);
+            final Set<Long> ids = events.stream().map(RemoteIdEvent::getEntityId).collect(Collectors.toSet());
+
+            final Map<Long, TenantAwareBaseEntity> entities = EventEntityManagerHolder.getInstance()
+                    .getEventEntityManager().findEntities(tenant, ids, clazz).stream()
+                    .collect(Collectors.toMap(TenantAwareBaseEntity::getId, Function.identity()));
+
+            events.forEach(event -> ((RemoteEntityEvent) event).entity = entities.get(event.getEntityId()));
+        } catch (final ClassNotFoundException e) {
+            LOG.error("Cannot reload entities because class is not found", e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private E reloadEntityFromRepository() {
         try {
@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.exception;
+
+/**
+ * Thrown if an artifact upload session does not exist, e.g. because it has
+ * expired or has been created on another node.
+ */
+public class ArtifactUploadSessionNotFoundException extends EntityNotFoundException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param sessionId
+     *            of the session that was not found
+     */
+    public ArtifactUploadSessionNotFoundException(final String sessionId) {
+        super("ArtifactUploadSession with given identifier {" + sessionId + "} does not exist.");
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+/**
+ * Binary delta that turns the binary of an {@link Artifact} with the source
+ * SHA1 hash into the binary of an {@link Artifact} with the target SHA1 hash.
+ * The delta itself is stored content-addressed by its own SHA1 hash next to
+ * the artifact binaries, in the BSDIFF40 format.
+ */
+public interface ArtifactDelta extends TenantAwareBaseEntity {
+
+    /**
+     * @return SHA1 hash of the artifact binary the delta is applied to.
+     */
+    String getSourceSha1Hash();
+
+    /**
+     * @return SHA1 hash of the artifact binary the delta results in.
+     */
+    String getTargetSha1Hash();
+
+    /**
+     * @return SHA1 hash of the delta binary.
+     */
+    String getSha1Hash();
+
+    /**
+     * @return MD5 hash of the delta binary.
+     */
+    String getMd5Hash();
+
+    /**
+     * @return SHA-256 hash of the delta binary.
+     */
+    String getSha256Hash();
+
+    /**
+     * @return size of the delta binary in bytes.
+     */
+    long getSize();
+
+}
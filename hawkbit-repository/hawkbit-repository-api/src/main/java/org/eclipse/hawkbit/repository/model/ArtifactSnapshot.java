@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.io.Serializable;
+
+/**
+ * Immutable snapshot of the {@link Artifact} fields that are handed out to
+ * controllers.
+ */
+public final class ArtifactSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+    private final long softwareModuleId;
+    private final String filename;
+    private final String sha1Hash;
+    private final String md5Hash;
+    private final String sha256Hash;
+    private final long size;
+
+    /**
+     * Constructor.
+     *
+     * @param artifact
+     *            to take the snapshot of
+     */
+    public ArtifactSnapshot(final Artifact artifact) {
+        this.id = artifact.getId();
+        this.softwareModuleId = artifact.getSoftwareModule().getId();
+        this.filename = artifact.getFilename();
+        this.sha1Hash = artifact.getSha1Hash();
+        this.md5Hash = artifact.getMd5Hash();
+        this.sha256Hash = artifact.getSha256Hash();
+        this.size = artifact.getSize();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getSoftwareModuleId() {
+        return softwareModuleId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getSha1Hash() {
+        return sha1Hash;
+    }
+
+    public String getMd5Hash() {
+        return md5Hash;
+    }
+
+    public String getSha256Hash() {
+        return sha256Hash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "ArtifactSnapshot [id=" + id + ", filename=" + filename + ", sha1Hash=" + sha1Hash + "]";
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of the state of a resumable upload of an {@link Artifact} binary.
+ */
+public class ArtifactUploadSession {
+
+    private final String id;
+    private final long moduleId;
+    private final String filename;
+    private final long size;
+    private final long received;
+    private final List<ByteRange> receivedRanges;
+    private final long expiresAt;
+
+    /**
+     * Constructor.
+     *
+     * @param id
+     *            of the session
+     * @param moduleId
+     *            of the {@link SoftwareModule} the artifact is created for
+     * @param filename
+     *            of the artifact
+     * @param size
+     *            of the complete binary in bytes
+     * @param received
+     *            number of bytes received so far
+     * @param receivedRanges
+     *            ranges of the binary received so far, in ascending order
+     * @param expiresAt
+     *            time the session is removed if it is not used anymore
+     */
+    public ArtifactUploadSession(final String id, final long moduleId, final String filename, final long size,
+            final long received, final List<ByteRange> receivedRanges, final long expiresAt) {
+        this.id = id;
+        this.moduleId = moduleId;
+        this.filename = filename;
+        this.size = size;
+        this.received = received;
+        this.receivedRanges = Collections.unmodifiableList(receivedRanges);
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getModuleId() {
+        return moduleId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public List<ByteRange> getReceivedRanges() {
+        return receivedRanges;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return <code>true</code> if the binary has been received completely
+     */
+    public boolean isComplete() {
+        return received == size;
+    }
+
+    @Override
+    public String toString() {
+        return "ArtifactUploadSession [id=" + id + ", moduleId=" + moduleId + ", filename=" + filename + ", size="
+                + size + ", received=" + received + "]";
+    }
+
+    /**
+     * Range of bytes of the binary.
+     */
+    public static final class ByteRange {
+        private final long start;
+        private final long end;
+
+        /**
+         * Constructor.
+         *
+         * @param start
+         *            offset of the first byte
+         * @param end
+         *            offset of the last byte (inclusive)
+         */
+        public ByteRange(final long start, final long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+    }
+}
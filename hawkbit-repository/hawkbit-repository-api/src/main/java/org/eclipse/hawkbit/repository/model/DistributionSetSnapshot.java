@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a {@link DistributionSet} and its
+ * {@link SoftwareModule}s as handed out to controllers. Snapshots are shared
+ * between all controllers of a tenant and replaced when the distribution set
+ * or one of its modules changes.
+ */
+public final class DistributionSetSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+    private final String name;
+    private final String version;
+    private final List<SoftwareModuleSnapshot> modules;
+
+    /**
+     * Constructor.
+     *
+     * @param distributionSet
+     *            to take the snapshot of
+     * @param modules
+     *            snapshots of the modules of the distribution set
+     */
+    public DistributionSetSnapshot(final DistributionSet distributionSet,
+            final Collection<SoftwareModuleSnapshot> modules) {
+        this.id = distributionSet.getId();
+        this.name = distributionSet.getName();
+        this.version = distributionSet.getVersion();
+        this.modules = Collections.unmodifiableList(new ArrayList<>(modules));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public List<SoftwareModuleSnapshot> getModules() {
+        return modules;
+    }
+
+    @Override
+    public String toString() {
+        return "DistributionSetSnapshot [id=" + id + ", name=" + name + ", version=" + version + "]";
+    }
+}
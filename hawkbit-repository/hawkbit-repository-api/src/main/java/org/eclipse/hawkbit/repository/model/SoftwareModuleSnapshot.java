@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of a {@link SoftwareModule} together with its
+ * {@link Artifact}s, the key of its {@link SoftwareModuleType} and its target
+ * visible {@link SoftwareModuleMetadata}.
+ */
+public final class SoftwareModuleSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+    private final String name;
+    private final String version;
+    private final String typeKey;
+    private final List<ArtifactSnapshot> artifacts;
+    private final Map<String, String> metadata;
+
+    /**
+     * Constructor.
+     *
+     * @param module
+     *            to take the snapshot of
+     * @param targetVisibleMetadata
+     *            of the module
+     */
+    public SoftwareModuleSnapshot(final SoftwareModule module,
+            final Collection<SoftwareModuleMetadata> targetVisibleMetadata) {
+        this.id = module.getId();
+        this.name = module.getName();
+        this.version = module.getVersion();
+        this.typeKey = module.getType().getKey();
+        this.artifacts = Collections.unmodifiableList(
+                module.getArtifacts().stream().map(ArtifactSnapshot::new).collect(Collectors.toCollection(ArrayList::new)));
+
+        final Map<String, String> values = new LinkedHashMap<>();
+        targetVisibleMetadata.forEach(md -> values.put(md.getKey(), md.getValue()));
+        this.metadata = Collections.unmodifiableMap(values);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getTypeKey() {
+        return typeKey;
+    }
+
+    public List<ArtifactSnapshot> getArtifacts() {
+        return artifacts;
+    }
+
+    /**
+     * @return the target visible metadata as key/value in the order of
+     *         retrieval
+     */
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public String toString() {
+        return "SoftwareModuleSnapshot [id=" + id + ", name=" + name + ", version=" + version + ", typeKey="
+                + typeKey + "]";
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+/**
+ * Snapshot of the state of a bulk import of {@link Target}s.
+ */
+public class TargetImportJob {
+
+    /**
+     * Status of the import.
+     */
+    public enum Status {
+        /**
+         * The stream is imported.
+         */
+        RUNNING,
+
+        /**
+         * The stream has been imported completely. Single entries might have
+         * been skipped or failed.
+         */
+        FINISHED,
+
+        /**
+         * The import has been aborted, see {@link TargetImportJob#getError()}.
+         */
+        FAILED
+    }
+
+    private final String id;
+    private final Status status;
+    private final long processed;
+    private final long created;
+    private final long skipped;
+    private final long failed;
+    private final long bytesRead;
+    private final long startedAt;
+    private final Long finishedAt;
+    private final String error;
+
+    /**
+     * Constructor.
+     *
+     * @param id
+     *            of the import
+     * @param status
+     *            of the import
+     * @param processed
+     *            number of entries read from the stream
+     * @param created
+     *            number of created targets
+     * @param skipped
+     *            number of entries skipped as the target exists already
+     * @param failed
+     *            number of invalid entries or entries that could not be
+     *            created
+     * @param bytesRead
+     *            number of bytes read from the stream
+     * @param startedAt
+     *            start of the import
+     * @param finishedAt
+     *            end of the import or <code>null</code> if still running
+     * @param error
+     *            the cause of a failed import
+     */
+    public TargetImportJob(final String id, final Status status, final long processed, final long created,
+            final long skipped, final long failed, final long bytesRead, final long startedAt, final Long finishedAt,
+            final String error) {
+        this.id = id;
+        this.status = status;
+        this.processed = processed;
+        this.created = created;
+        this.skipped = skipped;
+        this.failed = failed;
+        this.bytesRead = bytesRead;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "TargetImportJob [id=" + id + ", status=" + status + ", processed=" + processed + ", created="
+                + created + ", skipped=" + skipped + ", failed=" + failed + "]";
+    }
+}
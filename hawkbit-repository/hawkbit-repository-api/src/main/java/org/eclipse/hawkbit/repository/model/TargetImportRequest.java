@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+
+/**
+ * Describes a bulk import of {@link Target}s, i.e. the format of the imported
+ * stream and what is applied to every created {@link Target}.
+ */
+public class TargetImportRequest {
+
+    /**
+     * Format of the imported stream.
+     */
+    public enum Format {
+        /**
+         * One target per line with <code>controllerId,name</code>. The name is
+         * optional and defaults to the controller ID.
+         */
+        CSV,
+
+        /**
+         * One JSON object per line with the properties
+         * <code>controllerId</code>, <code>name</code>,
+         * <code>description</code> and <code>address</code>. Only the
+         * controller ID is mandatory.
+         */
+        NDJSON
+    }
+
+    private final Format format;
+    private final String description;
+    private final List<Long> tagIds;
+    private final Long distributionSetId;
+    private final ActionType actionType;
+    private final long forceTime;
+
+    /**
+     * Constructor.
+     *
+     * @param format
+     *            of the imported stream
+     * @param description
+     *            of the created targets if not given in the stream
+     * @param tagIds
+     *            of the {@link TargetTag}s assigned to the created targets
+     * @param distributionSetId
+     *            of the {@link DistributionSet} assigned to the created
+     *            targets or <code>null</code>
+     * @param actionType
+     *            of the assignment
+     * @param forceTime
+     *            of the assignment
+     */
+    public TargetImportRequest(final Format format, final String description, final Collection<Long> tagIds,
+            final Long distributionSetId, final ActionType actionType, final long forceTime) {
+        this.format = format;
+        this.description = description;
+        this.tagIds = Collections.unmodifiableList(new ArrayList<>(tagIds));
+        this.distributionSetId = distributionSetId;
+        this.actionType = actionType;
+        this.forceTime = forceTime;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<Long> getTagIds() {
+        return tagIds;
+    }
+
+    public Long getDistributionSetId() {
+        return distributionSetId;
+    }
+
+    public ActionType getActionType() {
+        return actionType;
+    }
+
+    public long getForceTime() {
+        return forceTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "TargetImportRequest [format=%s, tagIds=%s, distributionSetId=%d, actionType=%s, forceTime=%d]",
+                format, tagIds, distributionSetId, actionType, forceTime);
+    }
+}
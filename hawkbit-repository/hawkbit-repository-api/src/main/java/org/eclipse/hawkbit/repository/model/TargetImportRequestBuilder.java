@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.TargetImportRequest.Format;
+
+/**
+ * Builder for {@link TargetImportRequest}
+ *
+ */
+public class TargetImportRequestBuilder {
+
+    private final Format format;
+    private String description;
+    private final List<Long> tagIds = new ArrayList<>();
+    private Long distributionSetId;
+    private ActionType actionType = ActionType.FORCED;
+    private long forceTime = RepositoryModelConstants.NO_FORCE_TIME;
+
+    /**
+     * Create a builder for a target import with the mandatory fields
+     *
+     * @param format
+     *            of the imported stream
+     */
+    public TargetImportRequestBuilder(final Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Set the description of the created targets that do not define one.
+     *
+     * @param description
+     *            of the targets
+     * @return builder
+     */
+    public TargetImportRequestBuilder setDescription(final String description) {
+        this.description = description;
+        return this;
+    }
+
+    /**
+     * Set the tags that are assigned to the created targets.
+     *
+     * @param tagIds
+     *            IDs of the {@link TargetTag}s
+     * @return builder
+     */
+    public TargetImportRequestBuilder setTagIds(final Collection<Long> tagIds) {
+        this.tagIds.clear();
+        this.tagIds.addAll(tagIds);
+        return this;
+    }
+
+    /**
+     * Set the distribution set that is assigned to the created targets.
+     *
+     * @param distributionSetId
+     *            ID of the {@link DistributionSet}
+     * @return builder
+     */
+    public TargetImportRequestBuilder setDistributionSetId(final Long distributionSetId) {
+        this.distributionSetId = distributionSetId;
+        return this;
+    }
+
+    /**
+     * Set an other {@link ActionType} than {@link ActionType#FORCED} for the
+     * distribution set assignment.
+     *
+     * @param actionType
+     *            type to used
+     * @return builder
+     */
+    public TargetImportRequestBuilder setActionType(final ActionType actionType) {
+        this.actionType = actionType;
+        return this;
+    }
+
+    /**
+     * Set a forceTime other than the default one.
+     *
+     * @param forceTime
+     *            at what time the type soft turns into forced.
+     * @return builder
+     */
+    public TargetImportRequestBuilder setForceTime(final long forceTime) {
+        this.forceTime = forceTime;
+        return this;
+    }
+
+    /**
+     * build the request
+     *
+     * @return the request object
+     */
+    public TargetImportRequest build() {
+        return new TargetImportRequest(format, description, tagIds, distributionSetId, actionType, forceTime);
+    }
+}
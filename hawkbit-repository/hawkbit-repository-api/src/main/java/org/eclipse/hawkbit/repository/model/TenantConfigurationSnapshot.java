@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import java.io.Serializable;
+
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+
+/**
+ * Immutable snapshot of the tenant configuration values that are read on the
+ * hot paths of the repository, i.e. the tenant specific value or the global
+ * default of every key. A changed configuration results in a new snapshot
+ * with a higher version.
+ */
+public final class TenantConfigurationSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long version;
+    private String pollingTime;
+    private String minPollingTime;
+    private int maintenanceWindowPollCount;
+    private boolean multiAssignmentsEnabled;
+    private boolean actionsAutocloseEnabled;
+
+    private TenantConfigurationSnapshot() {
+    }
+
+    /**
+     * @return version of the snapshot, increased on every change of the tenant
+     *         configuration
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return value of {@link TenantConfigurationKey#POLLING_TIME_INTERVAL}
+     */
+    public String getPollingTime() {
+        return pollingTime;
+    }
+
+    /**
+     * @return value of {@link TenantConfigurationKey#MIN_POLLING_TIME_INTERVAL}
+     */
+    public String getMinPollingTime() {
+        return minPollingTime;
+    }
+
+    /**
+     * @return value of
+     *         {@link TenantConfigurationKey#MAINTENANCE_WINDOW_POLL_COUNT}
+     */
+    public int getMaintenanceWindowPollCount() {
+        return maintenanceWindowPollCount;
+    }
+
+    /**
+     * @return value of {@link TenantConfigurationKey#MULTI_ASSIGNMENTS_ENABLED}
+     */
+    public boolean isMultiAssignmentsEnabled() {
+        return multiAssignmentsEnabled;
+    }
+
+    /**
+     * @return value of
+     *         {@link TenantConfigurationKey#REPOSITORY_ACTIONS_AUTOCLOSE_ENABLED}
+     */
+    public boolean isActionsAutocloseEnabled() {
+        return actionsAutocloseEnabled;
+    }
+
+    /**
+     * Builder.
+     *
+     * @param version
+     *            of the snapshot
+     * @return the tenant configuration snapshot builder
+     */
+    public static TenantConfigurationSnapshotBuilder builder(final long version) {
+        return new TenantConfigurationSnapshotBuilder(version);
+    }
+
+    /**
+     * Builds the immutable tenant configuration snapshot.
+     */
+    public static class TenantConfigurationSnapshotBuilder {
+
+        private final TenantConfigurationSnapshot snapshot = new TenantConfigurationSnapshot();
+
+        private TenantConfigurationSnapshotBuilder(final long version) {
+            snapshot.version = version;
+        }
+
+        /**
+         * @return the tenant configuration snapshot
+         */
+        public TenantConfigurationSnapshot build() {
+            return snapshot;
+        }
+
+        /**
+         * @param pollingTime
+         *            the polling interval
+         * @return the tenant configuration snapshot builder
+         */
+        public TenantConfigurationSnapshotBuilder pollingTime(final String pollingTime) {
+            snapshot.pollingTime = pollingTime;
+            return this;
+        }
+
+        /**
+         * @param minPollingTime
+         *            the minimum polling interval
+         * @return the tenant configuration snapshot builder
+         */
+        public TenantConfigurationSnapshotBuilder minPollingTime(final String minPollingTime) {
+            snapshot.minPollingTime = minPollingTime;
+            return this;
+        }
+
+        /**
+         * @param maintenanceWindowPollCount
+         *            the polls before the start of a maintenance window
+         * @return the tenant configuration snapshot builder
+         */
+        public TenantConfigurationSnapshotBuilder maintenanceWindowPollCount(final int maintenanceWindowPollCount) {
+            snapshot.maintenanceWindowPollCount = maintenanceWindowPollCount;
+            return this;
+        }
+
+        /**
+         * @param multiAssignmentsEnabled
+         *            <code>true</code> if multi assignments are enabled
+         * @return the tenant configuration snapshot builder
+         */
+        public TenantConfigurationSnapshotBuilder multiAssignmentsEnabled(final boolean multiAssignmentsEnabled) {
+            snapshot.multiAssignmentsEnabled = multiAssignmentsEnabled;
+            return this;
+        }
+
+        /**
+         * @param actionsAutocloseEnabled
+         *            <code>true</code> if running actions are closed on a new
+         *            assignment
+         * @return the tenant configuration snapshot builder
+         */
+        public TenantConfigurationSnapshotBuilder actionsAutocloseEnabled(final boolean actionsAutocloseEnabled) {
+            snapshot.actionsAutocloseEnabled = actionsAutocloseEnabled;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+/**
+ * Progress of the deletion of a tenant. The deletion is started by
+ * {@link org.eclipse.hawkbit.repository.SystemManagement#deleteTenant(String)}
+ * and executed in the background, the tenant is rejected until the deletion
+ * is complete.
+ *
+ */
+public interface TenantDeletion extends BaseEntity {
+
+    /**
+     * @return name of the tenant that is deleted
+     */
+    String getTenant();
+
+    /**
+     * @return the step the deletion is currently executing, i.e. the kind of
+     *         entities whose rows are currently deleted or
+     *         <code>ARTIFACT_BINARY</code> if only the artifact binaries are
+     *         left
+     */
+    String getStep();
+
+    /**
+     * @return number of rows deleted so far, not counting the rows of
+     *         dependent tables that are deleted with them
+     */
+    long getDeletedRows();
+
+}
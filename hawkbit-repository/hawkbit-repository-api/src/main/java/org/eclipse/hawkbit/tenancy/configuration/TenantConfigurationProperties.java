@@ -147,6 +147,20 @@ public class TenantConfigurationProperties {
          */
         public static final String MULTI_ASSIGNMENTS_ENABLED = "multi.assignments.enabled";
 
+        /**
+         * Time window in milli-seconds in which download requests of the same
+         * action and artifact are coalesced into one download session. A value
+         * of zero logs every download request on its own.
+         */
+        public static final String DOWNLOAD_SESSION_WINDOW = "download.session.window";
+
+        /**
+         * Switch to filter collections like tags, attributes and metadata in
+         * RSQL queries with correlated EXISTS sub queries instead of joins and
+         * a distinct query.
+         */
+        public static final String RSQL_EXISTS_SUBQUERIES_ENABLED = "rsql.exists.subqueries.enabled";
+
         private String keyName;
         private String defaultValue = "";
         private Class<?> dataType = String.class;
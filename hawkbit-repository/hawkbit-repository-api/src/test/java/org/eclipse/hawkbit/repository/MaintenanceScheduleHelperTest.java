@@ -93,4 +93,22 @@ public class MaintenanceScheduleHelperTest {
                         .isInstanceOf(InvalidMaintenanceScheduleException.class)
                         .hasMessage("No valid maintenance window available after current time");
     }
+
+    @Test
+    @Description("Verifies that the end of the next maintenance window is calculated based on the duration and that repeated calculations return the same window")
+    public void getNextMaintenanceWindowEnd() {
+        final String cronSchedule = "0 0 0 ? * 6"; // at 00:00 every Saturday
+        final String duration = "01:30:00";
+        final String timezone = "+02:00";
+
+        final ZonedDateTime start = MaintenanceScheduleHelper
+                .getNextMaintenanceWindow(cronSchedule, duration, timezone).orElse(null);
+        assertThat(start).isNotNull();
+        assertThat(MaintenanceScheduleHelper.getNextMaintenanceWindowEnd(cronSchedule, duration, timezone))
+                .contains(start.plusMinutes(90));
+        assertThat(MaintenanceScheduleHelper.getNextMaintenanceWindow(cronSchedule, duration, timezone))
+                .contains(start);
+
+        assertThat(MaintenanceScheduleHelper.getNextMaintenanceWindowEnd("invalid", duration, timezone)).isEmpty();
+    }
 }
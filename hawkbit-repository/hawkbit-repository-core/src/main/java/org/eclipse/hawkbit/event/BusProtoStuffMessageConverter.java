@@ -8,6 +8,12 @@
  */
 package org.eclipse.hawkbit.event;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.bus.event.RemoteApplicationEvent;
@@ -32,6 +38,10 @@ import io.protostuff.runtime.RuntimeSchema;
  * message header information will get lost. So in this implementation the
  * information about the event-type is encoded in the payload of the message
  * directly using the encoded values of {@link EventType}.
+ * 
+ * A {@link RemoteEventEnvelope} is encoded as its own header and content
+ * followed by the header and length delimited content of every contained
+ * event. All events of the envelope share one {@link LinkedBuffer}.
  *
  */
 public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
@@ -63,9 +73,13 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
 
             final byte[] payload = (byte[]) objectPayload;
             final byte[] clazzHeader = extractClazzHeader(payload);
-            final byte[] content = extraxtContent(payload);
-
             final EventType eventType = readClassHeader(clazzHeader);
+
+            if (RemoteEventEnvelope.class.equals(eventType.getTargetClass())) {
+                return readEnvelope(payload);
+            }
+
+            final byte[] content = extraxtContent(payload);
             return readContent(eventType, content);
         }
         return null;
@@ -75,6 +89,10 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
     protected Object convertToInternal(final Object payload, final MessageHeaders headers,
             final Object conversionHint) {
 
+        if (payload instanceof RemoteEventEnvelope) {
+            return writeEnvelope((RemoteEventEnvelope) payload);
+        }
+
         final byte[] clazzHeader = writeClassHeader(payload.getClass());
 
         final byte[] writeContent = writeContent(payload);
@@ -83,6 +101,13 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
     }
 
     private static Object readContent(final EventType eventType, final byte[] content) {
+        final Schema<Object> schema = getSchema(eventType);
+        final Object deserializeEvent = schema.newMessage();
+        ProtobufIOUtil.mergeFrom(content, deserializeEvent, schema);
+        return deserializeEvent;
+    }
+
+    private static Schema<Object> getSchema(final EventType eventType) {
         final Class<?> targetClass = eventType.getTargetClass();
         if (targetClass == null) {
             LOG.error("Cannot read clazz header for given EventType value {}, missing mapping", eventType.getValue());
@@ -90,11 +115,60 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
         }
         @SuppressWarnings("unchecked")
         final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(targetClass);
+        return schema;
+    }
+
+    private static RemoteEventEnvelope readEnvelope(final byte[] payload) {
+        final InputStream in = new ByteArrayInputStream(payload, EVENT_TYPE_LENGTH,
+                payload.length - EVENT_TYPE_LENGTH);
+        try {
+            final RemoteEventEnvelope envelope = (RemoteEventEnvelope) readDelimited(in,
+                    EventType.from(RemoteEventEnvelope.class));
+
+            final byte[] clazzHeader = new byte[EVENT_TYPE_LENGTH];
+            while (in.read(clazzHeader) == EVENT_TYPE_LENGTH) {
+                envelope.getEvents().add((RemoteApplicationEvent) readDelimited(in, readClassHeader(clazzHeader)));
+            }
+            return envelope;
+        } catch (final IOException e) {
+            throw new MessageConversionException("Failed to read remote event envelope", e);
+        }
+    }
+
+    private static Object readDelimited(final InputStream in, final EventType eventType) throws IOException {
+        final Schema<Object> schema = getSchema(eventType);
         final Object deserializeEvent = schema.newMessage();
-        ProtobufIOUtil.mergeFrom(content, deserializeEvent, schema);
+        ProtobufIOUtil.mergeDelimitedFrom(in, deserializeEvent, schema);
         return deserializeEvent;
     }
 
+    private static byte[] writeEnvelope(final RemoteEventEnvelope envelope) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final LinkedBuffer buffer = LinkedBuffer.allocate();
+        try {
+            out.write(writeClassHeader(RemoteEventEnvelope.class));
+            writeDelimited(out, envelope, buffer);
+            for (final RemoteApplicationEvent event : envelope) {
+                out.write(writeClassHeader(event.getClass()));
+                writeDelimited(out, event, buffer);
+            }
+        } catch (final IOException e) {
+            throw new MessageConversionException("Failed to write remote event envelope", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeDelimited(final ByteArrayOutputStream out, final Object payload,
+            final LinkedBuffer buffer) throws IOException {
+        @SuppressWarnings("unchecked")
+        final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(payload.getClass());
+        try {
+            ProtobufIOUtil.writeDelimitedTo(out, payload, schema, buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
     private static byte[] mergeClassHeaderAndContent(final byte[] clazzHeader, final byte[] writeContent) {
         final byte[] body = new byte[clazzHeader.length + writeContent.length];
         System.arraycopy(clazzHeader, 0, body, 0, clazzHeader.length);
@@ -8,16 +8,20 @@
  */
 package org.eclipse.hawkbit.event;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetTagDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetTypeDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressBatchEvent;
 import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
 import org.eclipse.hawkbit.repository.event.remote.RolloutDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.RolloutGroupDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
@@ -28,6 +32,8 @@ import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetFilterQueryDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetTagDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetsImportedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
@@ -136,6 +142,18 @@ public class EventType {
 
         // deployment event for assignments and /or cancellations
         TYPES.put(38, MultiActionEvent.class);
+
+        // aggregated download progress of multiple downloads
+        TYPES.put(39, DownloadProgressBatchEvent.class);
+
+        // envelope of multiple remote events sent as one bus message
+        TYPES.put(40, RemoteEventEnvelope.class);
+
+        // tenant configuration changed
+        TYPES.put(41, TenantConfigurationChangedEvent.class);
+
+        // chunk of targets created by a bulk import
+        TYPES.put(42, TargetsImportedEvent.class);
     }
 
     private int value;
@@ -180,4 +198,11 @@ public class EventType {
 
         return foundEventType.map(EventType::new).orElse(null);
     }
+
+    /**
+     * @return the values of all registered event types
+     */
+    public static Set<Integer> getValues() {
+        return Collections.unmodifiableSet(TYPES.keySet());
+    }
 }
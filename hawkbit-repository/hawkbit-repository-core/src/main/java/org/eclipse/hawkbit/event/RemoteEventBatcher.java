@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * {@link ChannelInterceptor} for the outbound bus channel that collects the
+ * outgoing {@link RemoteApplicationEvent}s for a short period of time or up to
+ * a maximum number of events and sends them as one
+ * {@link RemoteEventEnvelope}.
+ *
+ * All events are queued in the order they are sent and the batches are sent
+ * one after the other, i.e. the order of the events (and by this the order
+ * per entity) is preserved. A batch that contains only one event as well as
+ * events that are not broadcasted are sent in the original single event
+ * format. If a batch cannot be sent, its events are sent one by one and only
+ * the events that fail again are dropped.
+ */
+public class RemoteEventBatcher implements ChannelInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemoteEventBatcher.class);
+
+    /**
+     * Header that marks messages that have been sent by the batcher itself.
+     */
+    static final String BATCHED_HEADER = "hawkbitBatched";
+
+    private static final String BROADCAST = "**";
+
+    private final BlockingQueue<RemoteApplicationEvent> queue = new LinkedBlockingQueue<>();
+    private final Lock flushLock = new ReentrantLock();
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final MessageChannel channel;
+    private final String applicationId;
+    private final int maxBatchSize;
+
+    /**
+     * Constructor.
+     *
+     * @param channel
+     *            the outbound bus channel the batches are sent to
+     * @param applicationId
+     *            the application id of this node
+     * @param executorService
+     *            to send the collected events periodically
+     * @param maxBatchSize
+     *            maximum number of events per {@link RemoteEventEnvelope}
+     * @param maxDelay
+     *            maximum time in {@link TimeUnit#MILLISECONDS} an event is
+     *            kept before it is sent
+     */
+    public RemoteEventBatcher(final MessageChannel channel, final String applicationId,
+            final ScheduledExecutorService executorService, final int maxBatchSize, final long maxDelay) {
+        this.channel = channel;
+        this.applicationId = applicationId;
+        this.maxBatchSize = maxBatchSize;
+
+        executorService.scheduleWithFixedDelay(this::flush, maxDelay, maxDelay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Message<?> preSend(final Message<?> message, final MessageChannel messageChannel) {
+        if (message.getHeaders().containsKey(BATCHED_HEADER)
+                || !(message.getPayload() instanceof RemoteApplicationEvent)) {
+            return message;
+        }
+
+        final RemoteApplicationEvent event = (RemoteApplicationEvent) message.getPayload();
+        if (!BROADCAST.equals(event.getDestinationService())) {
+            // the envelope is broadcasted, so send the queued events first to
+            // keep the order and the event itself as is
+            flush();
+            return message;
+        }
+
+        queue.add(event);
+
+        if (queue.size() >= maxBatchSize) {
+            flush();
+        }
+
+        // the event is sent with the next batch
+        return null;
+    }
+
+    /**
+     * Sends all queued events.
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            List<RemoteApplicationEvent> batch = drain();
+            while (!batch.isEmpty()) {
+                send(batch);
+                batch = drain();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return total number of events that could not be sent
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    private List<RemoteApplicationEvent> drain() {
+        final List<RemoteApplicationEvent> batch = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+        queue.drainTo(batch, maxBatchSize);
+        return batch;
+    }
+
+    private void send(final List<RemoteApplicationEvent> batch) {
+        LOG.debug("Send {} remote events.", batch.size());
+
+        if (batch.size() > 1) {
+            try {
+                if (send(new RemoteEventEnvelope(applicationId, batch))) {
+                    return;
+                }
+                LOG.warn("Failed to send {} remote events as one batch, sending them one by one.", batch.size());
+            } catch (final RuntimeException e) {
+                LOG.warn("Failed to send {} remote events as one batch, sending them one by one.", batch.size(), e);
+            }
+        }
+
+        batch.forEach(this::sendSingle);
+    }
+
+    private void sendSingle(final RemoteApplicationEvent event) {
+        try {
+            if (send(event)) {
+                return;
+            }
+            LOG.error("Failed to send remote event {}.", event);
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to send remote event {}.", event, e);
+        }
+        droppedEvents.incrementAndGet();
+    }
+
+    private boolean send(final Object payload) {
+        return channel.send(MessageBuilder.withPayload(payload).setHeader(BATCHED_HEADER, Boolean.TRUE).build());
+    }
+}
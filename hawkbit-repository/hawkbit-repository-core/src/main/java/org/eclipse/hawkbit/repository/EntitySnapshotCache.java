@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleTypeDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleTypeUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.DistributionSetSnapshot;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleSnapshot;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Internal read-through cache of the {@link DistributionSetSnapshot}s and
+ * {@link SoftwareModuleSnapshot}s that are handed out to controllers.
+ *
+ * As in the {@link TenantConfigurationSnapshotCache} every tenant has a version
+ * that is increased on invalidation and a snapshot is only served as long as
+ * it has been loaded with the current version. Any change of a distribution
+ * set, software module or software module type of a tenant invalidates all
+ * snapshots of that tenant. Entries expire after a fixed time in addition to
+ * cover changes that are not published as remote event.
+ */
+public class EntitySnapshotCache {
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Cache<String, Versioned<DistributionSetSnapshot>> distributionSets;
+    private final Cache<String, Versioned<SoftwareModuleSnapshot>> softwareModules;
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize
+     *            of the distribution set and software module cache each
+     * @param expireAfterWrite
+     *            maximum time in milliseconds an entry is served
+     */
+    public EntitySnapshotCache(final long maximumSize, final long expireAfterWrite) {
+        this.distributionSets = Caffeine.newBuilder().maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS).build();
+        this.softwareModules = Caffeine.newBuilder().maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS).build();
+    }
+
+    /**
+     * Retrieves the snapshot of a distribution set or loads it if it is not
+     * cached with the current version of the tenant.
+     *
+     * @param tenant
+     *            of the distribution set
+     * @param id
+     *            of the distribution set
+     * @param loader
+     *            loads the snapshot of the given id
+     * @return the snapshot or {@link Optional#empty()} if the distribution set
+     *         does not exist
+     */
+    public Optional<DistributionSetSnapshot> getDistributionSet(final String tenant, final long id,
+            final LongFunction<Optional<DistributionSetSnapshot>> loader) {
+        return get(distributionSets, tenant, id, loader);
+    }
+
+    /**
+     * Retrieves the snapshot of a software module or loads it if it is not
+     * cached with the current version of the tenant.
+     *
+     * @param tenant
+     *            of the software module
+     * @param id
+     *            of the software module
+     * @param loader
+     *            loads the snapshot of the given id
+     * @return the snapshot or {@link Optional#empty()} if the software module
+     *         does not exist
+     */
+    public Optional<SoftwareModuleSnapshot> getSoftwareModule(final String tenant, final long id,
+            final LongFunction<Optional<SoftwareModuleSnapshot>> loader) {
+        return get(softwareModules, tenant, id, loader);
+    }
+
+    /**
+     * Invalidates all snapshots of the tenant on this node.
+     *
+     * @param tenant
+     *            to invalidate
+     */
+    public void invalidate(final String tenant) {
+        final String prefix = tenant.toUpperCase() + "/";
+        versions.computeIfAbsent(tenant.toUpperCase(), k -> new AtomicLong()).incrementAndGet();
+        distributionSets.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        softwareModules.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    @EventListener(classes = { DistributionSetUpdatedEvent.class, DistributionSetDeletedEvent.class,
+            SoftwareModuleUpdatedEvent.class, SoftwareModuleDeletedEvent.class, SoftwareModuleTypeUpdatedEvent.class,
+            SoftwareModuleTypeDeletedEvent.class })
+    void invalidateOnChange(final RemoteTenantAwareEvent event) {
+        invalidate(event.getTenant());
+    }
+
+    private <T> Optional<T> get(final Cache<String, Versioned<T>> cache, final String tenant, final long id,
+            final LongFunction<Optional<T>> loader) {
+        final String tenantKey = tenant.toUpperCase();
+        final String key = tenantKey + "/" + id;
+        final long version = versions.computeIfAbsent(tenantKey, k -> new AtomicLong()).get();
+
+        final Versioned<T> cached = cache.getIfPresent(key);
+        if (cached != null && cached.version == version) {
+            return Optional.of(cached.value);
+        }
+
+        final Optional<T> loaded = loader.apply(id);
+        loaded.ifPresent(value -> cache.asMap().merge(key, new Versioned<>(version, value),
+                (current, update) -> current.version > update.version ? current : update));
+        return loaded;
+    }
+
+    private static final class Versioned<T> {
+        private final long version;
+        private final T value;
+
+        private Versioned(final long version, final T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
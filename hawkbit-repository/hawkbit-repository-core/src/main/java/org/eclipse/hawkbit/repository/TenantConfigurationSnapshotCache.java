@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
+import org.eclipse.hawkbit.repository.model.TenantConfigurationSnapshot;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Internal cache of the {@link TenantConfigurationSnapshot} per tenant.
+ *
+ * Every tenant has a version that is increased on invalidation. A snapshot is
+ * only served as long as it has been loaded with the current version, so a
+ * snapshot that has been loaded concurrently to a change is never served
+ * after the invalidation.
+ */
+public class TenantConfigurationSnapshotCache {
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, TenantConfigurationSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the current snapshot of the tenant or loads it if the tenant
+     * configuration has been changed since the last load.
+     *
+     * @param tenant
+     *            of the snapshot
+     * @param loader
+     *            loads the snapshot of the given version
+     * @return the current snapshot
+     */
+    public TenantConfigurationSnapshot get(final String tenant, final LongFunction<TenantConfigurationSnapshot> loader) {
+        final String key = tenant.toUpperCase();
+        final long version = versions.computeIfAbsent(key, k -> new AtomicLong()).get();
+
+        final TenantConfigurationSnapshot cached = snapshots.get(key);
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+
+        final TenantConfigurationSnapshot loaded = loader.apply(version);
+        snapshots.merge(key, loaded, (current, update) -> current.getVersion() > update.getVersion() ? current
+                : update);
+        return loaded;
+    }
+
+    /**
+     * Invalidates the snapshot of the tenant on this node.
+     *
+     * @param tenant
+     *            to invalidate
+     */
+    public void invalidate(final String tenant) {
+        final String key = tenant.toUpperCase();
+        versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        snapshots.remove(key);
+    }
+
+    @EventListener(classes = TenantConfigurationChangedEvent.class)
+    void invalidateOnChange(final TenantConfigurationChangedEvent event) {
+        invalidate(event.getTenant());
+    }
+}
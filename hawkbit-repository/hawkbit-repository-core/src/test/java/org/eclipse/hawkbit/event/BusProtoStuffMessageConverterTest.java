@@ -11,9 +11,13 @@ package org.eclipse.hawkbit.event;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 import org.assertj.core.api.Assertions;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -61,6 +65,31 @@ public class BusProtoStuffMessageConverterTest {
         assertThat(deserializedEvent).isEqualTo(targetCreatedEvent);
     }
 
+    @Test
+    @Description("Verifies that a RemoteEventEnvelope can be successfully serialized and deserialized with all events in order")
+    public void successfullySerializeAndDeserializeEnvelope() {
+        final TargetCreatedEvent targetCreatedEvent = new TargetCreatedEvent(targetMock, "1");
+        final TargetPollEvent targetPollEvent = new TargetPollEvent("controller", "tenant", "1");
+        final MultiActionEvent multiActionEvent = new MultiActionEvent("tenant", "1", Arrays.asList("a", "b"));
+        final RemoteEventEnvelope envelope = new RemoteEventEnvelope("1",
+                Arrays.asList(targetCreatedEvent, targetPollEvent, multiActionEvent));
+
+        // serialize
+        final Object serializedEvent = underTest.convertToInternal(envelope, new MessageHeaders(new HashMap<>()),
+                null);
+        assertThat(serializedEvent).isInstanceOf(byte[].class);
+
+        // deserialize
+        when(messageMock.getPayload()).thenReturn(serializedEvent);
+        final Object deserializedEvent = underTest.convertFromInternal(messageMock, RemoteApplicationEvent.class, null);
+        assertThat(deserializedEvent).isInstanceOf(RemoteEventEnvelope.class);
+        assertThat(deserializedEvent).isEqualTo(envelope);
+        assertThat(((RemoteEventEnvelope) deserializedEvent).getEvents()).containsExactly(targetCreatedEvent,
+                targetPollEvent, multiActionEvent);
+        assertThat(((MultiActionEvent) ((RemoteEventEnvelope) deserializedEvent).getEvents().get(2))
+                .getControllerIds()).containsExactly("a", "b");
+    }
+
     @Test
     @Description("Verifies that a MessageConversationException is thrown on missing event-type information encoding")
     public void missingEventTypeMappingThrowsMessageConversationException() {
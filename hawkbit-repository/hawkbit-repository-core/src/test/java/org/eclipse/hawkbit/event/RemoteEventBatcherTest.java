@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.hawkbit.repository.event.remote.RemoteEventEnvelope;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Remote event batching")
+@RunWith(MockitoJUnitRunner.class)
+public class RemoteEventBatcherTest {
+
+    private final List<Message<?>> sent = new ArrayList<>();
+
+    private final MessageChannel channel = (message, timeout) -> sent.add(message);
+
+    @Mock
+    private ScheduledExecutorService executorService;
+
+    @Test
+    @Description("Verifies that the collected events are sent as one envelope in the original order.")
+    public void eventsAreSentAsEnvelopeInOrder() {
+        final RemoteEventBatcher underTest = new RemoteEventBatcher(channel, "node", executorService, 10, 5);
+
+        final List<TargetPollEvent> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final TargetPollEvent event = new TargetPollEvent("controller" + i, "tenant", "node");
+            events.add(event);
+            assertThat(underTest.preSend(MessageBuilder.withPayload(event).build(), channel)).isNull();
+        }
+        assertThat(sent).isEmpty();
+
+        underTest.flush();
+
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).getPayload()).isInstanceOf(RemoteEventEnvelope.class);
+        assertThat(((RemoteEventEnvelope) sent.get(0).getPayload()).getEvents()).containsExactlyElementsOf(events);
+    }
+
+    @Test
+    @Description("Verifies that the events are sent as soon as the maximum batch size is reached.")
+    public void eventsAreSentOnMaxBatchSize() {
+        final RemoteEventBatcher underTest = new RemoteEventBatcher(channel, "node", executorService, 3, 5);
+
+        for (int i = 0; i < 7; i++) {
+            underTest.preSend(MessageBuilder.withPayload(new TargetPollEvent("controller" + i, "tenant", "node"))
+                    .build(), channel);
+        }
+        assertThat(sent).hasSize(2);
+
+        underTest.flush();
+        assertThat(sent).hasSize(3);
+        assertThat(sent.get(2).getPayload()).isInstanceOf(TargetPollEvent.class);
+    }
+
+    @Test
+    @Description("Verifies that the events of a batch that cannot be sent are sent one by one and that only the "
+            + "events that fail again are dropped.")
+    public void failedBatchIsSentOneByOne() {
+        final MessageChannel failingChannel = (message, timeout) -> {
+            if (message.getPayload() instanceof RemoteEventEnvelope) {
+                throw new IllegalStateException("envelope rejected");
+            }
+            return !"controller1".equals(((TargetPollEvent) message.getPayload()).getControllerId())
+                    && sent.add(message);
+        };
+        final RemoteEventBatcher underTest = new RemoteEventBatcher(failingChannel, "node", executorService, 10, 5);
+
+        for (int i = 0; i < 3; i++) {
+            underTest.preSend(MessageBuilder.withPayload(new TargetPollEvent("controller" + i, "tenant", "node"))
+                    .build(), failingChannel);
+        }
+        underTest.flush();
+
+        assertThat(sent.stream().map(message -> ((TargetPollEvent) message.getPayload()).getControllerId()))
+                .containsExactly("controller0", "controller2");
+        assertThat(underTest.getDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that messages sent by the batcher itself are passed through.")
+    public void batchedMessagesArePassedThrough() {
+        final RemoteEventBatcher underTest = new RemoteEventBatcher(channel, "node", executorService, 3, 5);
+
+        final Message<TargetPollEvent> message = MessageBuilder
+                .withPayload(new TargetPollEvent("controller", "tenant", "node"))
+                .setHeader(RemoteEventBatcher.BATCHED_HEADER, Boolean.TRUE).build();
+
+        assertThat(underTest.preSend(message, channel)).isSameAs(message);
+    }
+}
@@ -516,6 +516,46 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(a.rolloutGroup.id, a.status , COUNT(a.id)) FROM JpaAction a WHERE a.rolloutGroup.id IN ?1 GROUP BY a.rolloutGroup.id, a.status")
     List<TotalTargetCountActionStatus> getStatusCountByRolloutGroupId(List<Long> rolloutGroupId);
 
+    /**
+     * Get list of objects which has details of status and count of the rollout
+     * actions with the given IDs per rollout group.
+     *
+     * @param actionIds
+     *            the IDs of the actions
+     * @return list of objects with rollout group, status and action count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(a.rolloutGroup.id, a.status , COUNT(a.id)) FROM JpaAction a WHERE a.id IN ?1 AND a.rolloutGroup IS NOT NULL GROUP BY a.rolloutGroup.id, a.status")
+    List<TotalTargetCountActionStatus> getRolloutGroupStatusCountByIdIn(Collection<Long> actionIds);
+
+    /**
+     * Get list of objects which has details of status and count of the rollout
+     * actions of the given targets per rollout group.
+     *
+     * @param targetIds
+     *            the IDs of the targets
+     * @return list of objects with rollout group, status and action count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(a.rolloutGroup.id, a.status , COUNT(a.id)) FROM JpaAction a WHERE a.target.id IN ?1 AND a.rolloutGroup IS NOT NULL GROUP BY a.rolloutGroup.id, a.status")
+    List<TotalTargetCountActionStatus> getRolloutGroupStatusCountByTargetIdIn(Collection<Long> targetIds);
+
+    /**
+     * Get list of objects which has details of status and count of the rollout
+     * actions per rollout group that are affected by
+     * {@link #switchStatus(Action.Status, List, boolean, Action.Status)}.
+     *
+     * @param targetIds
+     *            the IDs of the targets of the actions
+     * @param active
+     *            the active flag of the actions
+     * @param currentStatus
+     *            the current status of the actions
+     * @return list of objects with rollout group, status and action count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(a.rolloutGroup.id, a.status , COUNT(a.id)) FROM JpaAction a WHERE a.target.id IN :targetsIds AND a.active = :active AND a.status = :currentStatus AND a.distributionSet.requiredMigrationStep = false AND a.rolloutGroup IS NOT NULL GROUP BY a.rolloutGroup.id, a.status")
+    List<TotalTargetCountActionStatus> getRolloutGroupStatusCountForSwitchStatus(
+            @Param("targetsIds") List<Long> targetIds, @Param("active") boolean active,
+            @Param("currentStatus") Action.Status currentStatus);
+
     /**
      * Deletes all actions with the given IDs.
      * 
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import org.eclipse.hawkbit.repository.ArtifactDeltaManagement;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Schedules the generation of the binary deltas for the targets of a
+ * distribution set assignment. Only the node the assignment has been made on
+ * handles the event, so every assignment is handled once in a cluster.
+ */
+public class ArtifactDeltaAssignmentListener {
+
+    private final ArtifactDeltaManagement artifactDeltaManagement;
+
+    private final SystemSecurityContext systemSecurityContext;
+
+    ArtifactDeltaAssignmentListener(final ArtifactDeltaManagement artifactDeltaManagement,
+            final SystemSecurityContext systemSecurityContext) {
+        this.artifactDeltaManagement = artifactDeltaManagement;
+        this.systemSecurityContext = systemSecurityContext;
+    }
+
+    @EventListener(classes = TargetAssignDistributionSetEvent.class)
+    void onAssignment(final TargetAssignDistributionSetEvent event) {
+        if (!EventPublisherHolder.getInstance().getApplicationId().equals(event.getOriginService())) {
+            return;
+        }
+
+        systemSecurityContext.runAsSystemAsTenant(() -> {
+            artifactDeltaManagement.generateDeltasForAssignment(event.getActions().keySet(),
+                    event.getDistributionSetId());
+            return null;
+        }, event.getTenant());
+    }
+}
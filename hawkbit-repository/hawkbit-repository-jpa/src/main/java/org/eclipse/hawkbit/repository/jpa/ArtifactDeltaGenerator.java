@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.model.JpaArtifactDelta;
+import org.eclipse.hawkbit.repository.jpa.utils.BsDiff;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Generates binary deltas between artifacts in a bounded pool of background
+ * threads. A delta is only stored if it can be applied to the source binary
+ * and saves enough compared to the full artifact. The pool is shut down with
+ * the application context, deltas that have not been generated until then
+ * are generated on the next request.
+ */
+public class ArtifactDeltaGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactDeltaGenerator.class);
+
+    // the suffix sort of the source binary recurses deeply on repetitive data
+    private static final long THREAD_STACK_SIZE = 16L * 1024 * 1024;
+
+    private final ArtifactRepository artifactRepository;
+    private final ArtifactDeltaRepository artifactDeltaRepository;
+    private final SystemSecurityContext systemSecurityContext;
+    private final TransactionTemplate txTemplate;
+    private final RepositoryProperties repositoryProperties;
+    private final LockRegistry lockRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+    ArtifactDeltaGenerator(final ArtifactRepository artifactRepository,
+            final ArtifactDeltaRepository artifactDeltaRepository, final SystemSecurityContext systemSecurityContext,
+            final PlatformTransactionManager txManager, final RepositoryProperties repositoryProperties,
+            final LockRegistry lockRegistry) {
+        this.artifactRepository = artifactRepository;
+        this.artifactDeltaRepository = artifactDeltaRepository;
+        this.systemSecurityContext = systemSecurityContext;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.repositoryProperties = repositoryProperties;
+        this.lockRegistry = lockRegistry;
+        this.executor = new ThreadPoolExecutor(repositoryProperties.getArtifactDeltaThreads(),
+                repositoryProperties.getArtifactDeltaThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(repositoryProperties.getArtifactDeltaQueueSize()), threadFactory());
+    }
+
+    private static ThreadFactory threadFactory() {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(null, runnable, "delta-generator-" + count.getAndIncrement(),
+                    THREAD_STACK_SIZE);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Schedules the generation of the delta between two artifacts, unless it is
+     * scheduled already or the artifacts exceed the maximum size.
+     *
+     * @param tenant
+     *            of the artifacts
+     * @param source
+     *            artifact the delta is applied to
+     * @param target
+     *            artifact the delta results in
+     * @return <code>true</code> if the delta has been scheduled
+     */
+    boolean schedule(final String tenant, final Artifact source, final Artifact target) {
+        final long maxSize = repositoryProperties.getArtifactDeltaMaxArtifactSize();
+        if (source.getSize() > maxSize || target.getSize() > maxSize) {
+            return false;
+        }
+
+        final String sourceSha1Hash = source.getSha1Hash();
+        final String targetSha1Hash = target.getSha1Hash();
+        final String key = tenant + ":" + sourceSha1Hash + ":" + targetSha1Hash;
+        if (!scheduled.add(key)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    systemSecurityContext.runAsSystemAsTenant(
+                            () -> generate(tenant, sourceSha1Hash, targetSha1Hash), tenant);
+                } catch (final RuntimeException e) {
+                    LOG.warn("Failed to generate delta from {} to {}", sourceSha1Hash, targetSha1Hash, e);
+                } finally {
+                    scheduled.remove(key);
+                }
+            });
+            return true;
+        } catch (final RejectedExecutionException e) {
+            scheduled.remove(key);
+            LOG.debug("Delta generation queue is full, skipped delta from {} to {}", sourceSha1Hash,
+                    targetSha1Hash, e);
+            return false;
+        }
+    }
+
+    private Void generate(final String tenant, final String sourceSha1Hash, final String targetSha1Hash)
+            throws IOException {
+        if (artifactDeltaRepository.existsBySourceSha1HashAndTargetSha1Hash(sourceSha1Hash, targetSha1Hash)) {
+            return null;
+        }
+        final byte[] source = load(tenant, sourceSha1Hash);
+        final byte[] target = load(tenant, targetSha1Hash);
+        if (source == null || target == null) {
+            return null;
+        }
+
+        final File file = Files.createTempFile("delta-", ".bsdiff").toFile();
+        try {
+            try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+                BsDiff.diff(source, target, out);
+            }
+            if (file.length() > target.length * repositoryProperties.getArtifactDeltaMaxSizeRatio()) {
+                LOG.debug("Discarded delta from {} to {} of {} bytes", sourceSha1Hash, targetSha1Hash,
+                        file.length());
+                return null;
+            }
+            if (!Arrays.equals(target, BsDiff.patch(source, Files.readAllBytes(file.toPath())))) {
+                LOG.warn("Discarded delta from {} to {} that does not result in the target", sourceSha1Hash,
+                        targetSha1Hash);
+                return null;
+            }
+
+            final AbstractDbArtifact binary;
+            try (final InputStream in = Files.newInputStream(file.toPath())) {
+                binary = artifactRepository.store(tenant, in, file.getName(), null, null);
+            }
+            save(tenant, sourceSha1Hash, targetSha1Hash, binary);
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+        return null;
+    }
+
+    private byte[] load(final String tenant, final String sha1Hash) throws IOException {
+        if (!artifactRepository.existsByTenantAndSha1(tenant, sha1Hash)) {
+            return null;
+        }
+        try (final InputStream in = artifactRepository.getArtifactBySha1(tenant, sha1Hash).getFileInputStream()) {
+            return ByteStreams.toByteArray(in);
+        }
+    }
+
+    private void save(final String tenant, final String sourceSha1Hash, final String targetSha1Hash,
+            final AbstractDbArtifact binary) {
+        final Lock lock = lockRegistry.obtain(ArtifactGarbageCollector.lockKey(tenant, binary.getHashes().getSha1()));
+        lock.lock();
+        try {
+            // collected by the ArtifactGarbageCollector in the meantime
+            if (!artifactRepository.existsByTenantAndSha1(tenant, binary.getHashes().getSha1())) {
+                LOG.debug("Discarded delta from {} to {} whose binary has been deleted", sourceSha1Hash,
+                        targetSha1Hash);
+                return;
+            }
+            txTemplate.execute(status -> artifactDeltaRepository
+                    .save(new JpaArtifactDelta(sourceSha1Hash, targetSha1Hash, binary)));
+            LOG.debug("Generated delta {} from {} to {} of {} bytes", binary.getHashes().getSha1(), sourceSha1Hash,
+                    targetSha1Hash, binary.getSize());
+        } catch (final DataIntegrityViolationException e) {
+            // generated by another node in the meantime, the binary is the same
+            LOG.debug("Delta from {} to {} exists already", sourceSha1Hash, targetSha1Hash, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the generation, deltas that are generated at the moment are
+     * discarded.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
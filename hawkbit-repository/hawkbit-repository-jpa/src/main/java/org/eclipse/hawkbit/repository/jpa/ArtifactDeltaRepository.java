@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaArtifactDelta;
+import org.eclipse.hawkbit.repository.model.ArtifactDelta;
+import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link ArtifactDelta} repository.
+ *
+ */
+@Transactional(readOnly = true)
+public interface ArtifactDeltaRepository extends BaseEntityRepository<JpaArtifactDelta, Long> {
+
+    /**
+     * Finds the delta between two artifact binaries.
+     *
+     * @param sourceSha1Hash
+     *            of the artifact the delta is applied to
+     * @param targetSha1Hash
+     *            of the artifact the delta results in
+     * @return the delta if generated already
+     */
+    Optional<JpaArtifactDelta> findBySourceSha1HashAndTargetSha1Hash(String sourceSha1Hash, String targetSha1Hash);
+
+    /**
+     * Checks if the delta between two artifact binaries has been generated.
+     *
+     * @param sourceSha1Hash
+     *            of the artifact the delta is applied to
+     * @param targetSha1Hash
+     *            of the artifact the delta results in
+     * @return <code>true</code> if the delta exists
+     */
+    boolean existsBySourceSha1HashAndTargetSha1Hash(String sourceSha1Hash, String targetSha1Hash);
+
+    /**
+     * Finds the deltas that are applied to or result in an artifact binary.
+     *
+     * @param sourceSha1Hash
+     *            of the artifact the deltas are applied to
+     * @param targetSha1Hash
+     *            of the artifact the deltas result in
+     * @return the found deltas
+     */
+    List<JpaArtifactDelta> findBySourceSha1HashOrTargetSha1Hash(String sourceSha1Hash, String targetSha1Hash);
+
+    /**
+     * Filters the given SHA1 hashes for the ones of delta binaries.
+     *
+     * @param sha1Hashes
+     *            to filter
+     * @return the SHA1 hashes of delta binaries
+     */
+    @Query("SELECT DISTINCT d.sha1Hash FROM JpaArtifactDelta d WHERE d.sha1Hash IN :sha1Hashes")
+    List<String> findReferencedSha1HashIn(@Param("sha1Hashes") Collection<String> sha1Hashes);
+
+    /**
+     * Finds the deltas that result in the given artifacts and are applied to
+     * an artifact of the installed distribution set of the given target.
+     *
+     * @param controllerId
+     *            of the target
+     * @param targetSha1Hashes
+     *            of the artifacts the deltas result in
+     * @return the found deltas
+     */
+    @Query("SELECT d FROM JpaArtifactDelta d WHERE d.targetSha1Hash IN :targetSha1Hashes AND d.sourceSha1Hash IN "
+            + "(SELECT a.sha1Hash FROM JpaTarget t JOIN t.installedDistributionSet ds JOIN ds.modules m "
+            + "JOIN m.artifacts a WHERE t.controllerId = :controllerId)")
+    List<ArtifactDelta> findByControllerIdAndTargetSha1HashIn(@Param("controllerId") String controllerId,
+            @Param("targetSha1Hashes") Collection<String> targetSha1Hashes);
+
+    /**
+     * Deletes all {@link TenantAwareBaseEntity} of a given tenant. For safety
+     * reasons (this is a "delete everything" query after all) we add the tenant
+     * manually to query even if this will by done by {@link EntityManager}
+     * anyhow. The DB should take care of optimizing this away.
+     *
+     * @param tenant
+     *            to delete data from
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JpaArtifactDelta d WHERE d.tenant = :tenant")
+    void deleteByTenant(@Param("tenant") String tenant);
+}
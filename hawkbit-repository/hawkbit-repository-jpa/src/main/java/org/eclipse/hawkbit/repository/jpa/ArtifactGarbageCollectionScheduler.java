@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.concurrent.locks.Lock;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Scheduler to run the {@link ArtifactGarbageCollector} for every tenant. The
+ * unreferenced binaries are collected every
+ * {@value #PROP_COLLECT_DELAY_PLACEHOLDER} milliseconds, the orphaned ones
+ * are swept every {@value #PROP_SWEEP_DELAY_PLACEHOLDER} milliseconds.
+ */
+public class ArtifactGarbageCollectionScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactGarbageCollectionScheduler.class);
+
+    private static final String PROP_COLLECT_DELAY_PLACEHOLDER = "${hawkbit.artifact.gc.scheduler.fixedDelay:60000}";
+
+    private static final String PROP_SWEEP_DELAY_PLACEHOLDER = "${hawkbit.artifact.gc.sweep.fixedDelay:86400000}";
+
+    private static final String LOCK_PREFIX = "artifact-gc.";
+
+    private final SystemManagement systemManagement;
+
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final ArtifactGarbageCollector collector;
+
+    private final LockRegistry lockRegistry;
+
+    /**
+     * Constructor.
+     * 
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param collector
+     *            to delete the binaries of a tenant
+     * @param lockRegistry
+     *            to acquire a lock per tenant
+     */
+    public ArtifactGarbageCollectionScheduler(final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final ArtifactGarbageCollector collector,
+            final LockRegistry lockRegistry) {
+        this.systemManagement = systemManagement;
+        this.systemSecurityContext = systemSecurityContext;
+        this.collector = collector;
+        this.lockRegistry = lockRegistry;
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Collects the
+     * unreferenced binaries of every tenant in the
+     * {@link SystemSecurityContext}.
+     */
+    @Scheduled(initialDelayString = PROP_COLLECT_DELAY_PLACEHOLDER, fixedDelayString = PROP_COLLECT_DELAY_PLACEHOLDER)
+    public void runCollection() {
+        LOGGER.debug("artifact garbage collection has been triggered.");
+        systemSecurityContext.runAsSystem(() -> execute("collected", ArtifactGarbageCollector::collect));
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Sweeps the
+     * orphaned binaries of every tenant in the {@link SystemSecurityContext}.
+     */
+    @Scheduled(initialDelayString = PROP_SWEEP_DELAY_PLACEHOLDER, fixedDelayString = PROP_SWEEP_DELAY_PLACEHOLDER)
+    public void runSweep() {
+        LOGGER.debug("artifact garbage sweep has been triggered.");
+        systemSecurityContext.runAsSystem(() -> execute("swept", ArtifactGarbageCollector::sweep));
+    }
+
+    @SuppressWarnings("squid:S3516")
+    private Void execute(final String operation, final ToIntFunction<ArtifactGarbageCollector> task) {
+        systemManagement.forEachTenant(tenant -> {
+            final Lock lock = lockRegistry.obtain(LOCK_PREFIX + tenant);
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                final int deleted = task.applyAsInt(collector);
+                LOGGER.debug("Garbage {} {} artifact binaries of tenant {}", operation, deleted, tenant);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Artifact garbage collection failed.", e);
+            } finally {
+                lock.unlock();
+            }
+        });
+        return null;
+    }
+}
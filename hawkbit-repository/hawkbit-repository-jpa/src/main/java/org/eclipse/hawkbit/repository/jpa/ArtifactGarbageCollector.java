@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaUnreferencedArtifact;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Deletes the artifact binaries that are not referenced anymore in the
+ * background. The management only marks a binary as
+ * {@link JpaUnreferencedArtifact} in its transaction, the collector deletes it
+ * after the grace period if it has not been referenced or stored again in the
+ * meantime. The check and the deletion are done under the cluster wide lock of
+ * the binary, see {@link #lockKey(String, String)}. The artifact management
+ * refers to a binary under the same lock, so a concurrent upload on any node
+ * either stores the binary again or finds it deleted. The database is
+ * updated before the binary is deleted, so a failure leaves an orphaned binary
+ * at most, which is found by the {@link #sweep()}.
+ *
+ * A binary is kept if it has been stored again after it was marked, see
+ * {@link ArtifactRepository#getStoredAt(String, String)}. A repository that
+ * deduplicates binaries across tenants may report the time of the last store
+ * by any tenant, so the binary is left to the {@link #sweep()} and collected
+ * once no tenant has stored it for the grace period.
+ *
+ * All deletions share one rate limit to keep the load on the artifact
+ * repository low.
+ */
+public class ArtifactGarbageCollector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactGarbageCollector.class);
+
+    private static final String LOCK_PREFIX = "artifact-binary.";
+
+    private final ArtifactRepository artifactRepository;
+    private final UnreferencedArtifactRepository unreferencedArtifactRepository;
+    private final LocalArtifactRepository localArtifactRepository;
+    private final ArtifactDeltaRepository artifactDeltaRepository;
+    private final TenantAware tenantAware;
+    private final RepositoryProperties repositoryProperties;
+    private final TransactionTemplate txTemplate;
+    private final LockRegistry lockRegistry;
+    private final RateLimiter rateLimiter;
+
+    private final AtomicLong collected = new AtomicLong();
+    private final AtomicLong orphans = new AtomicLong();
+    private final Map<String, Long> missing = new ConcurrentHashMap<>();
+
+    ArtifactGarbageCollector(final ArtifactRepository artifactRepository,
+            final UnreferencedArtifactRepository unreferencedArtifactRepository,
+            final LocalArtifactRepository localArtifactRepository,
+            final ArtifactDeltaRepository artifactDeltaRepository, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties, final PlatformTransactionManager txManager,
+            final LockRegistry lockRegistry) {
+        this.artifactRepository = artifactRepository;
+        this.unreferencedArtifactRepository = unreferencedArtifactRepository;
+        this.localArtifactRepository = localArtifactRepository;
+        this.artifactDeltaRepository = artifactDeltaRepository;
+        this.tenantAware = tenantAware;
+        this.repositoryProperties = repositoryProperties;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.lockRegistry = lockRegistry;
+        this.rateLimiter = RateLimiter.create(repositoryProperties.getArtifactGcRate());
+    }
+
+    /**
+     * Key of the cluster wide lock under which a binary is deleted or referred
+     * to by an artifact.
+     *
+     * @param tenant
+     *            of the binary
+     * @param sha1Hash
+     *            of the binary
+     * @return the key of the lock in the {@link LockRegistry}
+     */
+    static String lockKey(final String tenant, final String sha1Hash) {
+        return LOCK_PREFIX + tenant.toUpperCase() + "." + sha1Hash;
+    }
+
+    /**
+     * Deletes the binaries of the current tenant that have been marked as
+     * unreferenced before the grace period and are neither referenced nor
+     * stored again since. The deltas from and to the binaries are deleted with
+     * them.
+     *
+     * @return the number of deleted binaries
+     */
+    public int collect() {
+        final long until = System.currentTimeMillis() - repositoryProperties.getArtifactGcGracePeriod();
+        final List<String> marked = unreferencedArtifactRepository.findSha1HashByCreatedAtLessThanEqual(until,
+                PageRequest.of(0, repositoryProperties.getArtifactGcBatchSize()));
+
+        final String tenant = tenantAware.getCurrentTenant();
+        int deleted = 0;
+        for (final String sha1Hash : marked) {
+            rateLimiter.acquire();
+            final Lock lock = lockRegistry.obtain(lockKey(tenant, sha1Hash));
+            lock.lock();
+            try {
+                if (Boolean.TRUE.equals(txTemplate.execute(status -> unmark(sha1Hash))) && deleteBinary(sha1Hash)) {
+                    collected.incrementAndGet();
+                    deleted++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return deleted;
+    }
+
+    private boolean unmark(final String sha1Hash) {
+        final Long markedAt = unreferencedArtifactRepository.findLatestCreatedAtBySha1Hash(sha1Hash);
+        unreferencedArtifactRepository.deleteBySha1Hash(sha1Hash);
+        // stored again by an upload that is not committed yet
+        if (markedAt == null || artifactRepository.getStoredAt(tenantAware.getCurrentTenant(), sha1Hash) >= markedAt
+                || !findReferenced(Collections.singletonList(sha1Hash)).isEmpty()) {
+            return false;
+        }
+
+        artifactDeltaRepository.findBySourceSha1HashOrTargetSha1Hash(sha1Hash, sha1Hash).forEach(delta -> {
+            artifactDeltaRepository.delete(delta);
+            unreferencedArtifactRepository.save(new JpaUnreferencedArtifact(delta.getSha1Hash()));
+        });
+        return true;
+    }
+
+    /**
+     * Deletes the binaries of the current tenant that have been stored before
+     * the grace period and are neither referenced by an artifact nor by a
+     * delta, e.g. left over by a failed deletion. Reports the artifacts whose
+     * binary is missing in the artifact repository.
+     *
+     * @return the number of deleted binaries
+     */
+    public int sweep() {
+        final String tenant = tenantAware.getCurrentTenant();
+        final long until = System.currentTimeMillis() - repositoryProperties.getArtifactGcGracePeriod();
+
+        int deleted = 0;
+        for (final List<String> sha1Hashes : Lists.partition(
+                artifactRepository.findSha1ByTenantAndStoredBefore(tenant, until),
+                Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            final Set<String> orphaned = new HashSet<>(sha1Hashes);
+            orphaned.removeAll(findReferenced(sha1Hashes));
+            for (final String sha1Hash : orphaned) {
+                rateLimiter.acquire();
+                if (deleteOrphan(tenant, sha1Hash, until)) {
+                    orphans.incrementAndGet();
+                    deleted++;
+                }
+            }
+        }
+
+        missing.put(tenant, countMissingBinaries(tenant));
+        return deleted;
+    }
+
+    private boolean deleteOrphan(final String tenant, final String sha1Hash, final long until) {
+        final Lock lock = lockRegistry.obtain(lockKey(tenant, sha1Hash));
+        lock.lock();
+        try {
+            // not stored again since it has been found
+            return artifactRepository.getStoredAt(tenant, sha1Hash) < until && deleteBinary(sha1Hash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Set<String> findReferenced(final List<String> sha1Hashes) {
+        final Set<String> referenced = new HashSet<>(localArtifactRepository.findReferencedSha1HashIn(sha1Hashes));
+        referenced.addAll(artifactDeltaRepository.findReferencedSha1HashIn(sha1Hashes));
+        return referenced;
+    }
+
+    private long countMissingBinaries(final String tenant) {
+        long count = 0;
+        String last = "";
+        List<String> sha1Hashes;
+        do {
+            sha1Hashes = localArtifactRepository.findReferencedSha1HashGreaterThan(last,
+                    PageRequest.of(0, Constants.MAX_ENTRIES_IN_STATEMENT));
+            for (final String sha1Hash : sha1Hashes) {
+                if (!artifactRepository.existsByTenantAndSha1(tenant, sha1Hash)) {
+                    LOG.warn("Binary {} of tenant {} is referenced by an artifact but missing", sha1Hash, tenant);
+                    count++;
+                }
+                last = sha1Hash;
+            }
+        } while (sha1Hashes.size() == Constants.MAX_ENTRIES_IN_STATEMENT);
+        return count;
+    }
+
+    private boolean deleteBinary(final String sha1Hash) {
+        try {
+            LOG.debug("deleting artifact from repository {}", sha1Hash);
+            artifactRepository.deleteBySha1(tenantAware.getCurrentTenant(), sha1Hash);
+            return true;
+        } catch (final RuntimeException e) {
+            LOG.warn("Failed to delete artifact binary {}, it is deleted by the next sweep", sha1Hash, e);
+            return false;
+        }
+    }
+
+    /**
+     * Deletes all binaries of a tenant, i.e. as the last step of the deletion
+     * of the tenant.
+     *
+     * @param tenant
+     *            to delete the binaries of
+     */
+    public void deleteByTenant(final String tenant) {
+        missing.remove(tenant);
+        artifactRepository.deleteByTenant(tenant);
+    }
+
+    /**
+     * @return number of unreferenced binaries deleted after their grace period
+     */
+    public long getCollected() {
+        return collected.get();
+    }
+
+    /**
+     * @return number of orphaned binaries deleted by the sweeps
+     */
+    public long getOrphans() {
+        return orphans.get();
+    }
+
+    /**
+     * @return number of artifacts whose binary was missing in the last sweep
+     *         of each tenant
+     */
+    public long getMissing() {
+        return missing.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.repository.ArtifactDeltaManagement;
+import org.eclipse.hawkbit.repository.Constants;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ArtifactDelta;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
+
+import com.google.common.collect.Lists;
+
+/**
+ * JPA based {@link ArtifactDeltaManagement} implementation.
+ *
+ */
+@Transactional(readOnly = true)
+@Validated
+public class JpaArtifactDeltaManagement implements ArtifactDeltaManagement {
+
+    private final ArtifactDeltaRepository artifactDeltaRepository;
+
+    private final TargetRepository targetRepository;
+
+    private final DistributionSetRepository distributionSetRepository;
+
+    private final ArtifactRepository artifactRepository;
+
+    private final ArtifactDeltaGenerator artifactDeltaGenerator;
+
+    private final TenantAware tenantAware;
+
+    private final RepositoryProperties repositoryProperties;
+
+    JpaArtifactDeltaManagement(final ArtifactDeltaRepository artifactDeltaRepository,
+            final TargetRepository targetRepository, final DistributionSetRepository distributionSetRepository,
+            final ArtifactRepository artifactRepository, final ArtifactDeltaGenerator artifactDeltaGenerator,
+            final TenantAware tenantAware, final RepositoryProperties repositoryProperties) {
+        this.artifactDeltaRepository = artifactDeltaRepository;
+        this.targetRepository = targetRepository;
+        this.distributionSetRepository = distributionSetRepository;
+        this.artifactRepository = artifactRepository;
+        this.artifactDeltaGenerator = artifactDeltaGenerator;
+        this.tenantAware = tenantAware;
+        this.repositoryProperties = repositoryProperties;
+    }
+
+    @Override
+    public Map<String, List<ArtifactDelta>> findByControllerIdAndTargetSha1Hashes(final String controllerId,
+            final Collection<String> targetSha1Hashes) {
+        if (!repositoryProperties.isArtifactDeltaEnabled() || targetSha1Hashes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return Lists.partition(new ArrayList<>(targetSha1Hashes), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .flatMap(hashes -> artifactDeltaRepository.findByControllerIdAndTargetSha1HashIn(controllerId, hashes)
+                        .stream())
+                .collect(Collectors.groupingBy(ArtifactDelta::getTargetSha1Hash));
+    }
+
+    @Override
+    public Optional<ArtifactDelta> get(final String sourceSha1Hash, final String targetSha1Hash) {
+        return artifactDeltaRepository.findBySourceSha1HashAndTargetSha1Hash(sourceSha1Hash, targetSha1Hash)
+                .map(ArtifactDelta.class::cast);
+    }
+
+    @Override
+    public Optional<AbstractDbArtifact> loadDeltaBinary(final ArtifactDelta delta) {
+        return Optional.ofNullable(
+                artifactRepository.existsByTenantAndSha1(tenantAware.getCurrentTenant(), delta.getSha1Hash())
+                        ? artifactRepository.getArtifactBySha1(tenantAware.getCurrentTenant(), delta.getSha1Hash())
+                        : null);
+    }
+
+    @Override
+    public int generateDeltas(final long sourceDistributionSetId, final long targetDistributionSetId) {
+        final DistributionSet source = getDistributionSetOrThrowException(sourceDistributionSetId);
+        final DistributionSet target = getDistributionSetOrThrowException(targetDistributionSetId);
+        if (!repositoryProperties.isArtifactDeltaEnabled()) {
+            return 0;
+        }
+
+        return scheduleDeltas(source, target);
+    }
+
+    @Override
+    public void generateDeltasForAssignment(final Collection<String> controllerIds, final long distributionSetId) {
+        if (!repositoryProperties.isArtifactDeltaEnabled()) {
+            return;
+        }
+        final Optional<DistributionSet> target = distributionSetRepository.findById(distributionSetId)
+                .map(DistributionSet.class::cast);
+        if (!target.isPresent()) {
+            return;
+        }
+
+        Lists.partition(new ArrayList<>(controllerIds), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .flatMap(ids -> targetRepository.findInstalledDistributionSetIdsByControllerIdIn(ids).stream())
+                .distinct().filter(id -> id != distributionSetId).map(distributionSetRepository::findById)
+                .filter(Optional::isPresent).map(Optional::get)
+                .forEach(source -> scheduleDeltas(source, target.get()));
+    }
+
+    private DistributionSet getDistributionSetOrThrowException(final long id) {
+        return distributionSetRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(DistributionSet.class, id));
+    }
+
+    private int scheduleDeltas(final DistributionSet source, final DistributionSet target) {
+        int count = 0;
+        for (final SoftwareModule targetModule : target.getModules()) {
+            final Optional<SoftwareModule> sourceModule = source.findFirstModuleByType(targetModule.getType());
+            if (!sourceModule.isPresent()) {
+                continue;
+            }
+            for (final Artifact targetArtifact : targetModule.getArtifacts()) {
+                final Optional<Artifact> sourceArtifact = findCorrespondingArtifact(sourceModule.get(),
+                        targetModule, targetArtifact);
+                if (sourceArtifact.isPresent()
+                        && !artifactDeltaRepository.existsBySourceSha1HashAndTargetSha1Hash(
+                                sourceArtifact.get().getSha1Hash(), targetArtifact.getSha1Hash())
+                        && artifactDeltaGenerator.schedule(tenantAware.getCurrentTenant(), sourceArtifact.get(),
+                                targetArtifact)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Artifacts correspond by filename. Versioned filenames do not match, so
+     * the artifacts of modules with a single artifact correspond as well.
+     */
+    private static Optional<Artifact> findCorrespondingArtifact(final SoftwareModule sourceModule,
+            final SoftwareModule targetModule, final Artifact targetArtifact) {
+        Optional<Artifact> sourceArtifact = sourceModule.getArtifactByFilename(targetArtifact.getFilename());
+        if (!sourceArtifact.isPresent() && sourceModule.getArtifacts().size() == 1
+                && targetModule.getArtifacts().size() == 1) {
+            sourceArtifact = Optional.of(sourceModule.getArtifacts().get(0));
+        }
+        return sourceArtifact.filter(artifact -> !artifact.getSha1Hash().equals(targetArtifact.getSha1Hash()));
+    }
+
+}
@@ -10,7 +10,9 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
 import org.eclipse.hawkbit.artifact.repository.ArtifactStoreException;
@@ -18,17 +20,21 @@ import org.eclipse.hawkbit.artifact.repository.HashNotMatchException;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
+import org.eclipse.hawkbit.repository.EntitySnapshotCache;
 import org.eclipse.hawkbit.repository.QuotaManagement;
-import org.eclipse.hawkbit.repository.exception.ArtifactDeleteFailedException;
 import org.eclipse.hawkbit.repository.exception.ArtifactUploadFailedException;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.exception.FileSizeQuotaExceededException;
 import org.eclipse.hawkbit.repository.exception.InvalidMD5HashException;
 import org.eclipse.hawkbit.repository.exception.InvalidSHA1HashException;
 import org.eclipse.hawkbit.repository.exception.InvalidSHA256HashException;
+import org.eclipse.hawkbit.repository.exception.StorageQuotaExceededException;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaArtifact;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
+import org.eclipse.hawkbit.repository.jpa.model.JpaUnreferencedArtifact;
 import org.eclipse.hawkbit.repository.jpa.utils.FileSizeAndStorageQuotaCheckingInputStream;
 import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
 import org.eclipse.hawkbit.repository.model.Artifact;
@@ -40,9 +46,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
@@ -66,14 +79,38 @@ public class JpaArtifactManagement implements ArtifactManagement {
 
     private final QuotaManagement quotaManagement;
 
+    private final TenantMetaDataRepository tenantMetaDataRepository;
+
+    private final TransactionTemplate txTemplate;
+
+    private final RetryTemplate retryTemplate;
+
+    private final EntitySnapshotCache entitySnapshotCache;
+
+    private final AfterTransactionCommitExecutor afterCommit;
+
+    private final UnreferencedArtifactRepository unreferencedArtifactRepository;
+
+    private final LockRegistry lockRegistry;
+
     JpaArtifactManagement(final LocalArtifactRepository localArtifactRepository,
             final SoftwareModuleRepository softwareModuleRepository, final ArtifactRepository artifactRepository,
-            final QuotaManagement quotaManagement, final TenantAware tenantAware) {
+            final QuotaManagement quotaManagement, final TenantAware tenantAware,
+            final TenantMetaDataRepository tenantMetaDataRepository, final PlatformTransactionManager txManager,
+            final EntitySnapshotCache entitySnapshotCache, final AfterTransactionCommitExecutor afterCommit,
+            final UnreferencedArtifactRepository unreferencedArtifactRepository, final LockRegistry lockRegistry) {
         this.localArtifactRepository = localArtifactRepository;
         this.softwareModuleRepository = softwareModuleRepository;
         this.artifactRepository = artifactRepository;
         this.quotaManagement = quotaManagement;
         this.tenantAware = tenantAware;
+        this.tenantMetaDataRepository = tenantMetaDataRepository;
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.retryTemplate = createRetryTemplate();
+        this.entitySnapshotCache = entitySnapshotCache;
+        this.afterCommit = afterCommit;
+        this.unreferencedArtifactRepository = unreferencedArtifactRepository;
+        this.lockRegistry = lockRegistry;
     }
 
     private static Artifact checkForExistingArtifact(final String filename, final boolean overrideExisting,
@@ -91,31 +128,99 @@ public class JpaArtifactManagement implements ArtifactManagement {
         return null;
     }
 
+    /**
+     * Stores the artifact in two phases. The binary is streamed, hashed and
+     * stored without a transaction (unless the caller has one), so a slow
+     * upload does not hold a database connection. The metadata is written
+     * afterwards in a short transaction which is retried on concurrency
+     * failures without reading the stream again. The binary is removed again
+     * if the metadata cannot be written and no other artifact refers to it.
+     *
+     * The metadata is written under the cluster wide lock of the binary, see
+     * {@link ArtifactGarbageCollector#lockKey(String, String)}, after checking
+     * that the binary has not been collected in the meantime.
+     */
     @Override
-    @Transactional
-    @Retryable(include = {
-            ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Artifact create(final ArtifactUpload artifactUpload) {
         final String filename = artifactUpload.getFilename();
         final long moduleId = artifactUpload.getModuleId();
 
+        // fail fast before the upload, verified again with the metadata
         final SoftwareModule softwareModule = getModuleAndThrowExceptionIfThatFails(moduleId);
+        checkForExistingArtifact(filename, artifactUpload.overrideExisting(), softwareModule);
+        assertArtifactQuota(moduleId, 1);
 
-        final Artifact existing = checkForExistingArtifact(filename, artifactUpload.overrideExisting(), softwareModule);
+        final Optional<AbstractDbArtifact> binary = getOrCreateArtifact(artifactUpload);
+        if (!binary.isPresent()) {
+            return null;
+        }
 
-        assertArtifactQuota(moduleId, 1);
+        return createArtifactMetadata(moduleId, filename, artifactUpload.overrideExisting(), binary.get());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Artifact create(final long moduleId, final String filename, final boolean overrideExisting,
+            final AbstractDbArtifact binary) {
+        if (binary.getSize() > quotaManagement.getMaxArtifactSize()) {
+            clearOrphanedArtifactBinary(binary.getHashes().getSha1());
+            throw new FileSizeQuotaExceededException(quotaManagement.getMaxArtifactSize());
+        }
+
+        return createArtifactMetadata(moduleId, filename, overrideExisting, binary);
+    }
 
-        return getOrCreateArtifact(artifactUpload)
-                .map(artifact -> storeArtifactMetadata(softwareModule, filename, artifact, existing)).orElse(null);
+    private Artifact createArtifactMetadata(final long moduleId, final String filename,
+            final boolean overrideExisting, final AbstractDbArtifact binary) {
+        final String tenant = tenantAware.getCurrentTenant();
+        final String sha1Hash = binary.getHashes().getSha1();
+        final Lock lock = lockRegistry.obtain(ArtifactGarbageCollector.lockKey(tenant, sha1Hash));
+        lock.lock();
+        try {
+            // deleted by the ArtifactGarbageCollector of another node between
+            // storing and locking
+            if (!artifactRepository.existsByTenantAndSha1(tenant, sha1Hash)) {
+                throw new ArtifactUploadFailedException("Artifact binary " + sha1Hash + " has been deleted");
+            }
+            return retryTemplate.execute(context -> txTemplate
+                    .execute(status -> storeArtifactMetadata(moduleId, filename, overrideExisting, binary)));
+        } catch (final RuntimeException e) {
+            clearOrphanedArtifactBinary(sha1Hash);
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clearOrphanedArtifactBinary(final String sha1Hash) {
+        // deleted by the ArtifactGarbageCollector unless a concurrent upload
+        // references it
+        try {
+            unreferencedArtifactRepository.save(new JpaUnreferencedArtifact(sha1Hash));
+        } catch (final RuntimeException e) {
+            LOG.warn("Failed to mark orphaned artifact binary {}, it is deleted by the next sweep", sha1Hash, e);
+        }
     }
 
     private Optional<AbstractDbArtifact> getOrCreateArtifact(final ArtifactUpload artifactUpload) {
         final String providedSha1Sum = artifactUpload.getProvidedSha1Sum();
 
-        if (!StringUtils.isEmpty(providedSha1Sum)
-                && artifactRepository.existsByTenantAndSha1(tenantAware.getCurrentTenant(), providedSha1Sum)) {
-            return Optional
-                    .ofNullable(artifactRepository.getArtifactBySha1(tenantAware.getCurrentTenant(), providedSha1Sum));
+        if (!StringUtils.isEmpty(providedSha1Sum)) {
+            // refreshed, so the ArtifactGarbageCollector keeps it until the
+            // artifact is committed
+            final Lock lock = lockRegistry
+                    .obtain(ArtifactGarbageCollector.lockKey(tenantAware.getCurrentTenant(), providedSha1Sum));
+            lock.lock();
+            try {
+                if (artifactRepository.existsByTenantAndSha1(tenantAware.getCurrentTenant(), providedSha1Sum)) {
+                    artifactRepository.refreshBySha1(tenantAware.getCurrentTenant(), providedSha1Sum);
+                    return Optional.ofNullable(
+                            artifactRepository.getArtifactBySha1(tenantAware.getCurrentTenant(), providedSha1Sum));
+                }
+            } finally {
+                lock.unlock();
+            }
         }
 
         return Optional.of(storeArtifact(artifactUpload));
@@ -147,13 +252,39 @@ public class JpaArtifactManagement implements ArtifactManagement {
     private InputStream wrapInQuotaStream(final InputStream in) {
         final long maxArtifactSize = quotaManagement.getMaxArtifactSize();
 
-        final long currentlyUsed = localArtifactRepository.getSumOfUndeletedArtifactSize().orElse(0L);
+        final long currentlyUsed = getArtifactStorageUsed();
         final long maxArtifactSizeTotal = quotaManagement.getMaxArtifactStorage();
 
         return new FileSizeAndStorageQuotaCheckingInputStream(in, maxArtifactSize,
                 maxArtifactSizeTotal - currentlyUsed);
     }
 
+    private long getArtifactStorageUsed() {
+        return tenantMetaDataRepository.findArtifactStorageUsedByTenantIgnoreCase(tenantAware.getCurrentTenant())
+                .orElse(0L);
+    }
+
+    private void allocateArtifactStorage(final long size) {
+        final long maxArtifactSizeTotal = quotaManagement.getMaxArtifactStorage();
+        if (tenantMetaDataRepository.allocateArtifactStorage(tenantAware.getCurrentTenant(), size,
+                maxArtifactSizeTotal) == 0) {
+            // concurrent uploads have used up the storage in the meantime
+            throw new StorageQuotaExceededException(Math.max(0, maxArtifactSizeTotal - getArtifactStorageUsed()));
+        }
+    }
+
+    private void releaseArtifactStorage(final long size) {
+        tenantMetaDataRepository.releaseArtifactStorage(tenantAware.getCurrentTenant(), size);
+    }
+
+    private void resizeArtifactStorage(final long oldSize, final long newSize) {
+        if (newSize > oldSize) {
+            allocateArtifactStorage(newSize - oldSize);
+        } else if (newSize < oldSize) {
+            releaseArtifactStorage(oldSize - newSize);
+        }
+    }
+
     @Override
     @Transactional
     @Retryable(include = {
@@ -165,13 +296,10 @@ public class JpaArtifactManagement implements ArtifactManagement {
             // there are still other artifacts that need the binary
             return false;
         }
-        try {
-            LOG.debug("deleting artifact from repository {}", sha1Hash);
-            artifactRepository.deleteBySha1(tenantAware.getCurrentTenant(), sha1Hash);
-            return true;
-        } catch (final ArtifactStoreException e) {
-            throw new ArtifactDeleteFailedException(e);
-        }
+        // deleted by the ArtifactGarbageCollector after the commit
+        LOG.debug("marking artifact binary as unreferenced {}", sha1Hash);
+        unreferencedArtifactRepository.save(new JpaUnreferencedArtifact(sha1Hash));
+        return true;
     }
 
     @Override
@@ -183,10 +311,24 @@ public class JpaArtifactManagement implements ArtifactManagement {
                 .orElseThrow(() -> new EntityNotFoundException(Artifact.class, id));
 
         clearArtifactBinary(existing.getSha1Hash(), existing.getSoftwareModule().getId());
+        if (!existing.getSoftwareModule().isDeleted()) {
+            releaseArtifactStorage(existing.getSize());
+        }
 
         ((JpaSoftwareModule) existing.getSoftwareModule()).removeArtifact(existing);
         softwareModuleRepository.save((JpaSoftwareModule) existing.getSoftwareModule());
         localArtifactRepository.deleteById(id);
+        invalidateSnapshotsAfterCommit();
+    }
+
+    /**
+     * Artifact changes do not publish an event, so the snapshots handed out to
+     * controllers are invalidated on this node only. Other nodes pick up the
+     * change when their snapshots expire.
+     */
+    private void invalidateSnapshotsAfterCommit() {
+        final String tenant = tenantAware.getCurrentTenant();
+        afterCommit.afterCommit(() -> entitySnapshotCache.invalidate(tenant));
     }
 
     @Override
@@ -231,11 +373,18 @@ public class JpaArtifactManagement implements ArtifactManagement {
                 : null);
     }
 
-    private Artifact storeArtifactMetadata(final SoftwareModule softwareModule, final String providedFilename,
-            final AbstractDbArtifact result, final Artifact existing) {
+    private Artifact storeArtifactMetadata(final long moduleId, final String providedFilename,
+            final boolean overrideExisting, final AbstractDbArtifact result) {
+        final SoftwareModule softwareModule = getModuleAndThrowExceptionIfThatFails(moduleId);
+        final Artifact existing = checkForExistingArtifact(providedFilename, overrideExisting, softwareModule);
+
         JpaArtifact artifact = (JpaArtifact) existing;
         if (existing == null) {
+            assertArtifactQuota(moduleId, 1);
+            allocateArtifactStorage(result.getSize());
             artifact = new JpaArtifact(result.getHashes().getSha1(), providedFilename, softwareModule);
+        } else {
+            resizeArtifactStorage(existing.getSize(), result.getSize());
         }
         artifact.setMd5Hash(result.getHashes().getMd5());
         artifact.setSha256Hash(result.getHashes().getSha256());
@@ -243,6 +392,7 @@ public class JpaArtifactManagement implements ArtifactManagement {
         artifact.setSize(result.getSize());
 
         LOG.debug("storing new artifact into repository {}", artifact);
+        invalidateSnapshotsAfterCommit();
         return localArtifactRepository.save(artifact);
     }
 
@@ -256,4 +406,17 @@ public class JpaArtifactManagement implements ArtifactManagement {
                 .orElseThrow(() -> new EntityNotFoundException(SoftwareModule.class, moduleId));
     }
 
+    private static RetryTemplate createRetryTemplate() {
+        final RetryTemplate template = new RetryTemplate();
+
+        final FixedBackOffPolicy backOffPolicy = new FixedBackOffPolicy();
+        backOffPolicy.setBackOffPeriod(Constants.TX_RT_DELAY);
+        template.setBackOffPolicy(backOffPolicy);
+
+        final SimpleRetryPolicy retryPolicy = new SimpleRetryPolicy(Constants.TX_RT_MAX,
+                Collections.singletonMap(ConcurrencyFailureException.class, true));
+        template.setRetryPolicy(retryPolicy);
+
+        return template;
+    }
 }
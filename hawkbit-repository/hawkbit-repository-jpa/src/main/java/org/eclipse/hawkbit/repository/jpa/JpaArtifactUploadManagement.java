@@ -0,0 +1,568 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.validation.ValidationException;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.artifact.repository.ArtifactStoreException;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.repository.ArtifactManagement;
+import org.eclipse.hawkbit.repository.ArtifactUploadManagement;
+import org.eclipse.hawkbit.repository.QuotaManagement;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.exception.ArtifactUploadFailedException;
+import org.eclipse.hawkbit.repository.exception.ArtifactUploadSessionNotFoundException;
+import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.exception.FileSizeQuotaExceededException;
+import org.eclipse.hawkbit.repository.exception.InvalidMD5HashException;
+import org.eclipse.hawkbit.repository.exception.InvalidSHA1HashException;
+import org.eclipse.hawkbit.repository.exception.InvalidSHA256HashException;
+import org.eclipse.hawkbit.repository.exception.StorageQuotaExceededException;
+import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ArtifactUploadSession;
+import org.eclipse.hawkbit.repository.model.ArtifactUploadSession.ByteRange;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.validation.annotation.Validated;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+
+/**
+ * JPA based {@link ArtifactUploadManagement} implementation. The sessions are
+ * held in memory of this node, the chunks are written into one pre-allocated
+ * file per session in the directory of this node below
+ * {@link RepositoryProperties#getArtifactUploadPath()}. The directories of
+ * other nodes are shared with them, so their sessions are deleted only after
+ * they have expired, i.e. the last modification of the file is older than the
+ * session timeout.
+ */
+@Validated
+public class JpaArtifactUploadManagement implements ArtifactUploadManagement {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JpaArtifactUploadManagement.class);
+
+    private static final int HASH_BUFFER_SIZE = 0x10000; // 64k
+
+    private static final long CLEANUP_INTERVAL = 60_000;
+
+    private static final String DATA_FILE = "data";
+
+    private final Cache<String, UploadSession> sessions;
+
+    private final ArtifactRepository artifactRepository;
+    private final ArtifactManagement artifactManagement;
+    private final LocalArtifactRepository localArtifactRepository;
+    private final SoftwareModuleRepository softwareModuleRepository;
+    private final QuotaManagement quotaManagement;
+    private final TenantMetaDataRepository tenantMetaDataRepository;
+    private final TenantAware tenantAware;
+    private final Path uploadPath;
+    private final Path nodeUploadPath;
+    private final long sessionTimeout;
+
+    JpaArtifactUploadManagement(final ArtifactRepository artifactRepository,
+            final ArtifactManagement artifactManagement, final LocalArtifactRepository localArtifactRepository,
+            final SoftwareModuleRepository softwareModuleRepository, final QuotaManagement quotaManagement,
+            final TenantMetaDataRepository tenantMetaDataRepository, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties, final Path uploadPath,
+            final ScheduledExecutorService executorService) {
+        this.artifactRepository = artifactRepository;
+        this.artifactManagement = artifactManagement;
+        this.localArtifactRepository = localArtifactRepository;
+        this.softwareModuleRepository = softwareModuleRepository;
+        this.quotaManagement = quotaManagement;
+        this.tenantMetaDataRepository = tenantMetaDataRepository;
+        this.tenantAware = tenantAware;
+        this.uploadPath = uploadPath;
+        // the sessions of a previous run are lost, their chunks expire as the
+        // ones of any other node
+        this.nodeUploadPath = uploadPath.resolve(UUID.randomUUID().toString());
+        this.sessionTimeout = repositoryProperties.getArtifactUploadSessionTimeout();
+        this.sessions = CacheBuilder.newBuilder().expireAfterAccess(sessionTimeout, TimeUnit.MILLISECONDS)
+                .<String, UploadSession> removalListener(notification -> notification.getValue().delete()).build();
+
+        deleteExpiredUploads();
+
+        // expired sessions are removed on access only, which might not happen
+        // anymore for abandoned uploads
+        executorService.scheduleWithFixedDelay(() -> {
+            sessions.cleanUp();
+            deleteExpiredUploads();
+        }, CLEANUP_INTERVAL, CLEANUP_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Deletes the expired sessions of other nodes, including the ones of
+     * previous runs of this node, and the directories of nodes that are gone.
+     */
+    private void deleteExpiredUploads() {
+        final File[] nodeDirectories = uploadPath.toFile().listFiles(File::isDirectory);
+        if (nodeDirectories == null) {
+            return;
+        }
+
+        final long expiredBefore = System.currentTimeMillis() - sessionTimeout;
+        for (final File nodeDirectory : nodeDirectories) {
+            if (nodeDirectory.toPath().equals(nodeUploadPath)) {
+                continue;
+            }
+
+            final File[] sessionDirectories = nodeDirectory.listFiles(File::isDirectory);
+            if (sessionDirectories != null) {
+                for (final File sessionDirectory : sessionDirectories) {
+                    if (lastModified(sessionDirectory) < expiredBefore) {
+                        LOG.debug("Delete expired artifact upload {}", sessionDirectory);
+                        FileUtils.deleteQuietly(sessionDirectory);
+                    }
+                }
+            }
+
+            // fails if the node has still sessions
+            if (nodeDirectory.lastModified() < expiredBefore && nodeDirectory.delete()) {
+                LOG.debug("Deleted artifact upload directory {} of a node that is gone", nodeDirectory);
+            }
+        }
+    }
+
+    /**
+     * @return the time the session in the given directory has been used the
+     *         last time
+     */
+    private static long lastModified(final File sessionDirectory) {
+        final File dataFile = new File(sessionDirectory, DATA_FILE);
+        return dataFile.exists() ? dataFile.lastModified() : sessionDirectory.lastModified();
+    }
+
+    @Override
+    public ArtifactUploadSession createSession(final long moduleId, final String filename, final long size,
+            final String contentType, final DbArtifactHash providedHashes) {
+        if (!softwareModuleRepository.existsById(moduleId)) {
+            throw new EntityNotFoundException(SoftwareModule.class, moduleId);
+        }
+        if (artifactManagement.getByFilenameAndSoftwareModule(filename, moduleId).isPresent()) {
+            throw new EntityAlreadyExistsException("File with that name already exists in the Software Module");
+        }
+        if (size <= 0) {
+            throw new ValidationException("The size of the artifact has to be positive");
+        }
+        QuotaHelper.assertAssignmentQuota(moduleId, 1, quotaManagement.getMaxArtifactsPerSoftwareModule(),
+                Artifact.class, SoftwareModule.class, localArtifactRepository::countBySoftwareModuleId);
+        assertStorageQuota(size);
+
+        final String tenant = tenantAware.getCurrentTenant();
+        final UploadSession session = new UploadSession(UUID.randomUUID().toString(), moduleId, filename, size,
+                contentType, providedHashes, nodeUploadPath);
+        sessions.put(sessionKey(tenant, session.id), session);
+
+        LOG.debug("Created artifact upload session {} for {} bytes of software module {}", session.id, size,
+                moduleId);
+        return session.snapshot();
+    }
+
+    private void assertStorageQuota(final long size) {
+        final long maxArtifactSize = quotaManagement.getMaxArtifactSize();
+        if (size > maxArtifactSize) {
+            throw new FileSizeQuotaExceededException(maxArtifactSize);
+        }
+
+        final long storageLeft = quotaManagement.getMaxArtifactStorage() - tenantMetaDataRepository
+                .findArtifactStorageUsedByTenantIgnoreCase(tenantAware.getCurrentTenant()).orElse(0L);
+        if (size > storageLeft) {
+            throw new StorageQuotaExceededException(Math.max(0, storageLeft));
+        }
+    }
+
+    @Override
+    public ArtifactUploadSession uploadChunk(final String sessionId, final long offset, final InputStream chunk,
+            final long length) {
+        final UploadSession session = getSessionOrThrow(sessionId);
+        if (offset < 0 || length <= 0 || offset + length > session.size) {
+            throw new ValidationException("Chunk " + offset + "+" + length + " exceeds the artifact of "
+                    + session.size + " bytes");
+        }
+
+        try {
+            session.write(chunk, offset, length);
+        } catch (final IOException e) {
+            throw new ArtifactUploadFailedException(e);
+        }
+
+        return session.snapshot();
+    }
+
+    @Override
+    public Optional<ArtifactUploadSession> getSession(final String sessionId) {
+        final UploadSession session = sessions.getIfPresent(sessionKey(tenantAware.getCurrentTenant(), sessionId));
+        if (session == null) {
+            return Optional.empty();
+        }
+        session.touch();
+        return Optional.of(session.snapshot());
+    }
+
+    @Override
+    public Artifact commitSession(final String sessionId) {
+        final String key = sessionKey(tenantAware.getCurrentTenant(), sessionId);
+        final UploadSession session = getSessionOrThrow(sessionId);
+
+        final DbArtifactHash hashes;
+        try {
+            hashes = session.complete();
+            checkHashes(hashes, session.providedHashes);
+        } catch (final RuntimeException e) {
+            if (!(e instanceof ValidationException)) {
+                sessions.invalidate(key);
+            }
+            throw e;
+        }
+
+        final AbstractDbArtifact binary;
+        try {
+            binary = artifactRepository.store(tenantAware.getCurrentTenant(), session.data.toFile(),
+                    session.contentType, hashes);
+        } catch (final ArtifactStoreException e) {
+            throw new ArtifactUploadFailedException(e);
+        } finally {
+            sessions.invalidate(key);
+        }
+
+        LOG.debug("Committed artifact upload session {} with sha1 {}", sessionId, hashes.getSha1());
+        return artifactManagement.create(session.moduleId, session.filename, false, binary);
+    }
+
+    private static void checkHashes(final DbArtifactHash hashes, final DbArtifactHash providedHashes) {
+        if (providedHashes == null) {
+            return;
+        }
+        if (isNotMatching(providedHashes.getSha1(), hashes.getSha1())) {
+            throw new InvalidSHA1HashException("The given sha1 hash " + providedHashes.getSha1()
+                    + " does not match the calculated sha1 hash " + hashes.getSha1());
+        }
+        if (isNotMatching(providedHashes.getMd5(), hashes.getMd5())) {
+            throw new InvalidMD5HashException("The given md5 hash " + providedHashes.getMd5()
+                    + " does not match the calculated md5 hash " + hashes.getMd5());
+        }
+        if (isNotMatching(providedHashes.getSha256(), hashes.getSha256())) {
+            throw new InvalidSHA256HashException("The given sha256 hash " + providedHashes.getSha256()
+                    + " does not match the calculated sha256 hash " + hashes.getSha256());
+        }
+    }
+
+    private static boolean isNotMatching(final String provided, final String calculated) {
+        return provided != null && !provided.equalsIgnoreCase(calculated);
+    }
+
+    @Override
+    public void abortSession(final String sessionId) {
+        getSessionOrThrow(sessionId);
+        sessions.invalidate(sessionKey(tenantAware.getCurrentTenant(), sessionId));
+        LOG.debug("Aborted artifact upload session {}", sessionId);
+    }
+
+    private UploadSession getSessionOrThrow(final String sessionId) {
+        final UploadSession session = sessions.getIfPresent(sessionKey(tenantAware.getCurrentTenant(), sessionId));
+        if (session == null) {
+            throw new ArtifactUploadSessionNotFoundException(sessionId);
+        }
+        session.touch();
+        return session;
+    }
+
+    private static String sessionKey(final String tenant, final String sessionId) {
+        return tenant.toUpperCase() + "/" + sessionId;
+    }
+
+    /**
+     * State of a single upload. The chunks are written concurrently into the
+     * pre-allocated file, the received ranges are guarded by the session
+     * itself. The hashes are updated with every chunk that extends the
+     * gap-free prefix of the binary, by this every byte is read back once
+     * while it is still in the page cache and the commit needs no second pass.
+     * Only one thread at a time hashes, outside of the monitor of the session,
+     * so the other chunks are not blocked by it. The chunks received meanwhile
+     * are picked up by the hashing thread.
+     */
+    private final class UploadSession {
+        private final String id;
+        private final long moduleId;
+        private final String filename;
+        private final long size;
+        private final String contentType;
+        private final DbArtifactHash providedHashes;
+        private final Path directory;
+        private final Path data;
+
+        private final RangeSet<Long> received = TreeRangeSet.create();
+        // bytes that are written by a chunk at the moment
+        private final RangeSet<Long> writing = TreeRangeSet.create();
+        private final MessageDigest sha1;
+        private final MessageDigest md5;
+        private final MessageDigest sha256;
+        private long hashed;
+        private boolean hashing;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        // suppress warning, of not strong enough hashing algorithm, SHA-1 and
+        // MD5 is not used security related
+        @SuppressWarnings("squid:S2070")
+        private UploadSession(final String id, final long moduleId, final String filename, final long size,
+                final String contentType, final DbArtifactHash providedHashes, final Path uploadPath) {
+            this.id = id;
+            this.moduleId = moduleId;
+            this.filename = filename;
+            this.size = size;
+            this.contentType = contentType;
+            this.providedHashes = providedHashes;
+            this.directory = uploadPath.resolve(id);
+            this.data = directory.resolve(DATA_FILE);
+
+            try {
+                sha1 = MessageDigest.getInstance("SHA1");
+                md5 = MessageDigest.getInstance("MD5");
+                sha256 = MessageDigest.getInstance("SHA-256");
+
+                Files.createDirectories(directory);
+                try (RandomAccessFile file = new RandomAccessFile(data.toFile(), "rw")) {
+                    file.setLength(size);
+                }
+            } catch (final NoSuchAlgorithmException e) {
+                throw new ArtifactUploadFailedException(e);
+            } catch (final IOException e) {
+                delete();
+                throw new UncheckedIOException("Failed to create artifact upload " + id, e);
+            }
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+            // the last modification marks the session as used for other nodes
+            if (!data.toFile().setLastModified(lastAccess)) {
+                LOG.debug("Cannot update the last modified time of artifact upload {}", id);
+            }
+        }
+
+        private void write(final InputStream chunk, final long offset, final long length) throws IOException {
+            lastAccess = System.currentTimeMillis();
+
+            final RangeSet<Long> gaps = reserveGaps(offset, length);
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.WRITE)) {
+                final ReadableByteChannel source = Channels.newChannel(chunk);
+                long position = offset;
+                for (final Range<Long> gap : gaps.asRanges()) {
+                    // received bytes are not written again, they might be
+                    // hashed already
+                    try {
+                        ByteStreams.skipFully(chunk, gap.lowerEndpoint() - position);
+                    } catch (final EOFException e) {
+                        throw new ValidationException("Chunk " + offset + "+" + length + " ended before "
+                                + (gap.lowerEndpoint() - offset) + " bytes", e);
+                    }
+                    position = gap.lowerEndpoint();
+                    position += transfer(source, channel, position, gap.upperEndpoint() - position);
+                    if (position < gap.upperEndpoint()) {
+                        throw new ValidationException("Chunk " + offset + "+" + length + " ended after "
+                                + (position - offset) + " bytes");
+                    }
+                }
+            } finally {
+                release(gaps);
+            }
+        }
+
+        /**
+         * Reserves the bytes of a chunk that have not been received yet.
+         *
+         * @throws ValidationException
+         *             if the chunk overlaps a chunk that is being written
+         */
+        private synchronized RangeSet<Long> reserveGaps(final long offset, final long length) {
+            final Range<Long> range = Range.closedOpen(offset, offset + length);
+            if (writing.intersects(range)) {
+                throw new ValidationException("Chunk " + offset + "+" + length
+                        + " overlaps a chunk that is being written");
+            }
+
+            final RangeSet<Long> gaps = TreeRangeSet.create();
+            gaps.add(range);
+            gaps.removeAll(received);
+            writing.addAll(gaps);
+            return gaps;
+        }
+
+        private synchronized void release(final RangeSet<Long> gaps) {
+            writing.removeAll(gaps);
+        }
+
+        private long transfer(final ReadableByteChannel source, final FileChannel channel, final long position,
+                final long length) throws IOException {
+            long written = 0;
+            try {
+                while (written < length) {
+                    final long transferred = channel.transferFrom(source, position + written, length - written);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    written += transferred;
+                }
+            } finally {
+                if (written > 0) {
+                    received(position, written);
+                }
+            }
+            return written;
+        }
+
+        private void received(final long position, final long length) throws IOException {
+            synchronized (this) {
+                received.add(Range.closedOpen(position, position + length));
+                if (hashing) {
+                    // picked up by the hashing thread
+                    return;
+                }
+                hashing = true;
+            }
+            hashPrefix();
+        }
+
+        /**
+         * Hashes the gap-free prefix of the binary. Must be called by the
+         * thread that has set {@link #hashing}, which is reset on return.
+         */
+        private void hashPrefix() throws IOException {
+            try {
+                Range<Long> prefix;
+                while ((prefix = claimPrefix()) != null) {
+                    hash(hashed, prefix.upperEndpoint());
+                    synchronized (this) {
+                        hashed = prefix.upperEndpoint();
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    hashing = false;
+                    notifyAll();
+                }
+            }
+        }
+
+        private synchronized Range<Long> claimPrefix() {
+            final Range<Long> prefix = received.rangeContaining(hashed);
+            if (prefix == null || prefix.upperEndpoint() <= hashed) {
+                return null;
+            }
+            return prefix;
+        }
+
+        private void hash(final long from, final long to) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+                long position = from;
+                while (position < to) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), to - position));
+                    final int read = channel.read(buffer, position);
+                    if (read <= 0) {
+                        throw new IOException("Unexpected end of artifact upload " + id);
+                    }
+                    sha1.update(buffer.array(), 0, read);
+                    md5.update(buffer.array(), 0, read);
+                    sha256.update(buffer.array(), 0, read);
+                    position += read;
+                }
+            }
+        }
+
+        private DbArtifactHash complete() {
+            synchronized (this) {
+                if (receivedBytes() < size) {
+                    throw new ValidationException("Artifact upload " + id + " misses "
+                            + (size - receivedBytes()) + " of " + size + " bytes");
+                }
+                awaitHashing();
+                hashing = true;
+            }
+
+            try {
+                // hashes what a failed chunk has left over
+                hashPrefix();
+            } catch (final IOException e) {
+                throw new ArtifactUploadFailedException(e);
+            }
+
+            synchronized (this) {
+                final BaseEncoding base16 = BaseEncoding.base16().lowerCase();
+                return new DbArtifactHash(base16.encode(sha1.digest()), base16.encode(md5.digest()),
+                        base16.encode(sha256.digest()));
+            }
+        }
+
+        private void awaitHashing() {
+            while (hashing) {
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ArtifactUploadFailedException(e);
+                }
+            }
+        }
+
+        private long receivedBytes() {
+            return received.asRanges().stream().mapToLong(range -> range.upperEndpoint() - range.lowerEndpoint())
+                    .sum();
+        }
+
+        private synchronized ArtifactUploadSession snapshot() {
+            final List<ByteRange> ranges = received.asRanges().stream()
+                    .map(range -> new ByteRange(range.lowerEndpoint(), range.upperEndpoint() - 1))
+                    .collect(Collectors.toList());
+            return new ArtifactUploadSession(id, moduleId, filename, size, receivedBytes(), ranges,
+                    lastAccess + sessionTimeout);
+        }
+
+        private void delete() {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+}
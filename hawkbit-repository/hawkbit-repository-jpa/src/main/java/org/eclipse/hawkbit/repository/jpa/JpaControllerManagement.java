@@ -24,23 +24,22 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
-import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import javax.sql.DataSource;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.EntitySnapshotCache;
 import org.eclipse.hawkbit.repository.MaintenanceScheduleHelper;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
@@ -72,12 +71,14 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.DistributionSetSnapshot;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleSnapshot;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TenantConfigurationSnapshot;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
-import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.slf4j.Logger;
@@ -91,6 +92,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -100,10 +102,6 @@ import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
-
 /**
  * JPA based {@link ControllerManagement} implementation.
  *
@@ -113,7 +111,18 @@ import com.google.common.collect.Sets;
 public class JpaControllerManagement extends JpaActionManagement implements ControllerManagement {
     private static final Logger LOG = LoggerFactory.getLogger(JpaControllerManagement.class);
 
-    private final BlockingDeque<TargetPoll> queue;
+    /**
+     * Maximum number of cached parsed polling intervals.
+     */
+    private static final int MAX_POLLING_DURATIONS = 1_000;
+
+    private static final Map<String, Duration> POLLING_DURATIONS = new ConcurrentHashMap<>();
+
+    private static final String UPDATE_LAST_TARGET_QUERY = "UPDATE sp_target SET last_target_query = ? WHERE controller_id = ? AND tenant = ?";
+
+    private final TargetPollBuffer pollBuffer;
+
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
     private EntityManager entityManager;
@@ -128,13 +137,13 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     private ActionStatusRepository actionStatusRepository;
 
     @Autowired
-    private QuotaManagement quotaManagement;
+    private RolloutGroupActionCountRepository rolloutGroupActionCountRepository;
 
     @Autowired
-    private TenantConfigurationManagement tenantConfigurationManagement;
+    private QuotaManagement quotaManagement;
 
     @Autowired
-    private SystemSecurityContext systemSecurityContext;
+    private TenantConfigurationManagement tenantConfigurationManagement;
 
     @Autowired
     private EntityFactory entityFactory;
@@ -154,25 +163,33 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     @Autowired
     private TenantAware tenantAware;
 
+    @Autowired
+    private DistributionSetRepository distributionSetRepository;
+
+    @Autowired
+    private EntitySnapshotCache entitySnapshotCache;
+
     JpaControllerManagement(final ScheduledExecutorService executorService,
-            final RepositoryProperties repositoryProperties, final ActionRepository actionRepository) {
+            final RepositoryProperties repositoryProperties, final ActionRepository actionRepository,
+            final DataSource dataSource) {
         super(actionRepository, repositoryProperties);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
 
         if (!repositoryProperties.isEagerPollPersistence()) {
             executorService.scheduleWithFixedDelay(this::flushUpdateQueue,
                     repositoryProperties.getPollPersistenceFlushTime(),
                     repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
 
-            queue = new LinkedBlockingDeque<>(repositoryProperties.getPollPersistenceQueueSize());
+            pollBuffer = new TargetPollBuffer(repositoryProperties.getPollPersistenceQueueSize(),
+                    () -> executorService.execute(this::flushUpdateQueue));
         } else {
-            queue = null;
+            pollBuffer = null;
         }
     }
 
     @Override
     public String getPollingTime() {
-        return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
-                .getConfigurationValue(TenantConfigurationKey.POLLING_TIME_INTERVAL, String.class).getValue());
+        return tenantConfigurationManagement.getConfigurationSnapshot().getPollingTime();
     }
 
     /**
@@ -182,8 +199,7 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
      */
     @Override
     public String getMinPollingTime() {
-        return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
-                .getConfigurationValue(TenantConfigurationKey.MIN_POLLING_TIME_INTERVAL, String.class).getValue());
+        return tenantConfigurationManagement.getConfigurationSnapshot().getMinPollingTime();
     }
 
     /**
@@ -195,21 +211,47 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
      */
     @Override
     public int getMaintenanceWindowPollCount() {
-        return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
-                .getConfigurationValue(TenantConfigurationKey.MAINTENANCE_WINDOW_POLL_COUNT, Integer.class).getValue());
+        return tenantConfigurationManagement.getConfigurationSnapshot().getMaintenanceWindowPollCount();
     }
 
     @Override
     public String getPollingTimeForAction(final long actionId) {
+        return getPollingTimeForAction(getActionAndThrowExceptionIfNotFound(actionId));
+    }
 
-        final JpaAction action = getActionAndThrowExceptionIfNotFound(actionId);
+    @Override
+    public String getPollingTimeForAction(final Action action) {
 
+        final TenantConfigurationSnapshot configuration = tenantConfigurationManagement.getConfigurationSnapshot();
         if (!action.hasMaintenanceSchedule() || action.isMaintenanceScheduleLapsed()) {
-            return getPollingTime();
+            return configuration.getPollingTime();
         }
 
-        return new EventTimer(getPollingTime(), getMinPollingTime(), ChronoUnit.SECONDS)
-                .timeToNextEvent(getMaintenanceWindowPollCount(), action.getMaintenanceWindowStartTime().orElse(null));
+        return new EventTimer(configuration.getPollingTime(), configuration.getMinPollingTime(), ChronoUnit.SECONDS)
+                .timeToNextEvent(configuration.getMaintenanceWindowPollCount(),
+                        action.getMaintenanceWindowStartTime().orElse(null));
+    }
+
+    /**
+     * Parses the given polling interval. The parsed durations are cached by
+     * the configured value, i.e. a changed tenant configuration results in a
+     * new entry.
+     *
+     * @param interval
+     *            in HH:mm:ss format
+     *
+     * @return the parsed {@link Duration}
+     */
+    private static Duration toPollingDuration(final String interval) {
+        final Duration duration = POLLING_DURATIONS.get(interval);
+        if (duration != null) {
+            return duration;
+        }
+
+        if (POLLING_DURATIONS.size() >= MAX_POLLING_DURATIONS) {
+            POLLING_DURATIONS.clear();
+        }
+        return POLLING_DURATIONS.computeIfAbsent(interval, MaintenanceScheduleHelper::convertToISODuration);
     }
 
     /**
@@ -243,10 +285,10 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
          */
         EventTimer(final String defaultEventInterval, final String minimumEventInterval, final TemporalUnit timeUnit) {
             this.defaultEventInterval = defaultEventInterval;
-            this.defaultEventIntervalDuration = MaintenanceScheduleHelper.convertToISODuration(defaultEventInterval);
+            this.defaultEventIntervalDuration = toPollingDuration(defaultEventInterval);
 
             this.minimumEventInterval = minimumEventInterval;
-            this.minimumEventIntervalDuration = MaintenanceScheduleHelper.convertToISODuration(minimumEventInterval);
+            this.minimumEventIntervalDuration = toPollingDuration(minimumEventInterval);
 
             this.timeUnit = timeUnit;
         }
@@ -366,10 +408,13 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     }
 
     @Override
+    @Transactional
     public void deleteExistingTarget(@NotEmpty final String controllerId) {
         final Target target = targetRepository.findByControllerId(controllerId)
                 .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
-         targetRepository.deleteById(target.getId());
+        rolloutGroupActionCountRepository.subtract(
+                actionRepository.getRolloutGroupStatusCountByTargetIdIn(Collections.singletonList(target.getId())));
+        targetRepository.deleteById(target.getId());
     }
 
     @Override
@@ -405,93 +450,92 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     }
 
     /**
-     * Flush the update queue by means to persisting
+     * Flush the poll buffer by means to persisting
      * {@link Target#getLastTargetQuery()}.
      */
-    private void flushUpdateQueue() {
+    private synchronized void flushUpdateQueue() {
         LOG.debug("Run flushUpdateQueue.");
 
-        final int size = queue.size();
-        if (size <= 0) {
-            return;
-        }
-
-        LOG.debug("{} events in flushUpdateQueue.", size);
-
-        final Set<TargetPoll> events = Sets.newHashSetWithExpectedSize(queue.size());
-        final int drained = queue.drainTo(events);
-
-        if (drained <= 0) {
+        final Map<String, Map<String, Long>> polls = pollBuffer.drain();
+        if (polls.isEmpty()) {
             return;
         }
 
-        try {
-            events.stream().collect(Collectors.groupingBy(TargetPoll::getTenant)).forEach((tenant, polls) -> {
-                final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant, polls);
+        final long start = System.nanoTime();
+        int persisted = 0;
+        for (final Map.Entry<String, Map<String, Long>> tenantPolls : polls.entrySet()) {
+            final String tenant = tenantPolls.getKey();
+            final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant,
+                    tenantPolls.getValue());
+            try {
                 tenantAware.runAsTenant(tenant,
                         () -> DeploymentHelper.runInNewTransaction(txManager, "flushUpdateQueue", createTransaction));
-            });
-        } catch (final RuntimeException ex) {
-            LOG.error("Failed to persist UpdateQueue content.", ex);
-            return;
+                persisted += tenantPolls.getValue().size();
+            } catch (final RuntimeException ex) {
+                LOG.error("Failed to persist {} target polls of tenant {}.", tenantPolls.getValue().size(), tenant,
+                        ex);
+            }
         }
+        pollBuffer.flushed(persisted, System.nanoTime() - start);
 
-        LOG.debug("{} events persisted.", drained);
+        LOG.debug("{} target polls persisted in {} ms.", persisted,
+                TimeUnit.NANOSECONDS.toMillis(pollBuffer.getLastFlushDuration()));
     }
 
-    private Void updateLastTargetQueries(final String tenant, final List<TargetPoll> polls) {
-        LOG.debug("Persist {} targetqueries.", polls.size());
-
-        final List<List<String>> pollChunks = Lists.partition(
-                polls.stream().map(TargetPoll::getControllerId).collect(Collectors.toList()),
-                Constants.MAX_ENTRIES_IN_STATEMENT);
-
-        pollChunks.forEach(chunk -> {
-            setLastTargetQuery(tenant, System.currentTimeMillis(), chunk);
-            chunk.forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                    .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
-        });
-
-        return null;
+    /**
+     * @return number of targets with a buffered poll that is not persisted
+     *         yet, always zero in case of eager poll persistence
+     */
+    public int getBufferedPolls() {
+        return pollBuffer == null ? 0 : pollBuffer.size();
     }
 
     /**
-     * Sets {@link Target#getLastTargetQuery()} by native SQL in order to avoid
-     * raising opt lock revision as this update is not mission critical and in fact
-     * only written by {@link ControllerManagement}, i.e. the target itself.
+     * @return total number of persisted buffered polls
      */
-    private void setLastTargetQuery(final String tenant, final long currentTimeMillis, final List<String> chunk) {
-        final Map<String, String> paramMapping = Maps.newHashMapWithExpectedSize(chunk.size());
+    public long getFlushedPolls() {
+        return pollBuffer == null ? 0 : pollBuffer.getFlushedPolls();
+    }
 
-        for (int i = 0; i < chunk.size(); i++) {
-            paramMapping.put("cid" + i, chunk.get(i));
-        }
+    /**
+     * @return duration of the last flush of the buffered polls in
+     *         {@link TimeUnit#NANOSECONDS}
+     */
+    public long getLastPollFlushDuration() {
+        return pollBuffer == null ? 0 : pollBuffer.getLastFlushDuration();
+    }
 
-        final Query updateQuery = entityManager.createNativeQuery(
-                "UPDATE sp_target SET last_target_query = #last_target_query WHERE controller_id IN ("
-                        + formatQueryInStatementParams(paramMapping.keySet()) + ") AND tenant = #tenant");
+    /**
+     * Sets {@link Target#getLastTargetQuery()} by a JDBC batch update in order
+     * to avoid raising opt lock revision as this update is not mission critical
+     * and in fact only written by {@link ControllerManagement}, i.e. the target
+     * itself. The statement has the same shape for every batch so that it is
+     * prepared only once per connection.
+     */
+    private Void updateLastTargetQueries(final String tenant, final Map<String, Long> polls) {
+        LOG.debug("Persist {} targetqueries.", polls.size());
 
-        paramMapping.forEach(updateQuery::setParameter);
-        updateQuery.setParameter("last_target_query", currentTimeMillis);
-        updateQuery.setParameter("tenant", tenant);
+        jdbcTemplate.batchUpdate(UPDATE_LAST_TARGET_QUERY, polls.entrySet(), Constants.MAX_ENTRIES_IN_STATEMENT,
+                (statement, poll) -> {
+                    statement.setLong(1, poll.getValue());
+                    statement.setString(2, poll.getKey());
+                    statement.setString(3, tenant);
+                });
 
-        final int updated = updateQuery.executeUpdate();
-        if (updated < chunk.size()) {
-            LOG.error("Targets polls could not be applied completely ({} instead of {}).", updated, chunk.size());
-        }
-    }
+        polls.keySet().forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
 
-    private static String formatQueryInStatementParams(final Collection<String> paramNames) {
-        return "#" + String.join(",#", paramNames);
+        return null;
     }
 
     /**
      * Stores target directly to DB in case either {@link Target#getAddress()} or
-     * {@link Target#getUpdateStatus()} or {@link Target#getName()} changes or the buffer queue is full.
+     * {@link Target#getUpdateStatus()} or {@link Target#getName()} changes.
+     * Otherwise the poll is added to the {@link TargetPollBuffer}.
      *
      */
     private Target updateTarget(final JpaTarget toUpdate, final URI address, final String name) {
-        if (isStoreEager(toUpdate, address, name) || !queue.offer(new TargetPoll(toUpdate))) {
+        if (isStoreEager(toUpdate, address, name)) {
             if (isAddressChanged(toUpdate.getAddress(), address)) {
                 toUpdate.setAddress(address.toString());
             }
@@ -506,6 +550,7 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                     .publishEvent(new TargetPollEvent(toUpdate, eventPublisherHolder.getApplicationId())));
             return targetRepository.save(toUpdate);
         }
+        pollBuffer.add(toUpdate.getTenant(), toUpdate.getControllerId(), System.currentTimeMillis());
         return toUpdate;
     }
     private boolean isStoreEager(final JpaTarget toUpdate, final URI address, final String name) {
@@ -929,6 +974,33 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         return softwareModuleRepository.findById(id).map(s -> (SoftwareModule) s);
     }
 
+    @Override
+    public Optional<SoftwareModuleSnapshot> getSoftwareModuleSnapshot(final long moduleId) {
+        return entitySnapshotCache.getSoftwareModule(tenantAware.getCurrentTenant(), moduleId,
+                id -> softwareModuleRepository.findById(id).map(module -> new SoftwareModuleSnapshot(module,
+                        findTargetVisibleMetaDataBySoftwareModuleId(Collections.singletonList(id))
+                                .getOrDefault(id, Collections.emptyList()))));
+    }
+
+    @Override
+    public Optional<DistributionSetSnapshot> getDistributionSetSnapshot(final long distributionSetId) {
+        return entitySnapshotCache.getDistributionSet(tenantAware.getCurrentTenant(), distributionSetId,
+                id -> distributionSetRepository.findById(id).map(this::createSnapshot));
+    }
+
+    private DistributionSetSnapshot createSnapshot(final DistributionSet distributionSet) {
+        final List<Long> moduleIds = distributionSet.getModules().stream().map(SoftwareModule::getId)
+                .collect(Collectors.toList());
+        final Map<Long, List<SoftwareModuleMetadata>> metadata = moduleIds.isEmpty() ? Collections.emptyMap()
+                : findTargetVisibleMetaDataBySoftwareModuleId(moduleIds);
+
+        return new DistributionSetSnapshot(distributionSet,
+                distributionSet.getModules().stream()
+                        .map(module -> new SoftwareModuleSnapshot(module,
+                                metadata.getOrDefault(module.getId(), Collections.emptyList())))
+                        .collect(Collectors.toList()));
+    }
+
     @Override
     public Map<Long, List<SoftwareModuleMetadata>> findTargetVisibleMetaDataBySoftwareModuleId(
             final Collection<Long> moduleId) {
@@ -940,64 +1012,6 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                         Collectors.mapping(o -> (SoftwareModuleMetadata) o[1], Collectors.toList())));
     }
 
-    private static class TargetPoll {
-
-        private final String tenant;
-        private final String controllerId;
-
-        TargetPoll(final Target target) {
-            this.tenant = target.getTenant();
-            this.controllerId = target.getControllerId();
-        }
-
-        public String getTenant() {
-            return tenant;
-        }
-
-        public String getControllerId() {
-            return controllerId;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + (controllerId == null ? 0 : controllerId.hashCode());
-            result = prime * result + (tenant == null ? 0 : tenant.hashCode());
-            return result;
-        }
-
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            final TargetPoll other = (TargetPoll) obj;
-            if (controllerId == null) {
-                if (other.controllerId != null) {
-                    return false;
-                }
-            } else if (!controllerId.equals(other.controllerId)) {
-                return false;
-            }
-            if (tenant == null) {
-                if (other.tenant != null) {
-                    return false;
-                }
-            } else if (!tenant.equals(other.tenant)) {
-                return false;
-            }
-            return true;
-        }
-
-    }
-
     /**
      * Cancels given {@link Action} for this {@link Target}. The method will
      * immediately add a {@link Status#CANCELED} status to the action. However,
@@ -66,7 +66,7 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
 
     private final RolloutRepository rolloutRepository;
 
-    private final ActionRepository actionRepository;
+    private final RolloutGroupActionCountRepository rolloutGroupActionCountRepository;
 
     private final TargetRepository targetRepository;
 
@@ -79,14 +79,15 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
     private final Database database;
 
     JpaRolloutGroupManagement(final RolloutGroupRepository rolloutGroupRepository,
-            final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
+            final RolloutRepository rolloutRepository,
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository,
             final TargetRepository targetRepository, final EntityManager entityManager,
             final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
             final Database database) {
 
         this.rolloutGroupRepository = rolloutGroupRepository;
         this.rolloutRepository = rolloutRepository;
-        this.actionRepository = actionRepository;
+        this.rolloutGroupActionCountRepository = rolloutGroupActionCountRepository;
         this.targetRepository = targetRepository;
         this.entityManager = entityManager;
         this.virtualPropertyReplacer = virtualPropertyReplacer;
@@ -173,7 +174,7 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .getRolloutGroupStatus(rolloutGroupId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutGroupId(rolloutGroupId);
+            rolloutStatusCountItems = rolloutGroupActionCountRepository.getStatusCountByRolloutGroupId(rolloutGroupId);
             rolloutStatusCache.putRolloutGroupStatus(rolloutGroupId, rolloutStatusCountItems);
         }
 
@@ -192,7 +193,7 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutGroupIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
+            final List<TotalTargetCountActionStatus> resultList = rolloutGroupActionCountRepository
                     .getStatusCountByRolloutGroupId(rolloutGroupIds);
             final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
                     .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
@@ -150,6 +150,9 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     @Autowired
     private ActionRepository actionRepository;
 
+    @Autowired
+    private RolloutGroupActionCountRepository rolloutGroupActionCountRepository;
+
     @Autowired
     private AfterTransactionCommitExecutor afterCommit;
 
@@ -758,10 +761,10 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     }
 
     private boolean isRolloutGroupComplete(final JpaRollout rollout, final JpaRolloutGroup rolloutGroup) {
-        final Long actionsLeftForRollout = ActionType.DOWNLOAD_ONLY == rollout.getActionType()
-                ? actionRepository.countByRolloutAndRolloutGroupAndStatusNotIn(rollout, rolloutGroup,
+        final long actionsLeftForRollout = ActionType.DOWNLOAD_ONLY == rollout.getActionType()
+                ? rolloutGroupActionCountRepository.countByRolloutGroupIdAndStatusNotIn(rolloutGroup.getId(),
                         DOWNLOAD_ONLY_ACTION_TERMINATION_STATUSES)
-                : actionRepository.countByRolloutAndRolloutGroupAndStatusNotIn(rollout, rolloutGroup,
+                : rolloutGroupActionCountRepository.countByRolloutGroupIdAndStatusNotIn(rolloutGroup.getId(),
                         DEFAULT_ACTION_TERMINATION_STATUSES);
         return actionsLeftForRollout == 0;
     }
@@ -967,6 +970,8 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
                 final Iterable<JpaAction> iterable = scheduledActions::iterator;
                 final List<Long> actionIds = StreamSupport.stream(iterable.spliterator(), false).map(Action::getId)
                         .collect(Collectors.toList());
+                // the bulk delete bypasses the entity listeners
+                rolloutGroupActionCountRepository.subtract(actionRepository.getRolloutGroupStatusCountByIdIn(actionIds));
                 actionRepository.deleteByIdIn(actionIds);
                 afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
                         .publishEvent(new RolloutUpdatedEvent(rollout, eventPublisherHolder.getApplicationId())));
@@ -1066,7 +1071,7 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         List<TotalTargetCountActionStatus> rolloutStatusCountItems = rolloutStatusCache.getRolloutStatus(rolloutId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutId(rolloutId);
+            rolloutStatusCountItems = rolloutGroupActionCountRepository.getStatusCountByRolloutId(rolloutId);
             rolloutStatusCache.putRolloutStatus(rolloutId, rolloutStatusCountItems);
         }
 
@@ -1092,7 +1097,7 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
+            final List<TotalTargetCountActionStatus> resultList = rolloutGroupActionCountRepository
                     .getStatusCountByRolloutId(rolloutIds);
             final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
                     .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
@@ -112,6 +112,8 @@ public class JpaSoftwareModuleManagement implements SoftwareModuleManagement {
 
     private final Database database;
 
+    private final TenantMetaDataRepository tenantMetaDataRepository;
+
     public JpaSoftwareModuleManagement(final EntityManager entityManager,
             final DistributionSetRepository distributionSetRepository,
             final SoftwareModuleRepository softwareModuleRepository,
@@ -119,7 +121,8 @@ public class JpaSoftwareModuleManagement implements SoftwareModuleManagement {
             final SoftwareModuleTypeRepository softwareModuleTypeRepository,
             final NoCountPagingRepository criteriaNoCountDao, final AuditorAware<String> auditorProvider,
             final ArtifactManagement artifactManagement, final QuotaManagement quotaManagement,
-            final VirtualPropertyReplacer virtualPropertyReplacer, final Database database) {
+            final VirtualPropertyReplacer virtualPropertyReplacer, final Database database,
+            final TenantMetaDataRepository tenantMetaDataRepository) {
         this.entityManager = entityManager;
         this.distributionSetRepository = distributionSetRepository;
         this.softwareModuleRepository = softwareModuleRepository;
@@ -131,6 +134,7 @@ public class JpaSoftwareModuleManagement implements SoftwareModuleManagement {
         this.quotaManagement = quotaManagement;
         this.virtualPropertyReplacer = virtualPropertyReplacer;
         this.database = database;
+        this.tenantMetaDataRepository = tenantMetaDataRepository;
     }
 
     @Override
@@ -233,6 +237,17 @@ public class JpaSoftwareModuleManagement implements SoftwareModuleManagement {
         }
     }
 
+    private void releaseArtifactStorage(final JpaSoftwareModule swModule) {
+        if (swModule.isDeleted()) {
+            // released already when the module was marked as deleted
+            return;
+        }
+        final long size = swModule.getArtifacts().stream().mapToLong(Artifact::getSize).sum();
+        if (size > 0) {
+            tenantMetaDataRepository.releaseArtifactStorage(swModule.getTenant(), size);
+        }
+    }
+
     @Override
     @Transactional
     @Retryable(include = {
@@ -250,6 +265,7 @@ public class JpaSoftwareModuleManagement implements SoftwareModuleManagement {
 
             // delete binary data of artifacts
             deleteGridFsArtifacts(swModule);
+            releaseArtifactStorage(swModule);
 
             if (isUnassigned(swModule.getId())) {
                 softwareModuleRepository.deleteById(swModule.getId());
@@ -10,31 +10,39 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 
-import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
 import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.repository.EntitySnapshotCache;
 import org.eclipse.hawkbit.repository.RolloutStatusCache;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationSnapshotCache;
 import org.eclipse.hawkbit.repository.TenantStatsManagement;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.exception.TenantNotExistException;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactionManager;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSetType;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModuleType;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTenantDeletion;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantMetaData;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleType;
+import org.eclipse.hawkbit.repository.model.TenantDeletion;
 import org.eclipse.hawkbit.repository.model.TenantMetaData;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.repository.report.model.SystemUsageReport;
 import org.eclipse.hawkbit.repository.report.model.SystemUsageReportWithTenants;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
-import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,6 +53,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -67,61 +76,58 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
     private EntityManager entityManager;
 
     @Autowired
-    private TargetRepository targetRepository;
-
-    @Autowired
-    private TargetFilterQueryRepository targetFilterQueryRepository;
+    private TenantMetaDataRepository tenantMetaDataRepository;
 
     @Autowired
-    private DistributionSetRepository distributionSetRepository;
+    private TenantDeletionRepository tenantDeletionRepository;
 
     @Autowired
-    private SoftwareModuleRepository softwareModuleRepository;
+    private DistributionSetTypeRepository distributionSetTypeRepository;
 
     @Autowired
-    private TenantMetaDataRepository tenantMetaDataRepository;
+    private SoftwareModuleTypeRepository softwareModuleTypeRepository;
 
     @Autowired
-    private DistributionSetTypeRepository distributionSetTypeRepository;
+    private TenantAware tenantAware;
 
     @Autowired
-    private SoftwareModuleTypeRepository softwareModuleTypeRepository;
+    private TenantStatsManagement systemStatsManagement;
 
     @Autowired
-    private TargetTagRepository targetTagRepository;
+    private TenancyCacheManager cacheManager;
 
     @Autowired
-    private DistributionSetTagRepository distributionSetTagRepository;
+    private SystemManagementCacheKeyGenerator currentTenantCacheKeyGenerator;
 
     @Autowired
-    private TenantConfigurationRepository tenantConfigurationRepository;
+    private SystemSecurityContext systemSecurityContext;
 
     @Autowired
-    private RolloutRepository rolloutRepository;
+    private PlatformTransactionManager txManager;
 
     @Autowired
-    private TenantAware tenantAware;
+    private RolloutStatusCache rolloutStatusCache;
 
     @Autowired
-    private TenantStatsManagement systemStatsManagement;
+    private TenantConfigurationSnapshotCache tenantConfigurationSnapshotCache;
 
     @Autowired
-    private TenancyCacheManager cacheManager;
+    private EntitySnapshotCache entitySnapshotCache;
 
     @Autowired
-    private SystemManagementCacheKeyGenerator currentTenantCacheKeyGenerator;
+    private EventPublisherHolder eventPublisherHolder;
 
     @Autowired
-    private SystemSecurityContext systemSecurityContext;
+    private TenantDeleter tenantDeleter;
 
     @Autowired
-    private PlatformTransactionManager txManager;
+    private TenantDeletionGuard tenantDeletionGuard;
 
     @Autowired
-    private RolloutStatusCache rolloutStatusCache;
+    private LockRegistry lockRegistry;
 
     @Autowired
-    private ArtifactRepository artifactRepository;
+    private AfterTransactionCommitExecutor afterCommit;
 
     @Override
     public SystemUsageReport getSystemUsageStatistics() {
@@ -180,6 +186,9 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
         final TenantMetaData result = tenantMetaDataRepository.findByTenantIgnoreCase(tenant);
         // Create if it does not exist
         if (result == null) {
+            if (tenantDeletionRepository.findByTenantIgnoreCase(tenant).isPresent()) {
+                throw new TenantNotExistException("Tenant " + tenant + " is being deleted");
+            }
             try {
                 currentTenantCacheKeyGenerator.getCreateInitialTenant().set(tenant);
                 return createInitialTenantMetaData(tenant);
@@ -231,22 +240,44 @@ public class JpaSystemManagement implements CurrentTenantCacheKeyGenerator, Syst
         final String tenant = t.toUpperCase();
         cacheManager.evictCaches(tenant);
         rolloutStatusCache.evictCaches(tenant);
-        tenantAware.runAsTenant(tenant, () -> {
-            entityManager.setProperty(PersistenceUnitProperties.MULTITENANT_PROPERTY_DEFAULT, tenant);
-            tenantMetaDataRepository.deleteByTenantIgnoreCase(tenant);
-            tenantConfigurationRepository.deleteByTenant(tenant);
-            targetRepository.deleteByTenant(tenant);
-            targetFilterQueryRepository.deleteByTenant(tenant);
-            rolloutRepository.deleteByTenant(tenant);
-            targetTagRepository.deleteByTenant(tenant);
-            distributionSetTagRepository.deleteByTenant(tenant);
-            distributionSetRepository.deleteByTenant(tenant);
-            distributionSetTypeRepository.deleteByTenant(tenant);
-            softwareModuleRepository.deleteByTenant(tenant);
-            artifactRepository.deleteByTenant(tenant);
-            softwareModuleTypeRepository.deleteByTenant(tenant);
-            return null;
-        });
+        tenantConfigurationSnapshotCache.invalidate(tenant);
+        entitySnapshotCache.invalidate(tenant);
+        afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                .publishEvent(new TenantConfigurationChangedEvent(tenant, eventPublisherHolder.getApplicationId())));
+        afterCommit.afterCommit(() -> tenantDeletionGuard.add(tenant));
+        if (tenantDeletionRepository.findByTenantIgnoreCase(tenant).isPresent()) {
+            return;
+        }
+
+        // the meta data is deleted right away, so the tenant is not found
+        // anymore and its default distribution set type can be deleted
+        tenantMetaDataRepository.deleteByTenantIgnoreCase(tenant);
+        tenantDeleter.start(tenant);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean runTenantDeletion(final String tenant) {
+        // waits for a deletion of the TenantDeletionScheduler in progress
+        final Lock lock = lockRegistry.obtain(TenantDeleter.LOCK_PREFIX + tenant.toUpperCase());
+        lock.lock();
+        try {
+            return tenantDeleter.delete(tenant);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<TenantDeletion> getTenantDeletion(final String tenant) {
+        return tenantDeletionRepository.findByTenantIgnoreCase(tenant).map(TenantDeletion.class::cast);
+    }
+
+    @Override
+    public Page<TenantDeletion> findTenantDeletions(final Pageable pageable) {
+        final Page<JpaTenantDeletion> result = tenantDeletionRepository.findAll(pageable);
+
+        return new PageImpl<>(Collections.unmodifiableList(result.getContent()), pageable, result.getTotalElements());
     }
 
     @Override
@@ -0,0 +1,504 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+
+import org.eclipse.hawkbit.im.authentication.SpPermission;
+import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.QuotaManagement;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
+import org.eclipse.hawkbit.repository.event.remote.TargetsImportedEvent;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.exception.InsufficientPermissionException;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTargetTag;
+import org.eclipse.hawkbit.repository.jpa.model.helper.EventPublisherHolder;
+import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityChecker;
+import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.DeploymentRequest;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.NamedEntity;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetImportJob;
+import org.eclipse.hawkbit.repository.model.TargetImportJob.Status;
+import org.eclipse.hawkbit.repository.model.TargetImportRequest;
+import org.eclipse.hawkbit.repository.model.TargetImportRequest.Format;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.io.CountingInputStream;
+
+/**
+ * JPA implementation of {@link TargetImportManagement}.
+ *
+ * The targets of a chunk are inserted by JDBC batches instead of being
+ * persisted one by one, as the IDENTITY generated IDs prevent EclipseLink from
+ * batching the inserts. Hence no target created event is published for the
+ * imported targets, but one {@link TargetsImportedEvent} per chunk. The event
+ * refreshes the target table of the UI and evicts the target tags, whose
+ * assigned targets are changed by the inserts, from the shared cache of
+ * EclipseLink on every node.
+ */
+@Validated
+public class JpaTargetImportManagement implements TargetImportManagement {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JpaTargetImportManagement.class);
+
+    private static final String INSERT_TARGET = "INSERT INTO sp_target (tenant, controller_id, name, description, address, sec_token, update_status, request_controller_attributes, created_at, created_by, last_modified_at, last_modified_by, optlock_revision) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_TARGET_IDS = "SELECT id FROM sp_target WHERE tenant = :tenant AND controller_id IN (:controllerIds)";
+    private static final String INSERT_TARGET_TAG = "INSERT INTO sp_target_target_tag (target, tag) VALUES (?, ?)";
+
+    /**
+     * Data value of {@link org.eclipse.hawkbit.repository.model.TargetUpdateStatus#UNKNOWN}.
+     */
+    private static final int UPDATE_STATUS_UNKNOWN = 0;
+
+    private static final Splitter SPLITTER = Splitter.on(',').omitEmptyStrings().trimResults();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s");
+
+    private final Cache<String, TargetImportJob> jobs = CacheBuilder.newBuilder().expireAfterWrite(1, TimeUnit.DAYS)
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final EntityManager entityManager;
+    private final TargetRepository targetRepository;
+    private final TargetTagRepository targetTagRepository;
+    private final DistributionSetRepository distributionSetRepository;
+    private final DeploymentManagement deploymentManagement;
+    private final QuotaManagement quotaManagement;
+    private final PlatformTransactionManager txManager;
+    private final TenantAware tenantAware;
+    private final AuditorAware<String> auditorProvider;
+    private final EventPublisherHolder eventPublisherHolder;
+    private final AfterTransactionCommitExecutor afterCommit;
+    private final Executor executor;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    JpaTargetImportManagement(final EntityManager entityManager, final TargetRepository targetRepository,
+            final TargetTagRepository targetTagRepository, final DistributionSetRepository distributionSetRepository,
+            final DeploymentManagement deploymentManagement, final QuotaManagement quotaManagement,
+            final PlatformTransactionManager txManager, final TenantAware tenantAware,
+            final AuditorAware<String> auditorProvider, final EventPublisherHolder eventPublisherHolder,
+            final AfterTransactionCommitExecutor afterCommit, final Executor executor, final DataSource dataSource) {
+        this.entityManager = entityManager;
+        this.targetRepository = targetRepository;
+        this.targetTagRepository = targetTagRepository;
+        this.distributionSetRepository = distributionSetRepository;
+        this.deploymentManagement = deploymentManagement;
+        this.quotaManagement = quotaManagement;
+        this.txManager = txManager;
+        this.tenantAware = tenantAware;
+        this.auditorProvider = auditorProvider;
+        this.eventPublisherHolder = eventPublisherHolder;
+        this.afterCommit = afterCommit;
+        this.executor = executor;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public TargetImportJob importTargets(final InputStream stream, final TargetImportRequest request,
+            final Consumer<TargetImportJob> progress) {
+        assertTagAssignmentPermission(request);
+        assertRequestedEntitiesExist(request);
+
+        return new ImportRun(UUID.randomUUID().toString(), request, progress).execute(stream);
+    }
+
+    @Override
+    public TargetImportJob startImport(final InputStream stream, final TargetImportRequest request) {
+        assertTagAssignmentPermission(request);
+        assertRequestedEntitiesExist(request);
+
+        final Path buffer = buffer(stream);
+        final String tenant = tenantAware.getCurrentTenant();
+        final ImportRun run = new ImportRun(UUID.randomUUID().toString(), request,
+                job -> jobs.put(jobKey(tenant, job.getId()), job));
+        final TargetImportJob started = run.snapshot();
+        jobs.put(jobKey(tenant, started.getId()), started);
+
+        executor.execute(() -> {
+            try (final InputStream bufferedStream = Files.newInputStream(buffer)) {
+                run.execute(bufferedStream);
+            } catch (final IOException e) {
+                run.fail(e);
+            } finally {
+                delete(buffer);
+            }
+        });
+
+        return started;
+    }
+
+    @Override
+    public Optional<TargetImportJob> getImportJob(final String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobKey(tenantAware.getCurrentTenant(), jobId)));
+    }
+
+    /**
+     * Evicts the target tags from the shared cache, as the JDBC inserts of an
+     * import (on any node) bypass EclipseLink.
+     *
+     * @param event
+     *            the imported chunk
+     */
+    @EventListener
+    public void onTargetsImported(final TargetsImportedEvent event) {
+        LOG.debug("Evict target tags after {} targets have been imported by job {}.",
+                event.getControllerIds().size(), event.getJobId());
+        entityManager.getEntityManagerFactory().getCache().evict(JpaTargetTag.class);
+    }
+
+    private static String jobKey(final String tenant, final String jobId) {
+        return tenant.toUpperCase() + "/" + jobId;
+    }
+
+    /**
+     * The tags are assigned by JDBC, so the permission that is required for a
+     * tag assignment everywhere else is checked here.
+     */
+    private static void assertTagAssignmentPermission(final TargetImportRequest request) {
+        if (!request.getTagIds().isEmpty() && !SecurityChecker.hasPermission(SpPermission.UPDATE_TARGET)) {
+            throw new InsufficientPermissionException();
+        }
+    }
+
+    private void assertRequestedEntitiesExist(final TargetImportRequest request) {
+        request.getTagIds().stream().filter(tagId -> !targetTagRepository.existsById(tagId)).findAny()
+                .ifPresent(tagId -> {
+                    throw new EntityNotFoundException(TargetTag.class, tagId);
+                });
+
+        final Long distributionSetId = request.getDistributionSetId();
+        if (distributionSetId != null && !distributionSetRepository.existsById(distributionSetId)) {
+            throw new EntityNotFoundException(DistributionSet.class, distributionSetId);
+        }
+    }
+
+    private static Path buffer(final InputStream stream) {
+        try {
+            final Path buffer = Files.createTempFile("target-import", ".tmp");
+            Files.copy(stream, buffer, StandardCopyOption.REPLACE_EXISTING);
+            return buffer;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to buffer target import", e);
+        }
+    }
+
+    private static void delete(final Path buffer) {
+        try {
+            Files.deleteIfExists(buffer);
+        } catch (final IOException e) {
+            LOG.warn("Failed to delete target import buffer {}", buffer, e);
+        }
+    }
+
+    /**
+     * State of a single import.
+     */
+    private final class ImportRun {
+        private final String id;
+        private final TargetImportRequest request;
+        private final Consumer<TargetImportJob> progress;
+        private final long startedAt = System.currentTimeMillis();
+
+        private volatile Status status = Status.RUNNING;
+        private volatile long processed;
+        private volatile long created;
+        private volatile long skipped;
+        private volatile long failed;
+        private volatile long bytesRead;
+        private volatile Long finishedAt;
+        private volatile String error;
+
+        private ImportRun(final String id, final TargetImportRequest request,
+                final Consumer<TargetImportJob> progress) {
+            this.id = id;
+            this.request = request;
+            this.progress = progress;
+        }
+
+        private TargetImportJob snapshot() {
+            return new TargetImportJob(id, status, processed, created, skipped, failed, bytesRead, startedAt,
+                    finishedAt, error);
+        }
+
+        private TargetImportJob execute(final InputStream stream) {
+            LOG.info("Target import {} started: {}", id, request);
+
+            final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+            final String auditor = auditorProvider.getCurrentAuditor().orElse(null);
+            final CountingInputStream countingStream = new CountingInputStream(stream);
+            final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(countingStream, StandardCharsets.UTF_8));
+
+            try {
+                final Map<String, ImportEntry> chunk = new LinkedHashMap<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!StringUtils.hasText(line)) {
+                        continue;
+                    }
+                    processed++;
+                    final ImportEntry entry = parse(line);
+                    if (entry == null) {
+                        failed++;
+                    } else if (chunk.putIfAbsent(entry.controllerId, entry) != null) {
+                        skipped++;
+                    }
+
+                    if (chunk.size() >= Constants.MAX_ENTRIES_IN_STATEMENT) {
+                        importChunk(tenant, auditor, chunk, countingStream.getCount());
+                    }
+                }
+                importChunk(tenant, auditor, chunk, countingStream.getCount());
+                status = Status.FINISHED;
+            } catch (final IOException | RuntimeException e) {
+                fail(e);
+                return snapshot();
+            }
+
+            finishedAt = System.currentTimeMillis();
+            LOG.info("Target import {} finished: {}", id, snapshot());
+            progress.accept(snapshot());
+            return snapshot();
+        }
+
+        private void fail(final Exception e) {
+            LOG.error("Target import {} failed", id, e);
+            status = Status.FAILED;
+            error = e.getMessage();
+            finishedAt = System.currentTimeMillis();
+            progress.accept(snapshot());
+        }
+
+        private ImportEntry parse(final String line) {
+            final ImportEntry entry = request.getFormat() == Format.NDJSON ? parseJson(line) : parseCsv(line);
+            if (entry == null || !entry.isValid()) {
+                LOG.debug("Target import {} ignores invalid entry {}", id, line);
+                return null;
+            }
+            return entry;
+        }
+
+        private ImportEntry parseCsv(final String line) {
+            final List<String> fields = SPLITTER.splitToList(line);
+            if (fields.isEmpty() || fields.size() > 2) {
+                return null;
+            }
+            return new ImportEntry(fields.get(0), fields.size() == 2 ? fields.get(1) : null,
+                    request.getDescription(), null);
+        }
+
+        private ImportEntry parseJson(final String line) {
+            try {
+                final JsonNode node = objectMapper.readTree(line);
+                return new ImportEntry(node.path("controllerId").asText(null), node.path("name").asText(null),
+                        node.path("description").asText(request.getDescription()), node.path("address").asText(null));
+            } catch (final JsonProcessingException e) {
+                LOG.trace("Target import {} failed to parse {}", id, line, e);
+                return null;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void importChunk(final String tenant, final String auditor, final Map<String, ImportEntry> chunk,
+                final long bytes) {
+            if (!chunk.isEmpty()) {
+                final List<ImportEntry> entries = new ArrayList<>(chunk.values());
+                chunk.clear();
+
+                final List<String> createdIds = createInNewTransaction(tenant, auditor, entries);
+                if (createdIds == null) {
+                    failed += entries.size();
+                } else {
+                    created += createdIds.size();
+                    skipped += entries.size() - createdIds.size();
+                    assignDistributionSet(createdIds);
+                }
+            }
+
+            bytesRead = bytes;
+            progress.accept(snapshot());
+        }
+
+        private List<String> createInNewTransaction(final String tenant, final String auditor,
+                final List<ImportEntry> entries) {
+            try {
+                return DeploymentHelper.runInNewTransaction(txManager, "importTargets",
+                        status -> create(tenant, auditor, entries));
+            } catch (final DataIntegrityViolationException e) {
+                // targets of the chunk have been created concurrently, the
+                // retry skips them
+                LOG.debug("Target import {} retries chunk", id, e);
+            }
+
+            try {
+                return DeploymentHelper.runInNewTransaction(txManager, "importTargets",
+                        status -> create(tenant, auditor, entries));
+            } catch (final DataIntegrityViolationException e) {
+                LOG.warn("Target import {} failed to create chunk of {} targets", id, entries.size(), e);
+                return null;
+            }
+        }
+
+        private List<String> create(final String tenant, final String auditor, final List<ImportEntry> entries) {
+            final Set<String> existing = new HashSet<>(targetRepository.filterNonExistingControllerIds(
+                    entries.stream().map(entry -> entry.controllerId).collect(Collectors.toList())));
+            final List<ImportEntry> toCreate = entries.stream().filter(entry -> !existing.contains(entry.controllerId))
+                    .collect(Collectors.toList());
+
+            if (toCreate.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            final long now = System.currentTimeMillis();
+            jdbcTemplate.batchUpdate(INSERT_TARGET, toCreate, Constants.MAX_ENTRIES_IN_STATEMENT,
+                    (statement, entry) -> {
+                        statement.setString(1, tenant);
+                        statement.setString(2, entry.controllerId);
+                        statement.setString(3, entry.name);
+                        statement.setString(4, entry.description);
+                        statement.setString(5, entry.address);
+                        statement.setString(6, SecurityTokenGeneratorHolder.getInstance().generateToken());
+                        statement.setInt(7, UPDATE_STATUS_UNKNOWN);
+                        statement.setBoolean(8, true);
+                        statement.setLong(9, now);
+                        statement.setString(10, auditor);
+                        statement.setLong(11, now);
+                        statement.setString(12, auditor);
+                        statement.setInt(13, 1);
+                    });
+
+            final List<String> controllerIds = toCreate.stream().map(entry -> entry.controllerId)
+                    .collect(Collectors.toList());
+            assignTags(tenant, controllerIds);
+
+            afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher().publishEvent(
+                    new TargetsImportedEvent(tenant, eventPublisherHolder.getApplicationId(), id, controllerIds)));
+
+            return controllerIds;
+        }
+
+        private void assignTags(final String tenant, final List<String> controllerIds) {
+            if (request.getTagIds().isEmpty()) {
+                return;
+            }
+
+            final List<Long> targetIds = namedJdbcTemplate.queryForList(SELECT_TARGET_IDS,
+                    new MapSqlParameterSource("tenant", tenant).addValue("controllerIds", controllerIds), Long.class);
+            final List<Object[]> targetTags = new ArrayList<>(targetIds.size() * request.getTagIds().size());
+            request.getTagIds()
+                    .forEach(tagId -> targetIds.forEach(targetId -> targetTags.add(new Object[] { targetId, tagId })));
+            jdbcTemplate.batchUpdate(INSERT_TARGET_TAG, targetTags);
+        }
+
+        private void assignDistributionSet(final List<String> controllerIds) {
+            final Long distributionSetId = request.getDistributionSetId();
+            if (distributionSetId == null || controllerIds.isEmpty()) {
+                return;
+            }
+
+            final List<DeploymentRequest> deploymentRequests = controllerIds.stream()
+                    .map(controllerId -> DeploymentManagement.deploymentRequest(controllerId, distributionSetId)
+                            .setActionType(request.getActionType()).setForceTime(request.getForceTime()).build())
+                    .collect(Collectors.toList());
+            Lists.partition(deploymentRequests,
+                    quotaManagement.getMaxTargetDistributionSetAssignmentsPerManualAssignment())
+                    .forEach(deploymentManagement::assignDistributionSets);
+        }
+    }
+
+    /**
+     * Single target of the imported stream.
+     */
+    private static final class ImportEntry {
+        private final String controllerId;
+        private final String name;
+        private final String description;
+        private final String address;
+
+        private ImportEntry(final String controllerId, final String name, final String description,
+                final String address) {
+            this.controllerId = controllerId;
+            this.name = StringUtils.hasText(name) ? name : controllerId;
+            this.description = description;
+            this.address = address;
+        }
+
+        private boolean isValid() {
+            return StringUtils.hasText(controllerId) && controllerId.length() <= Target.CONTROLLER_ID_MAX_SIZE
+                    && !WHITESPACE.matcher(controllerId).find() && name.length() <= NamedEntity.NAME_MAX_SIZE
+                    && (description == null || description.length() <= NamedEntity.DESCRIPTION_MAX_SIZE)
+                    && isValidAddress();
+        }
+
+        private boolean isValidAddress() {
+            if (address == null) {
+                return true;
+            }
+            try {
+                URI.create(address);
+                return address.length() <= Target.ADDRESS_MAX_SIZE;
+            } catch (final IllegalArgumentException e) {
+                return false;
+            }
+        }
+    }
+}
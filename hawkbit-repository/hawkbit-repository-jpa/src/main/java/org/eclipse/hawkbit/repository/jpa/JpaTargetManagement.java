@@ -100,6 +100,10 @@ public class JpaTargetManagement implements TargetManagement {
 
     private final RolloutGroupRepository rolloutGroupRepository;
 
+    private final ActionRepository actionRepository;
+
+    private final RolloutGroupActionCountRepository rolloutGroupActionCountRepository;
+
     private final DistributionSetRepository distributionSetRepository;
 
     private final TargetFilterQueryRepository targetFilterQueryRepository;
@@ -120,7 +124,8 @@ public class JpaTargetManagement implements TargetManagement {
 
     public JpaTargetManagement(final EntityManager entityManager, final QuotaManagement quotaManagement,
             final TargetRepository targetRepository, final TargetMetadataRepository targetMetadataRepository,
-            final RolloutGroupRepository rolloutGroupRepository,
+            final RolloutGroupRepository rolloutGroupRepository, final ActionRepository actionRepository,
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository,
             final DistributionSetRepository distributionSetRepository,
             final TargetFilterQueryRepository targetFilterQueryRepository,
             final TargetTagRepository targetTagRepository, final NoCountPagingRepository criteriaNoCountDao,
@@ -132,6 +137,8 @@ public class JpaTargetManagement implements TargetManagement {
         this.targetRepository = targetRepository;
         this.targetMetadataRepository = targetMetadataRepository;
         this.rolloutGroupRepository = rolloutGroupRepository;
+        this.actionRepository = actionRepository;
+        this.rolloutGroupActionCountRepository = rolloutGroupActionCountRepository;
         this.distributionSetRepository = distributionSetRepository;
         this.targetFilterQueryRepository = targetFilterQueryRepository;
         this.targetTagRepository = targetTagRepository;
@@ -351,6 +358,8 @@ public class JpaTargetManagement implements TargetManagement {
                     targets.stream().map(Target::getId).collect(Collectors.toList()));
         }
 
+        // the actions are deleted by the database cascade
+        rolloutGroupActionCountRepository.subtract(actionRepository.getRolloutGroupStatusCountByTargetIdIn(targetIDs));
         targetRepository.deleteByIdIn(targetIDs);
 
         afterCommit
@@ -368,6 +377,8 @@ public class JpaTargetManagement implements TargetManagement {
     public void deleteByControllerID(final String controllerID) {
         final Target target = getByControllerIdAndThrowIfNotFound(controllerID);
 
+        rolloutGroupActionCountRepository.subtract(
+                actionRepository.getRolloutGroupStatusCountByTargetIdIn(Collections.singletonList(target.getId())));
         targetRepository.deleteById(target.getId());
     }
 
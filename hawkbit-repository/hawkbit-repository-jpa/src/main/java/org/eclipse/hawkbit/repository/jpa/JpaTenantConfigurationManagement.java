@@ -8,17 +8,27 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.MAINTENANCE_WINDOW_POLL_COUNT;
+import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.MIN_POLLING_TIME_INTERVAL;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.MULTI_ASSIGNMENTS_ENABLED;
+import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.POLLING_TIME_INTERVAL;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.REPOSITORY_ACTIONS_AUTOCLOSE_ENABLED;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationSnapshotCache;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
 import org.eclipse.hawkbit.repository.exception.TenantConfigurationValueChangeNotAllowedException;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantConfiguration;
 import org.eclipse.hawkbit.repository.model.TenantConfiguration;
+import org.eclipse.hawkbit.repository.model.TenantConfigurationSnapshot;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
+import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
+import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationValidatorException;
@@ -34,6 +44,8 @@ import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
 /**
@@ -45,6 +57,9 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
 
     private static final Logger LOG = LoggerFactory.getLogger(JpaTenantConfigurationManagement.class);
 
+    private static final String CHANGED_RESOURCE_PREFIX = JpaTenantConfigurationManagement.class.getName()
+            + ".changed.";
+
     @Autowired
     private TenantConfigurationRepository tenantConfigurationRepository;
 
@@ -54,6 +69,15 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired
+    private TenantConfigurationSnapshotCache snapshotCache;
+
+    @Autowired
+    private TenantAware tenantAware;
+
+    @Autowired
+    private EventPublisherHolder eventPublisherHolder;
+
     private static final ConfigurableConversionService conversionService = new DefaultConversionService();
 
     @Override
@@ -162,6 +186,7 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
 
         final JpaTenantConfiguration updatedTenantConfiguration = tenantConfigurationRepository
                 .save(tenantConfiguration);
+        invalidateSnapshot();
 
         @SuppressWarnings("unchecked")
         final Class<T> clazzT = (Class<T>) value.getClass();
@@ -215,5 +240,77 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public void deleteConfiguration(final String configurationKeyName) {
         tenantConfigurationRepository.deleteByKey(configurationKeyName);
+        invalidateSnapshot();
+    }
+
+    @Override
+    public TenantConfigurationSnapshot getConfigurationSnapshot() {
+        final String tenant = tenantAware.getCurrentTenant();
+        // the changes of the current transaction might be rolled back
+        if (TransactionSynchronizationManager.hasResource(changedResourceKey(tenant))) {
+            return loadSnapshot(-1);
+        }
+        return snapshotCache.get(tenant, this::loadSnapshot);
+    }
+
+    private TenantConfigurationSnapshot loadSnapshot(final long version) {
+        final Map<String, String> values = tenantConfigurationRepository.findAll().stream()
+                .collect(Collectors.toMap(TenantConfiguration::getKey, TenantConfiguration::getValue));
+
+        return TenantConfigurationSnapshot.builder(version)
+                .pollingTime(getSnapshotValue(values, POLLING_TIME_INTERVAL, String.class))
+                .minPollingTime(getSnapshotValue(values, MIN_POLLING_TIME_INTERVAL, String.class))
+                .maintenanceWindowPollCount(getSnapshotValue(values, MAINTENANCE_WINDOW_POLL_COUNT, Integer.class))
+                .multiAssignmentsEnabled(getSnapshotValue(values, MULTI_ASSIGNMENTS_ENABLED, Boolean.class))
+                .actionsAutocloseEnabled(getSnapshotValue(values, REPOSITORY_ACTIONS_AUTOCLOSE_ENABLED, Boolean.class))
+                .build();
+    }
+
+    private <T> T getSnapshotValue(final Map<String, String> values, final String configurationKeyName,
+            final Class<T> propertyType) {
+        final String value = values.get(configurationKeyName);
+        if (value == null) {
+            return getGlobalConfigurationValue(configurationKeyName, propertyType);
+        }
+        return conversionService.convert(value, propertyType);
+    }
+
+    /**
+     * Invalidates the snapshot of the current tenant after the transaction
+     * has been completed, and on all nodes of the cluster if it has been
+     * committed. Until then the snapshots read by this transaction are loaded
+     * from the database and not cached.
+     */
+    private void invalidateSnapshot() {
+        final String tenant = tenantAware.getCurrentTenant();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateSnapshot(tenant, true);
+            return;
+        }
+
+        final String key = changedResourceKey(tenant);
+        if (TransactionSynchronizationManager.hasResource(key)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(key, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                invalidateSnapshot(tenant, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void invalidateSnapshot(final String tenant, final boolean committed) {
+        snapshotCache.invalidate(tenant);
+        if (committed) {
+            eventPublisherHolder.getEventPublisher().publishEvent(
+                    new TenantConfigurationChangedEvent(tenant, eventPublisherHolder.getApplicationId()));
+        }
+    }
+
+    private static String changedResourceKey(final String tenant) {
+        return CHANGED_RESOURCE_PREFIX + tenant.toUpperCase();
     }
 }
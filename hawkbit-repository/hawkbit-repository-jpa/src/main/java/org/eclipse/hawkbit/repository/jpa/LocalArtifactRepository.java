@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -123,4 +124,33 @@ public interface LocalArtifactRepository extends BaseEntityRepository<JpaArtifac
      */
     Optional<Artifact> findFirstByFilenameAndSoftwareModuleId(String filename, Long softwareModuleId);
 
+    /**
+     * Filters the given SHA1 hashes for the ones that are referenced by an
+     * artifact of a software module that is not deleted.
+     *
+     * @param sha1Hashes
+     *            to filter
+     *
+     * @return the referenced SHA1 hashes
+     */
+    @Query("SELECT DISTINCT la.sha1Hash FROM JpaArtifact la WHERE la.softwareModule.deleted = 0 "
+            + "AND la.sha1Hash IN :sha1Hashes")
+    List<String> findReferencedSha1HashIn(@Param("sha1Hashes") Collection<String> sha1Hashes);
+
+    /**
+     * Retrieves the SHA1 hashes of the artifacts of software modules that are
+     * not deleted in ascending order, e.g. to page through them by the last
+     * hash of the previous page.
+     *
+     * @param sha1Hash
+     *            all returned hashes are greater than
+     * @param pageable
+     *            the page to retrieve
+     *
+     * @return the SHA1 hashes
+     */
+    @Query("SELECT DISTINCT la.sha1Hash FROM JpaArtifact la WHERE la.softwareModule.deleted = 0 "
+            + "AND la.sha1Hash > :sha1Hash ORDER BY la.sha1Hash")
+    List<String> findReferencedSha1HashGreaterThan(@Param("sha1Hash") String sha1Hash, Pageable pageable);
+
 }
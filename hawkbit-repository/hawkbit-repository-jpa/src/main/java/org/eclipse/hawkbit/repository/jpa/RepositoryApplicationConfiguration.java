@@ -8,21 +8,27 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 
 import javax.persistence.EntityManager;
 import javax.sql.DataSource;
 
 import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.repository.ArtifactDeltaManagement;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
+import org.eclipse.hawkbit.repository.ArtifactUploadManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.DistributionSetTagManagement;
 import org.eclipse.hawkbit.repository.DistributionSetTypeManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.EntitySnapshotCache;
 import org.eclipse.hawkbit.repository.PropertiesQuotaManagement;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.RepositoryDefaultConfiguration;
@@ -35,9 +41,11 @@ import org.eclipse.hawkbit.repository.SoftwareModuleManagement;
 import org.eclipse.hawkbit.repository.SoftwareModuleTypeManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationSnapshotCache;
 import org.eclipse.hawkbit.repository.TenantStatsManagement;
 import org.eclipse.hawkbit.repository.builder.DistributionSetBuilder;
 import org.eclipse.hawkbit.repository.builder.DistributionSetTypeBuilder;
@@ -62,6 +70,8 @@ import org.eclipse.hawkbit.repository.jpa.builder.JpaSoftwareModuleBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaSoftwareModuleMetadataBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetFilterQueryBuilder;
 import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactionManager;
+import org.eclipse.hawkbit.repository.jpa.configuration.ReplicaDataSourceProperties;
+import org.eclipse.hawkbit.repository.jpa.configuration.ReplicaRoutingDataSourcePostProcessor;
 import org.eclipse.hawkbit.repository.jpa.event.JpaEventEntityManager;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitDefaultServiceExecutor;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
@@ -70,6 +80,8 @@ import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SystemSecurityContextHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.TenantAwareHolder;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupActionCountReconciler;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupActionCountScheduler;
 import org.eclipse.hawkbit.repository.jpa.rollout.RolloutScheduler;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.PauseRolloutGroupAction;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.StartNextGroupRolloutGroupSuccessAction;
@@ -93,6 +105,7 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -108,6 +121,7 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -121,6 +135,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.jta.JtaTransactionManager;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
 
 import com.google.common.collect.Maps;
@@ -143,6 +158,10 @@ import com.google.common.collect.Maps;
 @AutoConfigureAfter(DataSourceAutoConfiguration.class)
 public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
 
+    private static final String ARTIFACT_REPOSITORY_PATH_PROPERTY = "org.eclipse.hawkbit.repository.file.path";
+    private static final String DEFAULT_ARTIFACT_REPOSITORY_PATH = "./artifactrepo";
+    private static final String ARTIFACT_UPLOAD_DIRECTORY = ".uploads";
+
     protected RepositoryApplicationConfiguration(final DataSource dataSource, final JpaProperties properties,
             final ObjectProvider<JtaTransactionManager> jtaTransactionManagerProvider,
             final ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
@@ -167,15 +186,16 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupErrorCondition(actionRepository);
+    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository) {
+        return new ThresholdRolloutGroupErrorCondition(rolloutGroupActionCountRepository);
     }
 
     @Bean
     @ConditionalOnMissingBean
     ThresholdRolloutGroupSuccessCondition thresholdRolloutGroupSuccessCondition(
-            final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupSuccessCondition(actionRepository);
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository) {
+        return new ThresholdRolloutGroupSuccessCondition(rolloutGroupActionCountRepository);
     }
 
     @Bean
@@ -190,6 +210,22 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new AfterTransactionCommitDefaultServiceExecutor();
     }
 
+    /**
+     * Routes the read-only transactions to the configured read replicas.
+     *
+     * @param environment
+     *            with the {@link ReplicaDataSourceProperties}
+     * @param tenantAware
+     *            to resolve the tenant of a connection request
+     * @return {@link ReplicaRoutingDataSourcePostProcessor} bean
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = ReplicaDataSourceProperties.PREFIX, name = "enabled")
+    static ReplicaRoutingDataSourcePostProcessor replicaRoutingDataSourcePostProcessor(final Environment environment,
+            final ObjectProvider<TenantAware> tenantAware) {
+        return new ReplicaRoutingDataSourcePostProcessor(environment, tenantAware);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     NoCountPagingRepository noCountPagingRepository() {
@@ -214,6 +250,19 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new RolloutStatusCache(tenantAware);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    TenantConfigurationSnapshotCache tenantConfigurationSnapshotCache() {
+        return new TenantConfigurationSnapshotCache();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    EntitySnapshotCache entitySnapshotCache(final RepositoryProperties repositoryProperties) {
+        return new EntitySnapshotCache(repositoryProperties.getEntitySnapshotCacheSize(),
+                repositoryProperties.getEntitySnapshotCacheTtl());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     ApplicationEventFilter applicationEventFilter(final RepositoryProperties repositoryProperties) {
@@ -504,7 +553,8 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnMissingBean
     TargetManagement targetManagement(final EntityManager entityManager, final QuotaManagement quotaManagement,
             final TargetRepository targetRepository, final TargetMetadataRepository targetMetadataRepository,
-            final RolloutGroupRepository rolloutGroupRepository,
+            final RolloutGroupRepository rolloutGroupRepository, final ActionRepository actionRepository,
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository,
             final DistributionSetRepository distributionSetRepository,
             final TargetFilterQueryRepository targetFilterQueryRepository,
             final TargetTagRepository targetTagRepository, final NoCountPagingRepository criteriaNoCountDao,
@@ -512,9 +562,94 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final AfterTransactionCommitExecutor afterCommit, final VirtualPropertyReplacer virtualPropertyReplacer,
             final JpaProperties properties) {
         return new JpaTargetManagement(entityManager, quotaManagement, targetRepository, targetMetadataRepository,
-                rolloutGroupRepository, distributionSetRepository, targetFilterQueryRepository, targetTagRepository,
-                criteriaNoCountDao, eventPublisherHolder, tenantAware, afterCommit, virtualPropertyReplacer,
-                properties.getDatabase());
+                rolloutGroupRepository, actionRepository, rolloutGroupActionCountRepository, distributionSetRepository,
+                targetFilterQueryRepository, targetTagRepository, criteriaNoCountDao, eventPublisherHolder, tenantAware,
+                afterCommit, virtualPropertyReplacer, properties.getDatabase());
+    }
+
+    /**
+     * {@link JpaTargetImportManagement} bean.
+     *
+     * @return a new {@link TargetImportManagement}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TargetImportManagement targetImportManagement(final EntityManager entityManager,
+            final TargetRepository targetRepository, final TargetTagRepository targetTagRepository,
+            final DistributionSetRepository distributionSetRepository,
+            final DeploymentManagement deploymentManagement, final QuotaManagement quotaManagement,
+            final PlatformTransactionManager txManager, final TenantAware tenantAware,
+            final AuditorAware<String> auditorProvider, final EventPublisherHolder eventPublisherHolder,
+            final AfterTransactionCommitExecutor afterCommit, @Qualifier("asyncExecutor") final Executor executor,
+            final DataSource dataSource) {
+        return new JpaTargetImportManagement(entityManager, targetRepository, targetTagRepository,
+                distributionSetRepository, deploymentManagement, quotaManagement, txManager, tenantAware,
+                auditorProvider, eventPublisherHolder, afterCommit, executor, dataSource);
+    }
+
+    /**
+     * {@link JpaArtifactUploadManagement} bean. The uploads are assembled below
+     * {@link RepositoryProperties#getArtifactUploadPath()} or, if not set, in
+     * the {@value #ARTIFACT_UPLOAD_DIRECTORY} directory of the file-system
+     * artifact repository.
+     *
+     * @return a new {@link ArtifactUploadManagement}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ArtifactUploadManagement artifactUploadManagement(final ArtifactRepository artifactRepository,
+            final ArtifactManagement artifactManagement, final LocalArtifactRepository localArtifactRepository,
+            final SoftwareModuleRepository softwareModuleRepository, final QuotaManagement quotaManagement,
+            final TenantMetaDataRepository tenantMetaDataRepository, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties, final Environment environment,
+            final ScheduledExecutorService executorService) {
+        final Path uploadPath = StringUtils.isEmpty(repositoryProperties.getArtifactUploadPath())
+                ? Paths.get(environment.getProperty(ARTIFACT_REPOSITORY_PATH_PROPERTY,
+                        DEFAULT_ARTIFACT_REPOSITORY_PATH), ARTIFACT_UPLOAD_DIRECTORY)
+                : Paths.get(repositoryProperties.getArtifactUploadPath());
+        return new JpaArtifactUploadManagement(artifactRepository, artifactManagement, localArtifactRepository,
+                softwareModuleRepository, quotaManagement, tenantMetaDataRepository, tenantAware,
+                repositoryProperties, uploadPath, executorService);
+    }
+
+    /**
+     * @return {@link ArtifactDeltaGenerator} bean that generates the binary
+     *         deltas in a bounded pool of background threads
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    ArtifactDeltaGenerator artifactDeltaGenerator(final ArtifactRepository artifactRepository,
+            final ArtifactDeltaRepository artifactDeltaRepository, final SystemSecurityContext systemSecurityContext,
+            final PlatformTransactionManager txManager, final RepositoryProperties repositoryProperties,
+            final LockRegistry lockRegistry) {
+        return new ArtifactDeltaGenerator(artifactRepository, artifactDeltaRepository, systemSecurityContext,
+                txManager, repositoryProperties, lockRegistry);
+    }
+
+    /**
+     * {@link JpaArtifactDeltaManagement} bean.
+     *
+     * @return a new {@link ArtifactDeltaManagement}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ArtifactDeltaManagement artifactDeltaManagement(final ArtifactDeltaRepository artifactDeltaRepository,
+            final TargetRepository targetRepository, final DistributionSetRepository distributionSetRepository,
+            final ArtifactRepository artifactRepository, final ArtifactDeltaGenerator artifactDeltaGenerator,
+            final TenantAware tenantAware, final RepositoryProperties repositoryProperties) {
+        return new JpaArtifactDeltaManagement(artifactDeltaRepository, targetRepository, distributionSetRepository,
+                artifactRepository, artifactDeltaGenerator, tenantAware, repositoryProperties);
+    }
+
+    /**
+     * @return {@link ArtifactDeltaAssignmentListener} bean that schedules the
+     *         deltas for distribution set assignments
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ArtifactDeltaAssignmentListener artifactDeltaAssignmentListener(
+            final ArtifactDeltaManagement artifactDeltaManagement, final SystemSecurityContext systemSecurityContext) {
+        return new ArtifactDeltaAssignmentListener(artifactDeltaManagement, systemSecurityContext);
     }
 
     /**
@@ -592,10 +727,12 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final SoftwareModuleTypeRepository softwareModuleTypeRepository,
             final NoCountPagingRepository criteriaNoCountDao, final AuditorAware<String> auditorProvider,
             final ArtifactManagement artifactManagement, final QuotaManagement quotaManagement,
-            final VirtualPropertyReplacer virtualPropertyReplacer, final JpaProperties properties) {
+            final VirtualPropertyReplacer virtualPropertyReplacer, final JpaProperties properties,
+            final TenantMetaDataRepository tenantMetaDataRepository) {
         return new JpaSoftwareModuleManagement(entityManager, distributionSetRepository, softwareModuleRepository,
                 softwareModuleMetadataRepository, softwareModuleTypeRepository, criteriaNoCountDao, auditorProvider,
-                artifactManagement, quotaManagement, virtualPropertyReplacer, properties.getDatabase());
+                artifactManagement, quotaManagement, virtualPropertyReplacer, properties.getDatabase(),
+                tenantMetaDataRepository);
     }
 
     /**
@@ -653,12 +790,14 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Bean
     @ConditionalOnMissingBean
     RolloutGroupManagement rolloutGroupManagement(final RolloutGroupRepository rolloutGroupRepository,
-            final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
+            final RolloutRepository rolloutRepository,
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository,
             final TargetRepository targetRepository, final EntityManager entityManager,
             final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
             final JpaProperties properties) {
-        return new JpaRolloutGroupManagement(rolloutGroupRepository, rolloutRepository, actionRepository,
-                targetRepository, entityManager, virtualPropertyReplacer, rolloutStatusCache, properties.getDatabase());
+        return new JpaRolloutGroupManagement(rolloutGroupRepository, rolloutRepository,
+                rolloutGroupActionCountRepository, targetRepository, entityManager, virtualPropertyReplacer,
+                rolloutStatusCache, properties.getDatabase());
     }
 
     /**
@@ -671,6 +810,7 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     DeploymentManagement deploymentManagement(final EntityManager entityManager,
             final ActionRepository actionRepository, final DistributionSetRepository distributionSetRepository,
             final TargetRepository targetRepository, final ActionStatusRepository actionStatusRepository,
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository,
             final AuditorAware<String> auditorProvider, final EventPublisherHolder eventPublisherHolder,
             final AfterTransactionCommitExecutor afterCommit, final VirtualPropertyReplacer virtualPropertyReplacer,
             final PlatformTransactionManager txManager,
@@ -678,9 +818,9 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware,
             final JpaProperties properties, final RepositoryProperties repositoryProperties) {
         return new JpaDeploymentManagement(entityManager, actionRepository, distributionSetRepository, targetRepository,
-                actionStatusRepository, auditorProvider, eventPublisherHolder, afterCommit, virtualPropertyReplacer,
-                txManager, tenantConfigurationManagement, quotaManagement, systemSecurityContext, tenantAware,
-                properties.getDatabase(), repositoryProperties);
+                actionStatusRepository, rolloutGroupActionCountRepository, auditorProvider, eventPublisherHolder,
+                afterCommit, virtualPropertyReplacer, txManager, tenantConfigurationManagement, quotaManagement,
+                systemSecurityContext, tenantAware, properties.getDatabase(), repositoryProperties);
     }
 
     /**
@@ -691,17 +831,65 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Bean
     @ConditionalOnMissingBean
     ControllerManagement controllerManagement(final ScheduledExecutorService executorService,
-            final RepositoryProperties repositoryProperties, final ActionRepository actionRepository) {
-        return new JpaControllerManagement(executorService, repositoryProperties, actionRepository);
+            final RepositoryProperties repositoryProperties, final ActionRepository actionRepository,
+            final DataSource dataSource) {
+        return new JpaControllerManagement(executorService, repositoryProperties, actionRepository, dataSource);
     }
 
     @Bean
     @ConditionalOnMissingBean
     ArtifactManagement artifactManagement(final LocalArtifactRepository localArtifactRepository,
             final SoftwareModuleRepository softwareModuleRepository, final ArtifactRepository artifactRepository,
-            final QuotaManagement quotaManagement, final TenantAware tenantAware) {
+            final QuotaManagement quotaManagement, final TenantAware tenantAware,
+            final TenantMetaDataRepository tenantMetaDataRepository, final PlatformTransactionManager txManager,
+            final EntitySnapshotCache entitySnapshotCache, final AfterTransactionCommitExecutor afterCommit,
+            final UnreferencedArtifactRepository unreferencedArtifactRepository, final LockRegistry lockRegistry) {
         return new JpaArtifactManagement(localArtifactRepository, softwareModuleRepository, artifactRepository,
-                quotaManagement, tenantAware);
+                quotaManagement, tenantAware, tenantMetaDataRepository, txManager, entitySnapshotCache, afterCommit,
+                unreferencedArtifactRepository, lockRegistry);
+    }
+
+    /**
+     * @return {@link ArtifactGarbageCollector} bean that deletes the
+     *         unreferenced and orphaned artifact binaries
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ArtifactGarbageCollector artifactGarbageCollector(final ArtifactRepository artifactRepository,
+            final UnreferencedArtifactRepository unreferencedArtifactRepository,
+            final LocalArtifactRepository localArtifactRepository,
+            final ArtifactDeltaRepository artifactDeltaRepository, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties, final PlatformTransactionManager txManager,
+            final LockRegistry lockRegistry) {
+        return new ArtifactGarbageCollector(artifactRepository, unreferencedArtifactRepository,
+                localArtifactRepository, artifactDeltaRepository, tenantAware, repositoryProperties, txManager,
+                lockRegistry);
+    }
+
+    /**
+     * @param systemSecurityContext
+     *            to let system code pass
+     * @return {@link TenantDeletionGuard} bean that rejects the requests of
+     *         tenants that are being deleted
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TenantDeletionGuard tenantDeletionGuard(final SystemSecurityContext systemSecurityContext) {
+        return new TenantDeletionGuard(systemSecurityContext);
+    }
+
+    /**
+     * @return {@link TenantDeleter} bean that deletes the data of tenants that
+     *         have been marked as deleting in chunks
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TenantDeleter tenantDeleter(final EntityManager entityManager,
+            final TenantDeletionRepository tenantDeletionRepository, final TenantDeletionGuard tenantDeletionGuard,
+            final ArtifactGarbageCollector artifactGarbageCollector, final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties, final PlatformTransactionManager txManager) {
+        return new TenantDeleter(entityManager, tenantDeletionRepository, tenantDeletionGuard,
+                artifactGarbageCollector, tenantAware, repositoryProperties, txManager);
     }
 
     /**
@@ -855,4 +1043,104 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final RolloutManagement rolloutManagement, final SystemSecurityContext systemSecurityContext) {
         return new RolloutScheduler(systemManagement, rolloutManagement, systemSecurityContext);
     }
+
+    /**
+     * {@link RolloutGroupActionCountReconciler} bean.
+     * 
+     * @param rolloutGroupRepository
+     *            to find the rollout groups
+     * @param actionRepository
+     *            to count the actions
+     * @param rolloutGroupActionCountRepository
+     *            to read and repair the counters
+     * @param txManager
+     *            to run transactions
+     * @return a new {@link RolloutGroupActionCountReconciler} bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutGroupActionCountReconciler rolloutGroupActionCountReconciler(
+            final RolloutGroupRepository rolloutGroupRepository, final ActionRepository actionRepository,
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository,
+            final PlatformTransactionManager txManager) {
+        return new RolloutGroupActionCountReconciler(rolloutGroupRepository, actionRepository,
+                rolloutGroupActionCountRepository, txManager);
+    }
+
+    /**
+     * {@link RolloutGroupActionCountScheduler} bean.
+     * 
+     * Note: does not activate in test profile, otherwise it is hard to test the
+     * reconciliation.
+     * 
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param reconciler
+     *            to repair the counters of a tenant
+     * @param lockRegistry
+     *            to lock the tenant for the reconciliation
+     * @return a new {@link RolloutGroupActionCountScheduler} bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.rollout.reconciliation.scheduler", name = "enabled", matchIfMissing = true)
+    RolloutGroupActionCountScheduler rolloutGroupActionCountScheduler(final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final RolloutGroupActionCountReconciler reconciler,
+            final LockRegistry lockRegistry) {
+        return new RolloutGroupActionCountScheduler(systemManagement, systemSecurityContext, reconciler,
+                lockRegistry);
+    }
+
+    /**
+     * {@link ArtifactGarbageCollectionScheduler} bean.
+     * 
+     * Note: does not activate in test profile, otherwise it is hard to test the
+     * garbage collection.
+     * 
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param collector
+     *            to delete the binaries of a tenant
+     * @param lockRegistry
+     *            to lock the tenant for the garbage collection
+     * @return a new {@link ArtifactGarbageCollectionScheduler} bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.artifact.gc.scheduler", name = "enabled", matchIfMissing = true)
+    ArtifactGarbageCollectionScheduler artifactGarbageCollectionScheduler(final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final ArtifactGarbageCollector collector,
+            final LockRegistry lockRegistry) {
+        return new ArtifactGarbageCollectionScheduler(systemManagement, systemSecurityContext, collector,
+                lockRegistry);
+    }
+
+    /**
+     * {@link TenantDeletionScheduler} bean.
+     * 
+     * Note: does not activate in test profile, otherwise it is hard to test the
+     * deletion.
+     * 
+     * @param systemSecurityContext
+     *            to run as system
+     * @param tenantDeleter
+     *            to delete the data of a tenant
+     * @param lockRegistry
+     *            to lock the tenant for the deletion
+     * @return a new {@link TenantDeletionScheduler} bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.tenant.deletion.scheduler", name = "enabled", matchIfMissing = true)
+    TenantDeletionScheduler tenantDeletionScheduler(final SystemSecurityContext systemSecurityContext,
+            final TenantDeleter tenantDeleter, final LockRegistry lockRegistry) {
+        return new TenantDeletionScheduler(systemSecurityContext, tenantDeleter, lockRegistry);
+    }
 }
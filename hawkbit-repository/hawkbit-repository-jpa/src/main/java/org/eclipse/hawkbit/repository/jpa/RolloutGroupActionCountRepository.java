@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.LockModeType;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroupActionCount;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutGroupActionCountId;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring data repository for {@link JpaRolloutGroupActionCount}.
+ *
+ */
+@Transactional(readOnly = true)
+public interface RolloutGroupActionCountRepository
+        extends CrudRepository<JpaRolloutGroupActionCount, RolloutGroupActionCountId> {
+
+    /**
+     * Counts all actions of a rollout group.
+     * 
+     * @param rolloutGroupId
+     *            the ID of the rollout group
+     * @return the count of actions referring to the rollout group
+     */
+    @Query("SELECT COALESCE(SUM(c.count), 0) FROM JpaRolloutGroupActionCount c WHERE c.rolloutGroup.id = ?1")
+    long countByRolloutGroupId(Long rolloutGroupId);
+
+    /**
+     * Counts the actions of a rollout group in the given status.
+     * 
+     * @param rolloutGroupId
+     *            the ID of the rollout group
+     * @param status
+     *            the status of the actions
+     * @return the count of actions referring to the rollout group and are in
+     *         the given status
+     */
+    @Query("SELECT COALESCE(SUM(c.count), 0) FROM JpaRolloutGroupActionCount c WHERE c.rolloutGroup.id = ?1 AND c.status = ?2")
+    long countByRolloutGroupIdAndStatus(Long rolloutGroupId, Status status);
+
+    /**
+     * Counts the actions of a rollout group which are not in the given states.
+     * 
+     * @param rolloutGroupId
+     *            the ID of the rollout group
+     * @param statuses
+     *            the states the actions should not have
+     * @return the count of actions referring to the rollout group and are not
+     *         in the given states
+     */
+    @Query("SELECT COALESCE(SUM(c.count), 0) FROM JpaRolloutGroupActionCount c WHERE c.rolloutGroup.id = ?1 AND c.status NOT IN ?2")
+    long countByRolloutGroupIdAndStatusNotIn(Long rolloutGroupId, Collection<Status> statuses);
+
+    /**
+     * Get list of objects which has details of status and count of targets in
+     * each status in specified rollout group.
+     *
+     * @param rolloutGroupId
+     *            id of the rollout group
+     * @return list of objects with status and target count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(c.rolloutGroup.id, c.status, c.count) FROM JpaRolloutGroupActionCount c WHERE c.rolloutGroup.id = ?1 AND c.count > 0")
+    List<TotalTargetCountActionStatus> getStatusCountByRolloutGroupId(Long rolloutGroupId);
+
+    /**
+     * Get list of objects which has details of status and count of targets in
+     * each status in specified rollout groups.
+     *
+     * @param rolloutGroupId
+     *            list of id of the rollout group
+     * @return list of objects with status and target count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(c.rolloutGroup.id, c.status, c.count) FROM JpaRolloutGroupActionCount c WHERE c.rolloutGroup.id IN ?1 AND c.count > 0")
+    List<TotalTargetCountActionStatus> getStatusCountByRolloutGroupId(List<Long> rolloutGroupId);
+
+    /**
+     * Get list of objects which has details of status and count of targets in
+     * each status in specified rollout.
+     *
+     * @param rolloutId
+     *            id of the rollout
+     * @return list of objects with status and target count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(c.rolloutGroup.rollout.id, c.status, SUM(c.count)) FROM JpaRolloutGroupActionCount c WHERE c.rolloutGroup.rollout.id = ?1 AND c.count > 0 GROUP BY c.rolloutGroup.rollout.id, c.status")
+    List<TotalTargetCountActionStatus> getStatusCountByRolloutId(Long rolloutId);
+
+    /**
+     * Get list of objects which has details of status and count of targets in
+     * each status in specified rollouts.
+     *
+     * @param rolloutId
+     *            list of id of the rollout
+     * @return list of objects with status and target count
+     */
+    @Query("SELECT NEW org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus(c.rolloutGroup.rollout.id, c.status, SUM(c.count)) FROM JpaRolloutGroupActionCount c WHERE c.rolloutGroup.rollout.id IN ?1 AND c.count > 0 GROUP BY c.rolloutGroup.rollout.id, c.status")
+    List<TotalTargetCountActionStatus> getStatusCountByRolloutId(List<Long> rolloutId);
+
+    /**
+     * Retrieves the counters of a rollout group and locks them until the end
+     * of the transaction.
+     * 
+     * @param rolloutGroupId
+     *            the ID of the rollout group
+     * @return the counters of the rollout group
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM JpaRolloutGroupActionCount c WHERE c.rolloutGroup.id = ?1")
+    List<JpaRolloutGroupActionCount> findByRolloutGroupIdForUpdate(Long rolloutGroupId);
+
+    /**
+     * Adds the given delta to the counter of a rollout group and status.
+     * 
+     * @param rolloutGroupId
+     *            the ID of the rollout group
+     * @param status
+     *            the action status of the counter
+     * @param delta
+     *            to add
+     * @return the number of updated counters
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JpaRolloutGroupActionCount c SET c.count = c.count + :delta WHERE c.rolloutGroup.id = :rolloutGroupId AND c.status = :status")
+    int addToCount(@Param("rolloutGroupId") Long rolloutGroupId, @Param("status") Status status,
+            @Param("delta") long delta);
+
+    /**
+     * Sets the counter of a rollout group and status.
+     * 
+     * @param rolloutGroupId
+     *            the ID of the rollout group
+     * @param status
+     *            the action status of the counter
+     * @param count
+     *            to set
+     * @return the number of updated counters
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JpaRolloutGroupActionCount c SET c.count = :count WHERE c.rolloutGroup.id = :rolloutGroupId AND c.status = :status")
+    int setCount(@Param("rolloutGroupId") Long rolloutGroupId, @Param("status") Status status,
+            @Param("count") long count);
+
+    /**
+     * Subtracts actions which are removed by a bulk statement that bypasses
+     * the entity listeners from the counters.
+     * 
+     * @param counts
+     *            the count of actions per rollout group and status as
+     *            retrieved before the bulk statement
+     */
+    @Transactional
+    default void subtract(final List<TotalTargetCountActionStatus> counts) {
+        sorted(counts).forEach(count -> addToCount(count.getId(), count.getStatus(), -count.getCount()));
+    }
+
+    /**
+     * Moves actions whose status is changed by a bulk statement that bypasses
+     * the entity listeners to the counters of the new status.
+     * 
+     * @param counts
+     *            the count of actions per rollout group and status as
+     *            retrieved before the bulk statement
+     * @param statusToSet
+     *            the new status of the actions
+     */
+    @Transactional
+    default void move(final List<TotalTargetCountActionStatus> counts, final Status statusToSet) {
+        sorted(counts).filter(count -> count.getStatus() != statusToSet).forEach(count -> {
+            if (count.getStatus().ordinal() < statusToSet.ordinal()) {
+                addToCount(count.getId(), count.getStatus(), -count.getCount());
+                addToCount(count.getId(), statusToSet, count.getCount());
+            } else {
+                addToCount(count.getId(), statusToSet, count.getCount());
+                addToCount(count.getId(), count.getStatus(), -count.getCount());
+            }
+        });
+    }
+
+    static Stream<TotalTargetCountActionStatus> sorted(final List<TotalTargetCountActionStatus> counts) {
+        // lock the counters always in the same order to prevent deadlocks
+        return counts.stream().sorted(Comparator.comparing(TotalTargetCountActionStatus::getId)
+                .thenComparing(TotalTargetCountActionStatus::getStatus));
+    }
+}
@@ -8,11 +8,13 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
 import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupStatus;
 import org.springframework.data.domain.Page;
@@ -122,6 +124,17 @@ public interface RolloutGroupRepository
     @Query("UPDATE JpaRolloutGroup g SET g.status = :status WHERE g.parent = :parent")
     void setStatusForCildren(@Param("status") RolloutGroupStatus status, @Param("parent") RolloutGroup parent);
 
+    /**
+     * Retrieves the IDs of all {@link RolloutGroup}s of rollouts in the given
+     * states.
+     * 
+     * @param rolloutStatuses
+     *            the states of the rollouts
+     * @return the IDs of the rollout groups ordered by ID
+     */
+    @Query("SELECT g.id FROM JpaRolloutGroup g WHERE g.rollout.status IN :statuses ORDER BY g.id")
+    List<Long> findIdsByRolloutStatusIn(@Param("statuses") Collection<RolloutStatus> rolloutStatuses);
+
     /**
      * Retrieves all {@link RolloutGroup} for a specific rollout and status not
      * having ordered by ID DESC, latest top.
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.repository.model.Target;
+
+/**
+ * Write-behind buffer of the {@link Target#getLastTargetQuery()} updates.
+ *
+ * The polls are collected per tenant and controller id, i.e. repeated polls of
+ * the same target between two flushes are coalesced to the latest timestamp.
+ * Adding a poll never blocks and the buffer is bounded by the number of
+ * targets anyway, so there is no need to fall back to an eager write if the
+ * buffer is full.
+ */
+final class TargetPollBuffer {
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Long>> polls = new ConcurrentHashMap<>();
+
+    private final AtomicInteger pollsSinceFlush = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong flushedPolls = new AtomicLong();
+    private final AtomicLong lastFlushDuration = new AtomicLong();
+
+    private final int flushThreshold;
+    private final Runnable flushRequest;
+
+    /**
+     * Constructor.
+     *
+     * @param flushThreshold
+     *            number of polls after which a flush is requested before the
+     *            regular flush interval is over
+     * @param flushRequest
+     *            to request an asynchronous flush
+     */
+    TargetPollBuffer(final int flushThreshold, final Runnable flushRequest) {
+        this.flushThreshold = flushThreshold;
+        this.flushRequest = flushRequest;
+    }
+
+    /**
+     * Adds a poll of the given target.
+     *
+     * @param tenant
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @param timestamp
+     *            of the poll
+     */
+    void add(final String tenant, final String controllerId, final long timestamp) {
+        polls.computeIfAbsent(tenant, key -> new ConcurrentHashMap<>()).merge(controllerId, timestamp, Math::max);
+
+        if (pollsSinceFlush.incrementAndGet() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            flushRequest.run();
+        }
+    }
+
+    /**
+     * Removes all buffered polls. Polls that are added concurrently are either
+     * part of the result or remain in the buffer for the next flush.
+     *
+     * @return the latest poll timestamps by controller id by tenant
+     */
+    Map<String, Map<String, Long>> drain() {
+        pollsSinceFlush.set(0);
+        flushRequested.set(false);
+
+        if (polls.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, Map<String, Long>> drained = new HashMap<>();
+        polls.forEach((tenant, tenantPolls) -> {
+            final Map<String, Long> drainedPolls = new HashMap<>();
+            for (final String controllerId : tenantPolls.keySet()) {
+                final Long timestamp = tenantPolls.remove(controllerId);
+                if (timestamp != null) {
+                    drainedPolls.put(controllerId, timestamp);
+                }
+            }
+            if (!drainedPolls.isEmpty()) {
+                drained.put(tenant, drainedPolls);
+            }
+        });
+
+        return drained;
+    }
+
+    /**
+     * Records a finished flush.
+     *
+     * @param count
+     *            number of flushed polls
+     * @param durationNanos
+     *            the flush took in {@link TimeUnit#NANOSECONDS}
+     */
+    void flushed(final int count, final long durationNanos) {
+        flushedPolls.addAndGet(count);
+        lastFlushDuration.set(durationNanos);
+    }
+
+    /**
+     * @return number of targets with a buffered poll
+     */
+    int size() {
+        return polls.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * @return total number of flushed polls
+     */
+    long getFlushedPolls() {
+        return flushedPolls.get();
+    }
+
+    /**
+     * @return duration of the last flush in {@link TimeUnit#NANOSECONDS}
+     */
+    long getLastFlushDuration() {
+        return lastFlushDuration.get();
+    }
+}
@@ -281,4 +281,14 @@ public interface TargetRepository extends BaseEntityRepository<JpaTarget, Long>,
      */
     @Query("SELECT t.controllerId FROM JpaTarget t WHERE t.controllerId IN ?1")
     List<String> filterNonExistingControllerIds(Iterable<String> controllerIds);
+
+    /**
+     * Finds the IDs of the installed distribution sets of the given targets.
+     *
+     * @param controllerIds
+     *            of the targets
+     * @return the distinct IDs of the installed distribution sets
+     */
+    @Query("SELECT DISTINCT ds.id FROM JpaTarget t JOIN t.installedDistributionSet ds WHERE t.controllerId IN ?1")
+    List<Long> findInstalledDistributionSetIdsByControllerIdIn(Collection<String> controllerIds);
 }
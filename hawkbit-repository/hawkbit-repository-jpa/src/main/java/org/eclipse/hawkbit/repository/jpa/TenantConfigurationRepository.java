@@ -8,6 +8,8 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.List;
+
 import javax.persistence.EntityManager;
 
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantConfiguration;
@@ -34,6 +36,14 @@ public interface TenantConfigurationRepository extends BaseEntityRepository<JpaT
      */
     JpaTenantConfiguration findByKey(String configurationKey);
 
+    /**
+     * Finds all {@link TenantConfiguration}s of the current tenant.
+     * 
+     * @return the tenant specific configuration values
+     */
+    @Override
+    List<JpaTenantConfiguration> findAll();
+
     /**
      * Deletes a tenant configuration by tenant and key.
      * 
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
+import org.eclipse.hawkbit.repository.jpa.model.JpaArtifact;
+import org.eclipse.hawkbit.repository.jpa.model.JpaArtifactDelta;
+import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
+import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSetTag;
+import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSetType;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
+import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModuleType;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTargetFilterQuery;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTargetTag;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTenantConfiguration;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTenantDeletion;
+import org.eclipse.hawkbit.repository.jpa.model.JpaUnreferencedArtifact;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Deletes the data of a tenant that has been marked as deleting in chunks of
+ * {@link RepositoryProperties#getTenantDeletionChunkSize()} rows. Every chunk
+ * is deleted in its own transaction together with the update of the
+ * {@link JpaTenantDeletion} checkpoint, so the transactions stay small and an
+ * interrupted deletion continues after the last committed chunk.
+ *
+ * The entities are deleted in the order of their dependencies, the rows of
+ * dependent tables without a tenant column (e.g. target attributes or
+ * rollout groups) are deleted by the database with their parent. The artifact
+ * binaries are deleted last, after the last reference to them is gone.
+ */
+public class TenantDeleter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TenantDeleter.class);
+
+    /**
+     * Prefix of the lock per tenant that serializes the deletions of the same
+     * tenant across all nodes.
+     */
+    static final String LOCK_PREFIX = "tenant-deletion.";
+
+    /**
+     * The steps of a deletion in the order of execution.
+     */
+    enum Step {
+        ACTION_STATUS(JpaActionStatus.class),
+        ACTION(JpaAction.class),
+        TARGET(JpaTarget.class),
+        TARGET_FILTER_QUERY(JpaTargetFilterQuery.class),
+        ROLLOUT(JpaRollout.class),
+        TARGET_TAG(JpaTargetTag.class),
+        DISTRIBUTION_SET_TAG(JpaDistributionSetTag.class),
+        DISTRIBUTION_SET(JpaDistributionSet.class),
+        DISTRIBUTION_SET_TYPE(JpaDistributionSetType.class),
+        ARTIFACT_DELTA(JpaArtifactDelta.class),
+        ARTIFACT(JpaArtifact.class),
+        SOFTWARE_MODULE(JpaSoftwareModule.class),
+        SOFTWARE_MODULE_TYPE(JpaSoftwareModuleType.class),
+        UNREFERENCED_ARTIFACT(JpaUnreferencedArtifact.class),
+        TENANT_CONFIGURATION(JpaTenantConfiguration.class),
+        ARTIFACT_BINARY(null);
+
+        private final Class<?> entity;
+
+        Step(final Class<?> entity) {
+            this.entity = entity;
+        }
+
+        private Step next() {
+            return values()[ordinal() + 1];
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final TenantDeletionRepository tenantDeletionRepository;
+    private final TenantDeletionGuard tenantDeletionGuard;
+    private final ArtifactGarbageCollector artifactGarbageCollector;
+    private final TenantAware tenantAware;
+    private final RepositoryProperties repositoryProperties;
+    private final TransactionTemplate txTemplate;
+
+    TenantDeleter(final EntityManager entityManager, final TenantDeletionRepository tenantDeletionRepository,
+            final TenantDeletionGuard tenantDeletionGuard, final ArtifactGarbageCollector artifactGarbageCollector,
+            final TenantAware tenantAware, final RepositoryProperties repositoryProperties,
+            final PlatformTransactionManager txManager) {
+        this.entityManager = entityManager;
+        this.tenantDeletionRepository = tenantDeletionRepository;
+        this.tenantDeletionGuard = tenantDeletionGuard;
+        this.artifactGarbageCollector = artifactGarbageCollector;
+        this.tenantAware = tenantAware;
+        this.repositoryProperties = repositoryProperties;
+        this.txTemplate = new TransactionTemplate(txManager);
+    }
+
+    /**
+     * Creates the checkpoint of a tenant that is marked as deleting in the
+     * current transaction.
+     *
+     * @param tenant
+     *            to delete
+     * @return the new deletion
+     */
+    JpaTenantDeletion start(final String tenant) {
+        return tenantDeletionRepository.save(new JpaTenantDeletion(tenant, Step.values()[0].name()));
+    }
+
+    /**
+     * Deletes the data of a tenant that has been marked as deleting, starting
+     * with the step of its checkpoint. Must not run concurrently for the same
+     * tenant, see {@link #LOCK_PREFIX}.
+     *
+     * @param tenant
+     *            to delete
+     * @return <code>true</code> if the tenant has been deleted,
+     *         <code>false</code> if it has not been marked as deleting
+     */
+    public boolean delete(final String tenant) {
+        final Optional<JpaTenantDeletion> deletion = tenantDeletionRepository.findByTenantIgnoreCase(tenant);
+        if (!deletion.isPresent()) {
+            tenantDeletionGuard.remove(tenant);
+            return false;
+        }
+
+        final String deletedTenant = deletion.get().getTenant();
+        Step step = Step.valueOf(deletion.get().getStep());
+        LOG.info("Deleting tenant {} starting with {}", deletedTenant, step);
+        while (step != Step.ARTIFACT_BINARY) {
+            final Step current = step;
+            step = tenantAware.runAsTenant(deletedTenant,
+                    () -> txTemplate.execute(status -> deleteChunk(deletedTenant, current)));
+        }
+
+        artifactGarbageCollector.deleteByTenant(deletedTenant);
+        tenantDeletionRepository.deleteByTenantIgnoreCase(deletedTenant);
+        tenantDeletionGuard.remove(deletedTenant);
+        LOG.info("Tenant {} has been deleted", deletedTenant);
+        return true;
+    }
+
+    private Step deleteChunk(final String tenant, final Step step) {
+        entityManager.setProperty(PersistenceUnitProperties.MULTITENANT_PROPERTY_DEFAULT, tenant);
+        final String entity = step.entity.getSimpleName();
+        final int chunkSize = repositoryProperties.getTenantDeletionChunkSize();
+
+        final List<Long> ids = entityManager
+                .createQuery("SELECT e.id FROM " + entity + " e WHERE e.tenant = :tenant", Long.class)
+                .setParameter("tenant", tenant).setMaxResults(chunkSize).getResultList();
+        Lists.partition(ids, Constants.MAX_ENTRIES_IN_STATEMENT)
+                .forEach(partition -> entityManager.createQuery("DELETE FROM " + entity + " e WHERE e.id IN :ids")
+                        .setParameter("ids", partition).executeUpdate());
+
+        final Step next = ids.size() < chunkSize ? step.next() : step;
+        final JpaTenantDeletion deletion = tenantDeletionRepository.findByTenantIgnoreCase(tenant)
+                .orElseThrow(() -> new IllegalStateException("Deletion of tenant " + tenant + " has been removed"));
+        deletion.setStep(next.name());
+        deletion.addDeletedRows(ids.size());
+        tenantDeletionRepository.save(deletion);
+        LOG.debug("Deleted {} rows of {} of tenant {}", ids.size(), entity, tenant);
+        return next;
+    }
+
+    /**
+     * Updates the {@link TenantDeletionGuard} with the tenants that are being
+     * deleted according to the repository, e.g. marked by other nodes.
+     *
+     * @return the tenants that are being deleted
+     */
+    public List<String> refresh() {
+        final List<String> tenants = tenantDeletionRepository.findAllTenants();
+        tenantDeletionGuard.reset(tenants);
+        return tenants;
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactionManager;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+
+/**
+ * Keeps the tenants that are being deleted in memory, so that the
+ * {@link MultiTenantJpaTransactionManager} can reject their requests without a
+ * query per transaction. The node that marks a tenant adds it right away, the
+ * other nodes learn about it with the next run of the
+ * {@link TenantDeletionScheduler}.
+ *
+ * System code is not rejected, as it is needed to execute the deletion.
+ */
+public class TenantDeletionGuard {
+
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final Set<String> deleting = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param systemSecurityContext
+     *            to detect system code
+     */
+    public TenantDeletionGuard(final SystemSecurityContext systemSecurityContext) {
+        this.systemSecurityContext = systemSecurityContext;
+    }
+
+    /**
+     * @param tenant
+     *            of the request
+     * @return <code>true</code> if the tenant is being deleted and the
+     *         request is not system code
+     */
+    public boolean isRejected(final String tenant) {
+        return !deleting.isEmpty() && deleting.contains(tenant.toUpperCase())
+                && !systemSecurityContext.isCurrentThreadSystemCode();
+    }
+
+    /**
+     * @param tenant
+     *            that has been marked as deleting
+     */
+    public void add(final String tenant) {
+        deleting.add(tenant.toUpperCase());
+    }
+
+    /**
+     * @param tenant
+     *            that has been deleted
+     */
+    public void remove(final String tenant) {
+        deleting.remove(tenant.toUpperCase());
+    }
+
+    /**
+     * @param tenants
+     *            all tenants that are being deleted according to the
+     *            repository
+     */
+    public void reset(final Collection<String> tenants) {
+        final Set<String> current = tenants.stream().map(String::toUpperCase).collect(Collectors.toSet());
+        deleting.retainAll(current);
+        deleting.addAll(current);
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaTenantDeletion;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link JpaTenantDeletion} repository.
+ *
+ */
+@Transactional(readOnly = true)
+public interface TenantDeletionRepository extends PagingAndSortingRepository<JpaTenantDeletion, Long> {
+
+    /**
+     * Search {@link JpaTenantDeletion} by tenant name.
+     *
+     * @param tenant
+     *            to search for
+     * @return found {@link JpaTenantDeletion} or empty if the tenant is not
+     *         being deleted
+     */
+    Optional<JpaTenantDeletion> findByTenantIgnoreCase(String tenant);
+
+    /**
+     * @return the names of all tenants that are being deleted
+     */
+    @Query("SELECT d.tenant FROM JpaTenantDeletion d")
+    List<String> findAllTenants();
+
+    /**
+     * @param tenant
+     *            whose deletion is complete
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JpaTenantDeletion d WHERE UPPER(d.tenant) = UPPER(:tenant)")
+    void deleteByTenantIgnoreCase(@Param("tenant") String tenant);
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Scheduler to run the {@link TenantDeleter} for every tenant that is marked
+ * as deleting every {@value #PROP_SCHEDULER_DELAY_PLACEHOLDER} milliseconds.
+ * This resumes the deletions that have been interrupted, e.g. by a restart of
+ * the node, and updates the {@link TenantDeletionGuard} of this node with the
+ * deletions marked by the other nodes.
+ */
+public class TenantDeletionScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantDeletionScheduler.class);
+
+    private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.tenant.deletion.scheduler.fixedDelay:10000}";
+
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final TenantDeleter tenantDeleter;
+
+    private final LockRegistry lockRegistry;
+
+    /**
+     * Constructor.
+     * 
+     * @param systemSecurityContext
+     *            to run as system
+     * @param tenantDeleter
+     *            to delete the data of a tenant
+     * @param lockRegistry
+     *            to acquire a lock per tenant
+     */
+    public TenantDeletionScheduler(final SystemSecurityContext systemSecurityContext,
+            final TenantDeleter tenantDeleter, final LockRegistry lockRegistry) {
+        this.systemSecurityContext = systemSecurityContext;
+        this.tenantDeleter = tenantDeleter;
+        this.lockRegistry = lockRegistry;
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Deletes the
+     * tenants that are marked as deleting in the {@link SystemSecurityContext}.
+     */
+    @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
+    public void runDeletion() {
+        LOGGER.debug("tenant deletion has been triggered.");
+        systemSecurityContext.runAsSystem(this::execute);
+    }
+
+    @SuppressWarnings("squid:S3516")
+    private Void execute() {
+        tenantDeleter.refresh().forEach(tenant -> {
+            final Lock lock = lockRegistry.obtain(TenantDeleter.LOCK_PREFIX + tenant);
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                tenantDeleter.delete(tenant);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Deletion of tenant {} failed, it is continued with the next run.", tenant, e);
+            } finally {
+                lock.unlock();
+            }
+        });
+        return null;
+    }
+}
@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantMetaData;
 import org.eclipse.hawkbit.repository.model.TenantMetaData;
@@ -37,6 +38,53 @@ public interface TenantMetaDataRepository extends PagingAndSortingRepository<Jpa
     @Override
     List<JpaTenantMetaData> findAll();
 
+    /**
+     * Retrieves the storage used by the artifacts of a tenant.
+     *
+     * @param tenant
+     *            to search for
+     * @return the used storage in bytes or empty if the tenant does not
+     *         exist
+     */
+    @Query("SELECT t.artifactStorageUsed FROM JpaTenantMetaData t WHERE UPPER(t.tenant) = UPPER(:tenant)")
+    Optional<Long> findArtifactStorageUsedByTenantIgnoreCase(@Param("tenant") String tenant);
+
+    /**
+     * Adds the size of new artifacts to the used storage of a tenant if the
+     * storage quota is not exceeded by it. The row of the tenant is locked
+     * until the end of the transaction.
+     *
+     * @param tenant
+     *            of the artifacts
+     * @param size
+     *            of the artifacts in bytes
+     * @param maxStorage
+     *            the storage quota of the tenant in bytes
+     * @return <code>1</code> if the storage has been allocated,
+     *         <code>0</code> if the quota would be exceeded or the tenant
+     *         does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JpaTenantMetaData t SET t.artifactStorageUsed = t.artifactStorageUsed + :size WHERE UPPER(t.tenant) = UPPER(:tenant) AND t.artifactStorageUsed + :size <= :maxStorage")
+    int allocateArtifactStorage(@Param("tenant") String tenant, @Param("size") long size,
+            @Param("maxStorage") long maxStorage);
+
+    /**
+     * Subtracts the size of deleted artifacts from the used storage of a
+     * tenant.
+     *
+     * @param tenant
+     *            of the artifacts
+     * @param size
+     *            of the artifacts in bytes
+     * @return the number of updated tenants
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JpaTenantMetaData t SET t.artifactStorageUsed = t.artifactStorageUsed - :size WHERE UPPER(t.tenant) = UPPER(:tenant)")
+    int releaseArtifactStorage(@Param("tenant") String tenant, @Param("size") long size);
+
     /**
      * @param tenant
      */
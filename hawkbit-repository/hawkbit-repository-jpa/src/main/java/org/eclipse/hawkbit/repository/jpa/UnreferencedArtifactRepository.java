@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaUnreferencedArtifact;
+import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link JpaUnreferencedArtifact} repository.
+ *
+ */
+@Transactional(readOnly = true)
+public interface UnreferencedArtifactRepository extends BaseEntityRepository<JpaUnreferencedArtifact, Long> {
+
+    /**
+     * Retrieves the SHA1 hashes of the artifact binaries that have been marked
+     * as unreferenced until the given time.
+     *
+     * @param createdAt
+     *            time of the latest mark in milliseconds since the epoch
+     * @param pageable
+     *            the page to retrieve
+     * @return the SHA1 hashes
+     */
+    @Query("SELECT DISTINCT u.sha1Hash FROM JpaUnreferencedArtifact u WHERE u.createdAt <= :createdAt")
+    List<String> findSha1HashByCreatedAtLessThanEqual(@Param("createdAt") long createdAt, Pageable pageable);
+
+    /**
+     * Retrieves the time of the latest mark of an artifact binary.
+     *
+     * @param sha1Hash
+     *            of the artifact binary
+     * @return the time in milliseconds since the epoch or <code>null</code> if
+     *         the binary is not marked
+     */
+    @Query("SELECT MAX(u.createdAt) FROM JpaUnreferencedArtifact u WHERE u.sha1Hash = :sha1Hash")
+    Long findLatestCreatedAtBySha1Hash(@Param("sha1Hash") String sha1Hash);
+
+    /**
+     * Deletes the marks of an artifact binary.
+     *
+     * @param sha1Hash
+     *            of the artifact binary
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JpaUnreferencedArtifact u WHERE u.sha1Hash = :sha1Hash")
+    void deleteBySha1Hash(@Param("sha1Hash") String sha1Hash);
+
+    /**
+     * Deletes all {@link TenantAwareBaseEntity} of a given tenant. For safety
+     * reasons (this is a "delete everything" query after all) we add the tenant
+     * manually to query even if this will by done by {@link EntityManager}
+     * anyhow. The DB should take care of optimizing this away.
+     *
+     * @param tenant
+     *            to delete data from
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JpaUnreferencedArtifact u WHERE u.tenant = :tenant")
+    void deleteByTenant(@Param("tenant") String tenant);
+}
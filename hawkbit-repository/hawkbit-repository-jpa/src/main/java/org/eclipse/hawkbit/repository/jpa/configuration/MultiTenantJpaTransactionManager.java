@@ -11,6 +11,8 @@ package org.eclipse.hawkbit.repository.jpa.configuration;
 import javax.persistence.EntityManager;
 import javax.transaction.Transaction;
 
+import org.eclipse.hawkbit.repository.exception.TenantNotExistException;
+import org.eclipse.hawkbit.repository.jpa.TenantDeletionGuard;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +25,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
  * {@link JpaTransactionManager} that sets the
  * {@link TenantAware#getCurrentTenant()} in the eclipselink session. This has
  * to be done in eclipselink after a {@link Transaction} has been started.
+ * Transactions of a tenant that is being deleted are rejected.
  *
  */
 public class MultiTenantJpaTransactionManager extends JpaTransactionManager {
@@ -31,11 +34,18 @@ public class MultiTenantJpaTransactionManager extends JpaTransactionManager {
     @Autowired
     private transient TenantAware tenantAware;
 
+    @Autowired
+    private transient TenantDeletionGuard tenantDeletionGuard;
+
     @Override
     protected void doBegin(final Object transaction, final TransactionDefinition definition) {
+        final String currentTenant = tenantAware.getCurrentTenant();
+        if (currentTenant != null && tenantDeletionGuard.isRejected(currentTenant)) {
+            throw new TenantNotExistException("Tenant " + currentTenant + " is being deleted");
+        }
+
         super.doBegin(transaction, definition);
 
-        final String currentTenant = tenantAware.getCurrentTenant();
         if (currentTenant != null) {
             final EntityManagerHolder emHolder = (EntityManagerHolder) TransactionSynchronizationManager
                     .getResource(getEntityManagerFactory());
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the read replicas that serve the read-only transactions of
+ * the repository, see {@link ReplicaRoutingDataSource}.
+ */
+@ConfigurationProperties(ReplicaDataSourceProperties.PREFIX)
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Prefix of the properties.
+     */
+    public static final String PREFIX = "hawkbit.server.repository.replica";
+
+    /**
+     * Set to <code>true</code> to route read-only transactions to the
+     * configured replicas.
+     */
+    private boolean enabled;
+
+    /**
+     * The replica databases. Read-only transactions are distributed round
+     * robin.
+     */
+    private List<Replica> datasources = new ArrayList<>();
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after a write of a tenant during
+     * which the read-only transactions of this tenant are still served by the
+     * primary, so a tenant reads its own writes. Should exceed the replication
+     * lag of the replicas. Set to zero to accept stale reads.
+     */
+    private long readYourWritesWindow = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} a replica that failed to provide a
+     * connection is skipped before it is tried again.
+     */
+    private long retryInterval = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Prefixes of transaction names, i.e. fully qualified class or method
+     * names, that are always served by the primary even if read-only.
+     */
+    private List<String> pinnedTransactions = new ArrayList<>(
+            Collections.singletonList("org.eclipse.hawkbit.repository.jpa.JpaControllerManagement"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Replica> getDatasources() {
+        return datasources;
+    }
+
+    public void setDatasources(final List<Replica> datasources) {
+        this.datasources = datasources;
+    }
+
+    public long getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(final long readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public long getRetryInterval() {
+        return retryInterval;
+    }
+
+    public void setRetryInterval(final long retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+
+    public List<String> getPinnedTransactions() {
+        return pinnedTransactions;
+    }
+
+    public void setPinnedTransactions(final List<String> pinnedTransactions) {
+        this.pinnedTransactions = pinnedTransactions;
+    }
+
+    /**
+     * Connection settings of a replica database.
+     */
+    public static class Replica {
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * Login user of the replica.
+         */
+        private String username;
+
+        /**
+         * Login password of the replica.
+         */
+        private String password;
+
+        /**
+         * JDBC driver, detected from the URL if not set.
+         */
+        private String driverClassName;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(final String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(final String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(final String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(final String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+    }
+}
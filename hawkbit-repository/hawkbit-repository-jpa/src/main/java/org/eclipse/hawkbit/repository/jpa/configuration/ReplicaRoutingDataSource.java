@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.configuration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link DataSource} that serves the connections of read-only transactions
+ * from read replicas and all other connections from the primary.
+ *
+ * The primary is used as well for read-only transactions
+ * <ul>
+ * <li>whose name starts with one of the
+ * {@link ReplicaDataSourceProperties#getPinnedTransactions()},</li>
+ * <li>of a tenant that has committed a writing transaction within the
+ * {@link ReplicaDataSourceProperties#getReadYourWritesWindow()},</li>
+ * <li>if none of the replicas is available. A replica that fails to provide a
+ * connection is skipped for the
+ * {@link ReplicaDataSourceProperties#getRetryInterval()}.</li>
+ * </ul>
+ *
+ * The decision is taken when the first connection of a transaction is
+ * requested, i.e. after the transaction has been set up, and is bound to the
+ * transaction. EclipseLink requests a connection per query in a read-only
+ * transaction, all of them are served by the same replica. Connections that
+ * are requested outside of a transaction are served by the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaDataSourceProperties properties;
+    private final Supplier<String> currentTenant;
+    private final LongSupplier clock;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    // the data source itself might be the key of the connection of the
+    // transaction manager
+    private final Object routingKey = new Object();
+
+    /**
+     * Constructor.
+     *
+     * @param primary
+     *            serves all connections that are not read-only
+     * @param replicas
+     *            serve the connections of read-only transactions
+     * @param properties
+     *            of the routing
+     * @param currentTenant
+     *            provides the tenant of the current thread, might be
+     *            <code>null</code>
+     */
+    public ReplicaRoutingDataSource(final DataSource primary, final List<DataSource> replicas,
+            final ReplicaDataSourceProperties properties, final Supplier<String> currentTenant) {
+        this(primary, replicas, properties, currentTenant, System::currentTimeMillis);
+    }
+
+    ReplicaRoutingDataSource(final DataSource primary, final List<DataSource> replicas,
+            final ReplicaDataSourceProperties properties, final Supplier<String> currentTenant,
+            final LongSupplier clock) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).collect(Collectors.toList());
+        this.properties = properties;
+        this.currentTenant = currentTenant;
+        this.clock = clock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final Routing routing = route();
+        if (routing.replica != null) {
+            try {
+                return routing.replica.dataSource.getConnection();
+            } catch (final SQLException e) {
+                routing.failed(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        final Routing routing = route();
+        if (routing.replica != null) {
+            try {
+                return routing.replica.dataSource.getConnection(username, password);
+            } catch (final SQLException e) {
+                routing.failed(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    private Routing route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return new Routing(null);
+        }
+
+        final Routing bound = (Routing) TransactionSynchronizationManager.getResource(routingKey);
+        if (bound != null) {
+            return bound;
+        }
+
+        final String tenant = currentTenant.get();
+        final boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        final Routing routing = new Routing(readOnly ? selectReplica(tenant) : null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.bindResource(routingKey, routing);
+            TransactionSynchronizationManager
+                    .registerSynchronization(new RoutingSynchronization(routing, readOnly ? null : tenant));
+        } else if (!readOnly) {
+            recordWrite(tenant);
+        }
+        return routing;
+    }
+
+    private void recordWrite(final String tenant) {
+        if (tenant != null) {
+            lastWrites.put(tenant.toUpperCase(), clock.getAsLong());
+        }
+    }
+
+    private Replica selectReplica(final String tenant) {
+        final long now = clock.getAsLong();
+        if (isPinned(TransactionSynchronizationManager.getCurrentTransactionName())
+                || (tenant != null && isWithinReadYourWritesWindow(tenant.toUpperCase(), now))) {
+            return null;
+        }
+
+        for (int i = 0; i < replicas.size(); i++) {
+            final Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.isAvailable(now)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private boolean isPinned(final String transactionName) {
+        return transactionName != null
+                && properties.getPinnedTransactions().stream().anyMatch(transactionName::startsWith);
+    }
+
+    private boolean isWithinReadYourWritesWindow(final String tenant, final long now) {
+        final Long lastWrite = lastWrites.get(tenant);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (now - lastWrite < properties.getReadYourWritesWindow()) {
+            return true;
+        }
+        lastWrites.remove(tenant, lastWrite);
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public void close() throws IOException {
+        final List<DataSource> dataSources = new ArrayList<>();
+        dataSources.add(primary);
+        replicas.forEach(replica -> dataSources.add(replica.dataSource));
+
+        for (final DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+
+    /**
+     * The data source that serves the connections of a transaction, the
+     * primary if the replica is <code>null</code>.
+     */
+    private static final class Routing {
+        private Replica replica;
+
+        private Routing(final Replica replica) {
+            this.replica = replica;
+        }
+
+        private void failed(final SQLException e) {
+            replica.failed(e);
+            replica = null;
+        }
+    }
+
+    /**
+     * Unbinds the {@link Routing} of a transaction on completion and while the
+     * transaction is suspended, and records the commit of a writing
+     * transaction.
+     */
+    private final class RoutingSynchronization extends TransactionSynchronizationAdapter {
+        private final Routing routing;
+        private final String writingTenant;
+
+        private RoutingSynchronization(final Routing routing, final String writingTenant) {
+            this.routing = routing;
+            this.writingTenant = writingTenant;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(routingKey);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(routingKey, routing);
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(routingKey);
+            if (status == STATUS_COMMITTED) {
+                recordWrite(writingTenant);
+            }
+        }
+    }
+
+    private final class Replica {
+        private final DataSource dataSource;
+        private volatile long unavailableUntil;
+
+        private Replica(final DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable(final long now) {
+            return now >= unavailableUntil;
+        }
+
+        private void failed(final SQLException e) {
+            unavailableUntil = clock.getAsLong() + properties.getRetryInterval();
+            LOG.warn("Replica {} failed to provide a connection, falling back to the primary for {} ms", dataSource,
+                    properties.getRetryInterval(), e);
+        }
+    }
+}
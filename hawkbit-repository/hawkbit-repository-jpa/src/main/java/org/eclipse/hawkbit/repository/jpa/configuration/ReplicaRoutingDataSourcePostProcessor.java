@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.configuration;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces the primary {@link DataSource} bean by a
+ * {@link ReplicaRoutingDataSource} that routes the read-only transactions to
+ * the replicas configured by the {@link ReplicaDataSourceProperties}.
+ */
+public class ReplicaRoutingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSourcePostProcessor.class);
+
+    private static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+    private final ReplicaDataSourceProperties properties;
+    private final ObjectProvider<TenantAware> tenantAware;
+
+    /**
+     * Constructor.
+     *
+     * @param environment
+     *            to bind the {@link ReplicaDataSourceProperties} from, as the
+     *            post processor is created before the configuration properties
+     * @param tenantAware
+     *            to resolve the tenant of a connection request
+     */
+    public ReplicaRoutingDataSourcePostProcessor(final Environment environment,
+            final ObjectProvider<TenantAware> tenantAware) {
+        this.properties = Binder.get(environment)
+                .bind(ReplicaDataSourceProperties.PREFIX, ReplicaDataSourceProperties.class)
+                .orElseGet(ReplicaDataSourceProperties::new);
+        this.tenantAware = tenantAware;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!PRIMARY_DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource)
+                || bean instanceof ReplicaRoutingDataSource || properties.getDatasources().isEmpty()) {
+            return bean;
+        }
+
+        final List<DataSource> replicas = properties.getDatasources().stream()
+                .map(replica -> DataSourceBuilder.create().url(replica.getUrl()).username(replica.getUsername())
+                        .password(replica.getPassword()).driverClassName(replica.getDriverClassName()).build())
+                .collect(Collectors.toList());
+        LOG.info("Routing read-only transactions to {} replica(s)", replicas.size());
+
+        return new ReplicaRoutingDataSource((DataSource) bean, replicas, properties, this::getCurrentTenant);
+    }
+
+    private String getCurrentTenant() {
+        final TenantAware aware = tenantAware.getIfAvailable();
+        return aware == null ? null : aware.getCurrentTenant();
+    }
+}
@@ -8,9 +8,16 @@
  */
 package org.eclipse.hawkbit.repository.jpa.event;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
 
 import org.eclipse.hawkbit.repository.event.remote.EventEntityManager;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,4 +52,24 @@ public class JpaEventEntityManager implements EventEntityManager {
         return tenantAware.runAsTenant(tenant, () -> entityManager.find(entityType, id));
     }
 
+    @Override
+    public <E extends TenantAwareBaseEntity> List<E> findEntities(final String tenant, final Collection<Long> ids,
+            final Class<E> entityType) {
+        return tenantAware.runAsTenant(tenant, () -> {
+            final List<Long> idList = new ArrayList<>(ids);
+            final List<E> result = new ArrayList<>(idList.size());
+
+            for (int i = 0; i < idList.size(); i += Constants.MAX_ENTRIES_IN_STATEMENT) {
+                final List<Long> chunk = idList.subList(i,
+                        Math.min(i + Constants.MAX_ENTRIES_IN_STATEMENT, idList.size()));
+                final CriteriaQuery<E> query = entityManager.getCriteriaBuilder().createQuery(entityType);
+                final Root<E> root = query.from(entityType);
+                result.addAll(entityManager.createQuery(query.select(root).where(root.get("id").in(chunk)))
+                        .getResultList());
+            }
+
+            return result;
+        });
+    }
+
 }
@@ -17,6 +17,7 @@ import java.util.Optional;
 import javax.persistence.Column;
 import javax.persistence.ConstraintMode;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.ForeignKey;
 import javax.persistence.Index;
@@ -59,6 +60,7 @@ import org.eclipse.persistence.descriptors.DescriptorEvent;
         @NamedEntityGraph(name = "Action.all", attributeNodes = { @NamedAttributeNode("distributionSet"),
                 @NamedAttributeNode(value = "target", subgraph = "target.ds") }, subgraphs = @NamedSubgraph(name = "target.ds", attributeNodes = @NamedAttributeNode("assignedDistributionSet"))) })
 @Entity
+@EntityListeners(RolloutGroupActionCountListener.class)
 // exception squid:S2160 - BaseEntity equals/hashcode is handling correctly for
 // sub entities
 @SuppressWarnings("squid:S2160")
@@ -315,8 +317,8 @@ public class JpaAction extends AbstractJpaTenantAwareBaseEntity implements Actio
      * @return the end time of window as { @link Optional<ZonedDateTime>}.
      */
     private Optional<ZonedDateTime> getMaintenanceWindowEndTime() {
-        return getMaintenanceWindowStartTime()
-                .map(start -> start.plus(MaintenanceScheduleHelper.convertToISODuration(maintenanceWindowDuration)));
+        return MaintenanceScheduleHelper.getNextMaintenanceWindowEnd(maintenanceWindowSchedule,
+                maintenanceWindowDuration, maintenanceWindowTimeZone);
     }
 
     @Override
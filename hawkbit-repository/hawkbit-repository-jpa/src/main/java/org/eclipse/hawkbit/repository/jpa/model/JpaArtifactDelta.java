@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.repository.model.ArtifactDelta;
+
+/**
+ * JPA implementation of {@link ArtifactDelta}.
+ *
+ */
+@Table(name = "sp_artifact_delta", uniqueConstraints = @UniqueConstraint(columnNames = { "tenant",
+        "source_sha1_hash", "target_sha1_hash" }, name = "uk_artifact_delta"), indexes = {
+                @Index(name = "sp_idx_artifact_delta_01", columnList = "tenant,target_sha1_hash") })
+@Entity
+// exception squid:S2160 - BaseEntity equals/hashcode is handling correctly for
+// sub entities
+@SuppressWarnings("squid:S2160")
+public class JpaArtifactDelta extends AbstractJpaTenantAwareBaseEntity implements ArtifactDelta {
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "source_sha1_hash", length = 40, nullable = false, updatable = false)
+    @Size(min = 1, max = 40)
+    @NotNull
+    private String sourceSha1Hash;
+
+    @Column(name = "target_sha1_hash", length = 40, nullable = false, updatable = false)
+    @Size(min = 1, max = 40)
+    @NotNull
+    private String targetSha1Hash;
+
+    @Column(name = "sha1_hash", length = 40, nullable = false, updatable = false)
+    @Size(min = 1, max = 40)
+    @NotNull
+    private String sha1Hash;
+
+    @Column(name = "md5_hash", length = 32, updatable = false, nullable = true)
+    private String md5Hash;
+
+    @Column(name = "sha256_hash", length = 64, updatable = false, nullable = true)
+    private String sha256Hash;
+
+    @Column(name = "file_size", updatable = false)
+    private long size;
+
+    /**
+     * Default constructor needed for JPA entities.
+     */
+    public JpaArtifactDelta() {
+        // Default constructor needed for JPA entities.
+    }
+
+    /**
+     * Constructs the delta.
+     *
+     * @param sourceSha1Hash
+     *            of the artifact binary the delta is applied to
+     * @param targetSha1Hash
+     *            of the artifact binary the delta results in
+     * @param binary
+     *            of the delta in the artifact store
+     */
+    public JpaArtifactDelta(final String sourceSha1Hash, final String targetSha1Hash,
+            final AbstractDbArtifact binary) {
+        this.sourceSha1Hash = sourceSha1Hash;
+        this.targetSha1Hash = targetSha1Hash;
+        this.sha1Hash = binary.getHashes().getSha1();
+        this.md5Hash = binary.getHashes().getMd5();
+        this.sha256Hash = binary.getHashes().getSha256();
+        this.size = binary.getSize();
+    }
+
+    @Override
+    public String getSourceSha1Hash() {
+        return sourceSha1Hash;
+    }
+
+    @Override
+    public String getTargetSha1Hash() {
+        return targetSha1Hash;
+    }
+
+    @Override
+    public String getSha1Hash() {
+        return sha1Hash;
+    }
+
+    @Override
+    public String getMd5Hash() {
+        return md5Hash;
+    }
+
+    @Override
+    public String getSha256Hash() {
+        return sha256Hash;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+}
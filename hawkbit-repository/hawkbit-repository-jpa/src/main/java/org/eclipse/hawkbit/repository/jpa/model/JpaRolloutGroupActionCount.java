@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.ConstraintMode;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.ForeignKey;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.persistence.annotations.Convert;
+
+/**
+ * Entity with JPA annotation to store the number of {@link Action}s of a
+ * {@link RolloutGroup} in a specific {@link Status}.
+ *
+ * The rows are created for every status together with the rollout group and
+ * maintained by the {@link RolloutGroupActionCountListener} in the same
+ * transaction the actions are changed in.
+ */
+@IdClass(RolloutGroupActionCountId.class)
+@Entity
+@Table(name = "sp_rolloutgroup_action_count")
+public class JpaRolloutGroupActionCount implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @ManyToOne(optional = false, targetEntity = JpaRolloutGroup.class, fetch = FetchType.LAZY)
+    @JoinColumn(name = "rolloutgroup", nullable = false, updatable = false, foreignKey = @ForeignKey(value = ConstraintMode.CONSTRAINT, name = "fk_action_count_rolloutgroup"))
+    private JpaRolloutGroup rolloutGroup;
+
+    @Id
+    @Column(name = "status", nullable = false, updatable = false)
+    @Convert("status")
+    private Status status;
+
+    @Column(name = "action_count", nullable = false)
+    private long count;
+
+    /**
+     * default constructor for JPA.
+     */
+    public JpaRolloutGroupActionCount() {
+        // JPA constructor
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param rolloutGroup
+     *            of the counter
+     * @param status
+     *            of the counted actions
+     * @param count
+     *            of the actions
+     */
+    public JpaRolloutGroupActionCount(final RolloutGroup rolloutGroup, final Status status, final long count) {
+        this.rolloutGroup = (JpaRolloutGroup) rolloutGroup;
+        this.status = status;
+        this.count = count;
+    }
+
+    public RolloutGroupActionCountId getId() {
+        return new RolloutGroupActionCountId(rolloutGroup.getId(), status);
+    }
+
+    public RolloutGroup getRolloutGroup() {
+        return rolloutGroup;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
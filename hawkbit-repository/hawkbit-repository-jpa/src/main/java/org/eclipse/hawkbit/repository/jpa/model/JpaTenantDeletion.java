@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.eclipse.hawkbit.repository.model.TenantDeletion;
+
+/**
+ * Checkpoint of the deletion of a tenant. It is updated in the transaction of
+ * every deleted chunk, so an interrupted deletion continues after the last
+ * committed chunk. Like the {@link JpaTenantMetaData} this entity is not
+ * tenant aware as it outlives the data of the tenant.
+ *
+ */
+@Table(name = "sp_tenant_deletion", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "tenant" }, name = "uk_tenant_deletion_tenant") })
+@Entity
+// exception squid:S2160 - BaseEntity equals/hashcode is handling correctly for
+// sub entities
+@SuppressWarnings("squid:S2160")
+public class JpaTenantDeletion extends AbstractJpaBaseEntity implements TenantDeletion {
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "tenant", nullable = false, updatable = false, length = 40)
+    @Size(min = 1, max = 40)
+    @NotNull
+    private String tenant;
+
+    @Column(name = "step", nullable = false, length = 64)
+    @Size(min = 1, max = 64)
+    @NotNull
+    private String step;
+
+    @Column(name = "deleted_rows", nullable = false)
+    private long deletedRows;
+
+    /**
+     * Default constructor needed for JPA entities.
+     */
+    public JpaTenantDeletion() {
+        // Default constructor needed for JPA entities.
+    }
+
+    /**
+     * Constructs the deletion.
+     *
+     * @param tenant
+     *            to delete
+     * @param step
+     *            to start the deletion with
+     */
+    public JpaTenantDeletion(final String tenant, final String step) {
+        this.tenant = tenant;
+        this.step = step;
+    }
+
+    @Override
+    public String getTenant() {
+        return tenant;
+    }
+
+    @Override
+    public String getStep() {
+        return step;
+    }
+
+    public void setStep(final String step) {
+        this.step = step;
+    }
+
+    @Override
+    public long getDeletedRows() {
+        return deletedRows;
+    }
+
+    /**
+     * @param rows
+     *            number of rows deleted by a chunk
+     */
+    public void addDeletedRows(final long rows) {
+        deletedRows += rows;
+    }
+}
@@ -53,6 +53,13 @@ public class JpaTenantMetaData extends AbstractJpaBaseEntity implements TenantMe
     @JoinColumn(name = "default_ds_type", nullable = false, foreignKey = @ForeignKey(value = ConstraintMode.CONSTRAINT, name = "fk_tenant_md_default_ds_type"))
     private JpaDistributionSetType defaultDsType;
 
+    /**
+     * Sum of the sizes of the artifacts of not deleted software modules. It
+     * is maintained by the repository with bulk updates only.
+     */
+    @Column(name = "artifact_storage_used", nullable = false)
+    private long artifactStorageUsed;
+
     /**
      * Default constructor needed for JPA entities.
      */
@@ -89,4 +96,8 @@ public class JpaTenantMetaData extends AbstractJpaBaseEntity implements TenantMe
     public void setTenant(final String tenant) {
         this.tenant = tenant;
     }
+
+    public long getArtifactStorageUsed() {
+        return artifactStorageUsed;
+    }
 }
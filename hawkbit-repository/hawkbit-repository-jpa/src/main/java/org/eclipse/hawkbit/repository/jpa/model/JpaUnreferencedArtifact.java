@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * Marks an artifact binary that is not referenced by any artifact anymore.
+ * The mark is written in the transaction that removes the last reference, so
+ * a rollback removes it as well, and the binary is deleted by the garbage
+ * collector after the transaction has been committed.
+ *
+ */
+@Table(name = "sp_artifact_unreferenced", indexes = {
+        @Index(name = "sp_idx_artifact_unreferenced_01", columnList = "tenant,sha1_hash") })
+@Entity
+// exception squid:S2160 - BaseEntity equals/hashcode is handling correctly for
+// sub entities
+@SuppressWarnings("squid:S2160")
+public class JpaUnreferencedArtifact extends AbstractJpaTenantAwareBaseEntity {
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "sha1_hash", length = 40, nullable = false, updatable = false)
+    @Size(min = 1, max = 40)
+    @NotNull
+    private String sha1Hash;
+
+    /**
+     * Default constructor needed for JPA entities.
+     */
+    public JpaUnreferencedArtifact() {
+        // Default constructor needed for JPA entities.
+    }
+
+    /**
+     * Constructs the mark.
+     *
+     * @param sha1Hash
+     *            of the unreferenced artifact binary
+     */
+    public JpaUnreferencedArtifact(final String sha1Hash) {
+        this.sha1Hash = sha1Hash;
+    }
+
+    public String getSha1Hash() {
+        return sha1Hash;
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.eclipse.hawkbit.repository.model.Action;
+
+/**
+ * Combined unique key of the table {@link JpaRolloutGroupActionCount}.
+ *
+ */
+public class RolloutGroupActionCountId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long rolloutGroup;
+    private Action.Status status;
+
+    /**
+     * default constructor necessary for JPA.
+     */
+    public RolloutGroupActionCountId() {
+        // default constructor necessary for JPA, empty.
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param rolloutGroup
+     *            the ID of the rollout group for this key
+     * @param status
+     *            the action status for this key
+     */
+    public RolloutGroupActionCountId(final Long rolloutGroup, final Action.Status status) {
+        this.rolloutGroup = rolloutGroup;
+        this.status = status;
+    }
+
+    public Long getRolloutGroup() {
+        return rolloutGroup;
+    }
+
+    public Action.Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((rolloutGroup == null) ? 0 : rolloutGroup.hashCode());
+        result = prime * result + ((status == null) ? 0 : status.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final RolloutGroupActionCountId other = (RolloutGroupActionCountId) obj;
+        return Objects.equals(rolloutGroup, other.rolloutGroup) && status == other.status;
+    }
+}
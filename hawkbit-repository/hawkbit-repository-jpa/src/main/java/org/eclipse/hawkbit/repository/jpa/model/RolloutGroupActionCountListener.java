@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.util.Arrays;
+
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.BaseEntity;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
+import org.eclipse.persistence.queries.DataModifyQuery;
+import org.eclipse.persistence.queries.SQLCall;
+import org.eclipse.persistence.queries.UpdateObjectQuery;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+import org.eclipse.persistence.sessions.changesets.DirectToFieldChangeRecord;
+
+/**
+ * Maintains the {@link JpaRolloutGroupActionCount}s. The counters are created
+ * together with the {@link JpaRolloutGroup} and updated with every insert,
+ * status change and deletion of a {@link JpaAction} of the group. The
+ * statements are executed in the session that writes the entity, i.e. in the
+ * same transaction.
+ *
+ * Note: bulk statements bypass the listener and have to adjust the counters
+ * on their own.
+ */
+public class RolloutGroupActionCountListener extends DescriptorEventAdapter {
+
+    private static final String STATUS = "status";
+
+    private static final String INSERT_COUNTER = "INSERT INTO sp_rolloutgroup_action_count (rolloutgroup, status, action_count) VALUES (#rolloutgroup, #status, 0)";
+
+    private static final String ADD_TO_COUNTER = "UPDATE sp_rolloutgroup_action_count SET action_count = action_count + #delta WHERE rolloutgroup = #rolloutgroup AND status = #status";
+
+    @Override
+    public void postInsert(final DescriptorEvent event) {
+        final Object object = event.getObject();
+        if (object instanceof JpaRolloutGroup) {
+            createCounters(event, ((JpaRolloutGroup) object).getId());
+        } else if (object instanceof JpaAction) {
+            final JpaAction action = (JpaAction) object;
+            final Long rolloutGroupId = BaseEntity.getIdOrNull(action.getRolloutGroup());
+            if (rolloutGroupId != null) {
+                addToCounter(event, rolloutGroupId, action.getStatus(), 1);
+            }
+        }
+    }
+
+    @Override
+    public void postUpdate(final DescriptorEvent event) {
+        final Object object = event.getObject();
+        if (!(object instanceof JpaAction)) {
+            return;
+        }
+
+        final ChangeRecord change = ((UpdateObjectQuery) event.getQuery()).getObjectChangeSet()
+                .getChangesForAttributeNamed(STATUS);
+        if (change == null) {
+            return;
+        }
+
+        final JpaAction action = (JpaAction) object;
+        final Long rolloutGroupId = BaseEntity.getIdOrNull(action.getRolloutGroup());
+        final Status oldStatus = (Status) ((DirectToFieldChangeRecord) change).getOldValue();
+        final Status newStatus = action.getStatus();
+        if (rolloutGroupId == null || oldStatus == newStatus) {
+            return;
+        }
+
+        // always lock the counters of a group in the same order to prevent
+        // deadlocks between concurrent status changes
+        if (oldStatus == null) {
+            addToCounter(event, rolloutGroupId, newStatus, 1);
+        } else if (oldStatus.ordinal() < newStatus.ordinal()) {
+            addToCounter(event, rolloutGroupId, oldStatus, -1);
+            addToCounter(event, rolloutGroupId, newStatus, 1);
+        } else {
+            addToCounter(event, rolloutGroupId, newStatus, 1);
+            addToCounter(event, rolloutGroupId, oldStatus, -1);
+        }
+    }
+
+    @Override
+    public void postDelete(final DescriptorEvent event) {
+        final Object object = event.getObject();
+        if (object instanceof JpaAction) {
+            final JpaAction action = (JpaAction) object;
+            final Long rolloutGroupId = BaseEntity.getIdOrNull(action.getRolloutGroup());
+            if (rolloutGroupId != null) {
+                addToCounter(event, rolloutGroupId, action.getStatus(), -1);
+            }
+        }
+    }
+
+    private static void createCounters(final DescriptorEvent event, final Long rolloutGroupId) {
+        final DataModifyQuery query = new DataModifyQuery(new SQLCall(INSERT_COUNTER));
+        query.addArgument("rolloutgroup");
+        query.addArgument(STATUS);
+
+        for (final Status status : Status.values()) {
+            event.getSession().executeQuery(query, Arrays.asList(rolloutGroupId, toFieldValue(event, status)));
+        }
+    }
+
+    private static void addToCounter(final DescriptorEvent event, final Long rolloutGroupId, final Status status,
+            final long delta) {
+        final DataModifyQuery query = new DataModifyQuery(new SQLCall(ADD_TO_COUNTER));
+        query.addArgument("delta");
+        query.addArgument("rolloutgroup");
+        query.addArgument(STATUS);
+
+        event.getSession().executeQuery(query, Arrays.asList(delta, rolloutGroupId, toFieldValue(event, status)));
+    }
+
+    private static Object toFieldValue(final DescriptorEvent event, final Status status) {
+        // the value as stored by the converter of the action status
+        return ((AbstractDirectMapping) event.getSession().getDescriptor(JpaAction.class)
+                .getMappingForAttributeName(STATUS)).getFieldValue(status, event.getSession());
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.Constants;
+import org.eclipse.hawkbit.repository.jpa.RolloutGroupActionCountRepository;
+import org.eclipse.hawkbit.repository.jpa.RolloutGroupRepository;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroupActionCount;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Repairs the action status counters of the rollout groups of the current
+ * tenant that drifted from the actions, e.g. because the actions have been
+ * deleted by a statement that bypasses the entity listeners.
+ *
+ * The counters are compared with the actions without locks first. Only the
+ * counters of a drifted group are locked, recounted and repaired.
+ */
+public class RolloutGroupActionCountReconciler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RolloutGroupActionCountReconciler.class);
+
+    /**
+     * Rollouts that have actions.
+     */
+    private static final List<RolloutStatus> ROLLOUT_STATUSES = Arrays.asList(RolloutStatus.STARTING,
+            RolloutStatus.RUNNING, RolloutStatus.PAUSED, RolloutStatus.STOPPED, RolloutStatus.FINISHED,
+            RolloutStatus.DELETING);
+
+    private final RolloutGroupRepository rolloutGroupRepository;
+
+    private final ActionRepository actionRepository;
+
+    private final RolloutGroupActionCountRepository rolloutGroupActionCountRepository;
+
+    private final PlatformTransactionManager txManager;
+
+    /**
+     * Constructor.
+     * 
+     * @param rolloutGroupRepository
+     *            to find the rollout groups
+     * @param actionRepository
+     *            to count the actions
+     * @param rolloutGroupActionCountRepository
+     *            to read and repair the counters
+     * @param txManager
+     *            to run transactions
+     */
+    public RolloutGroupActionCountReconciler(final RolloutGroupRepository rolloutGroupRepository,
+            final ActionRepository actionRepository,
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository,
+            final PlatformTransactionManager txManager) {
+        this.rolloutGroupRepository = rolloutGroupRepository;
+        this.actionRepository = actionRepository;
+        this.rolloutGroupActionCountRepository = rolloutGroupActionCountRepository;
+        this.txManager = txManager;
+    }
+
+    /**
+     * Reconciles the counters of the rollout groups of the current tenant.
+     * 
+     * @return the number of repaired rollout groups
+     */
+    public int reconcile() {
+        int repaired = 0;
+        for (final List<Long> groupIds : Lists.partition(
+                rolloutGroupRepository.findIdsByRolloutStatusIn(ROLLOUT_STATUSES),
+                Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            final Map<Long, Map<Status, Long>> actual = byGroup(
+                    actionRepository.getStatusCountByRolloutGroupId(groupIds));
+            final Map<Long, Map<Status, Long>> counted = byGroup(
+                    rolloutGroupActionCountRepository.getStatusCountByRolloutGroupId(groupIds));
+
+            final Set<Long> drifted = groupIds.stream()
+                    .filter(groupId -> !Objects.equals(actual.getOrDefault(groupId, Collections.emptyMap()),
+                            counted.getOrDefault(groupId, Collections.emptyMap())))
+                    .collect(Collectors.toSet());
+
+            for (final Long groupId : drifted) {
+                if (repair(groupId)) {
+                    repaired++;
+                }
+            }
+        }
+        return repaired;
+    }
+
+    private boolean repair(final Long groupId) {
+        return DeploymentHelper.runInNewTransaction(txManager, "repairRolloutGroupActionCount",
+                Isolation.READ_COMMITTED.value(), status -> {
+                    // lock the counters before the actions are counted so
+                    // that concurrent changes are applied on top of the
+                    // repaired counters
+                    final Map<Status, Long> counters = rolloutGroupActionCountRepository
+                            .findByRolloutGroupIdForUpdate(groupId).stream()
+                            .collect(Collectors.toMap(JpaRolloutGroupActionCount::getStatus,
+                                    JpaRolloutGroupActionCount::getCount));
+                    final Map<Status, Long> actual = byGroup(
+                            actionRepository.getStatusCountByRolloutGroupId(groupId))
+                                    .getOrDefault(groupId, Collections.emptyMap());
+
+                    boolean changed = false;
+                    for (final Status actionStatus : Status.values()) {
+                        final long expected = actual.getOrDefault(actionStatus, 0L);
+                        final Long current = counters.get(actionStatus);
+                        if (current == null) {
+                            rolloutGroupRepository.findById(groupId)
+                                    .ifPresent(group -> rolloutGroupActionCountRepository
+                                            .save(new JpaRolloutGroupActionCount(group, actionStatus, expected)));
+                            changed = true;
+                        } else if (current != expected) {
+                            rolloutGroupActionCountRepository.setCount(groupId, actionStatus, expected);
+                            changed = true;
+                        }
+                    }
+
+                    if (changed) {
+                        LOGGER.warn("Repaired drifted action counters of rollout group {}: {}", groupId, actual);
+                    }
+                    return changed;
+                });
+    }
+
+    private static Map<Long, Map<Status, Long>> byGroup(final List<TotalTargetCountActionStatus> counts) {
+        return counts.stream().filter(count -> count.getCount() > 0)
+                .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId, Collectors
+                        .toMap(TotalTargetCountActionStatus::getStatus, TotalTargetCountActionStatus::getCount)));
+    }
+}
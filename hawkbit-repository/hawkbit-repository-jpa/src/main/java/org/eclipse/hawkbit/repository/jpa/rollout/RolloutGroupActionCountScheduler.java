@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Scheduler to run the {@link RolloutGroupActionCountReconciler} for every
+ * tenant. The delay between the runs can be configured using the property
+ * from {#PROP_SCHEDULER_DELAY_PLACEHOLDER}.
+ */
+public class RolloutGroupActionCountScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RolloutGroupActionCountScheduler.class);
+
+    private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.rollout.reconciliation.scheduler.fixedDelay:3600000}";
+
+    private static final String LOCK_PREFIX = "rollout-action-count.";
+
+    private final SystemManagement systemManagement;
+
+    private final SystemSecurityContext systemSecurityContext;
+
+    private final RolloutGroupActionCountReconciler reconciler;
+
+    private final LockRegistry lockRegistry;
+
+    /**
+     * Constructor.
+     * 
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param reconciler
+     *            to repair the counters of a tenant
+     * @param lockRegistry
+     *            to acquire a lock per tenant
+     */
+    public RolloutGroupActionCountScheduler(final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final RolloutGroupActionCountReconciler reconciler,
+            final LockRegistry lockRegistry) {
+        this.systemManagement = systemManagement;
+        this.systemSecurityContext = systemSecurityContext;
+        this.reconciler = reconciler;
+        this.lockRegistry = lockRegistry;
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Runs the
+     * reconciliation for every tenant in the {@link SystemSecurityContext}.
+     */
+    @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
+    public void runReconciliation() {
+        LOGGER.debug("rollout action count reconciliation has been triggered.");
+        systemSecurityContext.runAsSystem(this::executeReconciliation);
+    }
+
+    @SuppressWarnings("squid:S3516")
+    private Void executeReconciliation() {
+        systemManagement.forEachTenant(tenant -> {
+            final Lock lock = lockRegistry.obtain(LOCK_PREFIX + tenant);
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                final int repaired = reconciler.reconcile();
+                LOGGER.debug("Repaired action counters of {} rollout groups of tenant {}", repaired, tenant);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Reconciliation of the rollout action counters failed.", e);
+            } finally {
+                lock.unlock();
+            }
+        });
+        return null;
+    }
+}
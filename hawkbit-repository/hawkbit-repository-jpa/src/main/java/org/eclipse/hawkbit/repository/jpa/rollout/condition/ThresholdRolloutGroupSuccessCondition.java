@@ -8,7 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
-import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.RolloutGroupActionCountRepository;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -22,10 +22,11 @@ import org.slf4j.LoggerFactory;
 public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupConditionEvaluator {
     private static final Logger LOGGER = LoggerFactory.getLogger(ThresholdRolloutGroupSuccessCondition.class);
 
-    private final ActionRepository actionRepository;
+    private final RolloutGroupActionCountRepository rolloutGroupActionCountRepository;
 
-    public ThresholdRolloutGroupSuccessCondition(final ActionRepository actionRepository) {
-        this.actionRepository = actionRepository;
+    public ThresholdRolloutGroupSuccessCondition(
+            final RolloutGroupActionCountRepository rolloutGroupActionCountRepository) {
+        this.rolloutGroupActionCountRepository = rolloutGroupActionCountRepository;
     }
 
     @Override
@@ -41,8 +42,8 @@ public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupCondit
         final Action.Status completeActionStatus = (Action.ActionType.DOWNLOAD_ONLY == rollout.getActionType())
                 ? Action.Status.DOWNLOADED
                 : Action.Status.FINISHED;
-        final long finished = this.actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), completeActionStatus);
+        final long finished = rolloutGroupActionCountRepository.countByRolloutGroupIdAndStatus(rolloutGroup.getId(),
+                completeActionStatus);
         try {
             final Integer threshold = Integer.valueOf(expression);
             // calculate threshold
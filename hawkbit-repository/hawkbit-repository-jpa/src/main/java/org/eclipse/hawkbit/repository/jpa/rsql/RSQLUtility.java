@@ -13,11 +13,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.persistence.criteria.CriteriaBuilder;
@@ -31,14 +33,20 @@ import javax.persistence.criteria.Path;
 import javax.persistence.criteria.PluralJoin;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 
 import org.apache.commons.lang3.text.StrLookup;
 import org.eclipse.hawkbit.repository.FieldNameProvider;
 import org.eclipse.hawkbit.repository.FieldValueConverter;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
+import org.eclipse.hawkbit.repository.jpa.model.helper.SystemSecurityContextHolder;
+import org.eclipse.hawkbit.repository.model.helper.TenantConfigurationManagementHolder;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyResolver;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.SimpleTypeConverter;
@@ -97,6 +105,17 @@ public final class RSQLUtility {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RSQLUtility.class);
 
+    /**
+     * Maximum number of cached parsed RSQL queries.
+     */
+    private static final int MAX_CACHED_QUERIES = 1_000;
+
+    private static final RSQLParser PARSER = new RSQLParser(createOperators());
+
+    private static final Map<String, Node> PARSED_QUERIES = new ConcurrentHashMap<>();
+
+    private static final Map<PlanKey, QueryPlan<?>> QUERY_PLANS = new ConcurrentHashMap<>();
+
     /**
      * private constructor due utility class.
      */
@@ -144,12 +163,56 @@ public final class RSQLUtility {
         parseRsql(rsql);
     }
 
+    /**
+     * Validates the given rsql string regarding the syntax and the fields of
+     * the given {@link FieldNameProvider}. The result is cached, i.e. a
+     * subsequent {@link #parse(String, Class, VirtualPropertyReplacer, Database)}
+     * of the same query does not parse and resolve it again.
+     *
+     * @param rsql
+     *            the rsql string to get validated
+     * @param fieldNameProvider
+     *            the enum class type which implements the
+     *            {@link FieldNameProvider}
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    public static <A extends Enum<A> & FieldNameProvider> void validateRsqlFor(final String rsql,
+            final Class<A> fieldNameProvider) {
+        getQueryPlan(rsql.toLowerCase(), fieldNameProvider);
+    }
+
+    private static Set<ComparisonOperator> createOperators() {
+        final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
+        operators.add(new ComparisonOperator("=li=", false));
+        return operators;
+    }
+
     private static Node parseRsql(final String rsql) {
+        if (rsql == null) {
+            return parseRsqlUncached(rsql);
+        }
+
+        final Node parsed = PARSED_QUERIES.get(rsql);
+        if (parsed != null) {
+            return parsed;
+        }
+
+        final Node rootNode = parseRsqlUncached(rsql);
+        if (PARSED_QUERIES.size() >= MAX_CACHED_QUERIES) {
+            PARSED_QUERIES.clear();
+        }
+        PARSED_QUERIES.putIfAbsent(rsql, rootNode);
+        return rootNode;
+    }
+
+    private static Node parseRsqlUncached(final String rsql) {
         try {
             LOGGER.debug("parsing rsql string {}", rsql);
-            final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
-            operators.add(new ComparisonOperator("=li=", false));
-            return new RSQLParser(operators).parse(rsql);
+            return PARSER.parse(rsql);
         } catch (final IllegalArgumentException e) {
             throw new RSQLParameterSyntaxException("rsql filter must not be null", e);
         } catch (final RSQLParserException e) {
@@ -157,6 +220,234 @@ public final class RSQLUtility {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static <A extends Enum<A> & FieldNameProvider> QueryPlan<A> getQueryPlan(final String rsql,
+            final Class<A> enumType) {
+        final PlanKey key = new PlanKey(rsql, enumType);
+
+        final QueryPlan<A> plan = (QueryPlan<A>) QUERY_PLANS.get(key);
+        if (plan != null) {
+            return plan;
+        }
+
+        final QueryPlan<A> compiled = new QueryPlan<>(parseRsql(rsql), enumType);
+        if (QUERY_PLANS.size() >= MAX_CACHED_QUERIES) {
+            QUERY_PLANS.clear();
+        }
+        QUERY_PLANS.putIfAbsent(key, compiled);
+        return compiled;
+    }
+
+    private static final class PlanKey {
+        private final String rsql;
+        private final Class<?> enumType;
+
+        private PlanKey(final String rsql, final Class<?> enumType) {
+            this.rsql = rsql;
+            this.enumType = enumType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * rsql.hashCode() + enumType.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final PlanKey other = (PlanKey) obj;
+            return rsql.equals(other.rsql) && enumType.equals(other.enumType);
+        }
+    }
+
+    /**
+     * A parsed RSQL query of which all fields have been resolved and validated
+     * against the {@link FieldNameProvider}. The plan contains nothing that
+     * depends on the time of the execution, i.e. virtual properties and values
+     * are converted when the predicates are built.
+     *
+     * @param <A>
+     *            the enum for providing the field name of the entity field to
+     *            filter on.
+     */
+    private static final class QueryPlan<A extends Enum<A> & FieldNameProvider> {
+
+        private final Node rootNode;
+        private final Class<A> enumType;
+        private final Map<ComparisonNode, ResolvedField<A>> fields = new IdentityHashMap<>();
+
+        private QueryPlan(final Node rootNode, final Class<A> enumType) {
+            this.rootNode = rootNode;
+            this.enumType = enumType;
+            resolveFields(rootNode);
+        }
+
+        private void resolveFields(final Node node) {
+            if (node instanceof LogicalNode) {
+                ((LogicalNode) node).getChildren().forEach(this::resolveFields);
+            } else if (node instanceof ComparisonNode) {
+                final ComparisonNode comparisonNode = (ComparisonNode) node;
+                final A fieldName = getFieldEnumByName(comparisonNode);
+                fields.put(comparisonNode,
+                        new ResolvedField<>(fieldName, getAndValidatePropertyFieldName(fieldName, comparisonNode)));
+            }
+        }
+
+        private Node getRootNode() {
+            return rootNode;
+        }
+
+        private ResolvedField<A> getField(final ComparisonNode node) {
+            return fields.get(node);
+        }
+
+        // Exception squid:S2095 - see
+        // https://jira.sonarsource.com/browse/SONARJAVA-1478
+        @SuppressWarnings({ "squid:S2095" })
+        private A getFieldEnumByName(final ComparisonNode node) {
+            String enumName = node.getSelector();
+            final String[] graph = enumName.split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
+            if (graph.length != 0) {
+                enumName = graph[0];
+            }
+            LOGGER.debug("get fieldidentifier by name {} of enum type {}", enumName, enumType);
+            try {
+                return Enum.valueOf(enumType, enumName.toUpperCase());
+            } catch (final IllegalArgumentException e) {
+                throw new RSQLParameterUnsupportedFieldException("The given search parameter field {"
+                        + node.getSelector() + "} does not exist, must be one of the following fields {"
+                        + Arrays.stream(enumType.getEnumConstants()).map(v -> v.name().toLowerCase())
+                                .collect(Collectors.toList())
+                        + "}", e);
+            }
+        }
+
+        private String getAndValidatePropertyFieldName(final A propertyEnum, final ComparisonNode node) {
+
+            final String[] graph = node.getSelector().split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
+
+            validateMapParameter(propertyEnum, node, graph);
+
+            // sub entity need minium 1 dot
+            if (!propertyEnum.getSubEntityAttributes().isEmpty() && graph.length < 2) {
+                throw createRSQLParameterUnsupportedException(node);
+            }
+
+            final StringBuilder fieldNameBuilder = new StringBuilder(propertyEnum.getFieldName());
+
+            for (int i = 1; i < graph.length; i++) {
+
+                final String propertyField = graph[i];
+                fieldNameBuilder.append(FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR).append(propertyField);
+
+                // the key of map is not in the graph
+                if (propertyEnum.isMap() && graph.length == (i + 1)) {
+                    continue;
+                }
+
+                if (!propertyEnum.containsSubEntityAttribute(propertyField)) {
+                    throw createRSQLParameterUnsupportedException(node);
+                }
+            }
+
+            return fieldNameBuilder.toString();
+        }
+
+        private void validateMapParameter(final A propertyEnum, final ComparisonNode node, final String[] graph) {
+            if (!propertyEnum.isMap()) {
+                return;
+
+            }
+
+            if (!propertyEnum.getSubEntityAttributes().isEmpty()) {
+                throw new UnsupportedOperationException(
+                        "Currently subentity attributes for maps are not supported, alternatively you could use the key/value tuple, defined by SimpleImmutableEntry class");
+            }
+
+            // enum.key
+            final int minAttributeForMap = 2;
+            if (graph.length != minAttributeForMap) {
+                throw new RSQLParameterUnsupportedFieldException("The syntax of the given map search parameter field {"
+                        + node.getSelector() + "} is wrong. Syntax is: fieldname.keyname", new Exception());
+            }
+        }
+
+        private RSQLParameterUnsupportedFieldException createRSQLParameterUnsupportedException(
+                final ComparisonNode node) {
+            return new RSQLParameterUnsupportedFieldException(
+                    "The given search parameter field {" + node.getSelector()
+                            + "} does not exist, must be one of the following fields {" + getExpectedFieldList() + "}",
+                    new Exception());
+        }
+
+        // Exception squid:S2095 - see
+        // https://jira.sonarsource.com/browse/SONARJAVA-1478
+        @SuppressWarnings({ "squid:S2095" })
+        private List<String> getExpectedFieldList() {
+            final List<String> expectedFieldList = Arrays.stream(enumType.getEnumConstants())
+                    .filter(enumField -> enumField.getSubEntityAttributes().isEmpty()).map(enumField -> {
+                        final String enumFieldName = enumField.name().toLowerCase();
+
+                        if (enumField.isMap()) {
+                            return enumFieldName + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR + "keyName";
+                        }
+
+                        return enumFieldName;
+                    }).collect(Collectors.toList());
+
+            final List<String> expectedSubFieldList = Arrays.stream(enumType.getEnumConstants())
+                    .filter(enumField -> !enumField.getSubEntityAttributes().isEmpty()).flatMap(enumField -> {
+                        final List<String> subEntity = enumField.getSubEntityAttributes().stream()
+                                .map(fieldName -> enumField.name().toLowerCase()
+                                        + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR + fieldName)
+                                .collect(Collectors.toList());
+
+                        return subEntity.stream();
+                    }).collect(Collectors.toList());
+            expectedFieldList.addAll(expectedSubFieldList);
+            return expectedFieldList;
+        }
+    }
+
+    /**
+     * A field of a {@link ComparisonNode} resolved to its
+     * {@link FieldNameProvider} and the validated property path.
+     */
+    private static final class ResolvedField<A extends Enum<A> & FieldNameProvider> {
+        private final A enumField;
+        private final String finalProperty;
+
+        private ResolvedField(final A enumField, final String finalProperty) {
+            this.enumField = enumField;
+            this.finalProperty = finalProperty;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if collections are filtered with correlated
+     *         EXISTS sub queries instead of joins and a distinct query for the
+     *         current tenant, see
+     *         {@link TenantConfigurationKey#RSQL_EXISTS_SUBQUERIES_ENABLED}
+     */
+    private static boolean isExistsSubqueriesEnabled() {
+        final SystemSecurityContext systemSecurityContext = SystemSecurityContextHolder.getInstance()
+                .getSystemSecurityContext();
+        final TenantConfigurationManagement tenantConfigurationManagement = TenantConfigurationManagementHolder
+                .getInstance().getTenantConfigurationManagement();
+        if (systemSecurityContext == null || tenantConfigurationManagement == null) {
+            return false;
+        }
+
+        return Boolean.TRUE.equals(systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
+                .getConfigurationValue(TenantConfigurationKey.RSQL_EXISTS_SUBQUERIES_ENABLED, Boolean.class)
+                .getValue()));
+    }
+
     private static final class RSQLSpecification<A extends Enum<A> & FieldNameProvider, T> implements Specification<T> {
 
         private static final long serialVersionUID = 1L;
@@ -176,12 +467,19 @@ public final class RSQLUtility {
 
         @Override
         public Predicate toPredicate(final Root<T> root, final CriteriaQuery<?> query, final CriteriaBuilder cb) {
-            final Node rootNode = parseRsql(rsql);
-            query.distinct(true);
+            final QueryPlan<A> plan = getQueryPlan(rsql, enumType);
+            final boolean existsSubqueries = isExistsSubqueriesEnabled();
+            if (!existsSubqueries) {
+                query.distinct(true);
+            }
 
-            final JpqQueryRSQLVisitor<A, T> jpqQueryRSQLVisitor = new JpqQueryRSQLVisitor<>(root, cb, enumType,
-                    virtualPropertyReplacer, database);
-            final List<Predicate> accept = rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
+            final JpqQueryRSQLVisitor<A, T> jpqQueryRSQLVisitor = new JpqQueryRSQLVisitor<>(root, query, cb, plan,
+                    virtualPropertyReplacer, database, existsSubqueries);
+            final List<Predicate> accept = plan.getRootNode().<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
+
+            if (jpqQueryRSQLVisitor.hasJoinedCollections()) {
+                query.distinct(true);
+            }
 
             if (!CollectionUtils.isEmpty(accept)) {
                 return cb.and(accept.toArray(new Predicate[accept.size()]));
@@ -210,9 +508,14 @@ public final class RSQLUtility {
         public static final Character LIKE_WILDCARD = '*';
 
         private final Root<T> root;
+        private final CriteriaQuery<?> query;
         private final CriteriaBuilder cb;
-        private final Class<A> enumType;
+        private final QueryPlan<A> plan;
         private final VirtualPropertyReplacer virtualPropertyReplacer;
+        private final boolean existsSubqueries;
+        private Subquery<T> subquery;
+        private String subqueryAttribute;
+        private boolean joinedCollections;
         private int level;
         private boolean isOrLevel;
         private final Map<Integer, Set<Join<Object, Object>>> joinsInLevel = new HashMap<>(3);
@@ -221,12 +524,15 @@ public final class RSQLUtility {
 
         private final Database database;
 
-        private JpqQueryRSQLVisitor(final Root<T> root, final CriteriaBuilder cb, final Class<A> enumType,
-                final VirtualPropertyReplacer virtualPropertyReplacer, final Database database) {
+        private JpqQueryRSQLVisitor(final Root<T> root, final CriteriaQuery<?> query, final CriteriaBuilder cb,
+                final QueryPlan<A> plan, final VirtualPropertyReplacer virtualPropertyReplacer,
+                final Database database, final boolean existsSubqueries) {
             this.root = root;
+            this.query = query;
             this.cb = cb;
-            this.enumType = enumType;
+            this.plan = plan;
             this.virtualPropertyReplacer = virtualPropertyReplacer;
+            this.existsSubqueries = existsSubqueries;
             simpleTypeConverter = new SimpleTypeConverter();
             this.database = database;
         }
@@ -286,64 +592,6 @@ public final class RSQLUtility {
             return Collections.singletonList(predicate);
         }
 
-        private String getAndValidatePropertyFieldName(final A propertyEnum, final ComparisonNode node) {
-
-            final String[] graph = node.getSelector().split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
-
-            validateMapParameter(propertyEnum, node, graph);
-
-            // sub entity need minium 1 dot
-            if (!propertyEnum.getSubEntityAttributes().isEmpty() && graph.length < 2) {
-                throw createRSQLParameterUnsupportedException(node);
-            }
-
-            final StringBuilder fieldNameBuilder = new StringBuilder(propertyEnum.getFieldName());
-
-            for (int i = 1; i < graph.length; i++) {
-
-                final String propertyField = graph[i];
-                fieldNameBuilder.append(FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR).append(propertyField);
-
-                // the key of map is not in the graph
-                if (propertyEnum.isMap() && graph.length == (i + 1)) {
-                    continue;
-                }
-
-                if (!propertyEnum.containsSubEntityAttribute(propertyField)) {
-                    throw createRSQLParameterUnsupportedException(node);
-                }
-            }
-
-            return fieldNameBuilder.toString();
-        }
-
-        private void validateMapParameter(final A propertyEnum, final ComparisonNode node, final String[] graph) {
-            if (!propertyEnum.isMap()) {
-                return;
-
-            }
-
-            if (!propertyEnum.getSubEntityAttributes().isEmpty()) {
-                throw new UnsupportedOperationException(
-                        "Currently subentity attributes for maps are not supported, alternatively you could use the key/value tuple, defined by SimpleImmutableEntry class");
-            }
-
-            // enum.key
-            final int minAttributeForMap = 2;
-            if (graph.length != minAttributeForMap) {
-                throw new RSQLParameterUnsupportedFieldException("The syntax of the given map search parameter field {"
-                        + node.getSelector() + "} is wrong. Syntax is: fieldname.keyname", new Exception());
-            }
-        }
-
-        private RSQLParameterUnsupportedFieldException createRSQLParameterUnsupportedException(
-                final ComparisonNode node) {
-            return new RSQLParameterUnsupportedFieldException(
-                    "The given search parameter field {" + node.getSelector()
-                            + "} does not exist, must be one of the following fields {" + getExpectedFieldList() + "}",
-                    new Exception());
-        }
-
         /**
          * Resolves the Path for a field in the persistence layer and joins the
          * required models. This operation is part of a tree traversal through
@@ -379,7 +627,12 @@ public final class RSQLUtility {
                     final Join<Object, ?> join = (Join<Object, ?>) fieldPath;
                     final From<?, Object> joinParent = join.getParent();
                     final Optional<Join<Object, Object>> currentJoinOfType = findCurrentJoinOfType(join.getJavaType());
-                    if (currentJoinOfType.isPresent() && isOrLevel) {
+                    if (existsSubqueries && subquery == null && root.equals(joinParent)) {
+                        // the collection is filtered in a correlated sub query
+                        // instead of joining it to the root
+                        joinParent.getJoins().remove(join);
+                        fieldPath = joinInSubquery(fieldNameSplit);
+                    } else if (currentJoinOfType.isPresent() && isOrLevel) {
                         // remove the additional join and use the existing one
                         joinParent.getJoins().remove(join);
                         fieldPath = currentJoinOfType.get();
@@ -387,6 +640,7 @@ public final class RSQLUtility {
                         final Join<Object, Object> newJoin = joinParent.join(fieldNameSplit, JoinType.LEFT);
                         addCurrentJoin(newJoin);
                         fieldPath = newJoin;
+                        joinedCollections = joinedCollections || subquery == null;
                     }
 
                 }
@@ -395,22 +649,10 @@ public final class RSQLUtility {
         }
 
         @Override
-        // Exception squid:S2095 - see
-        // https://jira.sonarsource.com/browse/SONARJAVA-1478
-        @SuppressWarnings({ "squid:S2095" })
         public List<Predicate> visit(final ComparisonNode node, final String param) {
-            A fieldName = null;
-            try {
-                fieldName = getFieldEnumByName(node);
-            } catch (final IllegalArgumentException e) {
-                throw new RSQLParameterUnsupportedFieldException("The given search parameter field {"
-                        + node.getSelector() + "} does not exist, must be one of the following fields {"
-                        + Arrays.stream(enumType.getEnumConstants()).map(v -> v.name().toLowerCase())
-                                .collect(Collectors.toList())
-                        + "}", e);
-
-            }
-            final String finalProperty = getAndValidatePropertyFieldName(fieldName, node);
+            final ResolvedField<A> field = plan.getField(node);
+            final A fieldName = field.enumField;
+            final String finalProperty = field.finalProperty;
 
             final List<String> values = node.getArguments();
             final List<Object> transformedValue = new ArrayList<>();
@@ -420,45 +662,63 @@ public final class RSQLUtility {
                 transformedValue.add(convertValueIfNecessary(node, fieldName, value, fieldPath));
             }
 
-            return mapToPredicate(node, fieldPath, node.getArguments(), transformedValue, fieldName, database);
+            final List<Predicate> predicates = mapToPredicate(node, fieldPath, node.getArguments(), transformedValue,
+                    fieldName, database);
+            if (subquery == null) {
+                return predicates;
+            }
+
+            final Predicate exists = toExistsPredicate(predicates.get(0),
+                    !fieldName.isMap() && matchesMissingValue(node, transformedValue.get(0)));
+            subquery = null;
+            subqueryAttribute = null;
+            return toSingleList(exists);
         }
 
-        // Exception squid:S2095 - see
-        // https://jira.sonarsource.com/browse/SONARJAVA-1478
-        @SuppressWarnings({ "squid:S2095" })
-        private List<String> getExpectedFieldList() {
-            final List<String> expectedFieldList = Arrays.stream(enumType.getEnumConstants())
-                    .filter(enumField -> enumField.getSubEntityAttributes().isEmpty()).map(enumField -> {
-                        final String enumFieldName = enumField.name().toLowerCase();
+        private Path<Object> joinInSubquery(final String attribute) {
+            subquery = createSubquery();
+            subqueryAttribute = attribute;
+            final Root<T> correlatedRoot = subquery.correlate(root);
+            subquery.select(correlatedRoot);
+            return correlatedRoot.join(attribute);
+        }
 
-                        if (enumField.isMap()) {
-                            return enumFieldName + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR + "keyName";
-                        }
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private Subquery<T> createSubquery() {
+            return (Subquery) query.subquery(root.getJavaType());
+        }
 
-                        return enumFieldName;
-                    }).collect(Collectors.toList());
+        /**
+         * Completes the current sub query with the given predicate. A LEFT
+         * JOIN matches the entities without any element in the collection
+         * for a check on an empty value, e.g. <code>tag==''</code>. To keep
+         * this semantic these entities are selected explicitly with a NOT
+         * EXISTS sub query.
+         */
+        private Predicate toExistsPredicate(final Predicate predicate, final boolean matchesMissingValue) {
+            final Predicate exists = cb.exists(subquery.where(predicate));
+            if (!matchesMissingValue) {
+                return exists;
+            }
 
-            final List<String> expectedSubFieldList = Arrays.stream(enumType.getEnumConstants())
-                    .filter(enumField -> !enumField.getSubEntityAttributes().isEmpty()).flatMap(enumField -> {
-                        final List<String> subEntity = enumField.getSubEntityAttributes().stream()
-                                .map(fieldName -> enumField.name().toLowerCase()
-                                        + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR + fieldName)
-                                .collect(Collectors.toList());
+            final Subquery<T> anyElement = createSubquery();
+            final Root<T> correlatedRoot = anyElement.correlate(root);
+            correlatedRoot.join(subqueryAttribute);
+            anyElement.select(correlatedRoot);
+            return cb.or(exists, cb.not(cb.exists(anyElement)));
+        }
 
-                        return subEntity.stream();
-                    }).collect(Collectors.toList());
-            expectedFieldList.addAll(expectedSubFieldList);
-            return expectedFieldList;
+        private static boolean matchesMissingValue(final ComparisonNode node, final Object transformedValue) {
+            return "==".equals(node.getOperator().getSymbol())
+                    && (transformedValue == null || StringUtils.isEmpty(transformedValue));
         }
 
-        private A getFieldEnumByName(final ComparisonNode node) {
-            String enumName = node.getSelector();
-            final String[] graph = enumName.split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
-            if (graph.length != 0) {
-                enumName = graph[0];
-            }
-            LOGGER.debug("get fieldidentifier by name {} of enum type {}", enumName, enumType);
-            return Enum.valueOf(enumType, enumName.toUpperCase());
+        /**
+         * @return <code>true</code> if collections have been joined to the
+         *         root, i.e. the query needs to be distinct
+         */
+        private boolean hasJoinedCollections() {
+            return joinedCollections;
         }
 
         private Object convertValueIfNecessary(final ComparisonNode node, final A fieldName, final String value,
@@ -0,0 +1,473 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+
+/**
+ * Binary delta generation and application in the BSDIFF40 format of bsdiff
+ * 4.x, so the deltas can be applied on the devices with the standard bspatch
+ * tool or any of its ports.
+ *
+ * The delta consists of a header, the bzip2 compressed control block and the
+ * bzip2 compressed diff and extra blocks. The source binary is indexed by a
+ * suffix array built with the qsufsort algorithm of Larsson and Sadakane,
+ * which needs two int arrays of the size of the source binary. The blocks are
+ * compressed while they are generated, so besides the binaries and the suffix
+ * array only the compressed blocks are held in memory.
+ */
+public final class BsDiff {
+
+    private static final byte[] MAGIC = "BSDIFF40".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_SIZE = 32;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int MIN_MATCH_GAIN = 8;
+
+    private BsDiff() {
+        // no need to instantiate this class
+    }
+
+    /**
+     * Generates the delta that turns the source binary into the target binary.
+     *
+     * @param source
+     *            binary the delta is applied to
+     * @param target
+     *            binary the delta results in
+     * @param out
+     *            to write the delta to, is not closed
+     *
+     * @throws IOException
+     *             if the delta cannot be written
+     */
+    public static void diff(final byte[] source, final byte[] target, final OutputStream out) throws IOException {
+        final int[] suffixes = suffixArray(source);
+
+        final ByteArrayOutputStream ctrlBlock = new ByteArrayOutputStream();
+        final ByteArrayOutputStream diffBlock = new ByteArrayOutputStream();
+        final ByteArrayOutputStream extraBlock = new ByteArrayOutputStream();
+        try (final OutputStream ctrl = new BZip2CompressorOutputStream(ctrlBlock);
+                final OutputStream diff = new BZip2CompressorOutputStream(diffBlock);
+                final OutputStream extra = new BZip2CompressorOutputStream(extraBlock)) {
+            writeBlocks(source, target, suffixes, ctrl, diff, extra);
+        }
+
+        final byte[] header = Arrays.copyOf(MAGIC, HEADER_SIZE);
+        writeOffset(ctrlBlock.size(), header, 8);
+        writeOffset(diffBlock.size(), header, 16);
+        writeOffset(target.length, header, 24);
+        out.write(header);
+        ctrlBlock.writeTo(out);
+        diffBlock.writeTo(out);
+        extraBlock.writeTo(out);
+    }
+
+    /**
+     * Applies a delta to the source binary.
+     *
+     * @param source
+     *            binary the delta is applied to
+     * @param delta
+     *            in the BSDIFF40 format
+     * @return the resulting binary
+     *
+     * @throws IOException
+     *             if the delta is corrupt
+     */
+    public static byte[] patch(final byte[] source, final byte[] delta) throws IOException {
+        if (delta.length < HEADER_SIZE || !Arrays.equals(MAGIC, Arrays.copyOf(delta, MAGIC.length))) {
+            throw new IOException("Delta is not in the BSDIFF40 format");
+        }
+        final long ctrlLength = readOffset(delta, 8);
+        final long diffLength = readOffset(delta, 16);
+        final long targetLength = readOffset(delta, 24);
+        if (ctrlLength < 0 || diffLength < 0 || targetLength < 0 || targetLength > Integer.MAX_VALUE
+                || HEADER_SIZE + ctrlLength + diffLength > delta.length) {
+            throw new IOException("Corrupt delta header");
+        }
+
+        final byte[] target = new byte[(int) targetLength];
+        final int diffStart = HEADER_SIZE + (int) ctrlLength;
+        final int extraStart = diffStart + (int) diffLength;
+        try (final DataInputStream ctrl = block(delta, HEADER_SIZE, diffStart);
+                final DataInputStream diff = block(delta, diffStart, extraStart);
+                final DataInputStream extra = block(delta, extraStart, delta.length)) {
+            final byte[] entry = new byte[8];
+            long sourcePos = 0;
+            int targetPos = 0;
+            while (targetPos < target.length) {
+                final long diffSize = readControl(ctrl, entry);
+                final long extraSize = readControl(ctrl, entry);
+                final long seek = readControl(ctrl, entry);
+                if (diffSize < 0 || extraSize < 0 || targetPos + diffSize + extraSize > target.length) {
+                    throw new IOException("Corrupt delta control block");
+                }
+
+                diff.readFully(target, targetPos, (int) diffSize);
+                for (int i = 0; i < diffSize; i++) {
+                    if (sourcePos + i >= 0 && sourcePos + i < source.length) {
+                        target[targetPos + i] += source[(int) sourcePos + i];
+                    }
+                }
+                targetPos += diffSize;
+                sourcePos += diffSize;
+
+                extra.readFully(target, targetPos, (int) extraSize);
+                targetPos += extraSize;
+                sourcePos += seek;
+            }
+        }
+        return target;
+    }
+
+    // the scan of bsdiff 4.3, which extends the exact matches found in the
+    // suffix array forwards and backwards to approximate matches
+    @SuppressWarnings("squid:S3776")
+    private static void writeBlocks(final byte[] source, final byte[] target, final int[] suffixes,
+            final OutputStream ctrl, final OutputStream diff, final OutputStream extra) throws IOException {
+        final byte[] entry = new byte[8];
+        final int[] match = new int[2];
+        int scan = 0;
+        int len = 0;
+        int pos = 0;
+        int lastScan = 0;
+        int lastPos = 0;
+        int lastOffset = 0;
+
+        while (scan < target.length) {
+            int oldScore = 0;
+            scan += len;
+            for (int scsc = scan; scan < target.length; scan++) {
+                search(suffixes, source, target, scan, 0, source.length, match);
+                pos = match[0];
+                len = match[1];
+
+                for (; scsc < scan + len; scsc++) {
+                    if (scsc + lastOffset < source.length && source[scsc + lastOffset] == target[scsc]) {
+                        oldScore++;
+                    }
+                }
+                if ((len == oldScore && len != 0) || len > oldScore + MIN_MATCH_GAIN) {
+                    break;
+                }
+                if (scan + lastOffset < source.length && source[scan + lastOffset] == target[scan]) {
+                    oldScore--;
+                }
+            }
+
+            if (len != oldScore || scan == target.length) {
+                int score = 0;
+                int bestScore = 0;
+                int lenForward = 0;
+                for (int i = 0; lastScan + i < scan && lastPos + i < source.length;) {
+                    if (source[lastPos + i] == target[lastScan + i]) {
+                        score++;
+                    }
+                    i++;
+                    if (score * 2 - i > bestScore * 2 - lenForward) {
+                        bestScore = score;
+                        lenForward = i;
+                    }
+                }
+
+                int lenBackward = 0;
+                if (scan < target.length) {
+                    score = 0;
+                    bestScore = 0;
+                    for (int i = 1; scan >= lastScan + i && pos >= i; i++) {
+                        if (source[pos - i] == target[scan - i]) {
+                            score++;
+                        }
+                        if (score * 2 - i > bestScore * 2 - lenBackward) {
+                            bestScore = score;
+                            lenBackward = i;
+                        }
+                    }
+                }
+
+                if (lastScan + lenForward > scan - lenBackward) {
+                    final int overlap = (lastScan + lenForward) - (scan - lenBackward);
+                    score = 0;
+                    bestScore = 0;
+                    int lenSplit = 0;
+                    for (int i = 0; i < overlap; i++) {
+                        if (target[lastScan + lenForward - overlap + i] == source[lastPos + lenForward - overlap
+                                + i]) {
+                            score++;
+                        }
+                        if (target[scan - lenBackward + i] == source[pos - lenBackward + i]) {
+                            score--;
+                        }
+                        if (score > bestScore) {
+                            bestScore = score;
+                            lenSplit = i + 1;
+                        }
+                    }
+                    lenForward += lenSplit - overlap;
+                    lenBackward -= lenSplit;
+                }
+
+                for (int i = 0; i < lenForward; i++) {
+                    diff.write(target[lastScan + i] - source[lastPos + i]);
+                }
+                final int extraLength = (scan - lenBackward) - (lastScan + lenForward);
+                extra.write(target, lastScan + lenForward, extraLength);
+
+                writeControl(ctrl, entry, lenForward);
+                writeControl(ctrl, entry, extraLength);
+                writeControl(ctrl, entry, (long) (pos - lenBackward) - (lastPos + lenForward));
+
+                lastScan = scan - lenBackward;
+                lastPos = pos - lenBackward;
+                lastOffset = pos - scan;
+            }
+        }
+    }
+
+    /**
+     * Finds the longest match of the target binary from the given offset in
+     * the source binary by binary search in the suffix array.
+     */
+    private static void search(final int[] suffixes, final byte[] source, final byte[] target, final int offset,
+            final int start, final int end, final int[] match) {
+        int st = start;
+        int en = end;
+        while (en - st >= 2) {
+            final int x = st + (en - st) / 2;
+            if (compare(source, suffixes[x], target, offset) < 0) {
+                st = x;
+            } else {
+                en = x;
+            }
+        }
+
+        final int x = matchLength(source, suffixes[st], target, offset);
+        final int y = matchLength(source, suffixes[en], target, offset);
+        match[0] = x > y ? suffixes[st] : suffixes[en];
+        match[1] = Math.max(x, y);
+    }
+
+    private static int matchLength(final byte[] source, final int sourceOffset, final byte[] target,
+            final int targetOffset) {
+        int i = 0;
+        while (sourceOffset + i < source.length && targetOffset + i < target.length
+                && source[sourceOffset + i] == target[targetOffset + i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int compare(final byte[] source, final int sourceOffset, final byte[] target,
+            final int targetOffset) {
+        final int length = Math.min(source.length - sourceOffset, target.length - targetOffset);
+        for (int i = 0; i < length; i++) {
+            final int diff = (source[sourceOffset + i] & 0xff) - (target[targetOffset + i] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Builds the suffix array of the binary including the empty suffix with
+     * the qsufsort algorithm.
+     */
+    private static int[] suffixArray(final byte[] data) {
+        final int size = data.length;
+        final int[] index = new int[size + 1];
+        final int[] rank = new int[size + 1];
+
+        final int[] buckets = new int[256];
+        for (final byte b : data) {
+            buckets[b & 0xff]++;
+        }
+        for (int i = 1; i < 256; i++) {
+            buckets[i] += buckets[i - 1];
+        }
+        for (int i = 255; i > 0; i--) {
+            buckets[i] = buckets[i - 1];
+        }
+        buckets[0] = 0;
+
+        for (int i = 0; i < size; i++) {
+            index[++buckets[data[i] & 0xff]] = i;
+        }
+        index[0] = size;
+        for (int i = 0; i < size; i++) {
+            rank[i] = buckets[data[i] & 0xff];
+        }
+        rank[size] = 0;
+        for (int i = 1; i < 256; i++) {
+            if (buckets[i] == buckets[i - 1] + 1) {
+                index[buckets[i]] = -1;
+            }
+        }
+        index[0] = -1;
+
+        for (int h = 1; index[0] != -(size + 1); h += h) {
+            int len = 0;
+            int i = 0;
+            while (i < size + 1) {
+                if (index[i] < 0) {
+                    len -= index[i];
+                    i -= index[i];
+                } else {
+                    if (len != 0) {
+                        index[i - len] = -len;
+                    }
+                    len = rank[index[i]] + 1 - i;
+                    split(index, rank, i, len, h);
+                    i += len;
+                    len = 0;
+                }
+            }
+            if (len != 0) {
+                index[i - len] = -len;
+            }
+        }
+
+        for (int i = 0; i < size + 1; i++) {
+            index[rank[i]] = i;
+        }
+        return index;
+    }
+
+    @SuppressWarnings("squid:S3776")
+    private static void split(final int[] index, final int[] rank, final int start, final int len, final int h) {
+        if (len < INSERTION_SORT_THRESHOLD) {
+            int j;
+            for (int k = start; k < start + len; k += j) {
+                j = 1;
+                int x = rank[index[k] + h];
+                for (int i = 1; k + i < start + len; i++) {
+                    if (rank[index[k + i] + h] < x) {
+                        x = rank[index[k + i] + h];
+                        j = 0;
+                    }
+                    if (rank[index[k + i] + h] == x) {
+                        swap(index, k + j, k + i);
+                        j++;
+                    }
+                }
+                for (int i = 0; i < j; i++) {
+                    rank[index[k + i]] = k + j - 1;
+                }
+                if (j == 1) {
+                    index[k] = -1;
+                }
+            }
+            return;
+        }
+
+        final int x = rank[index[start + len / 2] + h];
+        int jj = 0;
+        int kk = 0;
+        for (int i = start; i < start + len; i++) {
+            if (rank[index[i] + h] < x) {
+                jj++;
+            }
+            if (rank[index[i] + h] == x) {
+                kk++;
+            }
+        }
+        jj += start;
+        kk += jj;
+
+        int i = start;
+        int j = 0;
+        int k = 0;
+        while (i < jj) {
+            if (rank[index[i] + h] < x) {
+                i++;
+            } else if (rank[index[i] + h] == x) {
+                swap(index, i, jj + j);
+                j++;
+            } else {
+                swap(index, i, kk + k);
+                k++;
+            }
+        }
+        while (jj + j < kk) {
+            if (rank[index[jj + j] + h] == x) {
+                j++;
+            } else {
+                swap(index, jj + j, kk + k);
+                k++;
+            }
+        }
+
+        if (jj > start) {
+            split(index, rank, start, jj - start, h);
+        }
+        for (i = 0; i < kk - jj; i++) {
+            rank[index[jj + i]] = kk - 1;
+        }
+        if (jj == kk - 1) {
+            index[jj] = -1;
+        }
+        if (start + len > kk) {
+            split(index, rank, kk, start + len - kk, h);
+        }
+    }
+
+    private static void swap(final int[] array, final int i, final int j) {
+        final int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    private static DataInputStream block(final byte[] delta, final int from, final int to) throws IOException {
+        final InputStream block = new ByteArrayInputStream(delta, from, to - from);
+        return new DataInputStream(new BZip2CompressorInputStream(block));
+    }
+
+    private static void writeControl(final OutputStream ctrl, final byte[] entry, final long value)
+            throws IOException {
+        writeOffset(value, entry, 0);
+        ctrl.write(entry);
+    }
+
+    private static long readControl(final DataInputStream ctrl, final byte[] entry) throws IOException {
+        ctrl.readFully(entry);
+        return readOffset(entry, 0);
+    }
+
+    /**
+     * Writes the value as 8 byte little endian sign-magnitude number.
+     */
+    private static void writeOffset(final long value, final byte[] buffer, final int offset) {
+        long magnitude = Math.abs(value);
+        for (int i = 0; i < 8; i++) {
+            buffer[offset + i] = (byte) magnitude;
+            magnitude >>>= 8;
+        }
+        if (value < 0) {
+            buffer[offset + 7] |= 0x80;
+        }
+    }
+
+    private static long readOffset(final byte[] buffer, final int offset) {
+        long magnitude = buffer[offset + 7] & 0x7f;
+        for (int i = 6; i >= 0; i--) {
+            magnitude = (magnitude << 8) | (buffer[offset + i] & 0xff);
+        }
+        return (buffer[offset + 7] & 0x80) != 0 ? -magnitude : magnitude;
+    }
+}
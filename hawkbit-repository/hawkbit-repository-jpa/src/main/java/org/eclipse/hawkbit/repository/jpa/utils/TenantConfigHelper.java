@@ -8,8 +8,6 @@
  */
 package org.eclipse.hawkbit.repository.jpa.utils;
 
-import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.MULTI_ASSIGNMENTS_ENABLED;
-
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 
@@ -47,7 +45,7 @@ public final class TenantConfigHelper {
      * @return is active
      */
     public boolean isMultiAssignmentsEnabled() {
-        return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
-                .getConfigurationValue(MULTI_ASSIGNMENTS_ENABLED, Boolean.class).getValue());
+        return systemSecurityContext.runAsSystem(
+                () -> tenantConfigurationManagement.getConfigurationSnapshot().isMultiAssignmentsEnabled());
     }
 }
@@ -0,0 +1,13 @@
+CREATE TABLE sp_rolloutgroup_action_count 
+( 
+	rolloutgroup BIGINT NOT NULL, 
+	status       INTEGER NOT NULL, 
+	action_count BIGINT NOT NULL, 
+	PRIMARY KEY (rolloutgroup, status) 
+); 
+
+ALTER TABLE sp_rolloutgroup_action_count ADD CONSTRAINT fk_action_count_rolloutgroup FOREIGN KEY (rolloutgroup) REFERENCES sp_rolloutgroup (id) ON DELETE CASCADE;
+
+INSERT INTO sp_rolloutgroup_action_count (rolloutgroup, status, action_count) 
+	SELECT g.id, s.status, (SELECT COUNT(a.id) FROM sp_action a WHERE a.rolloutgroup = g.id AND a.status = s.status) 
+	FROM sp_rolloutgroup g CROSS JOIN (VALUES 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10) AS s (status);
@@ -0,0 +1,5 @@
+ALTER TABLE sp_tenant ADD artifact_storage_used BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE sp_tenant SET artifact_storage_used = (SELECT COALESCE(SUM(a.file_size), 0) FROM sp_artifact a
+	INNER JOIN sp_base_software_module sm ON a.software_module = sm.id
+	WHERE sm.deleted = 0 AND a.tenant = UPPER(sp_tenant.tenant));
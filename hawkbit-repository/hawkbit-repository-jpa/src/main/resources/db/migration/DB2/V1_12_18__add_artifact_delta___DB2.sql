@@ -0,0 +1,22 @@
+CREATE TABLE sp_artifact_delta 
+( 
+	id               BIGINT GENERATED always AS IDENTITY NOT NULL, 
+	tenant           VARCHAR(40) NOT NULL, 
+	created_at       BIGINT NOT NULL, 
+	created_by       VARCHAR(64) NOT NULL, 
+	last_modified_at BIGINT NOT NULL, 
+	last_modified_by VARCHAR(64) NOT NULL, 
+	optlock_revision INTEGER, 
+	source_sha1_hash VARCHAR(40) NOT NULL, 
+	target_sha1_hash VARCHAR(40) NOT NULL, 
+	sha1_hash        VARCHAR(40) NOT NULL, 
+	md5_hash         VARCHAR(32), 
+	sha256_hash      VARCHAR(64), 
+	file_size        BIGINT, 
+	PRIMARY KEY (id) 
+); 
+
+ALTER TABLE sp_artifact_delta ADD CONSTRAINT uk_artifact_delta UNIQUE (tenant, source_sha1_hash, target_sha1_hash);
+
+CREATE INDEX sp_idx_artifact_delta_01 
+  ON sp_artifact_delta (tenant, target_sha1_hash); 
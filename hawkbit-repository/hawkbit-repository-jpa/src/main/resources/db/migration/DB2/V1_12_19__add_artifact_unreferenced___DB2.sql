@@ -0,0 +1,15 @@
+CREATE TABLE sp_artifact_unreferenced 
+( 
+	id               BIGINT GENERATED always AS IDENTITY NOT NULL, 
+	tenant           VARCHAR(40) NOT NULL, 
+	created_at       BIGINT NOT NULL, 
+	created_by       VARCHAR(64) NOT NULL, 
+	last_modified_at BIGINT NOT NULL, 
+	last_modified_by VARCHAR(64) NOT NULL, 
+	optlock_revision INTEGER, 
+	sha1_hash        VARCHAR(40) NOT NULL, 
+	PRIMARY KEY (id) 
+); 
+
+CREATE INDEX sp_idx_artifact_unreferenced_01 
+  ON sp_artifact_unreferenced (tenant, sha1_hash); 
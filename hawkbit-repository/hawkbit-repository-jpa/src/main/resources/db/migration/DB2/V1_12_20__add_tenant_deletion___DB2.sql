@@ -0,0 +1,15 @@
+CREATE TABLE sp_tenant_deletion 
+( 
+	id               BIGINT GENERATED always AS IDENTITY NOT NULL, 
+	tenant           VARCHAR(40) NOT NULL, 
+	created_at       BIGINT NOT NULL, 
+	created_by       VARCHAR(64) NOT NULL, 
+	last_modified_at BIGINT NOT NULL, 
+	last_modified_by VARCHAR(64) NOT NULL, 
+	optlock_revision INTEGER, 
+	step             VARCHAR(64) NOT NULL, 
+	deleted_rows     BIGINT NOT NULL, 
+	PRIMARY KEY (id) 
+); 
+
+ALTER TABLE sp_tenant_deletion ADD CONSTRAINT uk_tenant_deletion_tenant UNIQUE (tenant);
@@ -0,0 +1,15 @@
+create table sp_tenant_deletion (
+	id bigint generated by default as identity,
+	created_at bigint,
+	created_by varchar(64),
+	last_modified_at bigint,
+	last_modified_by varchar(64),
+	optlock_revision bigint,
+	tenant varchar(40) not null,
+	step varchar(64) not null,
+	deleted_rows bigint not null,
+	primary key (id)
+);
+
+alter table sp_tenant_deletion
+	add constraint uk_tenant_deletion_tenant unique (tenant);
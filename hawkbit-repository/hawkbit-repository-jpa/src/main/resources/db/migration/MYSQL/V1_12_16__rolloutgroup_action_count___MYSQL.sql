@@ -0,0 +1,19 @@
+create table sp_rolloutgroup_action_count (
+	rolloutgroup bigint not null,
+	status integer not null,
+	action_count bigint not null,
+	primary key (rolloutgroup, status)
+);
+
+alter table sp_rolloutgroup_action_count 
+	add constraint fk_action_count_rolloutgroup 
+	foreign key (rolloutgroup) 
+	references sp_rolloutgroup (id)
+	on delete cascade;
+
+insert into sp_rolloutgroup_action_count (rolloutgroup, status, action_count)
+	select g.id, s.status, (select count(a.id) from sp_action a where a.rolloutgroup = g.id and a.status = s.status)
+	from sp_rolloutgroup g cross join (
+		select 0 as status union all select 1 union all select 2 union all select 3 union all select 4
+		union all select 5 union all select 6 union all select 7 union all select 8 union all select 9
+		union all select 10) s;
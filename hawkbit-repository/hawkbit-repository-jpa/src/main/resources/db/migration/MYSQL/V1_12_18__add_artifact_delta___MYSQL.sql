@@ -0,0 +1,21 @@
+create table sp_artifact_delta (
+	id bigint not null auto_increment,
+	created_at bigint,
+	created_by varchar(64),
+	last_modified_at bigint,
+	last_modified_by varchar(64),
+	optlock_revision bigint,
+	tenant varchar(40) not null,
+	source_sha1_hash varchar(40) not null,
+	target_sha1_hash varchar(40) not null,
+	sha1_hash varchar(40) not null,
+	md5_hash varchar(32),
+	sha256_hash varchar(64),
+	file_size bigint,
+	primary key (id)
+);
+
+alter table sp_artifact_delta
+	add constraint uk_artifact_delta unique (tenant, source_sha1_hash, target_sha1_hash);
+
+create index sp_idx_artifact_delta_01 on sp_artifact_delta (tenant, target_sha1_hash);
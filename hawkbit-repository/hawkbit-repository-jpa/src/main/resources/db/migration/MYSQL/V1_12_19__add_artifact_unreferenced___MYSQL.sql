@@ -0,0 +1,13 @@
+create table sp_artifact_unreferenced (
+	id bigint not null auto_increment,
+	created_at bigint,
+	created_by varchar(64),
+	last_modified_at bigint,
+	last_modified_by varchar(64),
+	optlock_revision bigint,
+	tenant varchar(40) not null,
+	sha1_hash varchar(40) not null,
+	primary key (id)
+);
+
+create index sp_idx_artifact_unreferenced_01 on sp_artifact_unreferenced (tenant, sha1_hash);
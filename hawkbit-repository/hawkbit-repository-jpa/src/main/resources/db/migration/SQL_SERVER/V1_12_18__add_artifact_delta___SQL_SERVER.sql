@@ -0,0 +1,21 @@
+CREATE TABLE sp_artifact_delta
+(
+	id NUMERIC(19) IDENTITY NOT NULL,
+	tenant VARCHAR(40) NOT NULL,
+	created_at NUMERIC(19) NOT NULL,
+	created_by VARCHAR(64) NOT NULL,
+	last_modified_at NUMERIC(19) NOT NULL,
+	last_modified_by VARCHAR(64) NOT NULL,
+	optlock_revision INTEGER NULL,
+	source_sha1_hash VARCHAR(40) NOT NULL,
+	target_sha1_hash VARCHAR(40) NOT NULL,
+	sha1_hash VARCHAR(40) NOT NULL,
+	md5_hash VARCHAR(32) NULL,
+	sha256_hash VARCHAR(64) NULL,
+	file_size NUMERIC(19) NULL,
+	PRIMARY KEY (id)
+);
+
+ALTER TABLE sp_artifact_delta ADD CONSTRAINT uk_artifact_delta UNIQUE (tenant, source_sha1_hash, target_sha1_hash);
+
+CREATE INDEX sp_idx_artifact_delta_01 ON sp_artifact_delta (tenant, target_sha1_hash);
@@ -0,0 +1,14 @@
+CREATE TABLE sp_artifact_unreferenced
+(
+	id NUMERIC(19) IDENTITY NOT NULL,
+	tenant VARCHAR(40) NOT NULL,
+	created_at NUMERIC(19) NOT NULL,
+	created_by VARCHAR(64) NOT NULL,
+	last_modified_at NUMERIC(19) NOT NULL,
+	last_modified_by VARCHAR(64) NOT NULL,
+	optlock_revision INTEGER NULL,
+	sha1_hash VARCHAR(40) NOT NULL,
+	PRIMARY KEY (id)
+);
+
+CREATE INDEX sp_idx_artifact_unreferenced_01 ON sp_artifact_unreferenced (tenant, sha1_hash);
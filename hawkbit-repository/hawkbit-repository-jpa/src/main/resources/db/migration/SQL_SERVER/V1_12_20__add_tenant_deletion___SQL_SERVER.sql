@@ -0,0 +1,15 @@
+CREATE TABLE sp_tenant_deletion
+(
+	id NUMERIC(19) IDENTITY NOT NULL,
+	tenant VARCHAR(40) NOT NULL,
+	created_at NUMERIC(19) NOT NULL,
+	created_by VARCHAR(64) NOT NULL,
+	last_modified_at NUMERIC(19) NOT NULL,
+	last_modified_by VARCHAR(64) NOT NULL,
+	optlock_revision INTEGER NULL,
+	step VARCHAR(64) NOT NULL,
+	deleted_rows NUMERIC(19) NOT NULL,
+	PRIMARY KEY (id)
+);
+
+ALTER TABLE sp_tenant_deletion ADD CONSTRAINT uk_tenant_deletion_tenant UNIQUE (tenant);
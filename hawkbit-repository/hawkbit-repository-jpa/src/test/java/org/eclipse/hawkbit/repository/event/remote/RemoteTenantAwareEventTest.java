@@ -11,7 +11,9 @@ package org.eclipse.hawkbit.repository.event.remote;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -64,6 +66,39 @@ public class RemoteTenantAwareEventTest extends AbstractRemoteEventTest {
         assertThat(downloadProgressEvent).isEqualTo(remoteEventJackson);
     }
 
+    @Test
+    @Description("Verifies that a DownloadProgressBatchEvent can be properly serialized and deserialized")
+    public void reloadDownloadProgessBatchByRemoteEvent() {
+        final Map<Long, Long> shippedBytes = new HashMap<>();
+        shippedBytes.put(1L, 3L);
+        shippedBytes.put(2L, 1024L);
+        final DownloadProgressBatchEvent downloadProgressEvent = new DownloadProgressBatchEvent(TENANT_DEFAULT,
+                shippedBytes, APPLICATION_ID_DEFAULT);
+
+        final DownloadProgressBatchEvent remoteEventProtoStuff = createProtoStuffEvent(downloadProgressEvent);
+        assertThat(downloadProgressEvent).isEqualTo(remoteEventProtoStuff);
+        assertThat(remoteEventProtoStuff.getShippedBytesSinceLast()).isEqualTo(shippedBytes);
+
+        final DownloadProgressBatchEvent remoteEventJackson = createJacksonEvent(downloadProgressEvent);
+        assertThat(downloadProgressEvent).isEqualTo(remoteEventJackson);
+        assertThat(remoteEventJackson.getShippedBytesSinceLast()).isEqualTo(shippedBytes);
+    }
+
+    @Test
+    @Description("Verifies that a TenantConfigurationChangedEvent can be properly serialized and deserialized")
+    public void testTenantConfigurationChangedEvent() {
+        final TenantConfigurationChangedEvent event = new TenantConfigurationChangedEvent(TENANT_DEFAULT,
+                APPLICATION_ID_DEFAULT);
+
+        final TenantConfigurationChangedEvent remoteEventProtoStuff = createProtoStuffEvent(event);
+        assertThat(event).isEqualTo(remoteEventProtoStuff);
+        assertThat(remoteEventProtoStuff.getTenant()).isEqualTo(TENANT_DEFAULT);
+
+        final TenantConfigurationChangedEvent remoteEventJackson = createJacksonEvent(event);
+        assertThat(event).isEqualTo(remoteEventJackson);
+        assertThat(remoteEventJackson.getTenant()).isEqualTo(TENANT_DEFAULT);
+    }
+
     @Test
     @Description("Verifies that a TargetAssignDistributionSetEvent can be properly serialized and deserialized")
     public void testTargetAssignDistributionSetEvent() {
@@ -10,6 +10,11 @@ package org.eclipse.hawkbit.repository.event.remote.entity;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.eclipse.hawkbit.repository.model.Target;
 import org.junit.Test;
 
@@ -47,6 +52,29 @@ public class TargetEventTest extends AbstractRemoteEntityEventTest<Target> {
         assertThat(underTest.getActionId()).isNotNull();
     }
 
+    @Test
+    @Description("Verifies that the target entities of multiple remote events are reloaded in bulk")
+    public void testLoadEntitiesOfMultipleEvents() {
+        final List<Target> targets = testdataFactory.createTargets(5, "bulk");
+        final List<TargetUpdatedEvent> events = targets.stream()
+                .map(target -> createProtoStuffEvent(new TargetUpdatedEvent(target, "node")))
+                .collect(Collectors.toList());
+
+        // an event of an entity that does not exist anymore
+        final Target deleted = testdataFactory.createTarget("deleted");
+        final TargetUpdatedEvent deletedEvent = createProtoStuffEvent(new TargetUpdatedEvent(deleted, "node"));
+        targetManagement.delete(Collections.singletonList(deleted.getId()));
+
+        final List<TargetUpdatedEvent> allEvents = new ArrayList<>(events);
+        allEvents.add(deletedEvent);
+        RemoteEntityEvent.loadEntities(allEvents);
+
+        for (int i = 0; i < targets.size(); i++) {
+            assertThat(events.get(i).getEntity()).isEqualTo(targets.get(i));
+        }
+        assertThat(deletedEvent.getEntity()).isNull();
+    }
+
     @Override
     protected Target createEntity() {
         return testdataFactory.createTarget("12345");
@@ -101,6 +101,9 @@ public abstract class AbstractJpaIntegrationTest extends AbstractIntegrationTest
     @Autowired
     protected RolloutTestApprovalStrategy approvalStrategy;
 
+    @Autowired
+    protected ArtifactGarbageCollector artifactGarbageCollector;
+
     @Transactional(readOnly = true)
     protected List<Action> findActionsByRolloutAndStatus(final Rollout rollout, final Action.Status actionStatus) {
         return Lists.newArrayList(actionRepository.findByRolloutIdAndStatus(PAGE, rollout.getId(), actionStatus));
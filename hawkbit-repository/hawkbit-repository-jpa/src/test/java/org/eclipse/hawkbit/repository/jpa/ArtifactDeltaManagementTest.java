@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.repository.ArtifactDeltaManagement;
+import org.eclipse.hawkbit.repository.jpa.utils.BsDiff;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ArtifactDelta;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Test class for {@link ArtifactDeltaManagement}.
+ *
+ */
+@Feature("Component Tests - Repository")
+@Story("Artifact Delta Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.artifactDeltaEnabled=true" })
+public class ArtifactDeltaManagementTest extends AbstractJpaIntegrationTest {
+
+    private static final int ARTIFACT_SIZE = 16 * 1024;
+
+    private final Random random = new Random();
+
+    @Test
+    @Description("Verifies that a delta is generated between the corresponding artifacts of two distribution sets "
+            + "and that applying it to the source binary restores the target binary.")
+    public void deltaIsGeneratedBetweenDistributionSets() throws IOException {
+        final byte[] sourceBinary = randomBytes(ARTIFACT_SIZE);
+        final byte[] targetBinary = modify(sourceBinary);
+        final SoftwareModule sourceModule = testdataFactory.createSoftwareModuleOs("v1");
+        final SoftwareModule targetModule = testdataFactory.createSoftwareModuleOs("v2");
+        final Artifact source = createArtifact(sourceBinary, sourceModule, "firmware.bin");
+        final Artifact target = createArtifact(targetBinary, targetModule, "firmware.bin");
+        final DistributionSet sourceSet = createDistributionSet(sourceModule, "v1");
+        final DistributionSet targetSet = createDistributionSet(targetModule, "v2");
+
+        assertThat(artifactDeltaManagement.generateDeltas(sourceSet.getId(), targetSet.getId())).isEqualTo(1);
+
+        final ArtifactDelta delta = awaitDelta(source, target);
+        assertThat(delta.getSize()).isLessThan(targetBinary.length);
+        try (final InputStream inputStream = artifactDeltaManagement.loadDeltaBinary(delta).get()
+                .getFileInputStream()) {
+            assertThat(BsDiff.patch(sourceBinary, IOUtils.toByteArray(inputStream))).isEqualTo(targetBinary);
+        }
+        assertThat(artifactDeltaManagement.generateDeltas(sourceSet.getId(), targetSet.getId())).isZero();
+    }
+
+    @Test
+    @Description("Verifies that assigning a distribution set generates deltas from the installed distribution set "
+            + "of the targets, pairing single artifacts with versioned filenames, and that the deltas are only "
+            + "found for targets with the source installed.")
+    public void deltaIsGeneratedOnAssignment() {
+        final byte[] sourceBinary = randomBytes(ARTIFACT_SIZE);
+        final SoftwareModule sourceModule = testdataFactory.createSoftwareModuleOs("v1");
+        final SoftwareModule targetModule = testdataFactory.createSoftwareModuleOs("v2");
+        final Artifact source = createArtifact(sourceBinary, sourceModule, "firmware-1.0.bin");
+        final Artifact target = createArtifact(modify(sourceBinary), targetModule, "firmware-2.0.bin");
+        final DistributionSet sourceSet = createDistributionSet(sourceModule, "v1");
+        final DistributionSet targetSet = createDistributionSet(targetModule, "v2");
+
+        final Target installed = testdataFactory.createTarget("installed");
+        testdataFactory.createTarget("other");
+        assignDistributionSet(sourceSet.getId(), installed.getControllerId());
+        testdataFactory.sendUpdateActionStatusToTargets(Collections.singletonList(installed), Status.FINISHED,
+                "installed");
+
+        assignDistributionSet(targetSet.getId(), Arrays.asList(installed.getControllerId(), "other"));
+
+        final ArtifactDelta delta = awaitDelta(source, target);
+        final Map<String, List<ArtifactDelta>> deltas = artifactDeltaManagement.findByControllerIdAndTargetSha1Hashes(
+                installed.getControllerId(), Collections.singletonList(target.getSha1Hash()));
+        assertThat(deltas).containsOnlyKeys(target.getSha1Hash());
+        assertThat(deltas.get(target.getSha1Hash())).containsExactly(delta);
+        assertThat(artifactDeltaManagement.findByControllerIdAndTargetSha1Hashes("other",
+                Collections.singletonList(target.getSha1Hash()))).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that no delta is scheduled for identical artifacts.")
+    public void noDeltaForIdenticalArtifacts() {
+        final byte[] binary = randomBytes(ARTIFACT_SIZE);
+        final SoftwareModule sourceModule = testdataFactory.createSoftwareModuleOs("v1");
+        final SoftwareModule targetModule = testdataFactory.createSoftwareModuleOs("v2");
+        createArtifact(binary, sourceModule, "firmware.bin");
+        createArtifact(binary, targetModule, "firmware.bin");
+
+        assertThat(artifactDeltaManagement.generateDeltas(createDistributionSet(sourceModule, "v1").getId(),
+                createDistributionSet(targetModule, "v2").getId())).isZero();
+    }
+
+    private Artifact createArtifact(final byte[] binary, final SoftwareModule module, final String filename) {
+        return testdataFactory.createArtifact(binary, module.getId(), filename, binary.length);
+    }
+
+    private DistributionSet createDistributionSet(final SoftwareModule module, final String prefix) {
+        return testdataFactory.createDistributionSet(Collections.singletonList(module), prefix);
+    }
+
+    private ArtifactDelta awaitDelta(final Artifact source, final Artifact target) {
+        Awaitility.await().pollInSameThread().atMost(10, TimeUnit.SECONDS)
+                .until(() -> artifactDeltaManagement.get(source.getSha1Hash(), target.getSha1Hash()).isPresent());
+        return artifactDeltaManagement.get(source.getSha1Hash(), target.getSha1Hash()).get();
+    }
+
+    private byte[] modify(final byte[] binary) {
+        final byte[] modified = Arrays.copyOf(binary, binary.length + 256);
+        for (int i = 0; i < 32; i++) {
+            modified[random.nextInt(modified.length)] = (byte) random.nextInt();
+        }
+        return modified;
+    }
+
+    private byte[] randomBytes(final int len) {
+        final byte[] bytes = new byte[len];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
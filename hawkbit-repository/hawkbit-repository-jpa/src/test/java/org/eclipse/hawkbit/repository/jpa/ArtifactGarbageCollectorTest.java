@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.repository.exception.ArtifactUploadFailedException;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Test class for the {@link ArtifactGarbageCollector}.
+ *
+ */
+@Feature("Component Tests - Repository")
+@Story("Artifact Garbage Collection")
+public class ArtifactGarbageCollectorTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Test
+    @Description("Verifies that the binary of a deleted artifact is kept until it is collected and that a binary "
+            + "which is referenced again in the meantime is not collected.")
+    public void unreferencedBinaryIsCollected() {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final Artifact deleted = testdataFactory.createArtifact("binary1", module.getId(), "file1");
+        final Artifact reused = testdataFactory.createArtifact("binary2", module.getId(), "file2");
+
+        artifactManagement.delete(deleted.getId());
+        artifactManagement.delete(reused.getId());
+        assertThat(binaryExists(deleted)).isTrue();
+        assertThat(binaryExists(reused)).isTrue();
+
+        testdataFactory.createArtifact("binary2", module.getId(), "file3");
+        assertThat(artifactGarbageCollector.collect()).isEqualTo(1);
+
+        assertThat(binaryExists(deleted)).isFalse();
+        assertThat(binaryExists(reused)).isTrue();
+        assertThat(artifactGarbageCollector.collect()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that a binary which is stored again after it has been marked as unreferenced is not "
+            + "collected, e.g. by an upload whose artifact is not committed yet.")
+    public void binaryStoredAgainAfterMarkIsNotCollected() {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final Artifact artifact = testdataFactory.createArtifact("binary", module.getId(), "file1");
+        artifactManagement.delete(artifact.getId());
+
+        binaryArtifactRepository.store(tenantAware.getCurrentTenant(),
+                new ByteArrayInputStream("binary".getBytes(StandardCharsets.UTF_8)), "file1", null, null);
+
+        assertThat(artifactGarbageCollector.collect()).isZero();
+        assertThat(binaryExists(artifact)).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that the binary of an artifact is not collected if the deletion is rolled back.")
+    public void binaryIsKeptOnRollback() {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final Artifact artifact = testdataFactory.createArtifact("binary", module.getId(), "file1");
+
+        new TransactionTemplate(txManager).execute(status -> {
+            artifactManagement.delete(artifact.getId());
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(artifactGarbageCollector.collect()).isZero();
+        assertThat(artifactManagement.get(artifact.getId())).isPresent();
+        assertThat(binaryExists(artifact)).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that the sweep deletes binaries that are not referenced by any artifact and reports the "
+            + "artifacts whose binary is missing.")
+    public void sweepDeletesOrphansAndReportsMissingBinaries() {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final Artifact artifact = testdataFactory.createArtifact("referenced", module.getId(), "file1");
+        final AbstractDbArtifact orphan = binaryArtifactRepository.store(tenantAware.getCurrentTenant(),
+                new ByteArrayInputStream("orphan".getBytes(StandardCharsets.UTF_8)), "orphan", null, null);
+
+        // the sweep only deletes binaries stored before the grace period
+        Awaitility.await().pollInSameThread().atMost(10, TimeUnit.SECONDS)
+                .until(() -> artifactGarbageCollector.sweep() > 0 && !binaryArtifactRepository
+                        .existsByTenantAndSha1(tenantAware.getCurrentTenant(), orphan.getHashes().getSha1()));
+        assertThat(binaryExists(artifact)).isTrue();
+
+        final long missing = artifactGarbageCollector.getMissing();
+        binaryArtifactRepository.deleteBySha1(tenantAware.getCurrentTenant(), artifact.getSha1Hash());
+        artifactGarbageCollector.sweep();
+        assertThat(artifactGarbageCollector.getMissing()).isEqualTo(missing + 1);
+    }
+
+    @Test
+    @Description("Verifies that an artifact is not created for a binary that has been collected between storing "
+            + "it and writing the metadata, e.g. by the collector of another node.")
+    public void collectedBinaryIsNotReferenced() {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final AbstractDbArtifact binary = binaryArtifactRepository.store(tenantAware.getCurrentTenant(),
+                new ByteArrayInputStream("binary".getBytes(StandardCharsets.UTF_8)), "file1", null, null);
+        binaryArtifactRepository.deleteBySha1(tenantAware.getCurrentTenant(), binary.getHashes().getSha1());
+
+        assertThatExceptionOfType(ArtifactUploadFailedException.class)
+                .isThrownBy(() -> artifactManagement.create(module.getId(), "file1", false, binary));
+        assertThat(artifactManagement.findBySoftwareModule(PAGE, module.getId())).isEmpty();
+    }
+
+    private boolean binaryExists(final Artifact artifact) {
+        return binaryArtifactRepository.existsByTenantAndSha1(tenantAware.getCurrentTenant(),
+                artifact.getSha1Hash());
+    }
+}
@@ -229,6 +229,42 @@ public class ArtifactManagementTest extends AbstractJpaIntegrationTest {
         createArtifactForSoftwareModule("fileXYZ", sm.getId(), artifactSize);
     }
 
+    @Test
+    @Description("Verifies that the artifact storage used by the tenant is maintained on upload, override and "
+            + "deletion of artifacts and software modules.")
+    public void artifactStorageUsedIsMaintained() throws IOException {
+        final JpaSoftwareModule sm1 = softwareModuleRepository
+                .save(new JpaSoftwareModule(osType, "sm1", "1.0", null, null));
+        final JpaSoftwareModule sm2 = softwareModuleRepository
+                .save(new JpaSoftwareModule(osType, "sm2", "1.0", null, null));
+        assertThat(getArtifactStorageUsed()).isZero();
+
+        final int artifactSize = 5 * 1024;
+        final Artifact artifact1 = createArtifactForSoftwareModule("file1", sm1.getId(), artifactSize);
+        createArtifactForSoftwareModule("file2", sm1.getId(), artifactSize);
+        createArtifactForSoftwareModule("file3", sm2.getId(), artifactSize);
+        assertThat(getArtifactStorageUsed()).isEqualTo(3L * artifactSize);
+
+        overrideArtifactForSoftwareModule("file2", sm1.getId(), 2 * artifactSize);
+        assertThat(getArtifactStorageUsed()).isEqualTo(4L * artifactSize);
+        overrideArtifactForSoftwareModule("file2", sm1.getId(), artifactSize);
+        assertThat(getArtifactStorageUsed()).isEqualTo(3L * artifactSize);
+
+        artifactManagement.delete(artifact1.getId());
+        assertThat(getArtifactStorageUsed()).isEqualTo(2L * artifactSize);
+
+        softwareModuleManagement.delete(sm2.getId());
+        assertThat(getArtifactStorageUsed()).isEqualTo(artifactSize);
+
+        softwareModuleManagement.delete(sm1.getId());
+        assertThat(getArtifactStorageUsed()).isZero();
+    }
+
+    private long getArtifactStorageUsed() {
+        return tenantMetaDataRepository.findArtifactStorageUsedByTenantIgnoreCase(tenantAware.getCurrentTenant())
+                .get();
+    }
+
     @Test
     @Description("Verifies that you cannot create artifacts which exceed the configured maximum size.")
     public void createArtifactFailsIfTooLarge() {
@@ -299,6 +335,10 @@ public class ArtifactManagementTest extends AbstractJpaIntegrationTest {
 
             assertThat(artifactRepository.findAll()).hasSize(1);
 
+            assertThat(
+                    binaryArtifactRepository.getArtifactBySha1(tenantAware.getCurrentTenant(), artifact1.getSha1Hash()))
+                            .isNotNull();
+            assertThat(artifactGarbageCollector.collect()).isEqualTo(1);
             assertThat(
                     binaryArtifactRepository.getArtifactBySha1(tenantAware.getCurrentTenant(), artifact1.getSha1Hash()))
                             .isNull();
@@ -307,6 +347,7 @@ public class ArtifactManagementTest extends AbstractJpaIntegrationTest {
                             .isNotNull();
 
             artifactManagement.delete(artifact2.getId());
+            artifactGarbageCollector.collect();
             assertThat(
                     binaryArtifactRepository.getArtifactBySha1(tenantAware.getCurrentTenant(), artifact2.getSha1Hash()))
                             .isNull();
@@ -344,6 +385,7 @@ public class ArtifactManagementTest extends AbstractJpaIntegrationTest {
                             .isNotNull();
 
             artifactManagement.delete(artifact1.getId());
+            artifactGarbageCollector.collect();
             assertThat(
                     binaryArtifactRepository.getArtifactBySha1(tenantAware.getCurrentTenant(), artifact1.getSha1Hash()))
                             .isNotNull();
@@ -351,6 +393,7 @@ public class ArtifactManagementTest extends AbstractJpaIntegrationTest {
             assertThat(artifactRepository.existsById(artifact1.getId())).isFalse();
 
             artifactManagement.delete(artifact2.getId());
+            artifactGarbageCollector.collect();
             assertThat(
                     binaryArtifactRepository.getArtifactBySha1(tenantAware.getCurrentTenant(), artifact1.getSha1Hash()))
                             .isNull();
@@ -502,6 +545,14 @@ public class ArtifactManagementTest extends AbstractJpaIntegrationTest {
         return artifactManagement.create(new ArtifactUpload(inputStream, moduleId, filename, false, artifactSize));
     }
 
+    private Artifact overrideArtifactForSoftwareModule(final String filename, final long moduleId,
+            final int artifactSize) throws IOException {
+        try (final InputStream inputStream = new ByteArrayInputStream(randomBytes(artifactSize))) {
+            return artifactManagement
+                    .create(new ArtifactUpload(inputStream, moduleId, filename, true, artifactSize));
+        }
+    }
+
     private static byte[] randomBytes(final int len) {
         return RandomStringUtils.randomAlphanumeric(len).getBytes();
     }
@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import javax.validation.ValidationException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.repository.ArtifactUploadManagement;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.exception.ArtifactUploadSessionNotFoundException;
+import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
+import org.eclipse.hawkbit.repository.exception.InvalidSHA1HashException;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ArtifactUploadSession;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.test.util.HashGeneratorUtils;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Test class for {@link ArtifactUploadManagement}.
+ *
+ */
+@Feature("Component Tests - Repository")
+@Story("Artifact Upload Management")
+public class ArtifactUploadManagementTest extends AbstractJpaIntegrationTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    @Autowired
+    private ArtifactUploadManagement artifactUploadManagement;
+
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    @Test
+    @Description("Verifies that chunks uploaded in parallel and out of order are assembled into the artifact and "
+            + "that the incrementally calculated hashes match the binary.")
+    public void parallelChunksAreAssembledAndHashed() throws Exception {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final byte[] binary = randomBytes(10 * CHUNK_SIZE + 100);
+        final ArtifactUploadSession session = artifactUploadManagement.createSession(module.getId(), "file1",
+                binary.length, null, new DbArtifactHash(HashGeneratorUtils.generateSHA1(binary), null, null));
+
+        final List<Integer> offsets = new ArrayList<>();
+        for (int offset = 0; offset < binary.length; offset += CHUNK_SIZE) {
+            offsets.add(offset);
+        }
+        Collections.reverse(offsets);
+
+        final ExecutorService executor = new DelegatingSecurityContextExecutorService(
+                Executors.newFixedThreadPool(4));
+        try {
+            final List<Future<ArtifactUploadSession>> uploads = new ArrayList<>();
+            offsets.forEach(offset -> uploads.add(executor.submit(() -> uploadChunk(session, binary, offset))));
+            for (final Future<ArtifactUploadSession> upload : uploads) {
+                upload.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(artifactUploadManagement.getSession(session.getId()).get().isComplete()).isTrue();
+
+        final Artifact artifact = artifactUploadManagement.commitSession(session.getId());
+
+        assertThat(artifact.getFilename()).isEqualTo("file1");
+        assertThat(artifact.getSize()).isEqualTo(binary.length);
+        assertThat(artifact.getSha1Hash()).isEqualTo(HashGeneratorUtils.generateSHA1(binary));
+        assertThat(artifact.getMd5Hash()).isEqualTo(HashGeneratorUtils.generateMD5(binary));
+        assertThat(artifact.getSha256Hash()).isEqualTo(HashGeneratorUtils.generateSHA256(binary));
+        assertEqualFileContents(artifact, binary);
+        assertThat(artifactUploadManagement.getSession(session.getId())).isNotPresent();
+    }
+
+    @Test
+    @Description("Verifies that an incomplete upload cannot be committed, reports the received ranges to resume "
+            + "and accepts repeated chunks.")
+    public void incompleteUploadIsResumedByReceivedRanges() throws IOException {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final byte[] binary = randomBytes(3 * CHUNK_SIZE);
+        final ArtifactUploadSession session = artifactUploadManagement.createSession(module.getId(), "file1",
+                binary.length, null, null);
+
+        uploadChunk(session, binary, 0);
+        final ArtifactUploadSession resumed = uploadChunk(session, binary, 2 * CHUNK_SIZE);
+        assertThat(resumed.getReceived()).isEqualTo(2 * CHUNK_SIZE);
+        assertThat(resumed.getReceivedRanges()).hasSize(2);
+        assertThat(resumed.getReceivedRanges().get(0).getEnd()).isEqualTo(CHUNK_SIZE - 1);
+        assertThat(resumed.getReceivedRanges().get(1).getStart()).isEqualTo(2 * CHUNK_SIZE);
+
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> artifactUploadManagement.commitSession(session.getId()));
+
+        uploadChunk(session, binary, 0);
+        uploadChunk(session, binary, CHUNK_SIZE);
+        final Artifact artifact = artifactUploadManagement.commitSession(session.getId());
+
+        assertThat(artifact.getSha1Hash()).isEqualTo(HashGeneratorUtils.generateSHA1(binary));
+        assertEqualFileContents(artifact, binary);
+    }
+
+    @Test
+    @Description("Verifies that a chunk overlapping a chunk in progress is rejected and that an overlapping chunk "
+            + "with different content does not overwrite the received bytes, so the hashes match the binary.")
+    public void overlappingChunksDoNotOverwriteReceivedBytes() throws Exception {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final byte[] binary = randomBytes(3 * CHUNK_SIZE);
+        final byte[] other = randomBytes(3 * CHUNK_SIZE);
+        final ArtifactUploadSession session = artifactUploadManagement.createSession(module.getId(), "file1",
+                binary.length, null, null);
+
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final InputStream blocking = new FilterInputStream(new ByteArrayInputStream(binary, 0, CHUNK_SIZE)) {
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+                return super.read(b, off, len);
+            }
+        };
+
+        final ExecutorService executor = new DelegatingSecurityContextExecutorService(
+                Executors.newSingleThreadExecutor());
+        try {
+            final Future<ArtifactUploadSession> inProgress = executor.submit(
+                    () -> artifactUploadManagement.uploadChunk(session.getId(), 0, blocking, CHUNK_SIZE));
+            reading.await();
+            assertThatExceptionOfType(ValidationException.class)
+                    .isThrownBy(() -> uploadChunk(session, other, CHUNK_SIZE / 2));
+            release.countDown();
+            inProgress.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        uploadChunk(session, other, CHUNK_SIZE / 2);
+        uploadChunk(session, binary, CHUNK_SIZE + CHUNK_SIZE / 2);
+        uploadChunk(session, binary, 2 * CHUNK_SIZE + CHUNK_SIZE / 2);
+        final Artifact artifact = artifactUploadManagement.commitSession(session.getId());
+
+        final byte[] expected = binary.clone();
+        System.arraycopy(other, CHUNK_SIZE, expected, CHUNK_SIZE, CHUNK_SIZE / 2);
+        assertThat(artifact.getSha1Hash()).isEqualTo(HashGeneratorUtils.generateSHA1(expected));
+        assertEqualFileContents(artifact, expected);
+    }
+
+    @Test
+    @Description("Verifies that an upload with a binary not matching the provided hash does not create an "
+            + "artifact and that an aborted upload is removed.")
+    public void mismatchingAndAbortedUploadsCreateNoArtifact() {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final byte[] binary = randomBytes(CHUNK_SIZE);
+
+        final ArtifactUploadSession mismatching = artifactUploadManagement.createSession(module.getId(), "file1",
+                binary.length, null, new DbArtifactHash("0000000000000000000000000000000000000000", null, null));
+        uploadChunk(mismatching, binary, 0);
+        assertThatExceptionOfType(InvalidSHA1HashException.class)
+                .isThrownBy(() -> artifactUploadManagement.commitSession(mismatching.getId()));
+        assertThat(artifactUploadManagement.getSession(mismatching.getId())).isNotPresent();
+
+        final ArtifactUploadSession aborted = artifactUploadManagement.createSession(module.getId(), "file1",
+                binary.length, null, null);
+        uploadChunk(aborted, binary, 0);
+        artifactUploadManagement.abortSession(aborted.getId());
+        assertThatExceptionOfType(ArtifactUploadSessionNotFoundException.class)
+                .isThrownBy(() -> artifactUploadManagement.commitSession(aborted.getId()));
+
+        assertThat(artifactManagement.count()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that an upload is rejected for an existing filename and for chunks exceeding the size.")
+    public void invalidUploadsAreRejected() {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        testdataFactory.createArtifact("existing", module.getId(), "file1");
+        assertThatExceptionOfType(EntityAlreadyExistsException.class)
+                .isThrownBy(() -> artifactUploadManagement.createSession(module.getId(), "file1", 10, null, null));
+
+        final ArtifactUploadSession session = artifactUploadManagement.createSession(module.getId(), "file2",
+                CHUNK_SIZE, null, null);
+        assertThatExceptionOfType(ValidationException.class).isThrownBy(() -> artifactUploadManagement
+                .uploadChunk(session.getId(), 10, new ByteArrayInputStream(new byte[CHUNK_SIZE]), CHUNK_SIZE));
+    }
+
+    @Test
+    @Description("Verifies that the uploads in the directories of other nodes are deleted only after they have "
+            + "expired.")
+    public void onlyExpiredUploadsOfOtherNodesAreDeleted() throws IOException {
+        final Path uploadPath = Files.createTempDirectory("uploads");
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final long now = System.currentTimeMillis();
+            final File active = createUpload(uploadPath.resolve("node1").resolve("session1"), now);
+            final File expired = createUpload(uploadPath.resolve("node2").resolve("session2"),
+                    now - 2 * repositoryProperties.getArtifactUploadSessionTimeout());
+
+            new JpaArtifactUploadManagement(null, null, null, null, null, null, null, repositoryProperties,
+                    uploadPath, executor);
+
+            assertThat(active).exists();
+            assertThat(expired).doesNotExist();
+        } finally {
+            executor.shutdownNow();
+            FileUtils.deleteQuietly(uploadPath.toFile());
+        }
+    }
+
+    private static File createUpload(final Path sessionDirectory, final long lastModified) throws IOException {
+        final File data = Files.createDirectories(sessionDirectory).resolve("data").toFile();
+        FileUtils.touch(data);
+        assertThat(data.setLastModified(lastModified)).isTrue();
+        return sessionDirectory.toFile();
+    }
+
+    private ArtifactUploadSession uploadChunk(final ArtifactUploadSession session, final byte[] binary,
+            final int offset) {
+        final int length = Math.min(CHUNK_SIZE, binary.length - offset);
+        return artifactUploadManagement.uploadChunk(session.getId(), offset,
+                new ByteArrayInputStream(binary, offset, length), length);
+    }
+
+    private void assertEqualFileContents(final Artifact artifact, final byte[] binary) throws IOException {
+        try (final InputStream inputStream = artifactManagement.loadArtifactBinary(artifact.getSha1Hash()).get()
+                .getFileInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(binary);
+        }
+    }
+
+    private static byte[] randomBytes(final int len) {
+        return RandomStringUtils.randomAlphanumeric(len).getBytes();
+    }
+}
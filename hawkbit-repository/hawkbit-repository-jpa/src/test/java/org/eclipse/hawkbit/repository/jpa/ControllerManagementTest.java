@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -35,6 +36,7 @@ import javax.validation.ConstraintViolationException;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.RandomUtils;
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.UpdateMode;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
@@ -62,12 +64,15 @@ import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.ArtifactUpload;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
+import org.eclipse.hawkbit.repository.model.DistributionSetSnapshot;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleSnapshot;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
+import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
 import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -677,6 +682,34 @@ public class ControllerManagementTest extends AbstractJpaIntegrationTest {
         result.forEach((key, value) -> assertThat(value).hasSize(1));
     }
 
+    @Test
+    @Description("Verifies that the distribution set snapshot is served from the cache until the metadata or the "
+            + "artifacts of one of its modules change.")
+    public void distributionSetSnapshotIsReplacedOnChange() {
+        final DistributionSet set = testdataFactory.createDistributionSet();
+        final SoftwareModule module = set.getModules().iterator().next();
+        assertThat(controllerManagement.getDistributionSetSnapshot(NOT_EXIST_IDL)).isNotPresent();
+
+        final DistributionSetSnapshot initial = controllerManagement.getDistributionSetSnapshot(set.getId()).get();
+        assertThat(initial.getName()).isEqualTo(set.getName());
+        assertThat(initial.getModules()).hasSize(3).allMatch(sm -> sm.getMetadata().isEmpty());
+        assertThat(controllerManagement.getDistributionSetSnapshot(set.getId()).get()).isSameAs(initial);
+
+        testdataFactory.addSoftwareModuleMetadata(set);
+        Awaitility.await().pollInSameThread().atMost(10, TimeUnit.SECONDS)
+                .until(() -> controllerManagement.getDistributionSetSnapshot(set.getId()).get().getModules().stream()
+                        .allMatch(sm -> sm.getMetadata().size() == 1 && TestdataFactory.VISIBLE_SM_MD_VALUE
+                                .equals(sm.getMetadata().get(TestdataFactory.VISIBLE_SM_MD_KEY))));
+
+        testdataFactory.createArtifacts(module.getId());
+        final SoftwareModuleSnapshot withArtifacts = controllerManagement.getSoftwareModuleSnapshot(module.getId())
+                .get();
+        assertThat(withArtifacts.getArtifacts()).hasSize(3)
+                .allMatch(artifact -> artifact.getSoftwareModuleId() == module.getId());
+        assertThat(controllerManagement.getDistributionSetSnapshot(set.getId()).get().getModules().stream()
+                .filter(sm -> sm.getId() == module.getId()).findAny().get().getArtifacts()).hasSize(3);
+    }
+
     @Test
     @Description("Verify that controller registration does not result in a TargetPollEvent if feature is disabled")
     @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
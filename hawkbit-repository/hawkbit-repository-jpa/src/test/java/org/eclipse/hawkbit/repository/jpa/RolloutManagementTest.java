@@ -50,6 +50,7 @@ import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupActionCountReconciler;
 import org.eclipse.hawkbit.repository.jpa.utils.MultipleInvokeHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.SuccessCondition;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -68,6 +69,7 @@ import org.eclipse.hawkbit.repository.model.RolloutGroupConditionBuilder;
 import org.eclipse.hawkbit.repository.model.RolloutGroupConditions;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
 import org.eclipse.hawkbit.repository.model.TotalTargetCountStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
@@ -75,6 +77,7 @@ import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.T
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
@@ -92,6 +95,12 @@ import io.qameta.allure.Story;
 @Story("Rollout Management")
 public class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
+    @Autowired
+    private RolloutGroupActionCountRepository rolloutGroupActionCountRepository;
+
+    @Autowired
+    private RolloutGroupActionCountReconciler rolloutGroupActionCountReconciler;
+
     @Before
     @After
     public void reset() {
@@ -696,6 +705,38 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
         validateRolloutActionStatus(createdRollout.getId(), validationMap);
     }
 
+    @Test
+    @Description("Verifies that the action status counters of the rollout groups follow the actions of the groups "
+            + "and that drifted counters are repaired by the reconciliation.")
+    public void rolloutGroupActionCountersFollowActionsAndAreReconciled() {
+        final Rollout createdRollout = createAndStartRollout(10, 0, 2, "100", "80");
+        final List<Long> groupIds = rolloutGroupManagement.findByRollout(PAGE, createdRollout.getId()).getContent()
+                .stream().map(RolloutGroup::getId).collect(Collectors.toList());
+
+        changeStatusForRunningActions(createdRollout, Status.FINISHED, 2);
+        changeStatusForRunningActions(createdRollout, Status.ERROR, 1);
+        final List<JpaAction> scheduledActions = actionRepository
+                .findByRolloutIdAndStatus(PAGE, createdRollout.getId(), Status.SCHEDULED).getContent();
+        targetManagement.delete(Arrays.asList(scheduledActions.get(0).getTarget().getId()));
+        assertCountersMatchActions(groupIds);
+        assertThat(rolloutGroupActionCountReconciler.reconcile()).isZero();
+
+        rolloutGroupActionCountRepository.setCount(groupIds.get(0), Status.RUNNING, 42);
+        assertThat(rolloutGroupActionCountReconciler.reconcile()).isEqualTo(1);
+        assertCountersMatchActions(groupIds);
+    }
+
+    private void assertCountersMatchActions(final List<Long> groupIds) {
+        final Map<Long, Map<Status, Long>> actual = actionRepository.getStatusCountByRolloutGroupId(groupIds)
+                .stream().collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId, Collectors
+                        .toMap(TotalTargetCountActionStatus::getStatus, TotalTargetCountActionStatus::getCount)));
+        final Map<Long, Map<Status, Long>> counted = rolloutGroupActionCountRepository
+                .getStatusCountByRolloutGroupId(groupIds).stream()
+                .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId, Collectors
+                        .toMap(TotalTargetCountActionStatus::getStatus, TotalTargetCountActionStatus::getCount)));
+        assertThat(counted).isEqualTo(actual);
+    }
+
     @Test
     @Description("Verify that the targets have the right status during the rollout when receiving the status of rollout groups.")
     public void countCorrectStatusForEachTargetGroupDuringRollout() {
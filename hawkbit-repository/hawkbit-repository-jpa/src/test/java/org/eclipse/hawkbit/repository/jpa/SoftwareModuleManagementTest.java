@@ -494,6 +494,7 @@ public class SoftwareModuleManagementTest extends AbstractJpaIntegrationTest {
     }
 
     private void assertArtifactNotNull(final Artifact... results) {
+        artifactGarbageCollector.collect();
         assertThat(artifactRepository.findAll()).hasSize(results.length);
         for (final Artifact result : results) {
             assertThat(result.getId()).isNotNull();
@@ -503,6 +504,7 @@ public class SoftwareModuleManagementTest extends AbstractJpaIntegrationTest {
     }
 
     private void assertArtifactNull(final Artifact... results) {
+        artifactGarbageCollector.collect();
         for (final Artifact result : results) {
             assertThat(binaryArtifactRepository.getArtifactBySha1(tenantAware.getCurrentTenant(), result.getSha1Hash()))
                     .isNull();
@@ -9,19 +9,29 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 
 import java.io.ByteArrayInputStream;
 import java.util.List;
 import java.util.Random;
 
 import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.exception.TenantNotExistException;
 import org.eclipse.hawkbit.repository.model.ArtifactUpload;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantDeletion;
 import org.eclipse.hawkbit.repository.report.model.TenantUsage;
+import org.eclipse.hawkbit.repository.test.util.HashGeneratorUtils;
 import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -31,6 +41,18 @@ import io.qameta.allure.Story;
 @Story("System Management")
 public class SystemManagementTest extends AbstractJpaIntegrationTest {
 
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    @Autowired
+    private TenantDeletionRepository tenantDeletionRepository;
+
+    @Autowired
+    private TenantDeletionGuard tenantDeletionGuard;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
     @Test
     @Description("Ensures that findTenants returns all tenants and not only restricted to the tenant which currently is logged in")
     public void findTenantsReturnsAllTenantsNotOnlyWhichLoggedIn() throws Exception {
@@ -94,6 +116,70 @@ public class SystemManagementTest extends AbstractJpaIntegrationTest {
                 new TenantUsage("tenant1").setTargets(100).setActions(200));
     }
 
+    @Test
+    @Description("Verifies that a deleted tenant is rejected right away, that its data is deleted in chunks by the "
+            + "background deletion and that the tenant can be created again afterwards.")
+    public void deletedTenantIsRejectedUntilItsDataIsDeleted() throws Exception {
+        final byte[] random = createTestTenantsForSystemStatistics(1, 1234, 20, 2);
+        final String sha1Hash = HashGeneratorUtils.generateSHA1(random);
+
+        systemManagement.deleteTenant("tenant0");
+
+        assertThat(systemManagement.findTenants(PAGE).getContent()).hasSize(1);
+        final TenantDeletion deletion = systemManagement.getTenantDeletion("tenant0").get();
+        assertThat(deletion.getStep()).isEqualTo("ACTION_STATUS");
+        assertThat(deletion.getDeletedRows()).isZero();
+        assertThatExceptionOfType(TenantNotExistException.class).isThrownBy(() -> securityRule.runAs(
+                WithSpringAuthorityRule.withUserAndTenant("bumlux", "tenant0", false, true, false),
+                () -> targetManagement.count()));
+        assertThatExceptionOfType(TenantNotExistException.class).isThrownBy(
+                () -> systemSecurityContext.runAsSystem(() -> systemManagement.getTenantMetadata("tenant0")));
+
+        final int chunkSize = repositoryProperties.getTenantDeletionChunkSize();
+        repositoryProperties.setTenantDeletionChunkSize(7);
+        try {
+            assertThat(systemSecurityContext.runAsSystem(() -> systemManagement.runTenantDeletion("tenant0")))
+                    .isTrue();
+        } finally {
+            repositoryProperties.setTenantDeletionChunkSize(chunkSize);
+        }
+
+        assertThat(systemManagement.getTenantDeletion("tenant0")).isNotPresent();
+        assertThat(systemManagement.getSystemUsageStatistics().getOverallTargets()).isZero();
+        assertThat(systemManagement.getSystemUsageStatistics().getOverallActions()).isZero();
+        assertThat(systemManagement.getSystemUsageStatistics().getOverallArtifacts()).isZero();
+        assertThat(binaryArtifactRepository.existsByTenantAndSha1("tenant0", sha1Hash)).isFalse();
+
+        systemSecurityContext.runAsSystem(() -> systemManagement.getTenantMetadata("tenant0"));
+        assertThat(systemManagement.findTenants(PAGE).getContent()).hasSize(2);
+    }
+
+    @Test
+    @Description("Verifies that an interrupted tenant deletion is continued at its last checkpoint.")
+    public void interruptedTenantDeletionIsResumed() throws Exception {
+        final byte[] random = createTestTenantsForSystemStatistics(1, 1234, 10, 1);
+        final String sha1Hash = HashGeneratorUtils.generateSHA1(random);
+        systemManagement.deleteTenant("tenant0");
+
+        final ArtifactGarbageCollector failingCollector = mock(ArtifactGarbageCollector.class);
+        doThrow(new IllegalStateException("interrupted")).when(failingCollector).deleteByTenant(anyString());
+        final TenantDeleter interruptedDeleter = new TenantDeleter(entityManager, tenantDeletionRepository,
+                tenantDeletionGuard, failingCollector, tenantAware, repositoryProperties, txManager);
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> systemSecurityContext.runAsSystem(() -> interruptedDeleter.delete("tenant0")));
+
+        final TenantDeletion deletion = systemManagement.getTenantDeletion("tenant0").get();
+        assertThat(deletion.getStep()).isEqualTo("ARTIFACT_BINARY");
+        assertThat(deletion.getDeletedRows()).isPositive();
+        assertThat(systemManagement.getSystemUsageStatistics().getOverallTargets()).isZero();
+        assertThat(binaryArtifactRepository.existsByTenantAndSha1("tenant0", sha1Hash)).isTrue();
+
+        assertThat(systemSecurityContext.runAsSystem(() -> systemManagement.runTenantDeletion("tenant0"))).isTrue();
+
+        assertThat(systemManagement.getTenantDeletion("tenant0")).isNotPresent();
+        assertThat(binaryArtifactRepository.existsByTenantAndSha1("tenant0", sha1Hash)).isFalse();
+    }
+
     private byte[] createTestTenantsForSystemStatistics(final int tenants, final int artifactSize, final int targets,
             final int updates) throws Exception {
         final Random randomgen = new Random();
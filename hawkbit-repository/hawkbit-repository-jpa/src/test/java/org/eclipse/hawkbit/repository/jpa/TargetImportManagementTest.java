@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.im.authentication.SpPermission;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
+import org.eclipse.hawkbit.repository.event.remote.TargetsImportedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetTagCreatedEvent;
+import org.eclipse.hawkbit.repository.exception.InsufficientPermissionException;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetImportJob;
+import org.eclipse.hawkbit.repository.model.TargetImportJob.Status;
+import org.eclipse.hawkbit.repository.model.TargetImportRequest.Format;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.test.matcher.Expect;
+import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
+import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
+import org.eclipse.hawkbit.repository.test.util.WithUser;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Test class for {@link TargetImportManagement}.
+ *
+ */
+@Feature("Component Tests - Repository")
+@Story("Target Import Management")
+public class TargetImportManagementTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private TargetImportManagement targetImportManagement;
+
+    @Test
+    @Description("Verifies that a CSV import creates the valid targets in one pass, skips existing and duplicate "
+            + "targets, assigns the requested tag and publishes one event for the chunk.")
+    @ExpectEvents({ @Expect(type = TargetCreatedEvent.class, count = 1),
+            @Expect(type = TargetTagCreatedEvent.class, count = 1),
+            @Expect(type = TargetsImportedEvent.class, count = 1) })
+    public void importCsvCreatesTargetsAndSkipsExisting() {
+        testdataFactory.createTarget("existing");
+        final TargetTag tag = targetTagManagement.create(entityFactory.tag().create().name("imported"));
+        final List<TargetImportJob> progress = new ArrayList<>();
+
+        final TargetImportJob job = targetImportManagement.importTargets(
+                stream("import-1,First\nimport-2\n\nexisting,Existing\nin valid,Invalid\nimport-1,Duplicate\n"),
+                TargetImportManagement.importRequest(Format.CSV).setDescription("bulk")
+                        .setTagIds(Collections.singletonList(tag.getId())).build(),
+                progress::add);
+
+        assertThat(job.getStatus()).isEqualTo(Status.FINISHED);
+        assertThat(job.getProcessed()).isEqualTo(5);
+        assertThat(job.getCreated()).isEqualTo(2);
+        assertThat(job.getSkipped()).isEqualTo(2);
+        assertThat(job.getFailed()).isEqualTo(1);
+        assertThat(progress).isNotEmpty();
+        assertThat(progress.get(progress.size() - 1).getStatus()).isEqualTo(Status.FINISHED);
+
+        final Target first = targetManagement.getByControllerID("import-1").get();
+        assertThat(first.getName()).isEqualTo("First");
+        assertThat(first.getDescription()).isEqualTo("bulk");
+        assertThat(first.getSecurityToken()).isNotEmpty();
+        assertThat(first.getUpdateStatus()).isEqualTo(TargetUpdateStatus.UNKNOWN);
+        assertThat(first.isRequestControllerAttributes()).isTrue();
+        assertThat(targetManagement.getByControllerID("import-2").get().getName()).isEqualTo("import-2");
+        assertThat(targetManagement.getByControllerID("existing").get().getName()).isEqualTo("existing");
+
+        assertThat(targetManagement.findByTag(PAGE, tag.getId()).getContent()).extracting(Target::getControllerId)
+                .containsOnly("import-1", "import-2");
+    }
+
+    @Test
+    @Description("Verifies that an import which assigns tags requires the permission to update targets.")
+    public void importWithTagsRequiresUpdatePermission() throws Exception {
+        final TargetTag tag = targetTagManagement.create(entityFactory.tag().create().name("imported"));
+        final WithUser creator = WithSpringAuthorityRule.withUser("creator", false, SpPermission.CREATE_TARGET);
+
+        assertThatExceptionOfType(InsufficientPermissionException.class)
+                .isThrownBy(() -> securityRule.runAs(creator,
+                        () -> targetImportManagement.importTargets(stream("import-1\n"),
+                                TargetImportManagement.importRequest(Format.CSV)
+                                        .setTagIds(Collections.singletonList(tag.getId())).build(),
+                                progress -> {
+                                })));
+        assertThat(targetManagement.getByControllerID("import-1")).isNotPresent();
+
+        final TargetImportJob job = securityRule.runAs(creator, () -> targetImportManagement
+                .importTargets(stream("import-1\n"), TargetImportManagement.importRequest(Format.CSV).build(),
+                        progress -> {
+                        }));
+        assertThat(job.getCreated()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that an NDJSON import spanning multiple chunks creates all targets and assigns the "
+            + "requested distribution set.")
+    public void importNdjsonAssignsDistributionSetInChunks() {
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        final int targets = Constants.MAX_ENTRIES_IN_STATEMENT + 1;
+        final String ndjson = IntStream.range(0, targets)
+                .mapToObj(i -> "{\"controllerId\":\"json-" + i + "\",\"name\":\"Json " + i
+                        + "\",\"address\":\"http://127.0.0.1\"}")
+                .collect(Collectors.joining("\n"));
+
+        final TargetImportJob job = targetImportManagement.importTargets(stream(ndjson + "\n{broken"),
+                TargetImportManagement.importRequest(Format.NDJSON).setDistributionSetId(ds.getId()).build(),
+                progress -> {
+                });
+
+        assertThat(job.getStatus()).isEqualTo(Status.FINISHED);
+        assertThat(job.getCreated()).isEqualTo(targets);
+        assertThat(job.getFailed()).isEqualTo(1);
+        assertThat(targetManagement.countByAssignedDistributionSet(ds.getId())).isEqualTo(targets);
+
+        final Target target = targetManagement.getByControllerID("json-" + (targets - 1)).get();
+        assertThat(target.getName()).isEqualTo("Json " + (targets - 1));
+        assertThat(target.getAddress().toString()).isEqualTo("http://127.0.0.1");
+    }
+
+    @Test
+    @Description("Verifies that an asynchronous import can be followed by its job until it is finished and that "
+            + "an import referring to a not existing tag is rejected.")
+    public void asynchronousImportIsReportedByJob() {
+        final TargetImportJob started = targetImportManagement.startImport(stream("async-1\nasync-2\n"),
+                TargetImportManagement.importRequest(Format.CSV).build());
+        assertThat(targetImportManagement.getImportJob(started.getId())).isPresent();
+
+        Awaitility.await().pollInSameThread().atMost(10, TimeUnit.SECONDS).until(
+                () -> targetImportManagement.getImportJob(started.getId()).get().getStatus() == Status.FINISHED);
+        assertThat(targetImportManagement.getImportJob(started.getId()).get().getCreated()).isEqualTo(2);
+        assertThat(targetManagement.getByControllerID("async-1")).isPresent();
+        assertThat(targetImportManagement.getImportJob(NOT_EXIST_ID)).isNotPresent();
+
+        verifyThrownExceptionBy(() -> targetImportManagement.importTargets(stream("tagged"),
+                TargetImportManagement.importRequest(Format.CSV).setTagIds(Collections.singletonList(NOT_EXIST_IDL))
+                        .build(),
+                progress -> {
+                }), "TargetTag");
+    }
+
+    private static InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
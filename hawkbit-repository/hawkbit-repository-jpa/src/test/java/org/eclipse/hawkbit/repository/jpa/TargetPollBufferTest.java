@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Controller Management")
+public class TargetPollBufferTest {
+
+    private final AtomicInteger flushRequests = new AtomicInteger();
+
+    private final TargetPollBuffer underTest = new TargetPollBuffer(3, flushRequests::incrementAndGet);
+
+    @Test
+    @Description("Verifies that repeated polls of a target are coalesced to the latest timestamp per tenant.")
+    public void pollsAreCoalescedPerTenantAndTarget() {
+        underTest.add("tenant1", "target1", 10L);
+        underTest.add("tenant1", "target1", 30L);
+        underTest.add("tenant1", "target1", 20L);
+        underTest.add("tenant1", "target2", 5L);
+        underTest.add("tenant2", "target1", 7L);
+        assertThat(underTest.size()).isEqualTo(3);
+
+        final Map<String, Map<String, Long>> drained = underTest.drain();
+
+        assertThat(drained).hasSize(2);
+        assertThat(drained.get("tenant1")).hasSize(2).containsEntry("target1", 30L).containsEntry("target2", 5L);
+        assertThat(drained.get("tenant2")).hasSize(1).containsEntry("target1", 7L);
+        assertThat(underTest.size()).isZero();
+        assertThat(underTest.drain()).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that a flush is requested once the threshold is reached until the buffer is drained.")
+    public void flushIsRequestedOnThreshold() {
+        underTest.add("tenant", "target1", 1L);
+        underTest.add("tenant", "target1", 2L);
+        assertThat(flushRequests.get()).isZero();
+
+        underTest.add("tenant", "target1", 3L);
+        underTest.add("tenant", "target2", 3L);
+        assertThat(flushRequests.get()).isEqualTo(1);
+
+        underTest.drain();
+        underTest.flushed(2, 1_000L);
+        assertThat(underTest.getFlushedPolls()).isEqualTo(2);
+        assertThat(underTest.getLastFlushDuration()).isEqualTo(1_000L);
+
+        for (int i = 0; i < 3; i++) {
+            underTest.add("tenant", "target" + i, 4L);
+        }
+        assertThat(flushRequests.get()).isEqualTo(2);
+    }
+}
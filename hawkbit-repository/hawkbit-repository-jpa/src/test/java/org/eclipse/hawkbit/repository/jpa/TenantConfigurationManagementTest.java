@@ -17,14 +17,18 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.hawkbit.repository.exception.InvalidTenantConfigurationKeyException;
+import org.eclipse.hawkbit.repository.model.TenantConfigurationSnapshot;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
 import org.eclipse.hawkbit.tenancy.configuration.DurationHelper;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationValidatorException;
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -36,6 +40,9 @@ public class TenantConfigurationManagementTest extends AbstractJpaIntegrationTes
 
     private Environment environment = null;
 
+    @Autowired
+    private PlatformTransactionManager txManager;
+
     @Override
     public void setEnvironment(final Environment environment) {
         this.environment = environment;
@@ -256,6 +263,48 @@ public class TenantConfigurationManagementTest extends AbstractJpaIntegrationTes
         });
     }
 
+    @Test
+    @Description("Verifies that the configuration snapshot is served until the tenant configuration changes and "
+            + "is replaced by a snapshot with a higher version afterwards.")
+    public void configurationSnapshotIsReplacedOnChange() {
+        final TenantConfigurationSnapshot initial = tenantConfigurationManagement.getConfigurationSnapshot();
+        assertThat(initial.getPollingTime()).isEqualTo(tenantConfigurationManagement
+                .getGlobalConfigurationValue(TenantConfigurationKey.POLLING_TIME_INTERVAL, String.class));
+        assertThat(tenantConfigurationManagement.getConfigurationSnapshot()).isSameAs(initial);
+
+        tenantConfigurationManagement.addOrUpdateConfiguration(TenantConfigurationKey.POLLING_TIME_INTERVAL,
+                "00:07:00");
+        final TenantConfigurationSnapshot updated = tenantConfigurationManagement.getConfigurationSnapshot();
+        assertThat(updated.getVersion()).isGreaterThan(initial.getVersion());
+        assertThat(updated.getPollingTime()).isEqualTo("00:07:00");
+        assertThat(updated.getMinPollingTime()).isEqualTo(initial.getMinPollingTime());
+
+        tenantConfigurationManagement.deleteConfiguration(TenantConfigurationKey.POLLING_TIME_INTERVAL);
+        final TenantConfigurationSnapshot deleted = tenantConfigurationManagement.getConfigurationSnapshot();
+        assertThat(deleted.getVersion()).isGreaterThan(updated.getVersion());
+        assertThat(deleted.getPollingTime()).isEqualTo(initial.getPollingTime());
+    }
+
+    @Test
+    @Description("Verifies that a snapshot read in a transaction that changes the configuration is not cached, so "
+            + "the changes are not served after the transaction has been rolled back.")
+    public void rolledBackChangeIsNotServedBySnapshot() {
+        final TenantConfigurationSnapshot initial = tenantConfigurationManagement.getConfigurationSnapshot();
+
+        new TransactionTemplate(txManager).execute(status -> {
+            tenantConfigurationManagement.addOrUpdateConfiguration(TenantConfigurationKey.POLLING_TIME_INTERVAL,
+                    "00:07:00");
+            assertThat(tenantConfigurationManagement.getConfigurationSnapshot().getPollingTime())
+                    .isEqualTo("00:07:00");
+            status.setRollbackOnly();
+            return null;
+        });
+
+        final TenantConfigurationSnapshot current = tenantConfigurationManagement.getConfigurationSnapshot();
+        assertThat(current.getVersion()).isGreaterThan(initial.getVersion());
+        assertThat(current.getPollingTime()).isEqualTo(initial.getPollingTime());
+    }
+
     @Test
     @Description("Get TenantConfigurationKeyByName")
     public void getTenantConfigurationKeyByName() {
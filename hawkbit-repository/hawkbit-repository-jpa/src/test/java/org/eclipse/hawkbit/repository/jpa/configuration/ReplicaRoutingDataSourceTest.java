@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Read replica routing")
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String PINNED = "org.eclipse.hawkbit.repository.jpa.JpaControllerManagement";
+
+    private final EmbeddedDatabase primary = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+            .setName("primary").build();
+    private final EmbeddedDatabase replica = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+            .setName("replica").build();
+    private final EmbeddedDatabase secondReplica = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+            .setName("second").build();
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private String tenant = "tenant";
+
+    @After
+    public void tearDown() {
+        endTransaction();
+        primary.shutdown();
+        replica.shutdown();
+        secondReplica.shutdown();
+    }
+
+    @Test
+    @Description("Verifies that read-only transactions are served by the replica and everything else by the primary.")
+    public void readOnlyTransactionsAreRoutedToReplica() throws SQLException {
+        final ReplicaRoutingDataSource underTest = createRoutingDataSource(replica, 0);
+
+        assertThat(databaseOf(underTest)).isEqualTo("primary");
+
+        beginTransaction("org.eclipse.hawkbit.repository.jpa.JpaTargetManagement.findAll", false);
+        assertThat(databaseOf(underTest)).isEqualTo("primary");
+        endTransaction();
+
+        beginTransaction("org.eclipse.hawkbit.repository.jpa.JpaTargetManagement.findAll", true);
+        assertThat(databaseOf(underTest)).isEqualTo("replica");
+        endTransaction();
+
+        beginTransaction(PINNED + ".findActiveActionWithHighestWeight", true);
+        assertThat(databaseOf(underTest)).as("pinned transaction").isEqualTo("primary");
+    }
+
+    @Test
+    @Description("Verifies that a tenant reads from the primary within the window after its last write.")
+    public void tenantReadsItsWritesFromPrimary() throws SQLException {
+        final ReplicaRoutingDataSource underTest = createRoutingDataSource(replica, 100);
+
+        beginTransaction("write", false);
+        assertThat(databaseOf(underTest)).isEqualTo("primary");
+        endTransaction();
+
+        beginTransaction("read", true);
+        assertThat(databaseOf(underTest)).isEqualTo("primary");
+        tenant = "other";
+        assertThat(databaseOf(underTest)).as("other tenant").isEqualTo("replica");
+        tenant = "tenant";
+        clock.addAndGet(100);
+        assertThat(databaseOf(underTest)).as("after the window").isEqualTo("replica");
+    }
+
+    @Test
+    @Description("Verifies that a failing replica is skipped for the retry interval and used again afterwards.")
+    public void failingReplicaFallsBackToPrimary() throws SQLException {
+        final DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("replica down"))
+                .thenAnswer(invocation -> replica.getConnection());
+        final ReplicaRoutingDataSource underTest = createRoutingDataSource(failing, 0);
+
+        beginTransaction("read", true);
+        assertThat(databaseOf(underTest)).isEqualTo("primary");
+        clock.addAndGet(500);
+        assertThat(databaseOf(underTest)).as("within the retry interval").isEqualTo("primary");
+        clock.addAndGet(500);
+        assertThat(databaseOf(underTest)).as("after the retry interval").isEqualTo("replica");
+    }
+
+    @Test
+    @Description("Verifies that the replica is chosen once per transaction of the JpaTransactionManager and that "
+            + "only committed writing transactions keep the tenant on the primary.")
+    public void replicaIsBoundToTransaction() throws SQLException {
+        final ReplicaRoutingDataSource underTest = createRoutingDataSource(100, replica, secondReplica);
+        final JpaTransactionManager transactionManager = createTransactionManager();
+        final TransactionTemplate write = new TransactionTemplate(transactionManager);
+        final TransactionTemplate writeInNewTransaction = new TransactionTemplate(transactionManager);
+        writeInNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        final TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+
+        assertThat(databaseOf(underTest)).as("outside of a transaction").isEqualTo("primary");
+        assertThat(read.execute(status -> databaseOf(underTest))).as("no write recorded").isEqualTo("replica");
+
+        assertThat(read.execute(status -> {
+            final String database = databaseOf(underTest);
+            assertThat(databaseOf(underTest)).as("second connection").isEqualTo(database);
+            assertThat(writeInNewTransaction.execute(inner -> databaseOf(underTest))).as("nested writing transaction")
+                    .isEqualTo("primary");
+            assertThat(databaseOf(underTest)).as("after the nested transaction").isEqualTo(database);
+            return database;
+        })).isEqualTo("second");
+
+        assertThat(write.execute(status -> databaseOf(underTest))).isEqualTo("primary");
+        assertThat(read.execute(status -> databaseOf(underTest))).as("within the window").isEqualTo("primary");
+        clock.addAndGet(100);
+        assertThat(read.execute(status -> databaseOf(underTest))).as("after the window").isEqualTo("replica");
+    }
+
+    private ReplicaRoutingDataSource createRoutingDataSource(final DataSource replicaDataSource,
+            final long readYourWritesWindow) {
+        return createRoutingDataSource(readYourWritesWindow, replicaDataSource);
+    }
+
+    private ReplicaRoutingDataSource createRoutingDataSource(final long readYourWritesWindow,
+            final DataSource... replicaDataSources) {
+        final ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        properties.setReadYourWritesWindow(readYourWritesWindow);
+        properties.setRetryInterval(1_000);
+        return new ReplicaRoutingDataSource(primary, Arrays.asList(replicaDataSources), properties, () -> tenant,
+                clock::get);
+    }
+
+    private static JpaTransactionManager createTransactionManager() {
+        final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        final EntityManager entityManager = mock(EntityManager.class);
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getTransaction()).thenReturn(mock(EntityTransaction.class));
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    private static String databaseOf(final DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getCatalog().toLowerCase();
+        } catch (final SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void beginTransaction(final String name, final boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        TransactionSynchronizationManager.setCurrentTransactionName(name);
+    }
+
+    private static void endTransaction() {
+        TransactionSynchronizationManager.clear();
+    }
+}
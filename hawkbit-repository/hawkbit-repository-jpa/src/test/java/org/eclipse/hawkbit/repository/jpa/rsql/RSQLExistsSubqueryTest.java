@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Component Tests - Repository")
+@Story("RSQL filter with EXISTS sub queries")
+public class RSQLExistsSubqueryTest extends AbstractJpaIntegrationTest {
+
+    private static final List<String> QUERIES = Arrays.asList("tag==Tag1", "tag!=Tag1", "tag==''", "tag!=''",
+            "tag=in=(Tag1,Tag2)", "tag=out=(Tag1,Tag2)", "tag==Tag1,tag==Tag2", "tag==Tag2;tag==Tag3",
+            "tag==Tag2;tag!=Tag3", "attribute.revision==1.1", "attribute.revision!=1.1", "attribute.revision==''",
+            "attribute.revision==1.*;tag==Tag1", "metadata.metaKey==metaValue", "metadata.metaKey!=metaValue",
+            "metadata.metaKey==*;(tag==Tag1,tag==Tag2)", "assignedds.name==AssignedDs;tag==Tag1",
+            "name==targetId*;(tag==Tag1,attribute.revision==1.2)", "controllerid=out=(targetId123);tag!=Tag4");
+
+    @Before
+    public void setupBeforeTest() {
+        final DistributionSet ds = testdataFactory.createDistributionSet("AssignedDs");
+        final Map<String, String> attributes = new HashMap<>();
+
+        final Target target = testdataFactory.createTarget("targetId123");
+        attributes.put("revision", "1.1");
+        controllerManagement.updateControllerAttributes(target.getControllerId(), attributes, null);
+        createTargetMetadata(target.getControllerId(), entityFactory.generateTargetMetadata("metaKey", "metaValue"));
+
+        final Target target2 = testdataFactory.createTarget("targetId1234");
+        attributes.put("revision", "1.2");
+        attributes.put("hw", "a");
+        controllerManagement.updateControllerAttributes(target2.getControllerId(), attributes, null);
+        createTargetMetadata(target2.getControllerId(), entityFactory.generateTargetMetadata("metaKey", "value"));
+
+        final Target target3 = testdataFactory.createTarget("targetId1235");
+        final Target target4 = testdataFactory.createTarget("targetId1236");
+        testdataFactory.createTarget("targetId1237");
+
+        final TargetTag targetTag = targetTagManagement.create(entityFactory.tag().create().name("Tag1"));
+        final TargetTag targetTag2 = targetTagManagement.create(entityFactory.tag().create().name("Tag2"));
+        final TargetTag targetTag3 = targetTagManagement.create(entityFactory.tag().create().name("Tag3"));
+        targetTagManagement.create(entityFactory.tag().create().name("Tag4"));
+
+        targetManagement.assignTag(Arrays.asList(target.getControllerId(), target2.getControllerId()),
+                targetTag.getId());
+        targetManagement.assignTag(Arrays.asList(target2.getControllerId(), target3.getControllerId(),
+                target4.getControllerId()), targetTag2.getId());
+        targetManagement.assignTag(Arrays.asList(target3.getControllerId()), targetTag3.getId());
+
+        assignDistributionSet(ds.getId(), target.getControllerId());
+    }
+
+    @Test
+    @Description("Verifies that RSQL queries on targets return the same targets and counts with EXISTS sub queries "
+            + "as with joins and a distinct query.")
+    public void existsSubqueriesReturnSameTargetsAsJoins() {
+        final Map<String, List<String>> joinResults = QUERIES.stream()
+                .collect(Collectors.toMap(query -> query, this::findControllerIds));
+
+        tenantConfigurationManagement.addOrUpdateConfiguration(TenantConfigurationKey.RSQL_EXISTS_SUBQUERIES_ENABLED,
+                true);
+
+        for (final String query : QUERIES) {
+            assertThat(findControllerIds(query)).as("Targets of query %s", query)
+                    .isEqualTo(joinResults.get(query));
+            assertThat(targetManagement.countByRsql(query)).as("Count of query %s", query)
+                    .isEqualTo(joinResults.get(query).size());
+        }
+    }
+
+    private List<String> findControllerIds(final String query) {
+        return targetManagement.findByRsql(PageRequest.of(0, 100, Sort.by(Direction.ASC, "id")), query).getContent()
+                .stream().map(Target::getControllerId).collect(Collectors.toList());
+    }
+}
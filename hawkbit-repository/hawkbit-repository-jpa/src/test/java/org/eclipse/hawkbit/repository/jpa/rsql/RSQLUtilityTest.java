@@ -372,6 +372,35 @@ public class RSQLUtilityTest {
                 eq(overduePropPlaceholder));
     }
 
+    @Test
+    @Description("Verifies that the virtual properties of a cached RSQL query are resolved on every execution and that an invalid cached query fails every time.")
+    public void cachedRsqlResolvesMacroOnEveryExecution() {
+        reset(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+        final String overdueProp = "overdue_ts";
+        final String correctRsql = "testfield=le=${" + overdueProp + "}";
+        when(baseSoftwareModuleRootMock.get("testfield")).thenReturn(baseSoftwareModuleRootMock);
+        when(baseSoftwareModuleRootMock.getJavaType()).thenReturn((Class) String.class);
+
+        // test
+        final VirtualPropertyReplacer replacer = setupMacroLookup();
+        for (int i = 0; i < 2; i++) {
+            RSQLUtility.parse(correctRsql, TestFieldEnum.class, replacer, testDb)
+                    .toPredicate(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+        }
+
+        // verification
+        verify(macroResolver, times(2)).lookup(overdueProp);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                RSQLUtility.parse("unknownField==abc", TestFieldEnum.class, null, testDb)
+                        .toPredicate(baseSoftwareModuleRootMock, criteriaQueryMock, criteriaBuilderMock);
+                fail("Missing an expected RSQLParameterUnsupportedFieldException because of unknown RSQL field");
+            } catch (final RSQLParameterUnsupportedFieldException e) {
+            }
+        }
+    }
+
     public VirtualPropertyReplacer setupMacroLookup() {
         when(confMgmt.getConfigurationValue(TenantConfigurationKey.POLLING_TIME_INTERVAL, String.class))
                 .thenReturn(TEST_POLLING_TIME_INTERVAL);
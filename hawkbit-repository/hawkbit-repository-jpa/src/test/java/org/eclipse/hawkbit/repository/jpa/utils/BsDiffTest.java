@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Binary deltas")
+public class BsDiffTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    @Description("Verifies that a delta between a binary and a modified version restores the modified version "
+            + "and is smaller than it.")
+    public void deltaRestoresModifiedBinary() throws IOException {
+        final byte[] source = randomBytes(64 * 1024);
+        final byte[] target = Arrays.copyOf(source, source.length + 512);
+        for (int i = 0; i < 100; i++) {
+            target[random.nextInt(target.length)] = (byte) random.nextInt();
+        }
+        System.arraycopy(source, 0, target, 32 * 1024, 1024);
+
+        final byte[] delta = diff(source, target);
+
+        assertThat(delta.length).isLessThan(target.length / 4);
+        assertThat(BsDiff.patch(source, delta)).isEqualTo(target);
+    }
+
+    @Test
+    @Description("Verifies that deltas of unrelated and empty binaries are restored.")
+    public void deltaRestoresUnrelatedAndEmptyBinaries() throws IOException {
+        final byte[] source = randomBytes(4096);
+        final byte[] target = randomBytes(2048);
+
+        assertThat(BsDiff.patch(source, diff(source, target))).isEqualTo(target);
+        assertThat(BsDiff.patch(new byte[0], diff(new byte[0], target))).isEqualTo(target);
+        assertThat(BsDiff.patch(source, diff(source, new byte[0]))).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that a corrupt delta is rejected.")
+    public void corruptDeltaIsRejected() throws IOException {
+        final byte[] source = randomBytes(4096);
+        final byte[] delta = diff(source, randomBytes(4096));
+        delta[0] = 'X';
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> BsDiff.patch(source, delta));
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> BsDiff.patch(source, Arrays.copyOf(diff(source, source), 40)));
+    }
+
+    private static byte[] diff(final byte[] source, final byte[] target) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BsDiff.diff(source, target, out);
+        return out.toByteArray();
+    }
+
+    private byte[] randomBytes(final int len) {
+        final byte[] bytes = new byte[len];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
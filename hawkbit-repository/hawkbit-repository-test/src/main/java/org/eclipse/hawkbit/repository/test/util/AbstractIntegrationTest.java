@@ -27,6 +27,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
 import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.repository.ArtifactDeltaManagement;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
@@ -162,6 +163,9 @@ public abstract class AbstractIntegrationTest {
     @Autowired
     protected ArtifactManagement artifactManagement;
 
+    @Autowired
+    protected ArtifactDeltaManagement artifactDeltaManagement;
+
     @Autowired
     protected AuditingHandler auditingHandler;
 
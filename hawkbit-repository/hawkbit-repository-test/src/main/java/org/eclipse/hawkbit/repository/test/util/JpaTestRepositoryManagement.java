@@ -9,9 +9,11 @@
 package org.eclipse.hawkbit.repository.test.util;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.model.TenantDeletion;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,17 +56,24 @@ public class JpaTestRepositoryManagement {
     }
 
     public void deleteAllRepos() {
+        // complete the deletions started by the test first
+        final List<String> deleting = systemSecurityContext.runAsSystem(() -> systemManagement
+                .findTenantDeletions(PAGE).getContent().stream().map(TenantDeletion::getTenant)
+                .collect(Collectors.toList()));
         final List<String> tenants = systemSecurityContext
                 .runAsSystem(() -> systemManagement.findTenants(PAGE).getContent());
-        tenants.forEach(tenant -> {
-            try {
-                systemSecurityContext.runAsSystem(() -> {
-                    systemManagement.deleteTenant(tenant);
-                    return null;
-                });
-            } catch (final Exception e) {
-                LOGGER.error("Error hile delete tenant", e);
-            }
-        });
+        deleting.forEach(this::deleteTenant);
+        tenants.forEach(this::deleteTenant);
+    }
+
+    private void deleteTenant(final String tenant) {
+        try {
+            systemSecurityContext.runAsSystem(() -> {
+                systemManagement.deleteTenant(tenant);
+                return systemManagement.runTenantDeletion(tenant);
+            });
+        } catch (final Exception e) {
+            LOGGER.error("Error hile delete tenant", e);
+        }
     }
 }
@@ -8,11 +8,14 @@
  */
 package org.eclipse.hawkbit.ddi.json.model;
 
+import java.util.List;
+
 import javax.validation.constraints.NotNull;
 
 import org.springframework.hateoas.ResourceSupport;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
@@ -32,6 +35,10 @@ public class DdiArtifact extends ResourceSupport {
     @JsonProperty
     private Long size;
 
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<DdiArtifactDelta> deltas;
+
     public DdiArtifactHash getHashes() {
         return hashes;
     }
@@ -56,4 +63,12 @@ public class DdiArtifact extends ResourceSupport {
         this.size = size;
     }
 
+    public List<DdiArtifactDelta> getDeltas() {
+        return deltas;
+    }
+
+    public void setDeltas(final List<DdiArtifactDelta> deltas) {
+        this.deltas = deltas;
+    }
+
 }
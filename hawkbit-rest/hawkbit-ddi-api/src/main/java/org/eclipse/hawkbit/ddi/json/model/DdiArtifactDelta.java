@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.json.model;
+
+import javax.validation.constraints.NotNull;
+
+import org.springframework.hateoas.ResourceSupport;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Download information of a binary delta that turns an artifact of the
+ * installed distribution set into the {@link DdiArtifact} it belongs to.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DdiArtifactDelta extends ResourceSupport {
+
+    /**
+     * SHA1 hash of the installed artifact the delta is applied to.
+     */
+    @NotNull
+    @JsonProperty
+    private String from;
+
+    @JsonProperty
+    private DdiArtifactHash hashes;
+
+    @JsonProperty
+    private Long size;
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(final String from) {
+        this.from = from;
+    }
+
+    public DdiArtifactHash getHashes() {
+        return hashes;
+    }
+
+    public void setHashes(final DdiArtifactHash hashes) {
+        this.hashes = hashes;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(final Long size) {
+        this.size = size;
+    }
+
+}
@@ -98,6 +98,34 @@ public interface DdiRootControllerRestApi {
             @PathVariable("softwareModuleId") final Long softwareModuleId,
             @PathVariable("fileName") final String fileName);
 
+    /**
+     * Handles GET download request of the binary delta that turns an installed
+     * artifact into the {@link DdiArtifact}. This could be full or partial (as
+     * specified by RFC7233 (Range Requests)) download request.
+     *
+     * @param tenant
+     *            of the request
+     * @param controllerId
+     *            of the target
+     * @param softwareModuleId
+     *            of the parent software module
+     * @param fileName
+     *            of the related local artifact
+     * @param sourceSha1Hash
+     *            of the installed artifact the delta is applied to
+     *
+     * @return response of the servlet which in case of success is status code
+     *         {@link HttpStatus#OK} or in case of partial download
+     *         {@link HttpStatus#PARTIAL_CONTENT}.
+     */
+    @GetMapping(value = "/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/{fileName}"
+            + "/deltas/{sourceSha1Hash}")
+    ResponseEntity<InputStream> downloadArtifactDelta(@PathVariable("tenant") final String tenant,
+            @PathVariable("controllerId") final String controllerId,
+            @PathVariable("softwareModuleId") final Long softwareModuleId,
+            @PathVariable("fileName") final String fileName,
+            @PathVariable("sourceSha1Hash") final String sourceSha1Hash);
+
     /**
      * Handles GET {@link DdiArtifact} MD5 checksum file download request.
      *
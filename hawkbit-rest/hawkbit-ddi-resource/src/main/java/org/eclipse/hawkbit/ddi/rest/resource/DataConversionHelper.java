@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -17,24 +18,26 @@ import org.eclipse.hawkbit.api.ArtifactUrlHandler;
 import org.eclipse.hawkbit.api.URLPlaceholder;
 import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
 import org.eclipse.hawkbit.ddi.json.model.DdiArtifact;
+import org.eclipse.hawkbit.ddi.json.model.DdiArtifactDelta;
 import org.eclipse.hawkbit.ddi.json.model.DdiArtifactHash;
 import org.eclipse.hawkbit.ddi.json.model.DdiChunk;
 import org.eclipse.hawkbit.ddi.json.model.DdiConfig;
 import org.eclipse.hawkbit.ddi.json.model.DdiControllerBase;
 import org.eclipse.hawkbit.ddi.json.model.DdiMetadata;
 import org.eclipse.hawkbit.ddi.json.model.DdiPolling;
-import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
+import org.eclipse.hawkbit.repository.ArtifactDeltaManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.model.Action;
-import org.eclipse.hawkbit.repository.model.Artifact;
-import org.eclipse.hawkbit.repository.model.SoftwareModule;
-import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.repository.model.ArtifactDelta;
+import org.eclipse.hawkbit.repository.model.ArtifactSnapshot;
+import org.eclipse.hawkbit.repository.model.DistributionSetSnapshot;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleSnapshot;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.rest.data.ResponseList;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.hateoas.Link;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
 import org.springframework.http.HttpRequest;
 import org.springframework.util.CollectionUtils;
 
@@ -49,24 +52,27 @@ public final class DataConversionHelper {
 
     static List<DdiChunk> createChunks(final Target target, final Action uAction,
             final ArtifactUrlHandler artifactUrlHandler, final SystemManagement systemManagement,
-            final HttpRequest request, final ControllerManagement controllerManagement) {
+            final HttpRequest request, final ControllerManagement controllerManagement,
+            final ArtifactDeltaManagement artifactDeltaManagement) {
 
-        final Map<Long, List<SoftwareModuleMetadata>> metadata = controllerManagement
-                .findTargetVisibleMetaDataBySoftwareModuleId(uAction.getDistributionSet().getModules().stream()
-                        .map(SoftwareModule::getId).collect(Collectors.toList()));
+        final List<SoftwareModuleSnapshot> modules = controllerManagement
+                .getDistributionSetSnapshot(uAction.getDistributionSet().getId())
+                .map(DistributionSetSnapshot::getModules).orElse(Collections.emptyList());
 
-        return new ResponseList<>(uAction.getDistributionSet().getModules().stream()
-                .map(module -> new DdiChunk(mapChunkLegacyKeys(module.getType().getKey()), module.getVersion(),
+        return new ResponseList<>(modules.stream()
+                .map(module -> new DdiChunk(mapChunkLegacyKeys(module.getTypeKey()), module.getVersion(),
                         module.getName(),
-                        createArtifacts(target, module, artifactUrlHandler, systemManagement, request),
-                        mapMetadata(metadata.get(module.getId()))))
+                        createArtifacts(target, module, artifactUrlHandler, systemManagement, request,
+                                artifactDeltaManagement),
+                        mapMetadata(module.getMetadata())))
                 .collect(Collectors.toList()));
 
     }
 
-    private static List<DdiMetadata> mapMetadata(final List<SoftwareModuleMetadata> metadata) {
+    private static List<DdiMetadata> mapMetadata(final Map<String, String> metadata) {
         return CollectionUtils.isEmpty(metadata) ? null
-                : metadata.stream().map(md -> new DdiMetadata(md.getKey(), md.getValue())).collect(Collectors.toList());
+                : metadata.entrySet().stream().map(md -> new DdiMetadata(md.getKey(), md.getValue()))
+                        .collect(Collectors.toList());
     }
 
     private static String mapChunkLegacyKeys(final String key) {
@@ -80,65 +86,83 @@ public final class DataConversionHelper {
         return key;
     }
 
-    static List<DdiArtifact> createArtifacts(final Target target, final SoftwareModule module,
+    static List<DdiArtifact> createArtifacts(final Target target, final SoftwareModuleSnapshot module,
             final ArtifactUrlHandler artifactUrlHandler, final SystemManagement systemManagement,
-            final HttpRequest request) {
+            final HttpRequest request, final ArtifactDeltaManagement artifactDeltaManagement) {
+
+        final TenantMetaData tenantMetaData = systemManagement.getTenantMetadata();
+        final Map<String, List<ArtifactDelta>> deltas = artifactDeltaManagement.findByControllerIdAndTargetSha1Hashes(
+                target.getControllerId(),
+                module.getArtifacts().stream().map(ArtifactSnapshot::getSha1Hash).collect(Collectors.toList()));
 
         return new ResponseList<>(module.getArtifacts().stream()
-                .map(artifact -> createArtifact(target, artifactUrlHandler, artifact, systemManagement, request))
+                .map(artifact -> createArtifact(target, artifactUrlHandler, artifact, tenantMetaData, request,
+                        deltas.getOrDefault(artifact.getSha1Hash(), Collections.emptyList())))
                 .collect(Collectors.toList()));
     }
 
     private static DdiArtifact createArtifact(final Target target, final ArtifactUrlHandler artifactUrlHandler,
-            final Artifact artifact, final SystemManagement systemManagement, final HttpRequest request) {
+            final ArtifactSnapshot artifact, final TenantMetaData tenantMetaData, final HttpRequest request,
+            final List<ArtifactDelta> deltas) {
         final DdiArtifact file = new DdiArtifact();
         file.setHashes(new DdiArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash(), artifact.getSha256Hash()));
         file.setFilename(artifact.getFilename());
         file.setSize(artifact.getSize());
 
-        artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
-                        new SoftwareData(artifact.getSoftwareModule().getId(), artifact.getFilename(), artifact.getId(),
-                                artifact.getSha1Hash())),
-                        ApiType.DDI, request.getURI())
+        final URLPlaceholder placeholder = new URLPlaceholder(tenantMetaData.getTenant(), tenantMetaData.getId(),
+                target.getControllerId(), target.getId(), new SoftwareData(artifact.getSoftwareModuleId(),
+                        artifact.getFilename(), artifact.getId(), artifact.getSha1Hash()));
+        artifactUrlHandler.getUrls(placeholder, ApiType.DDI, request.getURI())
                 .forEach(entry -> file.add(new Link(entry.getRef()).withRel(entry.getRel())));
 
+        if (!deltas.isEmpty()) {
+            file.setDeltas(deltas.stream()
+                    .map(delta -> createArtifactDelta(artifactUrlHandler, placeholder, delta, request))
+                    .collect(Collectors.toList()));
+        }
+
         return file;
 
     }
 
+    private static DdiArtifactDelta createArtifactDelta(final ArtifactUrlHandler artifactUrlHandler,
+            final URLPlaceholder placeholder, final ArtifactDelta delta, final HttpRequest request) {
+        final DdiArtifactDelta file = new DdiArtifactDelta();
+        file.setFrom(delta.getSourceSha1Hash());
+        file.setHashes(new DdiArtifactHash(delta.getSha1Hash(), delta.getMd5Hash(), delta.getSha256Hash()));
+        file.setSize(delta.getSize());
+
+        artifactUrlHandler.getDeltaUrls(placeholder, delta.getSourceSha1Hash(), ApiType.DDI, request.getURI())
+                .forEach(entry -> file.add(new Link(entry.getRef()).withRel(entry.getRel())));
+
+        return file;
+    }
+
     static DdiControllerBase fromTarget(final Target target, final Action action,
             final String defaultControllerPollTime, final TenantAware tenantAware) {
         final DdiControllerBase result = new DdiControllerBase(
                 new DdiConfig(new DdiPolling(defaultControllerPollTime)));
 
-        if (action != null) {
-            if (action.isCancelingOrCanceled()) {
-                result.add(ControllerLinkBuilder
-                        .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                                .getControllerCancelAction(tenantAware.getCurrentTenant(), target.getControllerId(),
-                                        action.getId()))
-                        .withRel(DdiRestConstants.CANCEL_ACTION));
-            } else {
-                // we need to add the hashcode here of the actionWithStatus
-                // because the action might
-                // have changed from 'soft' to 'forced' type and we need to
-                // change the payload of the
-                // response because of eTags.
-                result.add(ControllerLinkBuilder
-                        .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                                .getControllerBasedeploymentAction(tenantAware.getCurrentTenant(),
-                                        target.getControllerId(), action.getId(), calculateEtag(action), null))
-                        .withRel(DdiRestConstants.DEPLOYMENT_BASE_ACTION));
+        if (action != null || target.isRequestControllerAttributes()) {
+            final String tenant = tenantAware.getCurrentTenant();
+            final DdiLinkTemplates links = DdiLinkTemplates.forCurrentRequest();
+
+            if (action != null) {
+                if (action.isCancelingOrCanceled()) {
+                    result.add(links.cancelAction(tenant, target.getControllerId(), action.getId()));
+                } else {
+                    // we need to add the hashcode here of the actionWithStatus
+                    // because the action might have changed from 'soft' to
+                    // 'forced' type and we need to change the payload of the
+                    // response because of eTags.
+                    result.add(links.deploymentBase(tenant, target.getControllerId(), action.getId(),
+                            calculateEtag(action)));
+                }
             }
-        }
 
-        if (target.isRequestControllerAttributes()) {
-            result.add(ControllerLinkBuilder
-                    .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                            .putConfigData(null, tenantAware.getCurrentTenant(), target.getControllerId()))
-                    .withRel(DdiRestConstants.CONFIG_DATA_ACTION));
+            if (target.isRequestControllerAttributes()) {
+                result.add(links.configData(tenant, target.getControllerId()));
+            }
         }
         return result;
     }
@@ -8,7 +8,20 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.rest.RestConfiguration;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -24,4 +37,43 @@ import org.springframework.stereotype.Controller;
 @Import(RestConfiguration.class)
 public class DdiApiConfiguration {
 
+    /**
+     * {@link DownloadSessionTracker} bean.
+     *
+     * @return a new {@link DownloadSessionTracker}
+     */
+    @Bean
+    DownloadSessionTracker downloadSessionTracker(final ControllerManagement controllerManagement,
+            final EntityFactory entityFactory, final TenantConfigurationManagement tenantConfigurationManagement,
+            final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware,
+            final ScheduledExecutorService executorService) {
+        return new DownloadSessionTracker(controllerManagement, entityFactory, tenantConfigurationManagement,
+                systemSecurityContext, tenantAware, executorService);
+    }
+
+    /**
+     * {@link DownloadProgressAggregator} bean.
+     *
+     * @return a new {@link DownloadProgressAggregator}
+     */
+    @Bean
+    DownloadProgressAggregator downloadProgressAggregator(final ApplicationEventPublisher eventPublisher,
+            final ObjectProvider<ServiceMatcher> serviceMatcher, final BusProperties bus,
+            final ScheduledExecutorService executorService, final RepositoryProperties repositoryProperties) {
+        final ServiceMatcher matcher = serviceMatcher.getIfAvailable();
+        return new DownloadProgressAggregator(eventPublisher, matcher != null ? matcher.getServiceId() : bus.getId(),
+                executorService, repositoryProperties);
+    }
+
+    /**
+     * {@link DownloadTicketCache} bean.
+     *
+     * @return a new {@link DownloadTicketCache}
+     */
+    @Bean
+    DownloadTicketCache downloadTicketCache(final RepositoryProperties repositoryProperties,
+            final ScheduledExecutorService executorService) {
+        return new DownloadTicketCache(repositoryProperties, executorService);
+    }
+
 }
@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Link templates of the {@link DdiRootController} resources that are
+ * referenced in the controller base resource.
+ *
+ * The templates are resolved once per base URI with
+ * {@link ControllerLinkBuilder} using placeholder values and are expanded
+ * afterwards by simple string concatenation. This avoids creating invocation
+ * proxies and resolving the request mappings on every poll of a target while
+ * the resulting links are identical.
+ */
+final class DdiLinkTemplates {
+
+    /**
+     * Maximum number of cached base URIs, e.g. different host names or
+     * forwarded headers the server is called with.
+     */
+    private static final int MAX_BASE_URIS = 100;
+
+    private static final String[] BASE_URI_HEADERS = { "Host", "Forwarded", "X-Forwarded-Host", "X-Forwarded-Port",
+            "X-Forwarded-Proto", "X-Forwarded-Prefix", "X-Forwarded-Ssl" };
+
+    private static final Map<String, DdiLinkTemplates> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final LinkTemplate deploymentBase;
+    private final LinkTemplate cancelAction;
+    private final LinkTemplate configData;
+
+    private DdiLinkTemplates() {
+        deploymentBase = new LinkTemplate(ControllerLinkBuilder
+                .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, Variable.TENANT.placeholder)
+                        .getControllerBasedeploymentAction(Variable.TENANT.placeholder,
+                                Variable.CONTROLLER_ID.placeholder, Variable.ACTION_ID.getPlaceholderAsLong(),
+                                Variable.ETAG.getPlaceholderAsInt(), null))
+                .withRel(DdiRestConstants.DEPLOYMENT_BASE_ACTION));
+
+        cancelAction = new LinkTemplate(ControllerLinkBuilder
+                .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, Variable.TENANT.placeholder)
+                        .getControllerCancelAction(Variable.TENANT.placeholder, Variable.CONTROLLER_ID.placeholder,
+                                Variable.ACTION_ID.getPlaceholderAsLong()))
+                .withRel(DdiRestConstants.CANCEL_ACTION));
+
+        configData = new LinkTemplate(ControllerLinkBuilder
+                .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, Variable.TENANT.placeholder)
+                        .putConfigData(null, Variable.TENANT.placeholder, Variable.CONTROLLER_ID.placeholder))
+                .withRel(DdiRestConstants.CONFIG_DATA_ACTION));
+    }
+
+    /**
+     * @return the link templates for the base URI of the current request
+     */
+    static DdiLinkTemplates forCurrentRequest() {
+        final String baseUri = getBaseUriKey();
+
+        final DdiLinkTemplates templates = TEMPLATES.get(baseUri);
+        if (templates != null) {
+            return templates;
+        }
+
+        if (TEMPLATES.size() >= MAX_BASE_URIS) {
+            TEMPLATES.clear();
+        }
+        return TEMPLATES.computeIfAbsent(baseUri, key -> new DdiLinkTemplates());
+    }
+
+    Link deploymentBase(final String tenant, final String controllerId, final long actionId, final int etag) {
+        return deploymentBase.expand(tenant, controllerId, actionId, etag);
+    }
+
+    Link cancelAction(final String tenant, final String controllerId, final long actionId) {
+        return cancelAction.expand(tenant, controllerId, actionId, 0);
+    }
+
+    Link configData(final String tenant, final String controllerId) {
+        return configData.expand(tenant, controllerId, 0, 0);
+    }
+
+    private static String getBaseUriKey() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return "";
+        }
+
+        final HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        final StringBuilder key = new StringBuilder(128).append(request.getScheme()).append('|')
+                .append(request.getServerName()).append('|').append(request.getServerPort()).append('|')
+                .append(request.getContextPath()).append('|').append(request.getServletPath());
+        for (final String header : BASE_URI_HEADERS) {
+            key.append('|').append(request.getHeader(header));
+        }
+        return key.toString();
+    }
+
+    /**
+     * The variable parts of the links with their placeholder values the
+     * templates are resolved with.
+     */
+    private enum Variable {
+        TENANT("hawkbitLinkTemplateTenant"), CONTROLLER_ID("hawkbitLinkTemplateControllerId"), ACTION_ID(
+                String.valueOf(Long.MIN_VALUE)), ETAG(String.valueOf(Integer.MIN_VALUE));
+
+        private static final Variable[] VALUES = values();
+
+        private final String placeholder;
+
+        Variable(final String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        private long getPlaceholderAsLong() {
+            return Long.parseLong(placeholder);
+        }
+
+        private int getPlaceholderAsInt() {
+            return Integer.parseInt(placeholder);
+        }
+    }
+
+    /**
+     * A link that is split into its literal parts and the {@link Variable}s in
+     * between.
+     */
+    private static final class LinkTemplate {
+
+        private final String rel;
+        private final String[] literals;
+        private final Variable[] variables;
+        private final int literalsLength;
+
+        private LinkTemplate(final Link link) {
+            this.rel = link.getRel();
+
+            final String href = link.getHref();
+            final List<String> literalParts = new ArrayList<>();
+            final List<Variable> variableParts = new ArrayList<>();
+
+            int position = 0;
+            int length = 0;
+            while (true) {
+                Variable next = null;
+                int nextIndex = -1;
+                for (final Variable variable : Variable.VALUES) {
+                    final int index = href.indexOf(variable.placeholder, position);
+                    if (index >= 0 && (nextIndex < 0 || index < nextIndex)) {
+                        next = variable;
+                        nextIndex = index;
+                    }
+                }
+
+                if (next == null) {
+                    break;
+                }
+
+                literalParts.add(href.substring(position, nextIndex));
+                length += nextIndex - position;
+                variableParts.add(next);
+                position = nextIndex + next.placeholder.length();
+            }
+            literalParts.add(href.substring(position));
+            length += href.length() - position;
+
+            this.literals = literalParts.toArray(new String[0]);
+            this.variables = variableParts.toArray(new Variable[0]);
+            this.literalsLength = length;
+        }
+
+        private Link expand(final String tenant, final String controllerId, final long actionId, final int etag) {
+            final String[] values = new String[Variable.VALUES.length];
+            values[Variable.TENANT.ordinal()] = UriUtils.encodePath(tenant, StandardCharsets.UTF_8);
+            values[Variable.CONTROLLER_ID.ordinal()] = UriUtils.encodePath(controllerId, StandardCharsets.UTF_8);
+            values[Variable.ACTION_ID.ordinal()] = String.valueOf(actionId);
+            values[Variable.ETAG.ordinal()] = String.valueOf(etag);
+
+            final StringBuilder href = new StringBuilder(literalsLength + 64);
+            for (int i = 0; i < variables.length; i++) {
+                href.append(literals[i]).append(values[variables[i].ordinal()]);
+            }
+            href.append(literals[literals.length - 1]);
+
+            return new Link(href.toString(), rel);
+        }
+    }
+}
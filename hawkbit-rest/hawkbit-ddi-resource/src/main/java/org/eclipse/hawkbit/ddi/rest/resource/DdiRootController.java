@@ -11,7 +11,9 @@ package org.eclipse.hawkbit.ddi.rest.resource;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
@@ -35,6 +37,9 @@ import org.eclipse.hawkbit.ddi.json.model.DdiResult.FinalResult;
 import org.eclipse.hawkbit.ddi.json.model.DdiUpdateMode;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRootControllerRestApi;
+import org.eclipse.hawkbit.ddi.rest.resource.DownloadSessionTracker.DownloadSession;
+import org.eclipse.hawkbit.ddi.rest.resource.DownloadTicketCache.DownloadTicket;
+import org.eclipse.hawkbit.repository.ArtifactDeltaManagement;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
@@ -42,16 +47,16 @@ import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.UpdateMode;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
-import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
 import org.eclipse.hawkbit.repository.exception.ArtifactBinaryNotFoundException;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.SoftwareModuleNotAssignedToTargetException;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
-import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ArtifactDelta;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleSnapshot;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
 import org.eclipse.hawkbit.rest.util.HttpUtil;
@@ -62,9 +67,6 @@ import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.bus.BusProperties;
-import org.springframework.cloud.bus.ServiceMatcher;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -91,15 +93,6 @@ public class DdiRootController implements DdiRootControllerRestApi {
     private static final Logger LOG = LoggerFactory.getLogger(DdiRootController.class);
     private static final String GIVEN_ACTION_IS_NOT_ASSIGNED_TO_GIVEN_TARGET = "given action ({}) is not assigned to given target ({}).";
 
-    @Autowired
-    private ApplicationEventPublisher eventPublisher;
-
-    @Autowired(required = false)
-    private ServiceMatcher serviceMatcher;
-
-    @Autowired
-    private BusProperties bus;
-
     @Autowired
     private ControllerManagement controllerManagement;
 
@@ -118,12 +111,24 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private ArtifactUrlHandler artifactUrlHandler;
 
+    @Autowired
+    private ArtifactDeltaManagement artifactDeltaManagement;
+
     @Autowired
     private RequestResponseContextHolder requestResponseContextHolder;
 
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private DownloadSessionTracker downloadSessionTracker;
+
+    @Autowired
+    private DownloadProgressAggregator downloadProgressAggregator;
+
+    @Autowired
+    private DownloadTicketCache downloadTicketCache;
+
     @Override
     public ResponseEntity<List<DdiArtifact>> getSoftwareModulesArtifacts(@PathVariable("tenant") final String tenant,
             @PathVariable("controllerId") final String controllerId,
@@ -133,12 +138,13 @@ public class DdiRootController implements DdiRootControllerRestApi {
         final Target target = controllerManagement.getByControllerId(controllerId)
                 .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
 
-        final SoftwareModule softwareModule = controllerManagement.getSoftwareModule(softwareModuleId)
+        final SoftwareModuleSnapshot softwareModule = controllerManagement.getSoftwareModuleSnapshot(softwareModuleId)
                 .orElseThrow(() -> new EntityNotFoundException(SoftwareModule.class, softwareModuleId));
 
         return new ResponseEntity<>(
                 DataConversionHelper.createArtifacts(target, softwareModule, artifactUrlHandler, systemManagement,
-                        new ServletServerHttpRequest(requestResponseContextHolder.getHttpServletRequest())),
+                        new ServletServerHttpRequest(requestResponseContextHolder.getHttpServletRequest()),
+                        artifactDeltaManagement),
                 HttpStatus.OK);
     }
 
@@ -156,18 +162,79 @@ public class DdiRootController implements DdiRootControllerRestApi {
         return new ResponseEntity<>(
                 DataConversionHelper.fromTarget(target, action,
                         action == null ? controllerManagement.getPollingTime()
-                                : controllerManagement.getPollingTimeForAction(action.getId()),
+                                : controllerManagement.getPollingTimeForAction(action),
                         tenantAware),
                 HttpStatus.OK);
     }
 
     @Override
+    // Exception squid:S3655 - Optional access is checked in checkModule
+    // subroutine
+    @SuppressWarnings("squid:S3655")
     public ResponseEntity<InputStream> downloadArtifact(@PathVariable("tenant") final String tenant,
             @PathVariable("controllerId") final String controllerId,
             @PathVariable("softwareModuleId") final Long softwareModuleId,
             @PathVariable("fileName") final String fileName) {
-        final ResponseEntity<InputStream> result;
+        final DownloadTicket cached = downloadTicketCache
+                .get(tenantAware.getCurrentTenant(), controllerId, softwareModuleId, fileName)
+                .filter(ticket -> ticket.getFile() != null).orElse(null);
+
+        final Target target;
+        final Artifact artifact;
+        final AbstractDbArtifact file;
+        if (cached != null) {
+            target = null;
+            artifact = cached.getArtifact();
+            file = cached.getFile();
+        } else {
+            target = controllerManagement.getByControllerId(controllerId)
+                    .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
+            final SoftwareModule module = controllerManagement.getSoftwareModule(softwareModuleId)
+                    .orElseThrow(() -> new EntityNotFoundException(SoftwareModule.class, softwareModuleId));
+
+            if (checkModule(fileName, module)) {
+                LOG.warn("Softare module with id {} could not be found.", softwareModuleId);
+                return ResponseEntity.notFound().build();
+            }
+
+            artifact = module.getArtifactByFilename(fileName).get();
+
+            file = artifactManagement.loadArtifactBinary(artifact.getSha1Hash())
+                    .orElseThrow(() -> new ArtifactBinaryNotFoundException(artifact.getSha1Hash()));
+        }
+
+        final String ifMatch = requestResponseContextHolder.getHttpServletRequest().getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch != null && !HttpUtil.matchesHttpHeader(ifMatch, artifact.getSha1Hash())) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        }
 
+        final Action action = cached != null ? cached.getAction()
+                : authorizeDownload(target, softwareModuleId, fileName, artifact, file);
+
+        final DownloadSession session = downloadSessionTracker.startOrJoin(action, artifact,
+                requestResponseContextHolder.getHttpServletRequest().getHeader("Range"),
+                requestResponseContextHolder.getHttpServletRequest().getRequestURI());
+
+        final Long statusId = session.getActionStatusId();
+
+        return FileStreamingUtil.writeFileResponse(file, artifact.getFilename(), artifact.getCreatedAt(),
+                requestResponseContextHolder.getHttpServletResponse(),
+                requestResponseContextHolder.getHttpServletRequest(), (length, shippedSinceLastEvent, total) -> {
+                    session.addShippedBytes(shippedSinceLastEvent);
+                    downloadProgressAggregator.progress(tenantAware.getCurrentTenant(), statusId,
+                            shippedSinceLastEvent);
+                });
+    }
+
+    @Override
+    // Exception squid:S3655 - Optional access is checked in checkModule
+    // subroutine
+    @SuppressWarnings("squid:S3655")
+    public ResponseEntity<InputStream> downloadArtifactDelta(@PathVariable("tenant") final String tenant,
+            @PathVariable("controllerId") final String controllerId,
+            @PathVariable("softwareModuleId") final Long softwareModuleId,
+            @PathVariable("fileName") final String fileName,
+            @PathVariable("sourceSha1Hash") final String sourceSha1Hash) {
         final Target target = controllerManagement.getByControllerId(controllerId)
                 .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
         final SoftwareModule module = controllerManagement.getSoftwareModule(softwareModuleId)
@@ -175,55 +242,63 @@ public class DdiRootController implements DdiRootControllerRestApi {
 
         if (checkModule(fileName, module)) {
             LOG.warn("Softare module with id {} could not be found.", softwareModuleId);
-            result = ResponseEntity.notFound().build();
-        } else {
-
-            // Exception squid:S3655 - Optional access is checked in checkModule
-            // subroutine
-            @SuppressWarnings("squid:S3655")
-            final Artifact artifact = module.getArtifactByFilename(fileName).get();
-
-            final AbstractDbArtifact file = artifactManagement.loadArtifactBinary(artifact.getSha1Hash())
-                    .orElseThrow(() -> new ArtifactBinaryNotFoundException(artifact.getSha1Hash()));
-
-            final String ifMatch = requestResponseContextHolder.getHttpServletRequest().getHeader(HttpHeaders.IF_MATCH);
-            if (ifMatch != null && !HttpUtil.matchesHttpHeader(ifMatch, artifact.getSha1Hash())) {
-                result = new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
-            } else {
-                final ActionStatus action = checkAndLogDownload(requestResponseContextHolder.getHttpServletRequest(),
-                        target, module.getId());
-
-                final Long statusId = action.getId();
+            return ResponseEntity.notFound().build();
+        }
 
-                result = FileStreamingUtil.writeFileResponse(file, artifact.getFilename(), artifact.getCreatedAt(),
-                        requestResponseContextHolder.getHttpServletResponse(),
-                        requestResponseContextHolder.getHttpServletRequest(),
-                        (length, shippedSinceLastEvent,
-                                total) -> eventPublisher.publishEvent(new DownloadProgressEvent(
-                                        tenantAware.getCurrentTenant(), statusId, shippedSinceLastEvent,
-                                        serviceMatcher != null ? serviceMatcher.getServiceId() : bus.getId())));
+        final Artifact artifact = module.getArtifactByFilename(fileName).get();
+        // only deltas from the installed distribution set of the target
+        final Optional<ArtifactDelta> delta = artifactDeltaManagement
+                .findByControllerIdAndTargetSha1Hashes(target.getControllerId(),
+                        Collections.singletonList(artifact.getSha1Hash()))
+                .getOrDefault(artifact.getSha1Hash(), Collections.emptyList()).stream()
+                .filter(candidate -> candidate.getSourceSha1Hash().equals(sourceSha1Hash)).findFirst();
+        if (!delta.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
 
-            }
+        final String ifMatch = requestResponseContextHolder.getHttpServletRequest().getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch != null && !HttpUtil.matchesHttpHeader(ifMatch, delta.get().getSha1Hash())) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
         }
-        return result;
+
+        final Action action = controllerManagement
+                .getActionForDownloadByTargetAndSoftwareModule(target.getControllerId(), softwareModuleId)
+                .orElseThrow(() -> new SoftwareModuleNotAssignedToTargetException(softwareModuleId,
+                        target.getControllerId()));
+        final AbstractDbArtifact file = artifactDeltaManagement.loadDeltaBinary(delta.get())
+                .orElseThrow(() -> new ArtifactBinaryNotFoundException(delta.get().getSha1Hash()));
+
+        // the delta download is accounted to the download of the artifact
+        final DownloadSession session = downloadSessionTracker.startOrJoin(action, artifact,
+                requestResponseContextHolder.getHttpServletRequest().getHeader("Range"),
+                requestResponseContextHolder.getHttpServletRequest().getRequestURI());
+
+        final Long statusId = session.getActionStatusId();
+
+        return FileStreamingUtil.writeFileResponse(file, artifact.getFilename() + ".bsdiff",
+                delta.get().getCreatedAt(), requestResponseContextHolder.getHttpServletResponse(),
+                requestResponseContextHolder.getHttpServletRequest(), (length, shippedSinceLastEvent, total) -> {
+                    session.addShippedBytes(shippedSinceLastEvent);
+                    downloadProgressAggregator.progress(tenantAware.getCurrentTenant(), statusId,
+                            shippedSinceLastEvent);
+                });
     }
 
-    private ActionStatus checkAndLogDownload(final HttpServletRequest request, final Target target, final Long module) {
+    /**
+     * Resolves the {@link Action} that authorizes the download of the given
+     * {@link Artifact} by the given {@link Target} and caches the result as
+     * {@link DownloadTicket} for the subsequent (range) requests.
+     */
+    private Action authorizeDownload(final Target target, final Long module, final String fileName,
+            final Artifact artifact, final AbstractDbArtifact file) {
         final Action action = controllerManagement
                 .getActionForDownloadByTargetAndSoftwareModule(target.getControllerId(), module)
                 .orElseThrow(() -> new SoftwareModuleNotAssignedToTargetException(module, target.getControllerId()));
-        final String range = request.getHeader("Range");
 
-        String message;
-        if (range != null) {
-            message = RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads range " + range + " of: "
-                    + request.getRequestURI();
-        } else {
-            message = RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads " + request.getRequestURI();
-        }
+        downloadTicketCache.put(tenantAware.getCurrentTenant(), target.getControllerId(), module, fileName, artifact,
+                file, action);
 
-        return controllerManagement.addInformationalActionStatus(
-                entityFactory.actionStatus().create(action.getId()).status(Status.DOWNLOAD).message(message));
+        return action;
     }
 
     private static boolean checkModule(final String fileName, final SoftwareModule module) {
@@ -238,21 +313,34 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @PathVariable("controllerId") final String controllerId,
             @PathVariable("softwareModuleId") final Long softwareModuleId,
             @PathVariable("fileName") final String fileName) {
-        final Target target = controllerManagement.getByControllerId(controllerId)
-                .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
+        final Optional<DownloadTicket> cached = downloadTicketCache.get(tenantAware.getCurrentTenant(), controllerId,
+                softwareModuleId, fileName);
+
+        final Artifact artifact;
+        final Action action;
+        if (cached.isPresent()) {
+            artifact = cached.get().getArtifact();
+            action = cached.get().getAction();
+        } else {
+            final Target target = controllerManagement.getByControllerId(controllerId)
+                    .orElseThrow(() -> new EntityNotFoundException(Target.class, controllerId));
 
-        final SoftwareModule module = controllerManagement.getSoftwareModule(softwareModuleId)
-                .orElseThrow(() -> new EntityNotFoundException(SoftwareModule.class, softwareModuleId));
+            final SoftwareModule module = controllerManagement.getSoftwareModule(softwareModuleId)
+                    .orElseThrow(() -> new EntityNotFoundException(SoftwareModule.class, softwareModuleId));
 
-        if (checkModule(fileName, module)) {
-            LOG.warn("Software module with id {} could not be found.", softwareModuleId);
-            return ResponseEntity.notFound().build();
-        }
+            if (checkModule(fileName, module)) {
+                LOG.warn("Software module with id {} could not be found.", softwareModuleId);
+                return ResponseEntity.notFound().build();
+            }
+
+            artifact = module.getArtifactByFilename(fileName)
+                    .orElseThrow(() -> new EntityNotFoundException(Artifact.class, fileName));
 
-        final Artifact artifact = module.getArtifactByFilename(fileName)
-                .orElseThrow(() -> new EntityNotFoundException(Artifact.class, fileName));
+            action = authorizeDownload(target, module.getId(), fileName, artifact, null);
+        }
 
-        checkAndLogDownload(requestResponseContextHolder.getHttpServletRequest(), target, module.getId());
+        final HttpServletRequest request = requestResponseContextHolder.getHttpServletRequest();
+        downloadSessionTracker.startOrJoin(action, artifact, request.getHeader("Range"), request.getRequestURI());
 
         try {
             FileStreamingUtil.writeMD5FileResponse(requestResponseContextHolder.getHttpServletResponse(),
@@ -290,7 +378,7 @@ public class DdiRootController implements DdiRootControllerRestApi {
             final List<DdiChunk> chunks = DataConversionHelper.createChunks(target, action, artifactUrlHandler,
                     systemManagement,
                     new ServletServerHttpRequest(requestResponseContextHolder.getHttpServletRequest()),
-                    controllerManagement);
+                    controllerManagement, artifactDeltaManagement);
 
             final List<String> actionHistoryMsgs = controllerManagement.getActionHistoryMessages(action.getId(),
                     actionHistoryMessageCount == null ? Integer.parseInt(DdiRestConstants.NO_ACTION_HISTORY)
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressBatchEvent;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Aggregates the download progress of the downloads served by this node.
+ *
+ * Instead of publishing a remote {@link DownloadProgressEvent} for every
+ * progress update of every download the shipped bytes are summed up per
+ * {@link ActionStatus} and published once per
+ * {@link RepositoryProperties#getDownloadProgressEventInterval()} as
+ * {@link DownloadProgressBatchEvent} per tenant. In case no interval is
+ * configured every update is published right away.
+ */
+public class DownloadProgressAggregator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DownloadProgressAggregator.class);
+
+    /**
+     * Maximum number of downloads in one {@link DownloadProgressBatchEvent} to
+     * keep the bus messages small.
+     */
+    static final int MAX_DOWNLOADS_PER_EVENT = 1_000;
+
+    private final ConcurrentMap<ProgressKey, Long> progress = new ConcurrentHashMap<>();
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final String applicationId;
+    private final boolean enabled;
+    private final long interval;
+
+    /**
+     * Constructor.
+     *
+     * @param eventPublisher
+     *            to publish the progress events
+     * @param applicationId
+     *            the application id of this node
+     * @param executorService
+     *            to publish the aggregated progress periodically
+     * @param repositoryProperties
+     *            to read if and in which interval the progress is published
+     */
+    public DownloadProgressAggregator(final ApplicationEventPublisher eventPublisher, final String applicationId,
+            final ScheduledExecutorService executorService, final RepositoryProperties repositoryProperties) {
+        this.eventPublisher = eventPublisher;
+        this.applicationId = applicationId;
+        this.enabled = repositoryProperties.isPublishDownloadProgressEvent();
+        this.interval = repositoryProperties.getDownloadProgressEventInterval();
+
+        if (enabled && interval > 0) {
+            executorService.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Registers the progress of a download.
+     *
+     * @param tenant
+     *            the download belongs to
+     * @param actionStatusId
+     *            of the {@link ActionStatus} that was written for the download
+     * @param shippedBytesSinceLast
+     *            bytes shipped since the last progress update
+     */
+    public void progress(final String tenant, final long actionStatusId, final long shippedBytesSinceLast) {
+        if (!enabled) {
+            return;
+        }
+
+        if (interval <= 0) {
+            eventPublisher.publishEvent(
+                    new DownloadProgressEvent(tenant, actionStatusId, shippedBytesSinceLast, applicationId));
+            return;
+        }
+
+        progress.merge(new ProgressKey(tenant, actionStatusId), shippedBytesSinceLast, Long::sum);
+    }
+
+    /**
+     * Publishes the progress aggregated since the last flush.
+     */
+    void flush() {
+        try {
+            final Map<String, Map<Long, Long>> progressPerTenant = new HashMap<>();
+
+            // remove is atomic, i.e. concurrent progress updates either end up
+            // in this or in the next flush
+            progress.keySet().forEach(key -> {
+                final Long shipped = progress.remove(key);
+                if (shipped != null) {
+                    progressPerTenant.computeIfAbsent(key.tenant, tenant -> new HashMap<>()).put(key.actionStatusId,
+                            shipped);
+                }
+            });
+
+            progressPerTenant.forEach(this::publish);
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to publish aggregated download progress.", e);
+        }
+    }
+
+    private void publish(final String tenant, final Map<Long, Long> shippedBytes) {
+        LOG.debug("Publish download progress of {} downloads of tenant {}.", shippedBytes.size(), tenant);
+
+        Map<Long, Long> batch = new HashMap<>();
+        for (final Map.Entry<Long, Long> entry : shippedBytes.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= MAX_DOWNLOADS_PER_EVENT) {
+                eventPublisher.publishEvent(new DownloadProgressBatchEvent(tenant, batch, applicationId));
+                batch = new HashMap<>();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            eventPublisher.publishEvent(new DownloadProgressBatchEvent(tenant, batch, applicationId));
+        }
+    }
+
+    private static final class ProgressKey {
+        private final String tenant;
+        private final long actionStatusId;
+
+        private ProgressKey(final String tenant, final long actionStatusId) {
+            this.tenant = tenant;
+            this.actionStatusId = actionStatusId;
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + (int) (actionStatusId ^ (actionStatusId >>> 32));
+            result = prime * result + (tenant == null ? 0 : tenant.hashCode());
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final ProgressKey other = (ProgressKey) obj;
+            return actionStatusId == other.actionStatusId
+                    && (tenant == null ? other.tenant == null : tenant.equals(other.tenant));
+        }
+    }
+}
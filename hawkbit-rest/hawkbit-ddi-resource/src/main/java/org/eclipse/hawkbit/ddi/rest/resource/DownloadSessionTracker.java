@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.RepositoryConstants;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the download requests of a target for the same {@link Action} and
+ * {@link Artifact} (e.g. HTTP range requests) into one download session.
+ *
+ * Only the first request of a session is logged as {@link Status#DOWNLOAD}
+ * {@link ActionStatus} entry. As soon as the session is idle for the
+ * configured {@link TenantConfigurationKey#DOWNLOAD_SESSION_WINDOW} a summary
+ * of the served requests and bytes is written asynchronously. In case the
+ * window is not set (i.e. zero) every request is logged on its own.
+ *
+ * Note: the summary is written by the {@link ScheduledExecutorService} which
+ * has to propagate the security context of the controller that started the
+ * session.
+ */
+public class DownloadSessionTracker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DownloadSessionTracker.class);
+
+    private final ConcurrentMap<SessionKey, DownloadSession> sessions = new ConcurrentHashMap<>();
+
+    private final ControllerManagement controllerManagement;
+    private final EntityFactory entityFactory;
+    private final TenantConfigurationManagement tenantConfigurationManagement;
+    private final SystemSecurityContext systemSecurityContext;
+    private final TenantAware tenantAware;
+    private final ScheduledExecutorService executorService;
+
+    /**
+     * Constructor.
+     *
+     * @param controllerManagement
+     *            to write the {@link ActionStatus} entries
+     * @param entityFactory
+     *            to create the {@link ActionStatus} entries
+     * @param tenantConfigurationManagement
+     *            to read the session window of the current tenant
+     * @param systemSecurityContext
+     *            to read the tenant configuration as system
+     * @param tenantAware
+     *            to resolve the current tenant
+     * @param executorService
+     *            to close idle sessions asynchronously
+     */
+    public DownloadSessionTracker(final ControllerManagement controllerManagement, final EntityFactory entityFactory,
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware,
+            final ScheduledExecutorService executorService) {
+        this.controllerManagement = controllerManagement;
+        this.entityFactory = entityFactory;
+        this.tenantConfigurationManagement = tenantConfigurationManagement;
+        this.systemSecurityContext = systemSecurityContext;
+        this.tenantAware = tenantAware;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Registers a download request of the given {@link Artifact} for the given
+     * {@link Action}. Starts a new download session (and logs it as
+     * {@link ActionStatus}) or joins the running one.
+     *
+     * @param action
+     *            the download is authorized by
+     * @param artifact
+     *            that is downloaded
+     * @param range
+     *            the requested range or <code>null</code> for a full download
+     * @param requestUri
+     *            of the download request
+     * @return the {@link DownloadSession} the request is accounted to
+     */
+    public DownloadSession startOrJoin(final Action action, final Artifact artifact, final String range,
+            final String requestUri) {
+        final long window = getSessionWindow();
+
+        if (window <= 0) {
+            return new DownloadSession(logDownloadStart(action.getId(), range, requestUri).getId(), requestUri);
+        }
+
+        final SessionKey key = new SessionKey(tenantAware.getCurrentTenant(), action.getId(), artifact.getId());
+
+        final DownloadSession running = sessions.computeIfPresent(key, (k, session) -> session.join());
+        if (running != null) {
+            return running;
+        }
+
+        // concurrent session starts might log the start more than once, which
+        // is acceptable as it does not change the action state
+        final DownloadSession created = new DownloadSession(
+                logDownloadStart(action.getId(), range, requestUri).getId(), requestUri);
+        final DownloadSession raced = sessions.putIfAbsent(key, created);
+        if (raced != null) {
+            return raced.join();
+        }
+
+        scheduleClose(key, window, window);
+        return created;
+    }
+
+    private ActionStatus logDownloadStart(final long actionId, final String range, final String requestUri) {
+        final String message;
+        if (range != null) {
+            message = RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads range " + range + " of: "
+                    + requestUri;
+        } else {
+            message = RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target downloads " + requestUri;
+        }
+
+        return controllerManagement.addInformationalActionStatus(
+                entityFactory.actionStatus().create(actionId).status(Status.DOWNLOAD).message(message));
+    }
+
+    private void scheduleClose(final SessionKey key, final long window, final long delay) {
+        executorService.schedule(() -> closeIfIdle(key, window), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeIfIdle(final SessionKey key, final long window) {
+        final long now = System.currentTimeMillis();
+        final AtomicReference<DownloadSession> closed = new AtomicReference<>();
+
+        final DownloadSession running = sessions.computeIfPresent(key, (k, session) -> {
+            if (now - session.getLastAccess() >= window) {
+                closed.set(session);
+                return null;
+            }
+            return session;
+        });
+
+        if (running != null) {
+            scheduleClose(key, window, running.getLastAccess() + window - now);
+            return;
+        }
+
+        final DownloadSession session = closed.get();
+        if (session == null || session.getRequests() <= 1) {
+            // nothing to summarize, the single request is already logged
+            return;
+        }
+
+        try {
+            controllerManagement.addInformationalActionStatus(entityFactory.actionStatus().create(key.actionId)
+                    .status(Status.DOWNLOAD)
+                    .message(RepositoryConstants.SERVER_MESSAGE_PREFIX + "Target download session finished: "
+                            + session.getRequests() + " requests served " + session.getShippedBytes()
+                            + " bytes of: " + session.getRequestUri()));
+        } catch (final RuntimeException e) {
+            LOG.warn("Failed to log download session summary of action {}.", key.actionId, e);
+        }
+    }
+
+    private long getSessionWindow() {
+        final Long window = systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
+                .getConfigurationValue(TenantConfigurationKey.DOWNLOAD_SESSION_WINDOW, Long.class).getValue());
+        return window != null ? window : 0;
+    }
+
+    /**
+     * A download session of a target for an {@link Artifact}.
+     */
+    public static final class DownloadSession {
+
+        private final long actionStatusId;
+        private final String requestUri;
+        private final AtomicInteger requests = new AtomicInteger(1);
+        private final AtomicLong shippedBytes = new AtomicLong();
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private DownloadSession(final long actionStatusId, final String requestUri) {
+            this.actionStatusId = actionStatusId;
+            this.requestUri = requestUri;
+        }
+
+        private DownloadSession join() {
+            requests.incrementAndGet();
+            lastAccess = System.currentTimeMillis();
+            return this;
+        }
+
+        /**
+         * @param bytes
+         *            shipped to the target within this session
+         */
+        public void addShippedBytes(final long bytes) {
+            shippedBytes.addAndGet(bytes);
+            lastAccess = System.currentTimeMillis();
+        }
+
+        /**
+         * @return ID of the {@link ActionStatus} that logged the start of the
+         *         session
+         */
+        public long getActionStatusId() {
+            return actionStatusId;
+        }
+
+        private String getRequestUri() {
+            return requestUri;
+        }
+
+        private int getRequests() {
+            return requests.get();
+        }
+
+        private long getShippedBytes() {
+            return shippedBytes.get();
+        }
+
+        private long getLastAccess() {
+            return lastAccess;
+        }
+    }
+
+    private static final class SessionKey {
+        private final String tenant;
+        private final long actionId;
+        private final long artifactId;
+
+        private SessionKey(final String tenant, final long actionId, final long artifactId) {
+            this.tenant = tenant;
+            this.actionId = actionId;
+            this.artifactId = artifactId;
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + (int) (actionId ^ (actionId >>> 32));
+            result = prime * result + (int) (artifactId ^ (artifactId >>> 32));
+            result = prime * result + (tenant == null ? 0 : tenant.hashCode());
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final SessionKey other = (SessionKey) obj;
+            return actionId == other.actionId && artifactId == other.artifactId
+                    && (tenant == null ? other.tenant == null : tenant.equals(other.tenant));
+        }
+    }
+}
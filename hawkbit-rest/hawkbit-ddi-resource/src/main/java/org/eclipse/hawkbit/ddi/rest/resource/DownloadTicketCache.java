@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Short living cache of the resolved authorization of artifact downloads.
+ * Targets typically download an artifact in a sequence of HTTP range requests
+ * which would otherwise resolve the target, the software module, the artifact
+ * binary and the authorizing {@link Action} again for every single range.
+ *
+ * A {@link DownloadTicket} is valid for the configured
+ * {@link RepositoryProperties#getDownloadTicketTtl()} at most and is
+ * invalidated as soon as the authorizing {@link Action} is updated (e.g.
+ * finished) or canceled, the software module is deleted or the target is
+ * deleted.
+ */
+public class DownloadTicketCache {
+
+    /**
+     * Maximum number of tickets, i.e. concurrent downloads, that are cached.
+     */
+    private static final int MAX_TICKETS = 10_000;
+
+    private final ConcurrentMap<TicketKey, DownloadTicket> tickets = new ConcurrentHashMap<>();
+
+    private final long ttl;
+
+    /**
+     * Constructor.
+     *
+     * @param repositoryProperties
+     *            to read the time to live of the tickets
+     * @param executorService
+     *            to remove expired tickets periodically
+     */
+    public DownloadTicketCache(final RepositoryProperties repositoryProperties,
+            final ScheduledExecutorService executorService) {
+        this.ttl = repositoryProperties.getDownloadTicketTtl();
+
+        if (ttl > 0) {
+            executorService.scheduleWithFixedDelay(this::removeExpired, ttl, ttl, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @param tenant
+     *            of the download
+     * @param controllerId
+     *            of the downloading target
+     * @param moduleId
+     *            of the software module the artifact belongs to
+     * @param filename
+     *            of the artifact
+     * @return the valid {@link DownloadTicket} of an earlier download request
+     *         or {@link Optional#empty()}
+     */
+    public Optional<DownloadTicket> get(final String tenant, final String controllerId, final Long moduleId,
+            final String filename) {
+        if (ttl <= 0) {
+            return Optional.empty();
+        }
+
+        final TicketKey key = new TicketKey(tenant, controllerId, moduleId, filename);
+        final DownloadTicket ticket = tickets.get(key);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+
+        if (ticket.isExpired(System.currentTimeMillis())) {
+            tickets.remove(key, ticket);
+            return Optional.empty();
+        }
+
+        return Optional.of(ticket);
+    }
+
+    /**
+     * Caches the resolved authorization of a download request.
+     *
+     * @param tenant
+     *            of the download
+     * @param controllerId
+     *            of the downloading target
+     * @param moduleId
+     *            of the software module the artifact belongs to
+     * @param filename
+     *            of the artifact
+     * @param artifact
+     *            the download request resolved to
+     * @param file
+     *            the binary of the artifact
+     * @param action
+     *            that authorizes the download
+     * @return the created {@link DownloadTicket}
+     */
+    public DownloadTicket put(final String tenant, final String controllerId, final Long moduleId,
+            final String filename, final Artifact artifact, final AbstractDbArtifact file, final Action action) {
+        final DownloadTicket ticket = new DownloadTicket(artifact, file, action, moduleId, controllerId,
+                System.currentTimeMillis() + ttl);
+
+        if (ttl > 0) {
+            if (tickets.size() >= MAX_TICKETS) {
+                tickets.clear();
+            }
+            tickets.put(new TicketKey(tenant, controllerId, moduleId, filename), ticket);
+        }
+
+        return ticket;
+    }
+
+    @EventListener(classes = ActionUpdatedEvent.class)
+    void invalidateOnActionUpdate(final ActionUpdatedEvent event) {
+        invalidate(event.getTenant(), ticket -> ticket.getAction().getId().equals(event.getEntityId()));
+    }
+
+    @EventListener(classes = CancelTargetAssignmentEvent.class)
+    void invalidateOnCancel(final CancelTargetAssignmentEvent event) {
+        invalidate(event.getTenant(), ticket -> ticket.getAction().getId().equals(event.getActionId()));
+    }
+
+    @EventListener(classes = SoftwareModuleDeletedEvent.class)
+    void invalidateOnSoftwareModuleDelete(final SoftwareModuleDeletedEvent event) {
+        invalidate(event.getTenant(), ticket -> ticket.getModuleId().equals(event.getEntityId()));
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    void invalidateOnTargetDelete(final TargetDeletedEvent event) {
+        invalidate(event.getTenant(), ticket -> ticket.getControllerId().equals(event.getControllerId()));
+    }
+
+    private void invalidate(final String tenant, final Predicate<DownloadTicket> affected) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+
+        tickets.entrySet().removeIf(
+                entry -> entry.getKey().tenant.equalsIgnoreCase(tenant) && affected.test(entry.getValue()));
+    }
+
+    void removeExpired() {
+        final long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.isExpired(now));
+    }
+
+    /**
+     * The resolved authorization of a download request.
+     */
+    public static final class DownloadTicket {
+        private final Artifact artifact;
+        private final AbstractDbArtifact file;
+        private final Action action;
+        private final Long moduleId;
+        private final String controllerId;
+        private final long expiresAt;
+
+        private DownloadTicket(final Artifact artifact, final AbstractDbArtifact file, final Action action,
+                final Long moduleId, final String controllerId, final long expiresAt) {
+            this.artifact = artifact;
+            this.file = file;
+            this.action = action;
+            this.moduleId = moduleId;
+            this.controllerId = controllerId;
+            this.expiresAt = expiresAt;
+        }
+
+        public Artifact getArtifact() {
+            return artifact;
+        }
+
+        /**
+         * @return the binary of the artifact or <code>null</code> if the
+         *         ticket has been created by a request that does not stream
+         *         the artifact
+         */
+        public AbstractDbArtifact getFile() {
+            return file;
+        }
+
+        public Action getAction() {
+            return action;
+        }
+
+        Long getModuleId() {
+            return moduleId;
+        }
+
+        String getControllerId() {
+            return controllerId;
+        }
+
+        private boolean isExpired(final long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private static final class TicketKey {
+        private final String tenant;
+        private final String controllerId;
+        private final Long moduleId;
+        private final String filename;
+
+        private TicketKey(final String tenant, final String controllerId, final Long moduleId,
+                final String filename) {
+            this.tenant = tenant;
+            this.controllerId = controllerId;
+            this.moduleId = moduleId;
+            this.filename = filename;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant.toUpperCase(), controllerId, moduleId, filename);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final TicketKey other = (TicketKey) obj;
+            return tenant.equalsIgnoreCase(other.tenant) && controllerId.equals(other.controllerId)
+                    && moduleId.equals(other.moduleId) && filename.equals(other.filename);
+        }
+    }
+}
@@ -27,16 +27,20 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.RandomUtils;
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.ddi.rest.resource.DdiArtifactDownloadTest.DownloadTestConfiguration;
 import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.ArtifactUpload;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
 import org.eclipse.hawkbit.repository.test.util.WithUser;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -346,6 +350,42 @@ public class DdiArtifactDownloadTest extends AbstractDDiApiIntegrationTest {
 
     }
 
+    @Test
+    @WithUser(principal = TestdataFactory.DEFAULT_CONTROLLER_ID, authorities = "ROLE_CONTROLLER", allSpPermissions = true)
+    @Description("Verifies that range requests within the download session window are logged as one download session "
+            + "with a single start and a single summary action status.")
+    public void rangeDownloadsAreCoalescedIntoOneSession() throws Exception {
+        tenantConfigurationManagement.addOrUpdateConfiguration(TenantConfigurationKey.DOWNLOAD_SESSION_WINDOW, 500L);
+
+        final Target target = testdataFactory.createTarget();
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        final int resultLength = 10 * 1024;
+        final byte random[] = RandomUtils.nextBytes(resultLength);
+        artifactManagement.create(
+                new ArtifactUpload(new ByteArrayInputStream(random), getOsModule(ds), "file1", false, resultLength));
+        final long actionId = assignDistributionSet(ds, Arrays.asList(target)).getAssignedEntity().get(0).getId();
+
+        final long statusBefore = countDownloadStatus(actionId);
+        final int range = 1024;
+        for (int i = 0; i < resultLength / range; i++) {
+            mvc.perform(
+                    get("/{tenant}/controller/v1/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/{filename}",
+                            tenantAware.getCurrentTenant(), target.getControllerId(), getOsModule(ds), "file1")
+                                    .header("Range", "bytes=" + i * range + "-" + ((i + 1) * range - 1)))
+                    .andExpect(status().isPartialContent());
+        }
+
+        assertThat(countDownloadStatus(actionId)).isEqualTo(statusBefore + 1);
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).pollInterval(100, TimeUnit.MILLISECONDS)
+                .until(() -> countDownloadStatus(actionId) == statusBefore + 2);
+    }
+
+    private long countDownloadStatus(final long actionId) {
+        return deploymentManagement.findActionStatusByAction(PAGE, actionId).getContent().stream()
+                .filter(status -> status.getStatus() == Status.DOWNLOAD).count();
+    }
+
     @Configuration
     public static class DownloadTestConfiguration {
 
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Direct Device Integration API")
+@Story("Link templates")
+public class DdiLinkTemplatesTest {
+
+    private static final List<String> IDS = Arrays.asList("plain", "with space", "a+b", "100%", "%20", "ümlaut-äöü",
+            "Ω≈ç", "reserved:@!$&'()*,;=", "query?fragment#", "dots..and~tilde");
+
+    private static final long ACTION_ID = 4711L;
+    private static final int ETAG = -1234;
+
+    private MockHttpServletRequest request;
+
+    @Before
+    public void setup() {
+        request = new MockHttpServletRequest();
+        request.setScheme("https");
+        request.setServerName("ddi.example.com");
+        request.setServerPort(8443);
+        request.setContextPath("/ctx");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @Description("Verifies that the expanded templates are identical to the links of the ControllerLinkBuilder for "
+            + "tenants and controller IDs with characters that have to be encoded.")
+    public void expandedLinksEqualControllerLinkBuilderLinks() {
+        for (final String tenant : Arrays.asList("DEFAULT", "my tenant", "tenant+ü")) {
+            for (final String controllerId : IDS) {
+                assertEquivalent(tenant, controllerId);
+            }
+        }
+    }
+
+    @Test
+    @Description("Verifies that the templates follow the forwarded headers of the request.")
+    public void linksFollowForwardedHeaders() {
+        assertEquivalent("DEFAULT", "with space");
+
+        request.addHeader("X-Forwarded-Host", "proxy.example.com");
+        request.addHeader("X-Forwarded-Proto", "http");
+        request.addHeader("X-Forwarded-Port", "80");
+        assertEquivalent("DEFAULT", "with space");
+        assertThat(DdiLinkTemplates.forCurrentRequest().configData("DEFAULT", "id").getHref())
+                .contains("proxy.example.com");
+    }
+
+    private static void assertEquivalent(final String tenant, final String controllerId) {
+        final DdiLinkTemplates templates = DdiLinkTemplates.forCurrentRequest();
+
+        assertThat(templates.deploymentBase(tenant, controllerId, ACTION_ID, ETAG))
+                .as("deployment base of %s/%s", tenant, controllerId)
+                .isEqualTo(ControllerLinkBuilder
+                        .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, tenant)
+                                .getControllerBasedeploymentAction(tenant, controllerId, ACTION_ID, ETAG, null))
+                        .withRel(DdiRestConstants.DEPLOYMENT_BASE_ACTION));
+
+        assertThat(templates.cancelAction(tenant, controllerId, ACTION_ID))
+                .as("cancel action of %s/%s", tenant, controllerId)
+                .isEqualTo(ControllerLinkBuilder
+                        .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, tenant)
+                                .getControllerCancelAction(tenant, controllerId, ACTION_ID))
+                        .withRel(DdiRestConstants.CANCEL_ACTION));
+
+        final Link configData = ControllerLinkBuilder
+                .linkTo(ControllerLinkBuilder.methodOn(DdiRootController.class, tenant).putConfigData(null, tenant,
+                        controllerId))
+                .withRel(DdiRestConstants.CONFIG_DATA_ACTION);
+        assertThat(templates.configData(tenant, controllerId)).as("config data of %s/%s", tenant, controllerId)
+                .isEqualTo(configData);
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressBatchEvent;
+import org.eclipse.hawkbit.repository.event.remote.DownloadProgressEvent;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Direct Device Integration API")
+@Story("Download progress aggregation")
+@RunWith(MockitoJUnitRunner.class)
+public class DownloadProgressAggregatorTest {
+
+    private static final String APPLICATION_ID = "Node";
+
+    private final List<Object> events = new ArrayList<>();
+
+    @Mock
+    private ScheduledExecutorService executorService;
+
+    @Test
+    @Description("Verifies that every progress update is published right away if no interval is configured.")
+    public void progressIsPublishedRightAwayWithoutInterval() {
+        final DownloadProgressAggregator aggregator = createAggregator(true, 0);
+
+        aggregator.progress("tenant", 1L, 10L);
+        aggregator.progress("tenant", 1L, 20L);
+
+        assertThat(events).hasSize(2).allMatch(DownloadProgressEvent.class::isInstance);
+    }
+
+    @Test
+    @Description("Verifies that the progress is aggregated per download and published as one event per tenant.")
+    public void progressIsAggregatedPerDownloadAndTenant() {
+        final DownloadProgressAggregator aggregator = createAggregator(true, 1_000);
+
+        aggregator.progress("tenant1", 1L, 10L);
+        aggregator.progress("tenant1", 1L, 20L);
+        aggregator.progress("tenant1", 2L, 5L);
+        aggregator.progress("tenant2", 3L, 7L);
+        assertThat(events).isEmpty();
+
+        aggregator.flush();
+
+        assertThat(events).hasSize(2).allMatch(DownloadProgressBatchEvent.class::isInstance);
+        final DownloadProgressBatchEvent tenant1 = getBatchOf("tenant1");
+        assertThat(tenant1.getShippedBytesSinceLast()).hasSize(2).containsEntry(1L, 30L).containsEntry(2L, 5L);
+        assertThat(getBatchOf("tenant2").getShippedBytesSinceLast()).hasSize(1).containsEntry(3L, 7L);
+
+        // nothing new to publish
+        events.clear();
+        aggregator.flush();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that large batches are split into multiple events.")
+    public void largeBatchesAreSplit() {
+        final DownloadProgressAggregator aggregator = createAggregator(true, 1_000);
+
+        for (long i = 0; i < DownloadProgressAggregator.MAX_DOWNLOADS_PER_EVENT + 1; i++) {
+            aggregator.progress("tenant", i, 1L);
+        }
+        aggregator.flush();
+
+        assertThat(events).hasSize(2);
+    }
+
+    @Test
+    @Description("Verifies that nothing is published if download progress events are disabled.")
+    public void nothingIsPublishedIfDisabled() {
+        final DownloadProgressAggregator aggregator = createAggregator(false, 0);
+
+        aggregator.progress("tenant", 1L, 10L);
+        aggregator.flush();
+
+        assertThat(events).isEmpty();
+    }
+
+    private DownloadProgressBatchEvent getBatchOf(final String tenant) {
+        return events.stream().map(DownloadProgressBatchEvent.class::cast)
+                .filter(event -> tenant.equals(event.getTenant())).findAny().get();
+    }
+
+    private DownloadProgressAggregator createAggregator(final boolean enabled, final long interval) {
+        final RepositoryProperties properties = new RepositoryProperties();
+        properties.setPublishDownloadProgressEvent(enabled);
+        properties.setDownloadProgressEventInterval(interval);
+        return new DownloadProgressAggregator(events::add, APPLICATION_ID, executorService, properties);
+    }
+}
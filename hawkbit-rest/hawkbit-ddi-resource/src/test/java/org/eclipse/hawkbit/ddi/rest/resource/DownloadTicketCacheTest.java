@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Direct Device Integration API")
+@Story("Download tickets")
+@RunWith(MockitoJUnitRunner.class)
+public class DownloadTicketCacheTest {
+
+    private static final String TENANT = "tenant";
+    private static final String CONTROLLER_ID = "controller";
+    private static final Long MODULE_ID = 1L;
+    private static final String FILENAME = "file.bin";
+
+    @Mock
+    private ScheduledExecutorService executorService;
+
+    @Mock
+    private Action action;
+
+    @Mock
+    private Artifact artifact;
+
+    @Mock
+    private Target target;
+
+    private DownloadTicketCache cache;
+
+    @Before
+    public void setup() {
+        final RepositoryProperties properties = new RepositoryProperties();
+        properties.setDownloadTicketTtl(60_000);
+        cache = new DownloadTicketCache(properties, executorService);
+    }
+
+    @Test
+    @Description("Verifies that a ticket is reused for the same tenant, target, module and file only.")
+    public void ticketIsReusedForSameDownload() {
+        cache.put(TENANT, CONTROLLER_ID, MODULE_ID, FILENAME, artifact, null, action);
+
+        assertThat(cache.get("TENANT", CONTROLLER_ID, MODULE_ID, FILENAME)).hasValueSatisfying(ticket -> {
+            assertThat(ticket.getAction()).isSameAs(action);
+            assertThat(ticket.getArtifact()).isSameAs(artifact);
+        });
+        assertThat(cache.get(TENANT, "other", MODULE_ID, FILENAME)).isEmpty();
+        assertThat(cache.get(TENANT, CONTROLLER_ID, 2L, FILENAME)).isEmpty();
+        assertThat(cache.get(TENANT, CONTROLLER_ID, MODULE_ID, "other.bin")).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that tickets are invalidated if the action is canceled or the module is deleted.")
+    public void ticketIsInvalidatedByEvents() {
+        when(action.getId()).thenReturn(5L);
+        when(target.getTenant()).thenReturn(TENANT);
+        cache.put(TENANT, CONTROLLER_ID, MODULE_ID, FILENAME, artifact, null, action);
+
+        cache.invalidateOnCancel(new CancelTargetAssignmentEvent(target, 6L, "node"));
+        assertThat(cache.get(TENANT, CONTROLLER_ID, MODULE_ID, FILENAME)).isPresent();
+
+        cache.invalidateOnCancel(new CancelTargetAssignmentEvent(target, 5L, "node"));
+        assertThat(cache.get(TENANT, CONTROLLER_ID, MODULE_ID, FILENAME)).isEmpty();
+
+        cache.put(TENANT, CONTROLLER_ID, MODULE_ID, FILENAME, artifact, null, action);
+        cache.invalidateOnSoftwareModuleDelete(
+                new SoftwareModuleDeletedEvent(TENANT, MODULE_ID, SoftwareModule.class.getName(), "node"));
+        assertThat(cache.get(TENANT, CONTROLLER_ID, MODULE_ID, FILENAME)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that no tickets are cached if the time to live is zero.")
+    public void noTicketsWithoutTtl() {
+        final RepositoryProperties properties = new RepositoryProperties();
+        properties.setDownloadTicketTtl(0);
+        final DownloadTicketCache disabled = new DownloadTicketCache(properties, executorService);
+
+        assertThat(disabled.put(TENANT, CONTROLLER_ID, MODULE_ID, FILENAME, artifact, null, action).getAction())
+                .isSameAs(action);
+        assertThat(disabled.get(TENANT, CONTROLLER_ID, MODULE_ID, FILENAME)).isEmpty();
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.json.model.artifact;
+
+import java.util.List;
+
+import org.springframework.hateoas.ResourceSupport;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A json annotated rest model for the state of a resumable artifact upload to
+ * RESTful API representation.
+ *
+ */
+@JsonInclude(Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MgmtArtifactUpload extends ResourceSupport {
+
+    @JsonProperty("id")
+    private String uploadId;
+
+    @JsonProperty
+    private String filename;
+
+    @JsonProperty
+    private long size;
+
+    @JsonProperty
+    private long received;
+
+    @JsonProperty
+    private List<Range> ranges;
+
+    @JsonProperty
+    private long expiresAt;
+
+    @JsonProperty
+    private boolean complete;
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(final String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(final String filename) {
+        this.filename = filename;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(final long size) {
+        this.size = size;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(final long received) {
+        this.received = received;
+    }
+
+    public List<Range> getRanges() {
+        return ranges;
+    }
+
+    public void setRanges(final List<Range> ranges) {
+        this.ranges = ranges;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(final long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(final boolean complete) {
+        this.complete = complete;
+    }
+
+    /**
+     * Range of received bytes, both offsets are inclusive.
+     */
+    public static class Range {
+
+        @JsonProperty
+        private long start;
+
+        @JsonProperty
+        private long end;
+
+        /**
+         * Default constructor.
+         */
+        public Range() {
+            // used for jackson to instantiate
+        }
+
+        /**
+         * Public constructor.
+         */
+        public Range(final long start, final long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+    }
+}
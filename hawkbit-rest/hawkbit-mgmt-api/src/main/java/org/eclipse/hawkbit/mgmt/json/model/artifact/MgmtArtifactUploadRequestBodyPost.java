@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.json.model.artifact;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Request Body for the POST of a resumable artifact upload.
+ *
+ */
+public class MgmtArtifactUploadRequestBodyPost {
+
+    @JsonProperty(required = true)
+    private String filename;
+
+    @JsonProperty(required = true)
+    private long size;
+
+    @JsonProperty
+    private String contentType;
+
+    @JsonProperty
+    private MgmtArtifactHash hashes;
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public MgmtArtifactUploadRequestBodyPost setFilename(final String filename) {
+        this.filename = filename;
+        return this;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public MgmtArtifactUploadRequestBodyPost setSize(final long size) {
+        this.size = size;
+        return this;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public MgmtArtifactUploadRequestBodyPost setContentType(final String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public MgmtArtifactHash getHashes() {
+        return hashes;
+    }
+
+    public MgmtArtifactUploadRequestBodyPost setHashes(final MgmtArtifactHash hashes) {
+        this.hashes = hashes;
+        return this;
+    }
+}
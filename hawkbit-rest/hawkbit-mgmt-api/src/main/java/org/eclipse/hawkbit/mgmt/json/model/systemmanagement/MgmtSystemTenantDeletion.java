@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.json.model.systemmanagement;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Response body for the progress of a tenant deletion.
+ *
+ */
+@JsonInclude(Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MgmtSystemTenantDeletion {
+
+    @JsonProperty
+    private String tenantName;
+
+    @JsonProperty
+    private String step;
+
+    @JsonProperty
+    private long deletedRows;
+
+    @JsonProperty
+    private long startedAt;
+
+    @JsonProperty
+    private long lastModifiedAt;
+
+    public String getTenantName() {
+        return tenantName;
+    }
+
+    public void setTenantName(final String tenantName) {
+        this.tenantName = tenantName;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public void setStep(final String step) {
+        this.step = step;
+    }
+
+    public long getDeletedRows() {
+        return deletedRows;
+    }
+
+    public void setDeletedRows(final long deletedRows) {
+        this.deletedRows = deletedRows;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(final long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getLastModifiedAt() {
+        return lastModifiedAt;
+    }
+
+    public void setLastModifiedAt(final long lastModifiedAt) {
+        this.lastModifiedAt = lastModifiedAt;
+    }
+}
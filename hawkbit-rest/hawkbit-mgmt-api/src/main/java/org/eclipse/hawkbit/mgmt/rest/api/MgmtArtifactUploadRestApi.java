@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.api;
+
+import java.io.InputStream;
+
+import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifact;
+import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifactUpload;
+import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifactUploadRequestBodyPost;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Api for resumable uploads of artifacts of a software module. The binary is
+ * uploaded in chunks by their offset, in any order and in parallel. An
+ * interrupted upload is resumed by retrieving the received ranges and
+ * uploading the missing chunks only.
+ */
+@RequestMapping(MgmtRestConstants.ARTIFACT_UPLOAD_V1_REQUEST_MAPPING)
+public interface MgmtArtifactUploadRestApi {
+
+    /**
+     * Handles the POST request of creating an upload of an artifact.
+     *
+     * @param softwareModuleId
+     *            of the software module the artifact is created for
+     * @param upload
+     *            the filename, size and optional hashes of the artifact
+     *
+     * @return the created upload with status code 201 - Created. In any
+     *         failure the JsonResponseExceptionHandler is handling the
+     *         response.
+     */
+    @PostMapping(consumes = { MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE }, produces = {
+            MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtArtifactUpload> createUpload(@PathVariable("softwareModuleId") Long softwareModuleId,
+            @RequestBody MgmtArtifactUploadRequestBodyPost upload);
+
+    /**
+     * Handles the PUT request of uploading a chunk of the artifact. The body
+     * is the binary content of the chunk. Chunks that are repeated, e.g. after
+     * a broken connection, are accepted.
+     *
+     * @param softwareModuleId
+     *            of the software module the artifact is created for
+     * @param uploadId
+     *            the ID of the upload
+     * @param offset
+     *            of the first byte of the chunk in the artifact
+     * @param length
+     *            of the chunk in bytes
+     * @param chunk
+     *            the content of the chunk
+     *
+     * @return the upload with status OK. In any failure the
+     *         JsonResponseExceptionHandler is handling the response.
+     */
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE, produces = {
+            MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtArtifactUpload> uploadChunk(@PathVariable("softwareModuleId") Long softwareModuleId,
+            @PathVariable("uploadId") String uploadId, @RequestParam("offset") long offset,
+            @RequestHeader(HttpHeaders.CONTENT_LENGTH) long length, InputStream chunk);
+
+    /**
+     * Handles the GET request of retrieving the state of an upload, including
+     * the ranges of the artifact received so far.
+     *
+     * @param softwareModuleId
+     *            of the software module the artifact is created for
+     * @param uploadId
+     *            the ID of the upload
+     *
+     * @return the upload with status OK. In any failure the
+     *         JsonResponseExceptionHandler is handling the response.
+     */
+    @GetMapping(value = "/{uploadId}", produces = { MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtArtifactUpload> getUpload(@PathVariable("softwareModuleId") Long softwareModuleId,
+            @PathVariable("uploadId") String uploadId);
+
+    /**
+     * Handles the POST request of completing an upload. The artifact is
+     * created if it has been received completely.
+     *
+     * @param softwareModuleId
+     *            of the software module the artifact is created for
+     * @param uploadId
+     *            the ID of the upload
+     *
+     * @return the created artifact with status code 201 - Created. In any
+     *         failure the JsonResponseExceptionHandler is handling the
+     *         response.
+     */
+    @PostMapping(value = "/{uploadId}/commit", produces = { MediaTypes.HAL_JSON_VALUE,
+            MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtArtifact> commitUpload(@PathVariable("softwareModuleId") Long softwareModuleId,
+            @PathVariable("uploadId") String uploadId);
+
+    /**
+     * Handles the DELETE request of aborting an upload. The received chunks
+     * are deleted.
+     *
+     * @param softwareModuleId
+     *            of the software module the artifact is created for
+     * @param uploadId
+     *            the ID of the upload
+     *
+     * @return status OK if abort is successful. In any failure the
+     *         JsonResponseExceptionHandler is handling the response.
+     */
+    @DeleteMapping(value = "/{uploadId}")
+    ResponseEntity<Void> abortUpload(@PathVariable("softwareModuleId") Long softwareModuleId,
+            @PathVariable("uploadId") String uploadId);
+}
@@ -44,6 +44,12 @@ public final class MgmtRestConstants {
      */
     public static final String SOFTWAREMODULE_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/softwaremodules";
 
+    /**
+     * The resumable artifact upload URL mapping rest resource.
+     */
+    public static final String ARTIFACT_UPLOAD_V1_REQUEST_MAPPING = SOFTWAREMODULE_V1_REQUEST_MAPPING
+            + "/{softwareModuleId}/uploads";
+
     public static final String DOWNLOAD_ID_V1_REQUEST_MAPPING_BASE = "/api/" + API_VERSION + "/downloadserver/";
 
     public static final String DOWNLOAD_ID_V1_REQUEST_MAPPING = "/downloadId/{tenant}/{downloadId}";
@@ -90,6 +96,11 @@ public final class MgmtRestConstants {
      */
     public static final String TARGET_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/targets";
 
+    /**
+     * The target import URL mapping rest resource.
+     */
+    public static final String TARGET_IMPORT_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/targetimports";
+
     /**
      * The tag URL mapping rest resource.
      */
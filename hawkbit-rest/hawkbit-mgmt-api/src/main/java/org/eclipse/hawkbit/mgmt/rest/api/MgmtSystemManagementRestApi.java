@@ -12,6 +12,7 @@ import java.util.Collection;
 
 import org.eclipse.hawkbit.mgmt.json.model.systemmanagement.MgmtSystemCache;
 import org.eclipse.hawkbit.mgmt.json.model.systemmanagement.MgmtSystemStatisticsRest;
+import org.eclipse.hawkbit.mgmt.json.model.systemmanagement.MgmtSystemTenantDeletion;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -28,15 +29,30 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public interface MgmtSystemManagementRestApi {
 
     /**
-     * Deletes the tenant data of a given tenant. USE WITH CARE!
+     * Deletes the tenant data of a given tenant. USE WITH CARE! The requests
+     * of the tenant are rejected right away, its data is deleted in the
+     * background. The progress is exposed by {@link #getTenantDeletion(String)}
+     * until the data is gone.
      *
      * @param tenant
      *            to delete
-     * @return HttpStatus.OK
+     * @return HttpStatus.OK once the deletion has been started
      */
     @DeleteMapping(value = "/tenants/{tenant}")
     ResponseEntity<Void> deleteTenant(@PathVariable("tenant") String tenant);
 
+    /**
+     * Returns the progress of the deletion of a given tenant.
+     *
+     * @param tenant
+     *            that is deleted
+     * @return the progress or HttpStatus.NOT_FOUND if the tenant is not being
+     *         deleted
+     */
+    @GetMapping(value = "/tenants/{tenant}/deletion", produces = { MediaTypes.HAL_JSON_VALUE,
+            MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtSystemTenantDeletion> getTenantDeletion(@PathVariable("tenant") String tenant);
+
     /**
      * Collects and returns system usage statistics. It provides a system wide
      * overview and tenant based stats.
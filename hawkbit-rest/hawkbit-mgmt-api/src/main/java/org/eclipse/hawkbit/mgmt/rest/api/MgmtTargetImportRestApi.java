@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.api;
+
+import java.util.List;
+
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportJob;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Api for the asynchronous bulk import of targets.
+ */
+@RequestMapping(MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING)
+public interface MgmtTargetImportRestApi {
+
+    /**
+     * Handles the POST request of starting a bulk import of targets. The file
+     * contains one target per line, either as <code>controllerId,name</code>
+     * (format <code>csv</code>) or as JSON object with the properties
+     * <code>controllerId</code>, <code>name</code>, <code>description</code>
+     * and <code>address</code> (format <code>ndjson</code>). Existing targets
+     * are skipped.
+     *
+     * @param file
+     *            with the targets
+     * @param format
+     *            of the file, <code>csv</code> or <code>ndjson</code>
+     * @param description
+     *            of the created targets that do not define one
+     * @param tagIds
+     *            IDs of the target tags that are assigned to the created
+     *            targets
+     * @param distributionSetId
+     *            ID of the distribution set that is assigned to the created
+     *            targets
+     * @param actionType
+     *            of the distribution set assignment
+     * @param forceTime
+     *            of the distribution set assignment
+     *
+     * @return the started import with status code 202 - Accepted. In any
+     *         failure the JsonResponseExceptionHandler is handling the
+     *         response.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = { MediaTypes.HAL_JSON_VALUE,
+            MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtTargetImportJob> startImport(@RequestPart("file") MultipartFile file,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "tags", required = false) List<Long> tagIds,
+            @RequestParam(value = "distributionSetId", required = false) Long distributionSetId,
+            @RequestParam(value = "type", defaultValue = "forced") String actionType,
+            @RequestParam(value = "forcetime", required = false) Long forceTime);
+
+    /**
+     * Handles the GET request of retrieving the state of a bulk import of
+     * targets.
+     *
+     * @param jobId
+     *            the ID of the import
+     * @return the import with status OK. In any failure the
+     *         JsonResponseExceptionHandler is handling the response.
+     */
+    @GetMapping(value = "/{jobId}", produces = { MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtTargetImportJob> getImport(@PathVariable("jobId") String jobId);
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.io.InputStream;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifact;
+import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifactHash;
+import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifactUpload;
+import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifactUploadRequestBodyPost;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtArtifactUploadRestApi;
+import org.eclipse.hawkbit.repository.ArtifactUploadManagement;
+import org.eclipse.hawkbit.repository.exception.ArtifactUploadSessionNotFoundException;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ArtifactUploadSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Resource handling resumable uploads of artifacts.
+ */
+@RestController
+public class MgmtArtifactUploadResource implements MgmtArtifactUploadRestApi {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MgmtArtifactUploadResource.class);
+
+    private final ArtifactUploadManagement artifactUploadManagement;
+
+    MgmtArtifactUploadResource(final ArtifactUploadManagement artifactUploadManagement) {
+        this.artifactUploadManagement = artifactUploadManagement;
+    }
+
+    @Override
+    public ResponseEntity<MgmtArtifactUpload> createUpload(
+            @PathVariable("softwareModuleId") final Long softwareModuleId,
+            @RequestBody final MgmtArtifactUploadRequestBodyPost upload) {
+        final MgmtArtifactHash hashes = upload.getHashes();
+        final ArtifactUploadSession session = artifactUploadManagement.createSession(softwareModuleId,
+                upload.getFilename(), upload.getSize(), upload.getContentType(),
+                hashes == null ? null : new DbArtifactHash(hashes.getSha1(), hashes.getMd5(), hashes.getSha256()));
+
+        LOG.debug("Artifact upload {} created, return status {}", session.getId(), HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED).body(MgmtSoftwareModuleMapper.toResponse(session));
+    }
+
+    @Override
+    public ResponseEntity<MgmtArtifactUpload> uploadChunk(
+            @PathVariable("softwareModuleId") final Long softwareModuleId,
+            @PathVariable("uploadId") final String uploadId, @RequestParam("offset") final long offset,
+            @RequestHeader(HttpHeaders.CONTENT_LENGTH) final long length, final InputStream chunk) {
+        findSessionWithExceptionIfNotFound(softwareModuleId, uploadId);
+
+        return ResponseEntity.ok(MgmtSoftwareModuleMapper
+                .toResponse(artifactUploadManagement.uploadChunk(uploadId, offset, chunk, length)));
+    }
+
+    @Override
+    public ResponseEntity<MgmtArtifactUpload> getUpload(@PathVariable("softwareModuleId") final Long softwareModuleId,
+            @PathVariable("uploadId") final String uploadId) {
+        final ArtifactUploadSession session = findSessionWithExceptionIfNotFound(softwareModuleId, uploadId);
+        return ResponseEntity.ok(MgmtSoftwareModuleMapper.toResponse(session));
+    }
+
+    @Override
+    public ResponseEntity<MgmtArtifact> commitUpload(@PathVariable("softwareModuleId") final Long softwareModuleId,
+            @PathVariable("uploadId") final String uploadId) {
+        findSessionWithExceptionIfNotFound(softwareModuleId, uploadId);
+
+        final Artifact result = artifactUploadManagement.commitSession(uploadId);
+        final MgmtArtifact response = MgmtSoftwareModuleMapper.toResponse(result);
+        MgmtSoftwareModuleMapper.addLinks(result, response);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Override
+    public ResponseEntity<Void> abortUpload(@PathVariable("softwareModuleId") final Long softwareModuleId,
+            @PathVariable("uploadId") final String uploadId) {
+        findSessionWithExceptionIfNotFound(softwareModuleId, uploadId);
+
+        artifactUploadManagement.abortSession(uploadId);
+        return ResponseEntity.ok().build();
+    }
+
+    private ArtifactUploadSession findSessionWithExceptionIfNotFound(final Long softwareModuleId,
+            final String uploadId) {
+        return artifactUploadManagement.getSession(uploadId)
+                .filter(session -> session.getModuleId() == softwareModuleId)
+                .orElseThrow(() -> new ArtifactUploadSessionNotFoundException(uploadId));
+    }
+}
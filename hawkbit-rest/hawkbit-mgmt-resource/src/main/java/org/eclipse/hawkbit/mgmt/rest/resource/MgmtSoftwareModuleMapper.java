@@ -18,9 +18,11 @@ import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifact;
 import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifactHash;
+import org.eclipse.hawkbit.mgmt.json.model.artifact.MgmtArtifactUpload;
 import org.eclipse.hawkbit.mgmt.json.model.softwaremodule.MgmtSoftwareModule;
 import org.eclipse.hawkbit.mgmt.json.model.softwaremodule.MgmtSoftwareModuleMetadata;
 import org.eclipse.hawkbit.mgmt.json.model.softwaremodule.MgmtSoftwareModuleRequestBodyPost;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtArtifactUploadRestApi;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtSoftwareModuleRestApi;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtSoftwareModuleTypeRestApi;
@@ -28,6 +30,7 @@ import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.builder.SoftwareModuleCreate;
 import org.eclipse.hawkbit.repository.builder.SoftwareModuleMetadataCreate;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.ArtifactUploadSession;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.rest.data.ResponseList;
@@ -151,6 +154,23 @@ public final class MgmtSoftwareModuleMapper {
                 .downloadArtifact(artifact.getSoftwareModule().getId(), artifact.getId())).withRel("download"));
     }
 
+    static MgmtArtifactUpload toResponse(final ArtifactUploadSession session) {
+        final MgmtArtifactUpload response = new MgmtArtifactUpload();
+        response.setUploadId(session.getId());
+        response.setFilename(session.getFilename());
+        response.setSize(session.getSize());
+        response.setReceived(session.getReceived());
+        response.setRanges(session.getReceivedRanges().stream()
+                .map(range -> new MgmtArtifactUpload.Range(range.getStart(), range.getEnd()))
+                .collect(Collectors.toList()));
+        response.setExpiresAt(session.getExpiresAt());
+        response.setComplete(session.isComplete());
+
+        response.add(linkTo(methodOn(MgmtArtifactUploadRestApi.class).getUpload(session.getModuleId(),
+                session.getId())).withSelfRel());
+        return response;
+    }
+
     static List<MgmtArtifact> artifactsToResponse(final Collection<Artifact> artifacts) {
         if (artifacts == null) {
             return Collections.emptyList();
@@ -16,9 +16,11 @@ import java.util.stream.Collectors;
 import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
 import org.eclipse.hawkbit.mgmt.json.model.systemmanagement.MgmtSystemCache;
 import org.eclipse.hawkbit.mgmt.json.model.systemmanagement.MgmtSystemStatisticsRest;
+import org.eclipse.hawkbit.mgmt.json.model.systemmanagement.MgmtSystemTenantDeletion;
 import org.eclipse.hawkbit.mgmt.json.model.systemmanagement.MgmtSystemTenantServiceUsage;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtSystemManagementRestApi;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.model.TenantDeletion;
 import org.eclipse.hawkbit.repository.report.model.SystemUsageReportWithTenants;
 import org.eclipse.hawkbit.repository.report.model.TenantUsage;
 import org.slf4j.Logger;
@@ -49,11 +51,13 @@ public class MgmtSystemManagementResource implements MgmtSystemManagementRestApi
     }
 
     /**
-     * Deletes the tenant data of a given tenant. USE WITH CARE!
+     * Starts the deletion of the tenant data of a given tenant. USE WITH CARE!
+     * The data is deleted in the background, see
+     * {@link #getTenantDeletion(String)}.
      *
      * @param tenant
      *            to delete
-     * @return HttpStatus.OK
+     * @return HttpStatus.OK once the deletion has been started
      */
     @Override
     public ResponseEntity<Void> deleteTenant(@PathVariable("tenant") final String tenant) {
@@ -61,6 +65,30 @@ public class MgmtSystemManagementResource implements MgmtSystemManagementRestApi
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Returns the progress of the deletion of a given tenant.
+     *
+     * @param tenant
+     *            that is deleted
+     * @return the progress or HttpStatus.NOT_FOUND if the tenant is not being
+     *         deleted
+     */
+    @Override
+    public ResponseEntity<MgmtSystemTenantDeletion> getTenantDeletion(@PathVariable("tenant") final String tenant) {
+        return systemManagement.getTenantDeletion(tenant).map(MgmtSystemManagementResource::convertDeletion)
+                .map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static MgmtSystemTenantDeletion convertDeletion(final TenantDeletion deletion) {
+        final MgmtSystemTenantDeletion result = new MgmtSystemTenantDeletion();
+        result.setTenantName(deletion.getTenant());
+        result.setStep(deletion.getStep());
+        result.setDeletedRows(deletion.getDeletedRows());
+        result.setStartedAt(deletion.getCreatedAt());
+        result.setLastModifiedAt(deletion.getLastModifiedAt());
+        return result;
+    }
+
     /**
      * Collects and returns system usage statistics. It provides a system wide
      * overview and tenant based stats.
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.validation.ValidationException;
+
+import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtActionType;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportJob;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetImportRestApi;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
+import org.eclipse.hawkbit.repository.model.TargetImportJob;
+import org.eclipse.hawkbit.repository.model.TargetImportRequest.Format;
+import org.eclipse.hawkbit.repository.model.TargetImportRequestBuilder;
+import org.eclipse.hawkbit.rest.exception.MultiPartFileUploadException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * REST Resource handling the asynchronous bulk import of targets.
+ */
+@RestController
+public class MgmtTargetImportResource implements MgmtTargetImportRestApi {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MgmtTargetImportResource.class);
+
+    private final TargetImportManagement targetImportManagement;
+
+    MgmtTargetImportResource(final TargetImportManagement targetImportManagement) {
+        this.targetImportManagement = targetImportManagement;
+    }
+
+    @Override
+    public ResponseEntity<MgmtTargetImportJob> startImport(@RequestPart("file") final MultipartFile file,
+            @RequestParam(value = "format", defaultValue = "csv") final String format,
+            @RequestParam(value = "description", required = false) final String description,
+            @RequestParam(value = "tags", required = false) final List<Long> tagIds,
+            @RequestParam(value = "distributionSetId", required = false) final Long distributionSetId,
+            @RequestParam(value = "type", defaultValue = "forced") final String actionType,
+            @RequestParam(value = "forcetime", required = false) final Long forceTime) {
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final TargetImportRequestBuilder request = TargetImportManagement.importRequest(toFormat(format))
+                .setDescription(description).setTagIds(tagIds == null ? Collections.emptyList() : tagIds)
+                .setDistributionSetId(distributionSetId)
+                .setActionType(MgmtRestModelMapper.convertActionType(toActionType(actionType)));
+        if (forceTime != null) {
+            request.setForceTime(forceTime);
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            final TargetImportJob job = targetImportManagement.startImport(in, request.build());
+
+            LOG.debug("Target import {} started, return status {}", job.getId(), HttpStatus.ACCEPTED);
+            return new ResponseEntity<>(MgmtTargetMapper.toResponse(job), HttpStatus.ACCEPTED);
+        } catch (final IOException e) {
+            LOG.error("Failed to store target import", e);
+            throw new MultiPartFileUploadException(e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<MgmtTargetImportJob> getImport(@PathVariable("jobId") final String jobId) {
+        return targetImportManagement.getImportJob(jobId).map(MgmtTargetMapper::toResponse).map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static Format toFormat(final String format) {
+        return Arrays.stream(Format.values()).filter(value -> value.name().equalsIgnoreCase(format)).findAny()
+                .orElseThrow(() -> new ValidationException("Unsupported import format " + format));
+    }
+
+    private static MgmtActionType toActionType(final String actionType) {
+        return Arrays.stream(MgmtActionType.values()).filter(value -> value.getName().equalsIgnoreCase(actionType))
+                .findAny().orElseThrow(() -> new ValidationException("Unsupported action type " + actionType));
+    }
+}
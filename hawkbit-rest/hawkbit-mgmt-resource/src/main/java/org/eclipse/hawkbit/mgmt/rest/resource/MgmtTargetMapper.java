@@ -25,9 +25,11 @@ import org.eclipse.hawkbit.mgmt.json.model.MgmtPollStatus;
 import org.eclipse.hawkbit.mgmt.json.model.action.MgmtAction;
 import org.eclipse.hawkbit.mgmt.json.model.action.MgmtActionStatus;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTarget;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetImportJob;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtDistributionSetRestApi;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetImportRestApi;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetRestApi;
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
@@ -40,6 +42,7 @@ import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.MetaData;
 import org.eclipse.hawkbit.repository.model.PollStatus;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetImportJob;
 import org.eclipse.hawkbit.repository.model.TargetMetadata;
 import org.eclipse.hawkbit.rest.data.ResponseList;
 import org.eclipse.hawkbit.rest.data.SortDirection;
@@ -107,6 +110,30 @@ public final class MgmtTargetMapper {
         return new ResponseList<>(targets.stream().map(MgmtTargetMapper::toResponse).collect(Collectors.toList()));
     }
 
+    /**
+     * Create a response for a bulk target import.
+     *
+     * @param job
+     *            the import
+     * @return the response
+     */
+    static MgmtTargetImportJob toResponse(final TargetImportJob job) {
+        final MgmtTargetImportJob response = new MgmtTargetImportJob();
+        response.setJobId(job.getId());
+        response.setStatus(job.getStatus().name().toLowerCase());
+        response.setProcessed(job.getProcessed());
+        response.setCreated(job.getCreated());
+        response.setSkipped(job.getSkipped());
+        response.setFailed(job.getFailed());
+        response.setBytesRead(job.getBytesRead());
+        response.setStartedAt(job.getStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        response.setError(job.getError());
+
+        response.add(linkTo(methodOn(MgmtTargetImportRestApi.class).getImport(job.getId())).withSelfRel());
+        return response;
+    }
+
     /**
      * Create a response for target.
      *
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.eclipse.hawkbit.exception.SpServerError;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.test.util.HashGeneratorUtils;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jayway.jsonpath.JsonPath;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests for {@link MgmtArtifactUploadResource} {@link RestController}.
+ */
+@Feature("Component Tests - Management API")
+@Story("Artifact Upload Resource")
+public class MgmtArtifactUploadResourceTest extends AbstractManagementApiIntegrationTest {
+
+    private static final String UPLOADS = MgmtRestConstants.ARTIFACT_UPLOAD_V1_REQUEST_MAPPING;
+
+    @Test
+    @Description("Verifies that an artifact is uploaded in chunks in any order and created on commit.")
+    public void uploadInChunksAndCommit() throws Exception {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final byte[] content = RandomUtils.nextBytes(1024);
+        final String uploadId = createUpload(module.getId(), "file1", content.length);
+
+        uploadChunk(module.getId(), uploadId, content, 512, 512).andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", equalTo(512))).andExpect(jsonPath("$.complete", equalTo(false)))
+                .andExpect(jsonPath("$.ranges", hasSize(1))).andExpect(jsonPath("$.ranges[0].start", equalTo(512)))
+                .andExpect(jsonPath("$.ranges[0].end", equalTo(1023)));
+        uploadChunk(module.getId(), uploadId, content, 0, 512).andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete", equalTo(true)));
+
+        mvc.perform(get(UPLOADS + "/{uploadId}", module.getId(), uploadId)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(jsonPath("$.id", equalTo(uploadId)))
+                .andExpect(jsonPath("$.filename", equalTo("file1")))
+                .andExpect(jsonPath("$.size", equalTo(content.length)))
+                .andExpect(jsonPath("$.received", equalTo(content.length)));
+
+        mvc.perform(post(UPLOADS + "/{uploadId}/commit", module.getId(), uploadId))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isCreated())
+                .andExpect(jsonPath("$.providedFilename", equalTo("file1")))
+                .andExpect(jsonPath("$.size", equalTo(content.length)))
+                .andExpect(jsonPath("$.hashes.sha1", equalTo(HashGeneratorUtils.generateSHA1(content))));
+
+        assertThat(softwareModuleManagement.get(module.getId()).get().getArtifacts()).hasSize(1);
+        mvc.perform(get(UPLOADS + "/{uploadId}", module.getId(), uploadId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Description("Verifies that an upload is not found via another software module than it has been created for.")
+    public void uploadOfOtherSoftwareModuleIsNotFound() throws Exception {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final SoftwareModule other = testdataFactory.createSoftwareModuleApp();
+        final byte[] content = RandomUtils.nextBytes(16);
+        final String uploadId = createUpload(module.getId(), "file1", content.length);
+
+        mvc.perform(get(UPLOADS + "/{uploadId}", other.getId(), uploadId)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode", equalTo(SpServerError.SP_REPO_ENTITY_NOT_EXISTS.getKey())));
+        uploadChunk(other.getId(), uploadId, content, 0, content.length).andExpect(status().isNotFound());
+        mvc.perform(post(UPLOADS + "/{uploadId}/commit", other.getId(), uploadId))
+                .andExpect(status().isNotFound());
+        mvc.perform(delete(UPLOADS + "/{uploadId}", other.getId(), uploadId)).andExpect(status().isNotFound());
+
+        mvc.perform(get(UPLOADS + "/{uploadId}", module.getId(), uploadId)).andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", equalTo(0)));
+    }
+
+    @Test
+    @Description("Verifies that a chunk without Content-Length header is rejected.")
+    public void chunkWithoutContentLengthIsRejected() throws Exception {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final String uploadId = createUpload(module.getId(), "file1", 16);
+
+        mvc.perform(put(UPLOADS + "/{uploadId}", module.getId(), uploadId).param("offset", "0")
+                .content(RandomUtils.nextBytes(16)).contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+
+        mvc.perform(get(UPLOADS + "/{uploadId}", module.getId(), uploadId)).andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", equalTo(0)));
+    }
+
+    @Test
+    @Description("Verifies that an incomplete upload is not committed and can be completed afterwards.")
+    public void commitOfIncompleteUploadIsRejected() throws Exception {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final byte[] content = RandomUtils.nextBytes(64);
+        final String uploadId = createUpload(module.getId(), "file1", content.length);
+        uploadChunk(module.getId(), uploadId, content, 0, 16).andExpect(status().isOk());
+        uploadChunk(module.getId(), uploadId, content, 32, 16).andExpect(status().isOk())
+                .andExpect(jsonPath("$.ranges", hasSize(2)));
+
+        mvc.perform(post(UPLOADS + "/{uploadId}/commit", module.getId(), uploadId))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+        assertThat(softwareModuleManagement.get(module.getId()).get().getArtifacts()).isEmpty();
+
+        uploadChunk(module.getId(), uploadId, content, 16, 16).andExpect(status().isOk());
+        uploadChunk(module.getId(), uploadId, content, 48, 16).andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete", equalTo(true)));
+        mvc.perform(post(UPLOADS + "/{uploadId}/commit", module.getId(), uploadId))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @Description("Verifies that an aborted upload is removed.")
+    public void abortUpload() throws Exception {
+        final SoftwareModule module = testdataFactory.createSoftwareModuleOs();
+        final String uploadId = createUpload(module.getId(), "file1", 16);
+
+        mvc.perform(delete(UPLOADS + "/{uploadId}", module.getId(), uploadId)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk());
+        mvc.perform(get(UPLOADS + "/{uploadId}", module.getId(), uploadId)).andExpect(status().isNotFound());
+    }
+
+    private String createUpload(final long moduleId, final String filename, final long size) throws Exception {
+        final String body = new JSONObject().put("filename", filename).put("size", size).toString();
+        final String response = mvc
+                .perform(post(UPLOADS, moduleId).content(body).contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isCreated())
+                .andExpect(jsonPath("$.filename", equalTo(filename))).andExpect(jsonPath("$.size", equalTo((int) size)))
+                .andExpect(jsonPath("$.received", equalTo(0))).andExpect(jsonPath("$._links.self.href").exists())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.id");
+    }
+
+    private ResultActions uploadChunk(final long moduleId, final String uploadId, final byte[] content,
+            final int offset, final int length) throws Exception {
+        return mvc
+                .perform(put(UPLOADS + "/{uploadId}", moduleId, uploadId).param("offset", String.valueOf(offset))
+                        .header(HttpHeaders.CONTENT_LENGTH, length)
+                        .content(Arrays.copyOfRange(content, offset, offset + length))
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).accept(MediaTypes.HAL_JSON))
+                .andDo(MockMvcResultPrinter.print());
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.equalToIgnoringCase;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.test.util.WithSpringAuthorityRule;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.junit.Test;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests for {@link MgmtSystemManagementResource} {@link RestController}.
+ */
+@Feature("Component Tests - Management API")
+@Story("System Management Resource")
+public class MgmtSystemManagementResourceTest extends AbstractManagementApiIntegrationTest {
+
+    private static final String TENANTS = MgmtRestConstants.SYSTEM_ADMIN_MAPPING + "/tenants";
+
+    @Test
+    @Description("Verifies that a deleted tenant is deleted in the background and that the progress of the deletion "
+            + "is exposed until its data is gone.")
+    public void deletedTenantExposesDeletionProgress() throws Exception {
+        securityRule.runAs(WithSpringAuthorityRule.withUserAndTenant("bumlux", "other"),
+                () -> testdataFactory.createTargets(5, "other"));
+
+        mvc.perform(delete(TENANTS + "/{tenant}", "other")).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk());
+
+        mvc.perform(get(TENANTS + "/{tenant}/deletion", "other")).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(jsonPath("$.tenantName", equalToIgnoringCase("other")))
+                .andExpect(jsonPath("$.step", equalTo("ACTION_STATUS")))
+                .andExpect(jsonPath("$.deletedRows", equalTo(0))).andExpect(jsonPath("$.startedAt").exists())
+                .andExpect(jsonPath("$.lastModifiedAt").exists());
+
+        assertThat(systemSecurityContext.runAsSystem(() -> systemManagement.runTenantDeletion("other"))).isTrue();
+
+        mvc.perform(get(TENANTS + "/{tenant}/deletion", "other")).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Description("Verifies that the deletion progress of a tenant that is not being deleted is not found.")
+    public void deletionOfExistingTenantIsNotFound() throws Exception {
+        mvc.perform(get(TENANTS + "/{tenant}/deletion", "default")).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.fileUpload;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.jayway.jsonpath.JsonPath;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests for {@link MgmtTargetImportResource} {@link RestController}.
+ */
+@Feature("Component Tests - Management API")
+@Story("Target Import Resource")
+public class MgmtTargetImportResourceTest extends AbstractManagementApiIntegrationTest {
+
+    private static final String IMPORTS = MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING;
+
+    @Test
+    @Description("Verifies that a CSV import is started asynchronously, skips existing targets and assigns the "
+            + "requested tag to the created targets.")
+    public void importCsvCreatesTargets() throws Exception {
+        testdataFactory.createTarget("existing");
+        final TargetTag tag = testdataFactory.createTargetTags(1, "import").get(0);
+
+        final MvcResult result = mvc
+                .perform(fileUpload(IMPORTS).file(file("import-1,First\nimport-2\nexisting,Existing\n"))
+                        .param("description", "bulk").param("tags", String.valueOf(tag.getId()))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").exists()).andExpect(jsonPath("$._links.self.href").exists())
+                .andReturn();
+        final String jobId = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+
+        awaitFinished(jobId);
+        mvc.perform(get(IMPORTS + "/{jobId}", jobId)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(jsonPath("$.id", equalTo(jobId)))
+                .andExpect(jsonPath("$.processed", equalTo(3))).andExpect(jsonPath("$.created", equalTo(2)))
+                .andExpect(jsonPath("$.skipped", equalTo(1))).andExpect(jsonPath("$.failed", equalTo(0)))
+                .andExpect(jsonPath("$.finishedAt").exists())
+                .andExpect(jsonPath("$._links.self.href", equalTo("http://localhost" + IMPORTS + "/" + jobId)));
+
+        final Target first = targetManagement.getByControllerID("import-1").get();
+        assertThat(first.getName()).isEqualTo("First");
+        assertThat(first.getDescription()).isEqualTo("bulk");
+        assertThat(targetManagement.getByControllerID("existing").get().getName()).isEqualTo("existing");
+        assertThat(targetManagement.findByTag(PageRequest.of(0, 10), tag.getId()).getContent())
+                .extracting(Target::getControllerId).containsOnly("import-1", "import-2");
+    }
+
+    @Test
+    @Description("Verifies that an NDJSON import creates the targets with the given properties.")
+    public void importNdjsonCreatesTargets() throws Exception {
+        final MvcResult result = mvc
+                .perform(fileUpload(IMPORTS)
+                        .file(file("{\"controllerId\":\"json-1\",\"name\":\"Json\",\"description\":\"from json\"}\n"))
+                        .param("format", "ndjson").accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isAccepted()).andReturn();
+
+        awaitFinished(JsonPath.read(result.getResponse().getContentAsString(), "$.id"));
+        final Target target = targetManagement.getByControllerID("json-1").get();
+        assertThat(target.getName()).isEqualTo("Json");
+        assertThat(target.getDescription()).isEqualTo("from json");
+    }
+
+    @Test
+    @Description("Verifies that an import of an empty file, in an unknown format or with an unknown action type is "
+            + "rejected.")
+    public void invalidImportIsRejected() throws Exception {
+        mvc.perform(fileUpload(IMPORTS).file(file("")).accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+        mvc.perform(fileUpload(IMPORTS).file(file("import-1\n")).param("format", "xml")
+                .accept(MediaType.APPLICATION_JSON)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isBadRequest());
+        mvc.perform(fileUpload(IMPORTS).file(file("import-1\n")).param("type", "sometimes")
+                .accept(MediaType.APPLICATION_JSON)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isBadRequest());
+
+        assertThat(targetManagement.getByControllerID("import-1")).isNotPresent();
+    }
+
+    @Test
+    @Description("Verifies that an import which assigns a tag or distribution set that does not exist is not "
+            + "started.")
+    public void importWithUnknownEntitiesIsNotFound() throws Exception {
+        mvc.perform(fileUpload(IMPORTS).file(file("import-1\n")).param("tags", "1234")
+                .accept(MediaType.APPLICATION_JSON)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotFound());
+        mvc.perform(fileUpload(IMPORTS).file(file("import-1\n")).param("distributionSetId", "1234")
+                .accept(MediaType.APPLICATION_JSON)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotFound());
+
+        assertThat(targetManagement.getByControllerID("import-1")).isNotPresent();
+    }
+
+    @Test
+    @Description("Verifies that the state of an unknown import is not found.")
+    public void unknownImportIsNotFound() throws Exception {
+        mvc.perform(get(IMPORTS + "/{jobId}", "unknown")).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotFound());
+    }
+
+    private void awaitFinished(final String jobId) {
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).pollInterval(100, TimeUnit.MILLISECONDS)
+                .until(() -> "finished".equals(JsonPath.read(mvc.perform(get(IMPORTS + "/{jobId}", jobId))
+                        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString(), "$.status")));
+    }
+
+    private static MockMultipartFile file(final String content) {
+        return new MockMultipartFile("file", "targets", null, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
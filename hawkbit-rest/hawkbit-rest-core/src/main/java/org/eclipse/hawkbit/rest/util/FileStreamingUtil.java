@@ -12,6 +12,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +24,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.CachedDbArtifact;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -192,9 +196,8 @@ public final class FileStreamingUtil {
         response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setContentLengthLong(r.getLength());
 
-        try (InputStream from = artifact.getFileInputStream()) {
-            final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        try {
+            copy(artifact, response.getOutputStream(), progressListener, r.getStart(), r.getLength(), filename);
         } catch (final IOException e) {
             throw new FileStreamingFailedException("fullfileRequest " + filename, e);
         }
@@ -264,17 +267,14 @@ public final class FileStreamingUtil {
             final ServletOutputStream to = response.getOutputStream();
 
             for (final ByteRange r : ranges) {
-                try (InputStream from = artifact.getFileInputStream()) {
-
-                    // Add multipart boundary and header fields for every range.
-                    to.println();
-                    to.println("--" + ByteRange.MULTIPART_BOUNDARY);
-                    to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
-                            + r.getTotal());
-
-                    // Copy single part range of multi part range.
-                    copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
-                }
+                // Add multipart boundary and header fields for every range.
+                to.println();
+                to.println("--" + ByteRange.MULTIPART_BOUNDARY);
+                to.println(
+                        HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
+
+                // Copy single part range of multi part range.
+                copy(artifact, to, progressListener, r.getStart(), r.getLength(), filename);
             }
 
             // End with final multipart boundary.
@@ -295,9 +295,8 @@ public final class FileStreamingUtil {
         response.setContentLengthLong(r.getLength());
         response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
-        try (InputStream from = artifact.getFileInputStream()) {
-            final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        try {
+            copy(artifact, response.getOutputStream(), progressListener, r.getStart(), r.getLength(), filename);
         } catch (final IOException e) {
             LOG.error("standardRangeRequest of file ({}) failed!", filename, e);
             throw new FileStreamingFailedException(filename);
@@ -306,6 +305,19 @@ public final class FileStreamingUtil {
         return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).build();
     }
 
+    private static void copy(final AbstractDbArtifact artifact, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final long start, final long length,
+            final String filename) throws IOException {
+        if (artifact instanceof CachedDbArtifact) {
+            copyBuffer(((CachedDbArtifact) artifact).getContent(), to, progressListener, start, length, filename);
+            return;
+        }
+
+        try (InputStream from = artifact.getFileInputStream()) {
+            copyStreams(from, to, progressListener, start, length, filename);
+        }
+    }
+
     private static long copyStreams(final InputStream from, final OutputStream to,
             final FileStreamingProgressListener progressListener, final long start, final long length,
             final String filename) throws IOException {
@@ -316,14 +328,12 @@ public final class FileStreamingUtil {
         Preconditions.checkNotNull(from);
         Preconditions.checkNotNull(to);
         final byte[] buf = new byte[BUFFER_SIZE];
-        long total = 0;
-        int progressPercent = 1;
+        final Progress progress = new Progress(progressListener, length);
 
         ByteStreams.skipFully(from, start);
 
         long toRead = length;
         boolean toContinue = true;
-        long shippedSinceLastEvent = 0;
 
         while (toContinue) {
             final int r = from.read(buf);
@@ -334,14 +344,59 @@ public final class FileStreamingUtil {
             toRead -= r;
             if (toRead > 0) {
                 to.write(buf, 0, r);
-                total += r;
-                shippedSinceLastEvent += r;
+                progress.shipped(r);
             } else {
                 to.write(buf, 0, (int) toRead + r);
-                total += toRead + r;
-                shippedSinceLastEvent += toRead + r;
+                progress.shipped(toRead + r);
                 toContinue = false;
             }
+        }
+
+        return progress.finish(filename, startMillis);
+    }
+
+    /**
+     * Copies the range of an artifact that is held in memory. The range is
+     * written directly from the (shared) buffer without opening the artifact
+     * or copying it as a whole.
+     */
+    private static long copyBuffer(final ByteBuffer content, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final long start, final long length,
+            final String filename) throws IOException {
+
+        final long startMillis = System.currentTimeMillis();
+        LOG.trace("Start of copy-buffer of file {} from {} to {}", filename, start, length);
+
+        Preconditions.checkNotNull(to);
+        final Progress progress = new Progress(progressListener, length);
+
+        final int end = (int) Math.min(content.capacity(), start + length);
+        content.position((int) Math.min(end, start));
+
+        final WritableByteChannel channel = Channels.newChannel(to);
+        while (content.position() < end) {
+            content.limit(Math.min(end, content.position() + BUFFER_SIZE));
+            progress.shipped(channel.write(content));
+        }
+
+        return progress.finish(filename, startMillis);
+    }
+
+    private static final class Progress {
+        private final FileStreamingProgressListener progressListener;
+        private final long length;
+        private long total;
+        private long shippedSinceLastEvent;
+        private int progressPercent = 1;
+
+        private Progress(final FileStreamingProgressListener progressListener, final long length) {
+            this.progressListener = progressListener;
+            this.length = length;
+        }
+
+        private void shipped(final long bytes) {
+            total += bytes;
+            shippedSinceLastEvent += bytes;
 
             if (progressListener != null) {
                 final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, RoundingMode.DOWN);
@@ -355,16 +410,18 @@ public final class FileStreamingUtil {
             }
         }
 
-        final long totalTime = System.currentTimeMillis() - startMillis;
+        private long finish(final String filename, final long startMillis) {
+            final long totalTime = System.currentTimeMillis() - startMillis;
 
-        if (total < length) {
-            throw new FileStreamingFailedException(filename + ": " + (length - total)
-                    + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
-        }
+            if (total < length) {
+                throw new FileStreamingFailedException(filename + ": " + (length - total)
+                        + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
+            }
 
-        LOG.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
+            LOG.trace("Finished copy of file {} with length {} in {} ms", filename, length, totalTime);
 
-        return total;
+            return total;
+        }
     }
 
     private static final class ByteRange {
@@ -53,6 +53,19 @@ public final class MgmtApiModelProperties {
 
     public static final String ARTIFACT_LIST = "List of artifacts of given software module.";
 
+    public static final String UPLOAD_ID = "The ID of the upload.";
+    public static final String UPLOAD_SIZE = "Size of the artifact in bytes.";
+    public static final String UPLOAD_CONTENT_TYPE = "Content type of the artifact.";
+    public static final String UPLOAD_OFFSET = "Offset of the first byte of the chunk in the artifact. "
+            + "The length of the chunk is given by the Content-Length header.";
+    public static final String UPLOAD_RECEIVED = "Number of bytes of the artifact received so far.";
+    public static final String UPLOAD_RANGES = "The ranges of the artifact received so far.";
+    public static final String UPLOAD_RANGE_START = "Offset of the first byte of the range.";
+    public static final String UPLOAD_RANGE_END = "Offset of the last byte of the range (inclusive).";
+    public static final String UPLOAD_EXPIRES_AT = "Time in milliseconds since epoch the upload expires at "
+            + "unless it is continued.";
+    public static final String UPLOAD_COMPLETE = "True if the artifact has been received completely.";
+
     // Distribution Set
     public static final String DS_OS = "Operating system or firmware software module - DEPRECATED (use modules).";
     public static final String DS_RUNTIME = "Runtime software module (e.g. JVM) - DEPRECATED (use modules).";
@@ -117,6 +130,24 @@ public final class MgmtApiModelProperties {
 
     public static final String TARGET_LIST = "List of provisioning targets.";
 
+    public static final String TARGET_IMPORT_FILE = "File with one target per line.";
+    public static final String TARGET_IMPORT_FORMAT = "Format of the file, csv (controllerId,name) or ndjson "
+            + "(JSON objects with controllerId, name, description and address). Default is csv.";
+    public static final String TARGET_IMPORT_DESCRIPTION = "Description of the created targets that do not define one.";
+    public static final String TARGET_IMPORT_TAGS = "IDs of the target tags that are assigned to the created targets.";
+    public static final String TARGET_IMPORT_DS_ID = "ID of the distribution set that is assigned to the created "
+            + "targets.";
+    public static final String TARGET_IMPORT_ID = "The ID of the import.";
+    public static final String TARGET_IMPORT_STATUS = "Status of the import.";
+    public static final String TARGET_IMPORT_PROCESSED = "Number of lines of the file processed so far.";
+    public static final String TARGET_IMPORT_CREATED = "Number of targets created so far.";
+    public static final String TARGET_IMPORT_SKIPPED = "Number of lines skipped so far, as the target exists already.";
+    public static final String TARGET_IMPORT_FAILED = "Number of lines that could not be imported so far.";
+    public static final String TARGET_IMPORT_BYTES_READ = "Number of bytes of the file read so far.";
+    public static final String TARGET_IMPORT_STARTED_AT = "Time in milliseconds since epoch the import started at.";
+    public static final String TARGET_IMPORT_FINISHED_AT = "Time in milliseconds since epoch the import finished at.";
+    public static final String TARGET_IMPORT_ERROR = "Reason the import failed with.";
+
     public static final String SM_LIST = "List of software modules.";
 
     public static final String ROLLOUT_LIST = "list of rollouts";
@@ -29,9 +29,11 @@ import java.util.List;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.eclipse.hawkbit.im.authentication.SpPermission;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.ArtifactUploadManagement;
 import org.eclipse.hawkbit.repository.Constants;
 import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.ArtifactUpload;
+import org.eclipse.hawkbit.repository.model.ArtifactUploadSession;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.rest.documentation.AbstractApiRestDocumentation;
 import org.eclipse.hawkbit.rest.documentation.ApiModelPropertiesGeneric;
@@ -42,10 +44,13 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.restdocs.payload.JsonFieldType;
+import org.springframework.restdocs.payload.ResponseFieldsSnippet;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -58,6 +63,11 @@ import io.qameta.allure.Story;
 @Story("Softwaremodule Resource")
 public class SoftwaremodulesDocumentationTest extends AbstractApiRestDocumentation {
 
+    private static final String UPLOAD = MgmtRestConstants.ARTIFACT_UPLOAD_V1_REQUEST_MAPPING + "/{uploadId}";
+
+    @Autowired
+    private ArtifactUploadManagement artifactUploadManagement;
+
     @Override
     @Before
     public void setUp() {
@@ -331,6 +341,144 @@ public class SoftwaremodulesDocumentationTest extends AbstractApiRestDocumentati
                         parameterWithName("sha1sum").description(MgmtApiModelProperties.ARTIFACT_HASHES_SHA1))));
     }
 
+    @Test
+    @Description("Handles the POST request of creating a resumable upload of an artifact. Required Permission: "
+            + SpPermission.CREATE_REPOSITORY)
+    public void postUpload() throws Exception {
+        final SoftwareModule sm = testdataFactory.createSoftwareModuleOs();
+
+        final String body = new JSONObject().put("filename", "file1").put("size", 1024)
+                .put("contentType", MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                .put("hashes", new JSONObject().put("sha1", "2d86c2a659e364e9abba49ea6ffcd53dd5559f05")).toString();
+
+        mockMvc.perform(post(MgmtRestConstants.ARTIFACT_UPLOAD_V1_REQUEST_MAPPING, sm.getId()).content(body)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isCreated()).andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andDo(this.document.document(
+                        pathParameters(
+                                parameterWithName("softwareModuleId").description(ApiModelPropertiesGeneric.ITEM_ID)),
+                        requestFields(
+                                requestFieldWithPath("filename")
+                                        .description(MgmtApiModelProperties.ARTIFACT_PROVIDED_FILENAME),
+                                requestFieldWithPath("size").description(MgmtApiModelProperties.UPLOAD_SIZE),
+                                optionalRequestFieldWithPath("contentType")
+                                        .description(MgmtApiModelProperties.UPLOAD_CONTENT_TYPE),
+                                optionalRequestFieldWithPath("hashes.sha1")
+                                        .description(MgmtApiModelProperties.ARTIFACT_HASHES_SHA1),
+                                optionalRequestFieldWithPath("hashes.md5").type(JsonFieldType.STRING)
+                                        .description(MgmtApiModelProperties.ARTIFACT_HASHES_MD5),
+                                optionalRequestFieldWithPath("hashes.sha256").type(JsonFieldType.STRING)
+                                        .description(MgmtApiModelProperties.ARTIFACT_HASHES_SHA256)),
+                        uploadResponseFields()));
+    }
+
+    @Test
+    @Description("Handles the PUT request of uploading a chunk of a resumable upload. The body is the binary content "
+            + "of the chunk, the Content-Length header is mandatory. Required Permission: "
+            + SpPermission.CREATE_REPOSITORY)
+    public void putUploadChunk() throws Exception {
+        final SoftwareModule sm = testdataFactory.createSoftwareModuleOs();
+        final ArtifactUploadSession session = artifactUploadManagement.createSession(sm.getId(), "file1", 1024, null,
+                null);
+        final byte[] chunk = RandomStringUtils.randomAlphanumeric(512).getBytes();
+
+        mockMvc.perform(put(UPLOAD, sm.getId(), session.getId()).param("offset", "512")
+                .header(HttpHeaders.CONTENT_LENGTH, chunk.length).content(chunk)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andDo(this.document.document(
+                        pathParameters(
+                                parameterWithName("softwareModuleId").description(ApiModelPropertiesGeneric.ITEM_ID),
+                                parameterWithName("uploadId").description(MgmtApiModelProperties.UPLOAD_ID)),
+                        requestParameters(
+                                parameterWithName("offset").description(MgmtApiModelProperties.UPLOAD_OFFSET)),
+                        uploadResponseFields()));
+    }
+
+    @Test
+    @Description("Handles the GET request of retrieving the state of a resumable upload, e.g. to resume it after an "
+            + "interruption. Required Permission: " + SpPermission.CREATE_REPOSITORY)
+    public void getUpload() throws Exception {
+        final SoftwareModule sm = testdataFactory.createSoftwareModuleOs();
+        final ArtifactUploadSession session = artifactUploadManagement.createSession(sm.getId(), "file1", 1024, null,
+                null);
+        artifactUploadManagement.uploadChunk(session.getId(), 0,
+                new ByteArrayInputStream(RandomStringUtils.randomAlphanumeric(256).getBytes()), 256);
+        artifactUploadManagement.uploadChunk(session.getId(), 512,
+                new ByteArrayInputStream(RandomStringUtils.randomAlphanumeric(256).getBytes()), 256);
+
+        mockMvc.perform(get(UPLOAD, sm.getId(), session.getId())).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andDo(this.document.document(
+                        pathParameters(
+                                parameterWithName("softwareModuleId").description(ApiModelPropertiesGeneric.ITEM_ID),
+                                parameterWithName("uploadId").description(MgmtApiModelProperties.UPLOAD_ID)),
+                        uploadResponseFields()));
+    }
+
+    @Test
+    @Description("Handles the POST request of committing a resumable upload. The artifact is created if it has been "
+            + "received completely. Required Permission: " + SpPermission.CREATE_REPOSITORY)
+    public void postUploadCommit() throws Exception {
+        final SoftwareModule sm = testdataFactory.createSoftwareModuleOs();
+        final ArtifactUploadSession session = artifactUploadManagement.createSession(sm.getId(), "file1", 512, null,
+                null);
+        artifactUploadManagement.uploadChunk(session.getId(), 0,
+                new ByteArrayInputStream(RandomStringUtils.randomAlphanumeric(512).getBytes()), 512);
+
+        mockMvc.perform(post(UPLOAD + "/commit", sm.getId(), session.getId())).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isCreated()).andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andDo(this.document.document(
+                        pathParameters(
+                                parameterWithName("softwareModuleId").description(ApiModelPropertiesGeneric.ITEM_ID),
+                                parameterWithName("uploadId").description(MgmtApiModelProperties.UPLOAD_ID)),
+                        responseFields(fieldWithPath("size").description(MgmtApiModelProperties.ARTIFACT_SIZE),
+                                fieldWithPath("id").description(ApiModelPropertiesGeneric.ITEM_ID),
+                                fieldWithPath("createdBy").description(ApiModelPropertiesGeneric.CREATED_BY),
+                                fieldWithPath("createdAt").description(ApiModelPropertiesGeneric.CREATED_AT),
+                                fieldWithPath("lastModifiedBy").description(ApiModelPropertiesGeneric.LAST_MODIFIED_BY),
+                                fieldWithPath("lastModifiedAt").description(ApiModelPropertiesGeneric.LAST_MODIFIED_AT),
+                                fieldWithPath("_links.self").ignored(),
+                                fieldWithPath("_links.download")
+                                        .description(MgmtApiModelProperties.ARTIFACT_DOWNLOAD_LINK),
+                                fieldWithPath("hashes.md5").description(MgmtApiModelProperties.ARTIFACT_HASHES_MD5),
+                                fieldWithPath("hashes.sha1").description(MgmtApiModelProperties.ARTIFACT_HASHES_SHA1),
+                                fieldWithPath("hashes.sha256")
+                                        .description(MgmtApiModelProperties.ARTIFACT_HASHES_SHA256),
+                                fieldWithPath("providedFilename")
+                                        .description(MgmtApiModelProperties.ARTIFACT_PROVIDED_FILENAME))));
+    }
+
+    @Test
+    @Description("Handles the DELETE request of aborting a resumable upload. The received chunks are deleted. "
+            + "Required Permission: " + SpPermission.CREATE_REPOSITORY)
+    public void deleteUpload() throws Exception {
+        final SoftwareModule sm = testdataFactory.createSoftwareModuleOs();
+        final ArtifactUploadSession session = artifactUploadManagement.createSession(sm.getId(), "file1", 1024, null,
+                null);
+
+        mockMvc.perform(delete(UPLOAD, sm.getId(), session.getId())).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk())
+                .andDo(this.document.document(pathParameters(
+                        parameterWithName("softwareModuleId").description(ApiModelPropertiesGeneric.ITEM_ID),
+                        parameterWithName("uploadId").description(MgmtApiModelProperties.UPLOAD_ID))));
+    }
+
+    private static ResponseFieldsSnippet uploadResponseFields() {
+        return responseFields(fieldWithPath("id").description(MgmtApiModelProperties.UPLOAD_ID),
+                fieldWithPath("filename").description(MgmtApiModelProperties.ARTIFACT_PROVIDED_FILENAME),
+                fieldWithPath("size").description(MgmtApiModelProperties.UPLOAD_SIZE),
+                fieldWithPath("received").description(MgmtApiModelProperties.UPLOAD_RECEIVED),
+                fieldWithPath("ranges").type(JsonFieldType.ARRAY).description(MgmtApiModelProperties.UPLOAD_RANGES),
+                fieldWithPath("ranges[].start").optional().type(JsonFieldType.NUMBER)
+                        .description(MgmtApiModelProperties.UPLOAD_RANGE_START),
+                fieldWithPath("ranges[].end").optional().type(JsonFieldType.NUMBER)
+                        .description(MgmtApiModelProperties.UPLOAD_RANGE_END),
+                fieldWithPath("expiresAt").description(MgmtApiModelProperties.UPLOAD_EXPIRES_AT),
+                fieldWithPath("complete").description(MgmtApiModelProperties.UPLOAD_COMPLETE),
+                fieldWithPath("_links.self").ignored());
+    }
+
     @Test
     @Description("Handles the DELETE request for a single SoftwareModule within SP. Required Permission: "
             + SpPermission.DELETE_REPOSITORY)
@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.rest.mgmt.documentation;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.fileUpload;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.put;
@@ -24,18 +25,24 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.im.authentication.SpPermission;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetImportJob;
+import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.rest.documentation.AbstractApiRestDocumentation;
 import org.eclipse.hawkbit.rest.documentation.ApiModelPropertiesGeneric;
 import org.eclipse.hawkbit.rest.documentation.MgmtApiModelProperties;
@@ -44,15 +51,19 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.restdocs.payload.FieldDescriptor;
 import org.springframework.restdocs.payload.JsonFieldType;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.collect.Lists;
+import com.jayway.jsonpath.JsonPath;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -68,6 +79,9 @@ public class TargetResourceDocumentationTest extends AbstractApiRestDocumentatio
 
     private final String targetId = "137";
 
+    @Autowired
+    private TargetImportManagement targetImportManagement;
+
     @Override
     @Before
     public void setUp() {
@@ -792,6 +806,84 @@ public class TargetResourceDocumentationTest extends AbstractApiRestDocumentatio
                                         .description(MgmtApiModelProperties.META_DATA_VALUE))));
     }
 
+    @Test
+    @Description("Handles the POST request of starting an asynchronous bulk import of targets. Required Permission: "
+            + SpPermission.CREATE_TARGET + " and for the assignment of tags " + SpPermission.UPDATE_TARGET)
+    public void postTargetImport() throws Exception {
+        final TargetTag tag = testdataFactory.createTargetTags(1, "import").get(0);
+        final DistributionSet set = createDistributionSet();
+        final MockMultipartFile file = new MockMultipartFile("file", "targets.csv", null,
+                "controller-1,Target 1\ncontroller-2,Target 2\n".getBytes(StandardCharsets.UTF_8));
+
+        final MvcResult result = mockMvc
+                .perform(fileUpload(MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING).file(file)
+                        .param("format", "csv").param("description", "imported")
+                        .param("tags", String.valueOf(tag.getId()))
+                        .param("distributionSetId", String.valueOf(set.getId())).param("type", "forced"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isAccepted())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andDo(this.document.document(
+                        requestParameters(
+                                parameterWithName("format").description(MgmtApiModelProperties.TARGET_IMPORT_FORMAT),
+                                parameterWithName("description")
+                                        .description(MgmtApiModelProperties.TARGET_IMPORT_DESCRIPTION),
+                                parameterWithName("tags").description(MgmtApiModelProperties.TARGET_IMPORT_TAGS),
+                                parameterWithName("distributionSetId")
+                                        .description(MgmtApiModelProperties.TARGET_IMPORT_DS_ID),
+                                parameterWithName("type").description(MgmtApiModelProperties.ACTION_TYPE),
+                                parameterWithName("forcetime").description(MgmtApiModelProperties.FORCETIME)
+                                        .optional()),
+                        responseFields(targetImportFields())))
+                .andReturn();
+
+        awaitTargetImport(JsonPath.read(result.getResponse().getContentAsString(), "$.id"));
+    }
+
+    @Test
+    @Description("Handles the GET request of retrieving the state of a bulk import of targets that has been started "
+            + "on the same node. Required Permission: " + SpPermission.READ_TARGET + " or "
+            + SpPermission.CREATE_TARGET)
+    public void getTargetImport() throws Exception {
+        final MockMultipartFile file = new MockMultipartFile("file", "targets.csv", null,
+                "controller-1,Target 1\n".getBytes(StandardCharsets.UTF_8));
+        final MvcResult result = mockMvc
+                .perform(fileUpload(MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING).file(file))
+                .andExpect(status().isAccepted()).andReturn();
+        final String jobId = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        awaitTargetImport(jobId);
+
+        mockMvc.perform(get(MgmtRestConstants.TARGET_IMPORT_V1_REQUEST_MAPPING + "/{jobId}", jobId))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andDo(this.document.document(
+                        pathParameters(
+                                parameterWithName("jobId").description(MgmtApiModelProperties.TARGET_IMPORT_ID)),
+                        responseFields(targetImportFields())));
+    }
+
+    private static FieldDescriptor[] targetImportFields() {
+        return new FieldDescriptor[] { fieldWithPath("id").description(MgmtApiModelProperties.TARGET_IMPORT_ID),
+                fieldWithPath("status").description(MgmtApiModelProperties.TARGET_IMPORT_STATUS).type("enum")
+                        .attributes(key("value").value("['running', 'finished', 'failed']")),
+                fieldWithPath("processed").description(MgmtApiModelProperties.TARGET_IMPORT_PROCESSED),
+                fieldWithPath("created").description(MgmtApiModelProperties.TARGET_IMPORT_CREATED),
+                fieldWithPath("skipped").description(MgmtApiModelProperties.TARGET_IMPORT_SKIPPED),
+                fieldWithPath("failed").description(MgmtApiModelProperties.TARGET_IMPORT_FAILED),
+                fieldWithPath("bytesRead").description(MgmtApiModelProperties.TARGET_IMPORT_BYTES_READ),
+                fieldWithPath("startedAt").description(MgmtApiModelProperties.TARGET_IMPORT_STARTED_AT),
+                fieldWithPath("finishedAt").description(MgmtApiModelProperties.TARGET_IMPORT_FINISHED_AT)
+                        .type(JsonFieldType.NUMBER).optional(),
+                fieldWithPath("error").description(MgmtApiModelProperties.TARGET_IMPORT_ERROR)
+                        .type(JsonFieldType.STRING).optional(),
+                fieldWithPath("_links.self").ignored() };
+    }
+
+    private void awaitTargetImport(final String jobId) {
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).pollInterval(100, TimeUnit.MILLISECONDS)
+                .until(() -> targetImportManagement.getImportJob(jobId).map(TargetImportJob::getStatus)
+                        .filter(status -> status != TargetImportJob.Status.RUNNING).isPresent());
+    }
+
     private String createTargetJsonForPostRequest(final String controllerId, final String name,
             final String description) throws JsonProcessingException {
         final Map<String, Object> target = new HashMap<>();
@@ -90,6 +90,11 @@ public class TenantResourceDocumentationTest extends AbstractApiRestDocumentatio
                 "the expiry time in milliseconds that needs to elapse before an action may be cleaned up.");
         CONFIG_ITEM_DESCRIPTIONS.put(TenantConfigurationKey.MULTI_ASSIGNMENTS_ENABLED,
                 "if multiple distribution sets can be assigned to the same targets.");
+        CONFIG_ITEM_DESCRIPTIONS.put(TenantConfigurationKey.DOWNLOAD_SESSION_WINDOW,
+                "the time window in milliseconds in which download requests of a target for the same artifact are "
+                        + "logged as one download session (0 logs every request).");
+        CONFIG_ITEM_DESCRIPTIONS.put(TenantConfigurationKey.RSQL_EXISTS_SUBQUERIES_ENABLED,
+                "if tags, attributes and metadata in RSQL filters are queried with EXISTS sub queries instead of joins.");
     }
 
     @Autowired
@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.hawkbit.ddi.json.model.DdiActionFeedback;
+import org.eclipse.hawkbit.ddi.json.model.DdiConfigData;
+import org.eclipse.hawkbit.ddi.json.model.DdiResult;
+import org.eclipse.hawkbit.ddi.json.model.DdiResult.FinalResult;
+import org.eclipse.hawkbit.ddi.json.model.DdiStatus;
+import org.eclipse.hawkbit.ddi.json.model.DdiStatus.ExecutionStatus;
+import org.eclipse.hawkbit.ddi.json.model.DdiUpdateMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Simulated fleet of DDI controllers. Every controller polls the server in
+ * its poll interval, updates its attributes when requested and downloads and
+ * installs the assigned distribution set including the feedback to the
+ * server. The artifacts are downloaded with range requests.
+ *
+ * The controllers are not bound to threads: their polls are scheduled and
+ * the HTTP requests are executed by a fixed number of workers, so that a
+ * fleet of 100k controllers can be simulated on a single machine.
+ */
+public class DdiFleet {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DdiFleet.class);
+
+    private static final String AUTHORIZATION_SCHEME = "GatewayToken ";
+
+    private final FleetSimulationProperties properties;
+    private final LoadStatistics statistics;
+    private final String baseUrl;
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService workers;
+    private final LongAdder finishedUpdates = new LongAdder();
+    private volatile boolean running;
+
+    /**
+     * Constructor.
+     *
+     * @param serverUrl
+     *            of the update server, e.g. <code>http://localhost:8080</code>
+     * @param properties
+     *            of the simulation
+     * @param statistics
+     *            to record the requests
+     */
+    public DdiFleet(final String serverUrl, final FleetSimulationProperties properties,
+            final LoadStatistics statistics) {
+        this.properties = properties;
+        this.statistics = statistics;
+        this.baseUrl = serverUrl + "/" + properties.getTenant() + "/controller/v1/";
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers());
+    }
+
+    /**
+     * @return the IDs of the simulated controllers
+     */
+    public List<String> getControllerIds() {
+        return IntStream.range(0, properties.getDdiControllers()).mapToObj(DdiFleet::controllerId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return number of successfully installed distribution sets
+     */
+    public long getFinishedUpdates() {
+        return finishedUpdates.sum();
+    }
+
+    /**
+     * Starts the fleet. The first polls of the controllers are evenly spread
+     * over the ramp-up time.
+     */
+    public void start() {
+        running = true;
+        final int controllers = properties.getDdiControllers();
+        for (int i = 0; i < controllers; i++) {
+            final SimulatedController controller = new SimulatedController(controllerId(i),
+                    new Random(properties.getSeed() + i));
+            scheduler.schedule(() -> submit(controller), properties.getRampUp() * i / controllers,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the fleet and waits for the running requests.
+     *
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        scheduler.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            LOG.warn("DDI workers did not terminate in time");
+            workers.shutdownNow();
+        }
+    }
+
+    private static String controllerId(final int index) {
+        return String.format("ddi-%06d", index);
+    }
+
+    private void submit(final SimulatedController controller) {
+        if (!running) {
+            return;
+        }
+        try {
+            workers.execute(controller::poll);
+        } catch (final RejectedExecutionException e) {
+            LOG.trace("Fleet is stopped", e);
+        }
+    }
+
+    private HttpHeaders headers() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, AUTHORIZATION_SCHEME + properties.getGatewayToken());
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        return headers;
+    }
+
+    private <T> T timed(final String operation, final Supplier<T> request) {
+        final long start = System.nanoTime();
+        try {
+            final T result = request.get();
+            statistics.record(operation, System.nanoTime() - start, true);
+            return result;
+        } catch (final RestClientException e) {
+            statistics.record(operation, System.nanoTime() - start, false);
+            LOG.debug("Request {} failed", operation, e);
+            return null;
+        }
+    }
+
+    private static String href(final JsonNode links, final String rel) {
+        return links.path(rel).path("href").asText(null);
+    }
+
+    private final class SimulatedController {
+        private final String controllerId;
+        private final String controllerUrl;
+        private final Random random;
+
+        private SimulatedController(final String controllerId, final Random random) {
+            this.controllerId = controllerId;
+            this.controllerUrl = baseUrl + controllerId;
+            this.random = random;
+        }
+
+        private void poll() {
+            try {
+                final JsonNode base = get("ddi.poll", controllerUrl);
+                if (base == null) {
+                    return;
+                }
+
+                final JsonNode links = base.path("_links");
+                final String configData = href(links, "configData");
+                if (configData != null) {
+                    updateAttributes(configData);
+                }
+                final String deploymentBase = href(links, "deploymentBase");
+                if (deploymentBase != null) {
+                    install(deploymentBase);
+                }
+            } finally {
+                scheduleNextPoll();
+            }
+        }
+
+        private void scheduleNextPoll() {
+            if (!running) {
+                return;
+            }
+            final double jitter = (random.nextDouble() * 2 - 1) * properties.getPollJitter();
+            final long delay = (long) (properties.getPollInterval() * (1 + jitter));
+            try {
+                scheduler.schedule(() -> submit(this), delay, TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                LOG.trace("Fleet is stopped", e);
+            }
+        }
+
+        private void updateAttributes(final String href) {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put("hwRevision", "2");
+            attributes.put("serial", controllerId);
+            final DdiConfigData configData = new DdiConfigData(null, null, finished(), attributes,
+                    DdiUpdateMode.MERGE);
+
+            timed("ddi.configData",
+                    () -> restTemplate.exchange(href, HttpMethod.PUT, new HttpEntity<>(configData, headers()),
+                            Void.class));
+        }
+
+        private void install(final String href) {
+            final JsonNode deploymentBase = get("ddi.deploymentBase", href);
+            if (deploymentBase == null) {
+                return;
+            }
+
+            final long actionId = deploymentBase.path("id").asLong();
+            final String feedbackUrl = controllerUrl + "/deploymentBase/" + actionId + "/feedback";
+            if (!sendFeedback(feedbackUrl, new DdiActionFeedback(actionId, null, new DdiStatus(
+                    ExecutionStatus.PROCEEDING, new DdiResult(FinalResult.NONE, null), Collections.emptyList())))) {
+                return;
+            }
+
+            for (final JsonNode chunk : deploymentBase.path("deployment").path("chunks")) {
+                for (final JsonNode artifact : chunk.path("artifacts")) {
+                    if (!download(href(artifact.path("_links"), "download-http"), artifact.path("size").asLong())) {
+                        return;
+                    }
+                }
+            }
+
+            if (sendFeedback(feedbackUrl, new DdiActionFeedback(actionId, null, finished()))) {
+                finishedUpdates.increment();
+            }
+        }
+
+        private boolean download(final String href, final long size) {
+            if (href == null) {
+                return false;
+            }
+
+            for (long offset = 0; offset < size; offset += properties.getDownloadChunkSize()) {
+                final String range = "bytes=" + offset + "-"
+                        + (Math.min(offset + properties.getDownloadChunkSize(), size) - 1);
+                final Long received = timed("ddi.download", () -> restTemplate.execute(href, HttpMethod.GET,
+                        request -> {
+                            request.getHeaders().set(HttpHeaders.AUTHORIZATION,
+                                    AUTHORIZATION_SCHEME + properties.getGatewayToken());
+                            request.getHeaders().set(HttpHeaders.RANGE, range);
+                        }, response -> StreamUtils.drain(response.getBody()) > 0 ? 1L : 0L));
+                if (received == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean sendFeedback(final String url, final DdiActionFeedback feedback) {
+            return timed("ddi.feedback", () -> restTemplate.exchange(url, HttpMethod.POST,
+                    new HttpEntity<>(feedback, headers()), Void.class)) != null;
+        }
+
+        private JsonNode get(final String operation, final String url) {
+            return timed(operation,
+                    () -> restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers()), JsonNode.class)
+                            .getBody());
+        }
+
+        private DdiStatus finished() {
+            return new DdiStatus(ExecutionStatus.CLOSED, new DdiResult(FinalResult.SUCCESS, null),
+                    Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Binds the DDI operation of the request to the request thread so that the
+ * database statements are attributed to it.
+ */
+public class DdiOperationFilter extends OncePerRequestFilter {
+
+    private static final Pattern DDI_PATH = Pattern.compile("/[^/]+/controller/v1/[^/]+(/[^/]+)?(/[^/]+)?(/.*)?");
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+            final FilterChain filterChain) throws ServletException, IOException {
+        final String operation = operation(request.getMethod(), request.getRequestURI());
+        if (operation == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String previous = LoadStatistics.bind(operation);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            LoadStatistics.restore(previous);
+        }
+    }
+
+    /**
+     * Maps a DDI request to its operation.
+     *
+     * @param method
+     *            HTTP method of the request
+     * @param path
+     *            of the request
+     * @return the operation or <code>null</code> if the path is no DDI
+     *         resource
+     */
+    static String operation(final String method, final String path) {
+        final Matcher matcher = DDI_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        final String resource = matcher.group(1);
+        if (resource == null) {
+            return "ddi.poll";
+        }
+
+        switch (resource) {
+        case "/deploymentBase":
+            return matcher.group(3) == null ? "ddi.deploymentBase" : "ddi.feedback";
+        case "/softwaremodules":
+            return "ddi.download";
+        case "/configData":
+            return "ddi.configData";
+        default:
+            return "ddi." + method.toLowerCase() + resource.replace('/', '.');
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.hawkbit.dmf.amqp.api.AmqpSettings;
+import org.eclipse.hawkbit.dmf.amqp.api.EventTopic;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.eclipse.hawkbit.dmf.json.model.DmfActionStatus;
+import org.eclipse.hawkbit.dmf.json.model.DmfActionUpdateStatus;
+import org.eclipse.hawkbit.dmf.json.model.DmfAttributeUpdate;
+import org.eclipse.hawkbit.dmf.json.model.DmfDownloadAndUpdateRequest;
+import org.eclipse.hawkbit.dmf.json.model.DmfUpdateMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+/**
+ * Simulated fleet of DMF controllers. The controllers register with a
+ * <code>THING_CREATED</code> message and answer the download and install
+ * requests of the server with the action status updates. Requested
+ * attribute updates are sent as well.
+ *
+ * The latency of <code>dmf.assignment</code> is the time from the
+ * assignment to the receipt of the download and install request, the
+ * latencies of the sent messages are the publishing times.
+ */
+public class DmfFleet {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DmfFleet.class);
+
+    static final String REPLY_TO_EXCHANGE = "loadtest.reply";
+    private static final String REPLY_TO_QUEUE = "loadtest.reply.queue";
+
+    private final FleetSimulationProperties properties;
+    private final LoadStatistics statistics;
+    private final ConnectionFactory connectionFactory;
+    private final RabbitTemplate template;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, Long> assignments = new ConcurrentHashMap<>();
+    private final LongAdder finishedUpdates = new LongAdder();
+    private SimpleMessageListenerContainer container;
+
+    /**
+     * Constructor.
+     *
+     * @param connectionFactory
+     *            of the broker the server is connected to
+     * @param properties
+     *            of the simulation
+     * @param statistics
+     *            to record the messages
+     */
+    public DmfFleet(final ConnectionFactory connectionFactory, final FleetSimulationProperties properties,
+            final LoadStatistics statistics) {
+        this.connectionFactory = connectionFactory;
+        this.properties = properties;
+        this.statistics = statistics;
+        this.template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(new Jackson2JsonMessageConverter());
+        template.setExchange(AmqpSettings.DMF_EXCHANGE);
+    }
+
+    /**
+     * @return the IDs of the simulated controllers
+     */
+    public List<String> getControllerIds() {
+        return IntStream.range(0, properties.getDmfControllers()).mapToObj(DmfFleet::controllerId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return number of successfully installed distribution sets
+     */
+    public long getFinishedUpdates() {
+        return finishedUpdates.sum();
+    }
+
+    /**
+     * Marks the start of the assignment to measure the time until the
+     * controllers receive the download and install requests.
+     *
+     * @param controllerIds
+     *            the assigned controllers
+     */
+    public void assigned(final Collection<String> controllerIds) {
+        final long now = System.nanoTime();
+        controllerIds.forEach(controllerId -> assignments.put(controllerId, now));
+    }
+
+    /**
+     * Starts the fleet. The controllers are registered evenly spread over
+     * the ramp-up time.
+     */
+    public void start() {
+        final RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        final Queue queue = new Queue(REPLY_TO_QUEUE, false, false, true);
+        final FanoutExchange exchange = new FanoutExchange(REPLY_TO_EXCHANGE, false, true);
+        final Binding binding = BindingBuilder.bind(queue).to(exchange);
+        admin.declareQueue(queue);
+        admin.declareExchange(exchange);
+        admin.declareBinding(binding);
+
+        container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(REPLY_TO_QUEUE);
+        container.setConcurrentConsumers(Math.max(1, properties.getWorkers() / 10));
+        container.setMessageListener(this::onMessage);
+        container.start();
+
+        final int controllers = properties.getDmfControllers();
+        for (int i = 0; i < controllers; i++) {
+            final String controllerId = controllerId(i);
+            scheduler.schedule(() -> send(controllerId, MessageType.THING_CREATED, null, null),
+                    properties.getRampUp() * i / controllers, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the fleet.
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private static String controllerId(final int index) {
+        return String.format("dmf-%06d", index);
+    }
+
+    private void onMessage(final Message message) {
+        final Map<String, Object> headers = message.getMessageProperties().getHeaders();
+        final String controllerId = (String) headers.get(MessageHeaderKey.THING_ID);
+        final Object topic = headers.get(MessageHeaderKey.TOPIC);
+        if (controllerId == null || topic == null) {
+            return;
+        }
+
+        if (EventTopic.DOWNLOAD_AND_INSTALL.toString().equals(topic.toString())) {
+            final Long assigned = assignments.remove(controllerId);
+            if (assigned != null) {
+                statistics.record("dmf.assignment", System.nanoTime() - assigned, true);
+            }
+            message.getMessageProperties().getHeaders().put(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                    DmfDownloadAndUpdateRequest.class.getName());
+            final DmfDownloadAndUpdateRequest request = (DmfDownloadAndUpdateRequest) template.getMessageConverter()
+                    .fromMessage(message);
+            install(controllerId, request.getActionId());
+        } else if (EventTopic.REQUEST_ATTRIBUTES_UPDATE.toString().equals(topic.toString())) {
+            final DmfAttributeUpdate attributeUpdate = new DmfAttributeUpdate();
+            attributeUpdate.setMode(DmfUpdateMode.MERGE);
+            attributeUpdate.getAttributes().put("hwRevision", "2");
+            attributeUpdate.getAttributes().put("serial", controllerId);
+            send(controllerId, MessageType.EVENT, EventTopic.UPDATE_ATTRIBUTES, attributeUpdate);
+        }
+    }
+
+    private void install(final String controllerId, final Long actionId) {
+        final boolean sent = send(controllerId, MessageType.EVENT, EventTopic.UPDATE_ACTION_STATUS,
+                new DmfActionUpdateStatus(actionId, DmfActionStatus.RUNNING))
+                && send(controllerId, MessageType.EVENT, EventTopic.UPDATE_ACTION_STATUS,
+                        new DmfActionUpdateStatus(actionId, DmfActionStatus.DOWNLOADED))
+                && send(controllerId, MessageType.EVENT, EventTopic.UPDATE_ACTION_STATUS,
+                        new DmfActionUpdateStatus(actionId, DmfActionStatus.FINISHED));
+        if (sent) {
+            finishedUpdates.increment();
+        }
+    }
+
+    private boolean send(final String controllerId, final MessageType type, final EventTopic topic,
+            final Object payload) {
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.getHeaders().put(MessageHeaderKey.TENANT, properties.getTenant());
+        messageProperties.getHeaders().put(MessageHeaderKey.THING_ID, controllerId);
+        messageProperties.getHeaders().put(MessageHeaderKey.TYPE, type.toString());
+        if (topic != null) {
+            messageProperties.getHeaders().put(MessageHeaderKey.TOPIC, topic.toString());
+        }
+        messageProperties.setReplyTo(REPLY_TO_EXCHANGE);
+
+        final Message message;
+        if (payload == null) {
+            messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            message = new Message(null, messageProperties);
+        } else {
+            message = template.getMessageConverter().toMessage(payload, messageProperties);
+        }
+
+        final String operation = DmfOperationInterceptor.operation(messageProperties);
+        final long start = System.nanoTime();
+        try {
+            template.send(message);
+            statistics.record(operation, System.nanoTime() - start, true);
+            return true;
+        } catch (final AmqpException e) {
+            statistics.record(operation, System.nanoTime() - start, false);
+            LOG.debug("Message {} of {} failed", operation, controllerId, e);
+            return false;
+        }
+    }
+}
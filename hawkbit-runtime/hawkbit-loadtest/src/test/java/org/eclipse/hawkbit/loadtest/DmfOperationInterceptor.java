@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.util.Map;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+
+/**
+ * Advice of the {@link SimpleRabbitListenerContainerFactory} that binds the
+ * DMF operation of the received message to the listener thread so that the
+ * database statements are attributed to it.
+ */
+public class DmfOperationInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        final Object[] arguments = invocation.getArguments();
+        if (arguments.length < 2 || !(arguments[1] instanceof Message)) {
+            return invocation.proceed();
+        }
+
+        final String previous = LoadStatistics
+                .bind(operation(((Message) arguments[1]).getMessageProperties()));
+        try {
+            return invocation.proceed();
+        } finally {
+            LoadStatistics.restore(previous);
+        }
+    }
+
+    /**
+     * Maps a DMF message to its operation.
+     *
+     * @param properties
+     *            of the message
+     * @return the operation
+     */
+    static String operation(final MessageProperties properties) {
+        final Map<String, Object> headers = properties.getHeaders();
+        final Object topic = headers.get(MessageHeaderKey.TOPIC);
+        return "dmf." + headers.get(MessageHeaderKey.TYPE) + (topic == null ? "" : "." + topic);
+    }
+}
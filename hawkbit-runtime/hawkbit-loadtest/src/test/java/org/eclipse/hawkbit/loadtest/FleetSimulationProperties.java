@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the simulated device fleet. All values can be overridden
+ * by system properties, e.g.
+ * <code>-Dhawkbit.loadtest.ddi-controllers=100000</code>.
+ */
+@ConfigurationProperties("hawkbit.loadtest")
+public class FleetSimulationProperties {
+
+    /**
+     * Tenant of the simulated devices.
+     */
+    private String tenant = "DEFAULT";
+
+    /**
+     * Number of simulated DDI controllers.
+     */
+    private int ddiControllers = 1_000;
+
+    /**
+     * Number of simulated DMF controllers. DMF requires a running RabbitMQ
+     * and <code>hawkbit.dmf.rabbitmq.enabled=true</code>.
+     */
+    private int dmfControllers;
+
+    /**
+     * Poll interval of the DDI controllers in milliseconds.
+     */
+    private long pollInterval = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Random deviation of the poll interval, i.e. 0.2 for +/-20%.
+     */
+    private double pollJitter = 0.2;
+
+    /**
+     * Time in milliseconds in which all devices register for the first time.
+     */
+    private long rampUp = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Duration in milliseconds of the simulation after the ramp-up.
+     */
+    private long duration = TimeUnit.MINUTES.toMillis(2);
+
+    /**
+     * Number of threads that execute the HTTP requests of the DDI
+     * controllers.
+     */
+    private int workers = 200;
+
+    /**
+     * Size of the artifacts of every software module in bytes.
+     */
+    private int artifactSize = 1024 * 1024;
+
+    /**
+     * Size of the range requests of the artifact downloads in bytes.
+     */
+    private int downloadChunkSize = 256 * 1024;
+
+    /**
+     * Number of targets per manual assignment.
+     */
+    private int assignmentChunkSize = 1_000;
+
+    /**
+     * Seed of the poll interval randomization, so that runs are
+     * reproducible.
+     */
+    private long seed = 4711;
+
+    /**
+     * Gateway security token that is used by the DDI controllers.
+     */
+    private String gatewayToken = "hawkbit-loadtest";
+
+    /**
+     * Maximum acceptable ratio of failed requests.
+     */
+    private double maxErrorRate = 0.01;
+
+    /**
+     * File the JSON report is written to.
+     */
+    private String report = "target/loadtest-report.json";
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(final String tenant) {
+        this.tenant = tenant;
+    }
+
+    public int getDdiControllers() {
+        return ddiControllers;
+    }
+
+    public void setDdiControllers(final int ddiControllers) {
+        this.ddiControllers = ddiControllers;
+    }
+
+    public int getDmfControllers() {
+        return dmfControllers;
+    }
+
+    public void setDmfControllers(final int dmfControllers) {
+        this.dmfControllers = dmfControllers;
+    }
+
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(final long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public double getPollJitter() {
+        return pollJitter;
+    }
+
+    public void setPollJitter(final double pollJitter) {
+        this.pollJitter = pollJitter;
+    }
+
+    public long getRampUp() {
+        return rampUp;
+    }
+
+    public void setRampUp(final long rampUp) {
+        this.rampUp = rampUp;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public void setDuration(final long duration) {
+        this.duration = duration;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(final int workers) {
+        this.workers = workers;
+    }
+
+    public int getArtifactSize() {
+        return artifactSize;
+    }
+
+    public void setArtifactSize(final int artifactSize) {
+        this.artifactSize = artifactSize;
+    }
+
+    public int getDownloadChunkSize() {
+        return downloadChunkSize;
+    }
+
+    public void setDownloadChunkSize(final int downloadChunkSize) {
+        this.downloadChunkSize = downloadChunkSize;
+    }
+
+    public int getAssignmentChunkSize() {
+        return assignmentChunkSize;
+    }
+
+    public void setAssignmentChunkSize(final int assignmentChunkSize) {
+        this.assignmentChunkSize = assignmentChunkSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+    public String getGatewayToken() {
+        return gatewayToken;
+    }
+
+    public void setGatewayToken(final String gatewayToken) {
+        this.gatewayToken = gatewayToken;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    public void setMaxErrorRate(final double maxErrorRate) {
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public void setReport(final String report) {
+        this.report = report;
+    }
+}
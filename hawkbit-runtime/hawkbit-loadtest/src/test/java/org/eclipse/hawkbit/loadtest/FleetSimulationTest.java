@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.model.DeploymentRequest;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.test.util.MsSqlTestDatabase;
+import org.eclipse.hawkbit.repository.test.util.MySqlTestDatabase;
+import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.TestExecutionListeners.MergeMode;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.google.common.collect.Lists;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = LoadTestApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@TestExecutionListeners(listeners = { MySqlTestDatabase.class, MsSqlTestDatabase.class },
+        mergeMode = MergeMode.MERGE_WITH_DEFAULTS)
+@Feature("Load Test - Fleet Simulation")
+@Story("DDI and DMF device fleet")
+public class FleetSimulationTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FleetSimulationTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FleetSimulationProperties properties;
+
+    @Autowired
+    private LoadStatistics statistics;
+
+    @Autowired
+    private TestdataFactory testdataFactory;
+
+    @Autowired
+    private SystemSecurityContext systemSecurityContext;
+
+    @Autowired
+    private TenantConfigurationManagement tenantConfigurationManagement;
+
+    @Autowired
+    private TargetManagement targetManagement;
+
+    @Autowired
+    private DeploymentManagement deploymentManagement;
+
+    @Autowired
+    private ObjectProvider<ConnectionFactory> connectionFactory;
+
+    @Test
+    @Description("Simulates the configured fleet of controllers that register, poll, update their attributes "
+            + "and install an assigned distribution set. Throughput, latencies and database statements per "
+            + "operation are reported.")
+    public void simulateFleet() throws InterruptedException, IOException {
+        final DistributionSet distributionSet = systemSecurityContext.runAsSystemAsTenant(this::prepareTenant,
+                properties.getTenant());
+
+        final DdiFleet ddiFleet = new DdiFleet("http://localhost:" + port, properties, statistics);
+        final DmfFleet dmfFleet = properties.getDmfControllers() > 0
+                ? new DmfFleet(connectionFactory.getObject(), properties, statistics)
+                : null;
+
+        final long start = System.currentTimeMillis();
+        ddiFleet.start();
+        if (dmfFleet != null) {
+            dmfFleet.start();
+        }
+        Thread.sleep(properties.getRampUp());
+
+        final List<String> controllerIds = new ArrayList<>(ddiFleet.getControllerIds());
+        if (dmfFleet != null) {
+            controllerIds.addAll(dmfFleet.getControllerIds());
+        }
+        for (final List<String> chunk : Lists.partition(controllerIds, properties.getAssignmentChunkSize())) {
+            systemSecurityContext.runAsSystemAsTenant(() -> assign(distributionSet, chunk, dmfFleet),
+                    properties.getTenant());
+        }
+
+        Thread.sleep(properties.getDuration());
+        ddiFleet.stop();
+        if (dmfFleet != null) {
+            dmfFleet.stop();
+        }
+        final long duration = System.currentTimeMillis() - start;
+
+        LOG.info("Fleet simulation finished, {} DDI and {} DMF updates installed:\n{}", ddiFleet.getFinishedUpdates(),
+                dmfFleet == null ? 0 : dmfFleet.getFinishedUpdates(), statistics.format(duration));
+        statistics.write(new File(properties.getReport()), duration);
+
+        assertThat(statistics.getRequests()).as("requests of the fleet").isPositive();
+        assertThat((double) statistics.getErrors() / statistics.getRequests()).as("error rate of the fleet")
+                .isLessThanOrEqualTo(properties.getMaxErrorRate());
+    }
+
+    private DistributionSet prepareTenant() {
+        tenantConfigurationManagement.addOrUpdateConfiguration(
+                TenantConfigurationKey.AUTHENTICATION_MODE_GATEWAY_SECURITY_TOKEN_ENABLED, true);
+        tenantConfigurationManagement.addOrUpdateConfiguration(
+                TenantConfigurationKey.AUTHENTICATION_MODE_GATEWAY_SECURITY_TOKEN_KEY, properties.getGatewayToken());
+
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("loadtest");
+        final Random random = new Random(properties.getSeed());
+        distributionSet.getModules().forEach(module -> {
+            final byte[] artifact = new byte[properties.getArtifactSize()];
+            random.nextBytes(artifact);
+            testdataFactory.createArtifact(artifact, module.getId(), module.getName() + ".bin", artifact.length);
+        });
+        return distributionSet;
+    }
+
+    private Void assign(final DistributionSet distributionSet, final List<String> controllerIds,
+            final DmfFleet dmfFleet) {
+        // controllers that did not register until now are skipped
+        final List<DeploymentRequest> requests = targetManagement.getByControllerID(controllerIds).stream()
+                .map(Target::getControllerId)
+                .map(controllerId -> DeploymentManagement.deploymentRequest(controllerId, distributionSet.getId())
+                        .build())
+                .collect(Collectors.toList());
+        if (dmfFleet != null) {
+            dmfFleet.assigned(requests.stream().map(DeploymentRequest::getControllerId).collect(Collectors.toList()));
+        }
+        deploymentManagement.assignDistributionSets(requests);
+        return null;
+    }
+}
@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Collects the request latencies measured by the simulated devices and the
+ * database statements executed by the server per operation, e.g.
+ * <code>ddi.poll</code> or <code>dmf.EVENT.UPDATE_ACTION_STATUS</code>.
+ *
+ * The server side attributes the statements to the operation that is bound
+ * to the current thread by {@link #bind(String)}. Statements of
+ * other threads, e.g. schedulers or the poll flush, are counted as
+ * {@value #BACKGROUND}.
+ */
+public class LoadStatistics {
+
+    static final String BACKGROUND = "background";
+
+    private static final ThreadLocal<String> CURRENT_OPERATION = new ThreadLocal<>();
+
+    private final Map<String, OperationStatistics> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Binds the operation to the current thread.
+     *
+     * @param operation
+     *            to attribute the database statements to
+     * @return the previously bound operation to {@link #restore(String)}
+     *         afterwards
+     */
+    static String bind(final String operation) {
+        final String previous = CURRENT_OPERATION.get();
+        CURRENT_OPERATION.set(operation);
+        return previous;
+    }
+
+    /**
+     * Restores the previously bound operation of the current thread.
+     *
+     * @param previous
+     *            as returned by {@link #bind(String)}
+     */
+    static void restore(final String previous) {
+        if (previous == null) {
+            CURRENT_OPERATION.remove();
+        } else {
+            CURRENT_OPERATION.set(previous);
+        }
+    }
+
+    /**
+     * Records a request of a simulated device.
+     *
+     * @param operation
+     *            of the request
+     * @param nanos
+     *            latency of the request
+     * @param success
+     *            <code>false</code> if the request failed
+     */
+    public void record(final String operation, final long nanos, final boolean success) {
+        final OperationStatistics statistics = get(operation);
+        statistics.latencies.record(nanos);
+        if (!success) {
+            statistics.errors.increment();
+        }
+    }
+
+    /**
+     * Counts a database statement for the operation of the current thread.
+     */
+    public void statementExecuted() {
+        final String operation = CURRENT_OPERATION.get();
+        get(operation == null ? BACKGROUND : operation).statements.increment();
+    }
+
+    /**
+     * @return number of recorded requests of all operations
+     */
+    public long getRequests() {
+        return operations.values().stream().mapToLong(statistics -> statistics.latencies.count()).sum();
+    }
+
+    /**
+     * @return number of failed requests of all operations
+     */
+    public long getErrors() {
+        return operations.values().stream().mapToLong(statistics -> statistics.errors.sum()).sum();
+    }
+
+    /**
+     * Creates the report of the simulation.
+     *
+     * @param durationMillis
+     *            duration of the measurement to calculate the throughput
+     * @return report per operation
+     */
+    public Map<String, Map<String, Object>> report(final long durationMillis) {
+        final Map<String, Map<String, Object>> report = new TreeMap<>();
+        operations.forEach((operation, statistics) -> {
+            final long requests = statistics.latencies.count();
+            final long statements = statistics.statements.sum();
+
+            final Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", requests);
+            entry.put("errors", statistics.errors.sum());
+            entry.put("throughput", durationMillis > 0 ? requests * 1000.0 / durationMillis : 0.0);
+            entry.put("p50", statistics.latencies.percentile(0.5));
+            entry.put("p99", statistics.latencies.percentile(0.99));
+            entry.put("max", statistics.latencies.max());
+            entry.put("statements", statements);
+            entry.put("statementsPerRequest", requests > 0 ? (double) statements / requests : null);
+            report.put(operation, entry);
+        });
+        return report;
+    }
+
+    /**
+     * Formats the report as table.
+     *
+     * @param durationMillis
+     *            duration of the measurement to calculate the throughput
+     * @return the table
+     */
+    public String format(final long durationMillis) {
+        final StringBuilder table = new StringBuilder(String.format("%n%-40s %10s %8s %10s %10s %10s %10s %12s%n",
+                "operation", "requests", "errors", "req/s", "p50 [ms]", "p99 [ms]", "max [ms]", "stmts/req"));
+        report(durationMillis).forEach((operation, entry) -> table.append(String.format(
+                "%-40s %10d %8d %10.1f %10.1f %10.1f %10.1f %12s%n", operation, entry.get("requests"),
+                entry.get("errors"), entry.get("throughput"), entry.get("p50"), entry.get("p99"), entry.get("max"),
+                entry.get("statementsPerRequest") == null ? entry.get("statements")
+                        : String.format("%.1f", entry.get("statementsPerRequest")))));
+        return table.toString();
+    }
+
+    /**
+     * Writes the report as JSON.
+     *
+     * @param file
+     *            to write
+     * @param durationMillis
+     *            duration of the measurement to calculate the throughput
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(final File file, final long durationMillis) throws IOException {
+        final File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report(durationMillis));
+    }
+
+    private OperationStatistics get(final String operation) {
+        return operations.computeIfAbsent(operation, key -> new OperationStatistics());
+    }
+
+    private static final class OperationStatistics {
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+    }
+
+    /**
+     * Histogram with a resolution of 100 microseconds up to 10 seconds, which
+     * keeps the memory constant independent of the number of requests.
+     */
+    private static final class LatencyHistogram {
+        private static final long RESOLUTION = TimeUnit.MICROSECONDS.toNanos(100);
+        private static final int BUCKETS = (int) (TimeUnit.SECONDS.toNanos(10) / RESOLUTION);
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS + 1);
+        private final LongAdder count = new LongAdder();
+        private volatile long max;
+
+        private void record(final long nanos) {
+            buckets.incrementAndGet((int) Math.min(nanos / RESOLUTION, BUCKETS));
+            count.increment();
+            if (nanos > max) {
+                max = nanos;
+            }
+        }
+
+        private long count() {
+            return count.sum();
+        }
+
+        private double max() {
+            return toMillis(max);
+        }
+
+        private double percentile(final double percentile) {
+            final long total = count();
+            if (total == 0) {
+                return 0;
+            }
+
+            final long rank = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i <= BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return toMillis((i + 1) * RESOLUTION);
+                }
+            }
+            return max();
+        }
+
+        private static double toMillis(final long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import org.eclipse.hawkbit.autoconfigure.security.EnableHawkbitManagedSecurityConfiguration;
+import org.eclipse.hawkbit.rabbitmq.test.RabbitMqSetupService;
+import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * The update server as started by the hawkBit update server application,
+ * extended by the instrumentation of the fleet simulation.
+ */
+@SpringBootApplication
+@EnableHawkbitManagedSecurityConfiguration
+@EnableConfigurationProperties(FleetSimulationProperties.class)
+public class LoadTestApplication {
+
+    @Bean
+    LoadStatistics loadStatistics() {
+        return new LoadStatistics();
+    }
+
+    @Bean
+    static StatementCountingPostProcessor statementCountingPostProcessor(final LoadStatistics loadStatistics) {
+        return new StatementCountingPostProcessor(loadStatistics);
+    }
+
+    @Bean
+    FilterRegistrationBean<DdiOperationFilter> ddiOperationFilter() {
+        final FilterRegistrationBean<DdiOperationFilter> registration = new FilterRegistrationBean<>(
+                new DdiOperationFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    static BeanPostProcessor dmfOperationPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof SimpleRabbitListenerContainerFactory) {
+                    ((SimpleRabbitListenerContainerFactory) bean).setAdviceChain(new DmfOperationInterceptor());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    TestdataFactory testdataFactory() {
+        return new TestdataFactory();
+    }
+
+    /**
+     * Connects the server to a new virtual host of the RabbitMQ, so that
+     * every simulation starts with empty queues.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "hawkbit.dmf.rabbitmq", name = "enabled")
+    static class DmfConfiguration {
+
+        @Bean
+        RabbitMqSetupService rabbitmqSetupService(final RabbitProperties properties) {
+            return new RabbitMqSetupService(properties);
+        }
+
+        @Bean
+        ConnectionFactory rabbitConnectionFactory(final RabbitMqSetupService rabbitmqSetupService,
+                final RabbitProperties properties) throws Exception {
+            final CachingConnectionFactory factory = new CachingConnectionFactory();
+            factory.setHost(rabbitmqSetupService.getHostname());
+            factory.setPort(properties.getPort());
+            factory.setUsername(rabbitmqSetupService.getUsername());
+            factory.setPassword(rabbitmqSetupService.getPassword());
+            factory.setVirtualHost(rabbitmqSetupService.createVirtualHost());
+            return factory;
+        }
+    }
+}
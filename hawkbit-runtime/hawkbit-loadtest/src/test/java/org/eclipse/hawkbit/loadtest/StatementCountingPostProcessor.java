@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2019 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.loadtest;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wraps the {@link DataSource} so that every executed {@link Statement} is
+ * counted by the {@link LoadStatistics}. A JDBC batch is counted as one
+ * statement as it is one round trip to the database.
+ */
+public class StatementCountingPostProcessor implements BeanPostProcessor {
+
+    private final LoadStatistics statistics;
+
+    /**
+     * Constructor.
+     *
+     * @param statistics
+     *            to count the statements
+     */
+    public StatementCountingPostProcessor(final LoadStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof DataSource) {
+            // keep all interfaces, e.g. Closeable to shut down the pool
+            return proxy(ClassUtils.getAllInterfaces(bean), bean);
+        }
+        return bean;
+    }
+
+    private Object proxy(final Class<?>[] types, final Object target) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), types, new CountingHandler(target));
+    }
+
+    private final class CountingHandler implements InvocationHandler {
+        private final Object target;
+
+        private CountingHandler(final Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                statistics.statementExecuted();
+            }
+
+            final Class<?> returnType = method.getReturnType();
+            if (result != null
+                    && (Connection.class.equals(returnType) || Statement.class.isAssignableFrom(returnType))) {
+                return proxy(new Class<?>[] { returnType }, result);
+            }
+            return result;
+        }
+    }
+}
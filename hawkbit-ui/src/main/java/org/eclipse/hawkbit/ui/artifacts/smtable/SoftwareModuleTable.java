@@ -10,11 +10,13 @@ package org.eclipse.hawkbit.ui.artifacts.smtable;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.repository.SoftwareModuleManagement;
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.ui.SpPermissionChecker;
 import org.eclipse.hawkbit.ui.artifacts.event.RefreshSoftwareModuleByFilterEvent;
@@ -160,8 +162,10 @@ public class SoftwareModuleTable extends AbstractNamedVersionTable<SoftwareModul
     void onSoftwareModuleUpdateEvents(final SoftwareModuleUpdatedEventContainer eventContainer) {
         @SuppressWarnings("unchecked")
         final List<Long> visibleItemIds = (List<Long>) getVisibleItemIds();
-        eventContainer.getEvents().stream().filter(event -> visibleItemIds.contains(event.getEntityId()))
-                .filter(Objects::nonNull).forEach(event -> updateSoftwareModuleInTable(event.getEntity()));
+        final List<SoftwareModuleUpdatedEvent> visibleEvents = eventContainer.getEvents().stream()
+                .filter(event -> visibleItemIds.contains(event.getEntityId())).collect(Collectors.toList());
+        RemoteEntityEvent.loadEntities(visibleEvents);
+        visibleEvents.forEach(event -> updateSoftwareModuleInTable(event.getEntity()));
     }
 
     private void updateSoftwareModuleInTable(final SoftwareModule editedSm) {
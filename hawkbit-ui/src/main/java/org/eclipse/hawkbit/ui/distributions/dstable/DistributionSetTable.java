@@ -25,6 +25,7 @@ import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.SoftwareModuleManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.ui.SpPermissionChecker;
@@ -123,9 +124,11 @@ public class DistributionSetTable extends AbstractNamedVersionTable<Distribution
 
     private void updateVisableTableEntries(final List<DistributionSetUpdatedEvent> events,
             final List<Long> visibleItemIds) {
-        events.stream().filter(event -> visibleItemIds.contains(event.getEntityId()))
-                .filter(DistributionSetUpdatedEvent::isComplete).filter(Objects::nonNull)
-                .forEach(event -> updateDistributionInTable(event.getEntity()));
+        final List<DistributionSetUpdatedEvent> visibleEvents = events.stream()
+                .filter(event -> visibleItemIds.contains(event.getEntityId()))
+                .filter(DistributionSetUpdatedEvent::isComplete).collect(Collectors.toList());
+        RemoteEntityEvent.loadEntities(visibleEvents);
+        visibleEvents.forEach(event -> updateDistributionInTable(event.getEntity()));
     }
 
     @Override
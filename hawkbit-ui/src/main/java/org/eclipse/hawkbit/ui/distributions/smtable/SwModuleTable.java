@@ -13,8 +13,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.repository.SoftwareModuleManagement;
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.ui.SpPermissionChecker;
@@ -116,8 +118,10 @@ public class SwModuleTable extends AbstractNamedVersionTable<SoftwareModule> {
         @SuppressWarnings("unchecked")
         final List<Long> visibleItemIds = (List<Long>) getVisibleItemIds();
         handleSelectedAndUpdatedSoftwareModules(eventContainer.getEvents());
-        eventContainer.getEvents().stream().filter(event -> visibleItemIds.contains(event.getEntityId()))
-                .filter(Objects::nonNull).forEach(event -> updateSoftwareModuleInTable(event.getEntity()));
+        final List<SoftwareModuleUpdatedEvent> visibleEvents = eventContainer.getEvents().stream()
+                .filter(event -> visibleItemIds.contains(event.getEntityId())).collect(Collectors.toList());
+        RemoteEntityEvent.loadEntities(visibleEvents);
+        visibleEvents.forEach(event -> updateSoftwareModuleInTable(event.getEntity()));
     }
 
     private void handleSelectedAndUpdatedSoftwareModules(final List<SoftwareModuleUpdatedEvent> events) {
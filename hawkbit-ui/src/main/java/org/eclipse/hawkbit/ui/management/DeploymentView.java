@@ -20,6 +20,7 @@ import org.eclipse.hawkbit.repository.DistributionSetTypeManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
@@ -59,6 +60,7 @@ import org.eclipse.hawkbit.ui.push.TargetDeletedEventContainer;
 import org.eclipse.hawkbit.ui.push.TargetTagCreatedEventContainer;
 import org.eclipse.hawkbit.ui.push.TargetTagDeletedEventContainer;
 import org.eclipse.hawkbit.ui.push.TargetTagUpdatedEventContainer;
+import org.eclipse.hawkbit.ui.push.TargetsImportedEventContainer;
 import org.eclipse.hawkbit.ui.utils.SPUIDefinitions;
 import org.eclipse.hawkbit.ui.utils.UINotification;
 import org.eclipse.hawkbit.ui.utils.VaadinMessageSource;
@@ -128,7 +130,8 @@ public class DeploymentView extends AbstractNotificationView implements BrowserW
             final ManagementViewClientCriterion managementViewClientCriterion,
             final TargetTagManagement targetTagManagement,
             final DistributionSetTagManagement distributionSetTagManagement,
-            final TargetFilterQueryManagement targetFilterQueryManagement, final SystemManagement systemManagement,
+            final TargetFilterQueryManagement targetFilterQueryManagement,
+            final TargetImportManagement targetImportManagement, final SystemManagement systemManagement,
             final TenantConfigurationManagement configManagement, final SystemSecurityContext systemSecurityContext,
             final NotificationUnreadButton notificationUnreadButton,
             final DeploymentViewMenuItem deploymentViewMenuItem, @Qualifier("uiExecutor") final Executor uiExecutor) {
@@ -156,7 +159,8 @@ public class DeploymentView extends AbstractNotificationView implements BrowserW
 
             this.targetTableLayout = new TargetTableLayout(eventBus, targetTable, targetManagement, entityFactory, i18n,
                     uiNotification, managementUIState, managementViewClientCriterion, deploymentManagement,
-                    uiProperties, permChecker, targetTagManagement, distributionSetManagement, uiExecutor);
+                    uiProperties, permChecker, targetTagManagement, distributionSetManagement, targetImportManagement,
+                    uiExecutor);
 
             actionHistoryLayout.registerDetails(((ActionStatusGrid) actionStatusLayout.getGrid()).getDetailsSupport());
             actionStatusLayout
@@ -410,6 +414,7 @@ public class DeploymentView extends AbstractNotificationView implements BrowserW
         if (permChecker.hasTargetReadPermission()) {
             supportedEvents.put(TargetCreatedEventContainer.class, targetTableLayout.getTable());
             supportedEvents.put(TargetDeletedEventContainer.class, targetTableLayout.getTable());
+            supportedEvents.put(TargetsImportedEventContainer.class, targetTableLayout.getTable());
         }
 
         if (permChecker.hasReadRepositoryPermission()) {
@@ -31,6 +31,7 @@ import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetTagAssignmentResult;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -167,9 +168,11 @@ public class DistributionTable extends AbstractNamedVersionTable<DistributionSet
 
     private void updateVisableTableEntries(final List<DistributionSetUpdatedEvent> events,
             final List<Long> visibleItemIds) {
-        events.stream().filter(event -> visibleItemIds.contains(event.getEntityId()))
-                .filter(DistributionSetUpdatedEvent::isComplete).filter(Objects::nonNull)
-                .forEach(event -> updateDistributionInTable(event.getEntity()));
+        final List<DistributionSetUpdatedEvent> visibleEvents = events.stream()
+                .filter(event -> visibleItemIds.contains(event.getEntityId()))
+                .filter(DistributionSetUpdatedEvent::isComplete).collect(Collectors.toList());
+        RemoteEntityEvent.loadEntities(visibleEvents);
+        visibleEvents.forEach(event -> updateDistributionInTable(event.getEntity()));
     }
 
     private boolean checkAndHandleIfVisibleDsSwitchesFromCompleteToIncomplete(
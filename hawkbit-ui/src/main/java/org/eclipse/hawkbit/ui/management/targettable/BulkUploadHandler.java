@@ -14,43 +14,34 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.LineNumberReader;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
 
-import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
-import org.eclipse.hawkbit.repository.EntityFactory;
-import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
-import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.model.Action.ActionType;
-import org.eclipse.hawkbit.repository.model.DeploymentRequest;
+import org.eclipse.hawkbit.repository.model.TargetImportJob;
+import org.eclipse.hawkbit.repository.model.TargetImportRequest;
+import org.eclipse.hawkbit.repository.model.TargetImportRequest.Format;
 import org.eclipse.hawkbit.ui.common.tagdetails.TagData;
 import org.eclipse.hawkbit.ui.components.HawkbitErrorNotificationMessage;
 import org.eclipse.hawkbit.ui.management.event.BulkUploadValidationMessageEvent;
 import org.eclipse.hawkbit.ui.management.event.TargetTableEvent;
 import org.eclipse.hawkbit.ui.management.event.TargetTableEvent.TargetComponentEvent;
 import org.eclipse.hawkbit.ui.management.state.ManagementUIState;
-import org.eclipse.hawkbit.ui.management.state.TargetBulkUpload;
 import org.eclipse.hawkbit.ui.utils.SPUIStyleDefinitions;
 import org.eclipse.hawkbit.ui.utils.VaadinMessageSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vaadin.spring.events.EventBus;
 
-import com.google.common.base.Splitter;
 import com.google.common.io.ByteStreams;
-import com.google.common.io.Files;
-import com.google.common.io.LineProcessor;
 import com.vaadin.server.Page;
 import com.vaadin.ui.Alignment;
 import com.vaadin.ui.ComboBox;
@@ -78,15 +69,12 @@ public class BulkUploadHandler extends CustomComponent
     private static final long serialVersionUID = -1273494705754674501L;
     private static final Logger LOG = LoggerFactory.getLogger(BulkUploadHandler.class);
 
-    private static final Splitter SPLITTER = Splitter.on(',').omitEmptyStrings().trimResults();
-
-    private final transient TargetManagement targetManagement;
+    private final transient TargetImportManagement targetImportManagement;
     private final transient TargetTagManagement tagManagement;
 
     private final ComboBox comboBox;
     private final TextArea descTextArea;
     private final VaadinMessageSource i18n;
-    private final transient DeploymentManagement deploymentManagement;
     private final transient DistributionSetManagement distributionSetManagement;
 
     private File tempFile;
@@ -97,26 +85,22 @@ public class BulkUploadHandler extends CustomComponent
     private final TargetBulkTokenTags targetBulkTokenTags;
 
     private final Label targetsCountLabel;
-    private int successfullTargetCount;
 
     private final transient Executor uiExecutor;
     private final transient EventBus.UIEventBus eventBus;
 
-    private final transient EntityFactory entityFactory;
     private final UI uiInstance;
 
     BulkUploadHandler(final TargetBulkUpdateWindowLayout targetBulkUpdateWindowLayout,
-            final TargetManagement targetManagement, final TargetTagManagement tagManagement,
-            final EntityFactory entityFactory, final DistributionSetManagement distributionSetManagement,
-            final ManagementUIState managementUIState, final DeploymentManagement deploymentManagement,
+            final TargetImportManagement targetImportManagement, final TargetTagManagement tagManagement,
+            final DistributionSetManagement distributionSetManagement, final ManagementUIState managementUIState,
             final VaadinMessageSource i18n, final UI uiInstance, final Executor uiExecutor) {
         this.uiInstance = uiInstance;
         this.comboBox = targetBulkUpdateWindowLayout.getDsNamecomboBox();
         this.descTextArea = targetBulkUpdateWindowLayout.getDescTextArea();
-        this.targetManagement = targetManagement;
+        this.targetImportManagement = targetImportManagement;
         this.progressBar = targetBulkUpdateWindowLayout.getProgressBar();
         this.managementUIState = managementUIState;
-        this.deploymentManagement = deploymentManagement;
         this.targetsCountLabel = targetBulkUpdateWindowLayout.getTargetsCountLabel();
         this.targetBulkTokenTags = targetBulkUpdateWindowLayout.getTargetBulkTokenTags();
         this.i18n = i18n;
@@ -124,7 +108,6 @@ public class BulkUploadHandler extends CustomComponent
         this.eventBus = targetBulkUpdateWindowLayout.getEventBus();
         this.distributionSetManagement = distributionSetManagement;
         this.tagManagement = tagManagement;
-        this.entityFactory = entityFactory;
     }
 
     void buildLayout() {
@@ -175,82 +158,61 @@ public class BulkUploadHandler extends CustomComponent
             if (tempFile == null) {
                 return;
             }
+            final long fileSize = tempFile.length();
             try (InputStream tempStream = new FileInputStream(tempFile)) {
-                readFileStream(tempStream);
+                importTargets(tempStream, fileSize);
             } catch (final FileNotFoundException e) {
                 LOG.error("Temporary file not found with name {}", tempFile.getName(), e);
             } catch (final IOException e) {
                 LOG.error("Error while opening temorary file ", e);
-            }
-        }
-
-        private void readFileStream(final InputStream tempStream) {
-            String line;
-            final BigDecimal totalNumberOfLines = getTotalNumberOfLines();
-            try (final LineNumberReader reader = new LineNumberReader(
-                    new InputStreamReader(tempStream, Charset.defaultCharset()))) {
-                LOG.info("Bulk file upload started");
-
-                /**
-                 * Once control is in upload succeeded method automatically
-                 * upload button is re-enabled. To disable the button firing
-                 * below event.
-                 */
-                eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_UPLOAD_PROCESS_STARTED));
-
-                while ((line = reader.readLine()) != null) {
-                    readLine(line, reader.getLineNumber(), totalNumberOfLines);
-                }
-
-            } catch (final IOException e) {
-                LOG.error("Error reading file {}", tempFile.getName(), e);
-            } catch (final RuntimeException e) {
-                uiInstance.getErrorHandler().error(new ConnectorErrorEvent(uiInstance, e));
             } finally {
                 deleteFile();
             }
-            syncCountAfterUpload(totalNumberOfLines.intValue());
-            doAssignments();
-            eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_UPLOAD_COMPLETED));
-            // Clearing after assignments are done
-            managementUIState.getTargetTableFilters().getBulkUpload().getTargetsCreated().clear();
-            resetSuccessfullTargetCount();
         }
 
-        private void syncCountAfterUpload(final int totalNumberOfLines) {
-            final int syncedFailedTargetCount = totalNumberOfLines - successfullTargetCount;
-            managementUIState.getTargetTableFilters().getBulkUpload().setSucessfulUploadCount(successfullTargetCount);
-            managementUIState.getTargetTableFilters().getBulkUpload().setFailedUploadCount(syncedFailedTargetCount);
-            managementUIState.getTargetTableFilters().getBulkUpload().setProgressBarCurrentValue(1);
-            eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_TARGET_CREATED));
-        }
+        private void importTargets(final InputStream tempStream, final long fileSize) {
+            LOG.info("Bulk file upload started");
 
-        private BigDecimal getTotalNumberOfLines() {
-            try {
-                return new BigDecimal(Files.readLines(tempFile, Charset.defaultCharset(), new LineProcessor<Integer>() {
-                    private int count;
+            /**
+             * Once control is in upload succeeded method automatically upload
+             * button is re-enabled. To disable the button firing below event.
+             */
+            eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_UPLOAD_PROCESS_STARTED));
 
-                    @Override
-                    public Integer getResult() {
-                        return count;
-                    }
+            final List<Long> tagIds = new ArrayList<>();
+            final String tagAssignmentFailedMsg = getExistingTags(tagIds);
+            final Long dsSelected = (Long) comboBox.getValue();
+            final boolean dsExists = dsSelected != null && distributionSetManagement.get(dsSelected).isPresent();
+            final String dsAssignmentFailedMsg = dsSelected != null && !dsExists
+                    ? i18n.getMessage("message.bulk.upload.assignment.failed")
+                    : null;
 
-                    @Override
-                    public boolean processLine(final String line) {
-                        count++;
-                        return true;
-                    }
-                }));
+            final TargetImportRequest request = TargetImportManagement.importRequest(Format.CSV)
+                    .setDescription(descTextArea.getValue()).setTagIds(tagIds)
+                    .setDistributionSetId(dsExists ? dsSelected : null).setActionType(ActionType.FORCED)
+                    .setForceTime(new Date().getTime()).build();
 
-            } catch (final IOException e) {
-                LOG.error("Error while reading temp file for upload.", e);
+            try {
+                final TargetImportJob job = targetImportManagement.importTargets(tempStream, request,
+                        progress -> updateProgress(progress, fileSize));
+                syncCountAfterUpload(job);
+                if (job.getCreated() > 0) {
+                    displayValidationMessage(new StringBuilder(), dsAssignmentFailedMsg, tagAssignmentFailedMsg);
+                }
+            } catch (final RuntimeException e) {
+                uiInstance.getErrorHandler().error(new ConnectorErrorEvent(uiInstance, e));
             }
 
-            return new BigDecimal(0);
+            eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_UPLOAD_COMPLETED));
+            managementUIState.getTargetTableFilters().getBulkUpload().getTargetsCreated().clear();
         }
 
-        private void resetSuccessfullTargetCount() {
-            successfullTargetCount = 0;
+        private void syncCountAfterUpload(final TargetImportJob job) {
+            managementUIState.getTargetTableFilters().getBulkUpload().setSucessfulUploadCount((int) job.getCreated());
+            managementUIState.getTargetTableFilters().getBulkUpload()
+                    .setFailedUploadCount((int) (job.getProcessed() - job.getCreated()));
+            managementUIState.getTargetTableFilters().getBulkUpload().setProgressBarCurrentValue(1);
+            eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_TARGET_CREATED));
         }
 
         private void deleteFile() {
@@ -263,68 +225,35 @@ public class BulkUploadHandler extends CustomComponent
             tempFile = null;
         }
 
-        private void readLine(final String line, final int lineNumber, final BigDecimal totalNumberOfLines) {
-            final List<String> targets = SPLITTER.splitToList(line);
-            if (targets.size() == 2) {
-                final String controllerId = targets.get(0);
-                final String targetName = targets.get(1);
-                addNewTarget(controllerId, targetName);
+        private void updateProgress(final TargetImportJob progress, final long fileSize) {
+            if (fileSize <= 0) {
+                return;
             }
 
             final float previous = managementUIState.getTargetTableFilters().getBulkUpload()
                     .getProgressBarCurrentValue();
-            final float done = new BigDecimal(lineNumber).divide(totalNumberOfLines, 2, RoundingMode.UP).floatValue();
+            final float done = new BigDecimal(Math.min(progress.getBytesRead(), fileSize))
+                    .divide(new BigDecimal(fileSize), 2, RoundingMode.UP).floatValue();
 
             if (done > previous) {
                 managementUIState.getTargetTableFilters().getBulkUpload()
-                        .setSucessfulUploadCount(successfullTargetCount);
+                        .setSucessfulUploadCount((int) progress.getCreated());
                 managementUIState.getTargetTableFilters().getBulkUpload().setProgressBarCurrentValue(done);
                 eventBus.publish(this, new TargetTableEvent(TargetComponentEvent.BULK_TARGET_CREATED));
             }
         }
 
-        private void doAssignments() {
-            final StringBuilder errorMessage = new StringBuilder();
-            String dsAssignmentFailedMsg = null;
-            String tagAssignmentFailedMsg = null;
-            if (ifTargetsCreatedSuccessfully()) {
-                if (targetBulkTokenTags.isTagSelectedForAssignment()) {
-                    tagAssignmentFailedMsg = tagAssignment();
-                }
-                if (ifDsSelected()) {
-                    dsAssignmentFailedMsg = saveAllAssignments();
-                }
-            }
-            displayValidationMessage(errorMessage, dsAssignmentFailedMsg, tagAssignmentFailedMsg);
-        }
-
-        private String saveAllAssignments() {
-            final ActionType actionType = ActionType.FORCED;
-            final long forcedTimeStamp = new Date().getTime();
-            final TargetBulkUpload targetBulkUpload = managementUIState.getTargetTableFilters().getBulkUpload();
-            final List<String> targetIds = targetBulkUpload.getTargetsCreated();
-            final Long dsSelected = (Long) comboBox.getValue();
-            if (!distributionSetManagement.get(dsSelected).isPresent()) {
-                return i18n.getMessage("message.bulk.upload.assignment.failed");
+        private String getExistingTags(final List<Long> tagIds) {
+            if (!targetBulkTokenTags.isTagSelectedForAssignment()) {
+                return null;
             }
-            final List<DeploymentRequest> deploymentRequests = targetIds.stream()
-                    .map(targetId -> DeploymentManagement
-                            .deploymentRequest(targetId, targetBulkUpload.getDsNameAndVersion())
-                            .setActionType(actionType).setForceTime(forcedTimeStamp).build())
-                    .collect(Collectors.toList());
-            deploymentManagement.assignDistributionSets(deploymentRequests);
-            return null;
-        }
 
-        private String tagAssignment() {
             final List<String> deletedTags = new ArrayList<>();
             for (final TagData tagData : targetBulkTokenTags.getSelectedTagsForAssignment()) {
-                if (!tagManagement.get(tagData.getId()).isPresent()) {
-                    deletedTags.add(tagData.getName());
+                if (tagManagement.get(tagData.getId()).isPresent()) {
+                    tagIds.add(tagData.getId());
                 } else {
-                    targetManagement.toggleTagAssignment(
-                            managementUIState.getTargetTableFilters().getBulkUpload().getTargetsCreated(),
-                            tagData.getName());
+                    deletedTags.add(tagData.getName());
                 }
             }
             if (deletedTags.isEmpty()) {
@@ -336,14 +265,6 @@ public class BulkUploadHandler extends CustomComponent
             return i18n.getMessage("message.bulk.upload.tag.assignments.failed");
         }
 
-        private boolean ifDsSelected() {
-            return comboBox.getValue() != null;
-        }
-
-        private boolean ifTargetsCreatedSuccessfully() {
-            return !managementUIState.getTargetTableFilters().getBulkUpload().getTargetsCreated().isEmpty();
-        }
-
         private void displayValidationMessage(final StringBuilder errorMessage, final String dsAssignmentFailedMsg,
                 final String tagAssignmentFailedMsg) {
             if (dsAssignmentFailedMsg != null) {
@@ -359,25 +280,6 @@ public class BulkUploadHandler extends CustomComponent
                 eventBus.publish(this, new BulkUploadValidationMessageEvent(errorMessage.toString()));
             }
         }
-
-        // Exception squid:S1166 - Targets that exist already are simply ignored
-        @SuppressWarnings("squid:S1166")
-        private void addNewTarget(final String controllerId, final String name) {
-            final String newControllerId = controllerId;
-            final String description = descTextArea.getValue();
-
-            try {
-                targetManagement.create(entityFactory.target().create().controllerId(newControllerId).name(name)
-                        .description(description));
-
-                managementUIState.getTargetTableFilters().getBulkUpload().getTargetsCreated().add(newControllerId);
-                successfullTargetCount++;
-
-            } catch (final EntityAlreadyExistsException ex) {
-                // Targets that exist already are simply ignored
-                LOG.info("Entity {} - {} already exists and will be ignored", newControllerId, name);
-            }
-        }
     }
 
     /**
@@ -11,10 +11,8 @@ package org.eclipse.hawkbit.ui.management.targettable;
 import java.util.Map;
 import java.util.concurrent.Executor;
 
-import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
-import org.eclipse.hawkbit.repository.EntityFactory;
-import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.ui.SpPermissionChecker;
@@ -65,12 +63,10 @@ import com.vaadin.ui.themes.ValoTheme;
 public class TargetBulkUpdateWindowLayout extends CustomComponent {
     private final VaadinMessageSource i18n;
 
-    private final transient TargetManagement targetManagement;
+    private final transient TargetImportManagement targetImportManagement;
     private final transient DistributionSetManagement distributionSetManagement;
     private final transient TargetTagManagement tagManagement;
 
-    private final transient EntityFactory entityFactory;
-
     private final transient Executor uiExecutor;
 
     private final transient EventBus.UIEventBus eventBus;
@@ -79,8 +75,6 @@ public class TargetBulkUpdateWindowLayout extends CustomComponent {
 
     private final ManagementUIState managementUIState;
 
-    private final transient DeploymentManagement deploymentManagement;
-
     private final UiProperties uiproperties;
 
     private static final long serialVersionUID = -6659290471705262389L;
@@ -97,23 +91,21 @@ public class TargetBulkUpdateWindowLayout extends CustomComponent {
     private Button minimizeButton;
     private Button closeButton;
 
-    TargetBulkUpdateWindowLayout(final VaadinMessageSource i18n, final TargetManagement targetManagement,
-            final UIEventBus eventBus, final ManagementUIState managementUIState,
-            final DeploymentManagement deploymentManagement, final UiProperties uiproperties,
+    TargetBulkUpdateWindowLayout(final VaadinMessageSource i18n,
+            final TargetImportManagement targetImportManagement, final UIEventBus eventBus,
+            final ManagementUIState managementUIState, final UiProperties uiproperties,
             final SpPermissionChecker checker, final UINotification uinotification,
             final TargetTagManagement tagManagement, final DistributionSetManagement distributionSetManagement,
-            final EntityFactory entityFactory, final Executor uiExecutor) {
+            final Executor uiExecutor) {
         this.i18n = i18n;
-        this.targetManagement = targetManagement;
+        this.targetImportManagement = targetImportManagement;
         this.eventBus = eventBus;
         this.targetBulkTokenTags = new TargetBulkTokenTags(checker, i18n, uinotification, eventBus, managementUIState,
                 tagManagement);
         this.managementUIState = managementUIState;
-        this.deploymentManagement = deploymentManagement;
         this.uiproperties = uiproperties;
         this.tagManagement = tagManagement;
         this.distributionSetManagement = distributionSetManagement;
-        this.entityFactory = entityFactory;
         this.uiExecutor = uiExecutor;
 
         createRequiredComponents();
@@ -177,9 +169,8 @@ public class TargetBulkUpdateWindowLayout extends CustomComponent {
     }
 
     private BulkUploadHandler getBulkUploadHandler() {
-        final BulkUploadHandler bulkUploadHandler = new BulkUploadHandler(this, targetManagement, tagManagement,
-                entityFactory, distributionSetManagement, managementUIState, deploymentManagement, i18n,
-                UI.getCurrent(), uiExecutor);
+        final BulkUploadHandler bulkUploadHandler = new BulkUploadHandler(this, targetImportManagement,
+                tagManagement, distributionSetManagement, managementUIState, i18n, UI.getCurrent(), uiExecutor);
         bulkUploadHandler.buildLayout();
         bulkUploadHandler.addStyleName(SPUIStyleDefinitions.BULK_UPLOAD_BUTTON);
         return bulkUploadHandler;
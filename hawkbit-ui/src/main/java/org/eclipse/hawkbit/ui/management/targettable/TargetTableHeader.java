@@ -12,9 +12,9 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Executor;
 
-import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
@@ -81,18 +81,19 @@ public class TargetTableHeader extends AbstractTableHeader {
     TargetTableHeader(final VaadinMessageSource i18n, final SpPermissionChecker permChecker, final UIEventBus eventBus,
             final UINotification notification, final ManagementUIState managementUIState,
             final ManagementViewClientCriterion managementViewClientCriterion, final TargetManagement targetManagement,
-            final DeploymentManagement deploymentManagement, final UiProperties uiproperties,
+            final UiProperties uiproperties,
             final EntityFactory entityFactory, final UINotification uiNotification,
             final TargetTagManagement tagManagement, final DistributionSetManagement distributionSetManagement,
-            final Executor uiExecutor, final TargetTable targetTable) {
+            final TargetImportManagement targetImportManagement, final Executor uiExecutor,
+            final TargetTable targetTable) {
         super(i18n, permChecker, eventBus, managementUIState, null, null);
         this.notification = notification;
         this.managementViewClientCriterion = managementViewClientCriterion;
         this.targetAddUpdateWindow = new TargetAddUpdateWindowLayout(i18n, targetManagement, eventBus, uiNotification,
                 entityFactory, targetTable);
-        this.targetBulkUpdateWindow = new TargetBulkUpdateWindowLayout(i18n, targetManagement, eventBus,
-                managementUIState, deploymentManagement, uiproperties, permChecker, uiNotification, tagManagement,
-                distributionSetManagement, entityFactory, uiExecutor);
+        this.targetBulkUpdateWindow = new TargetBulkUpdateWindowLayout(i18n, targetImportManagement, eventBus,
+                managementUIState, uiproperties, permChecker, uiNotification, tagManagement,
+                distributionSetManagement, uiExecutor);
         this.distributionSetManagement = distributionSetManagement;
         onLoadRestoreState();
     }
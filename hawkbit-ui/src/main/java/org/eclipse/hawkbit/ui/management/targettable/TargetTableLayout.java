@@ -13,6 +13,7 @@ import java.util.concurrent.Executor;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.TargetImportManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.ui.SpPermissionChecker;
@@ -42,7 +43,8 @@ public class TargetTableLayout extends AbstractTableLayout<TargetTable> {
             final ManagementViewClientCriterion managementViewClientCriterion,
             final DeploymentManagement deploymentManagement, final UiProperties uiProperties,
             final SpPermissionChecker permissionChecker, final TargetTagManagement tagManagement,
-            final DistributionSetManagement distributionSetManagement, final Executor uiExecutor) {
+            final DistributionSetManagement distributionSetManagement,
+            final TargetImportManagement targetImportManagement, final Executor uiExecutor) {
         final TargetMetadataPopupLayout targetMetadataPopupLayout = new TargetMetadataPopupLayout(i18n, uiNotification,
                 eventBus, targetManagement, entityFactory, permissionChecker);
         this.eventBus = eventBus;
@@ -50,8 +52,9 @@ public class TargetTableLayout extends AbstractTableLayout<TargetTable> {
                 tagManagement, targetManagement, targetMetadataPopupLayout, deploymentManagement, entityFactory,
                 targetTable);
         TargetTableHeader targetTableHeader = new TargetTableHeader(i18n, permissionChecker, eventBus, uiNotification,
-                managementUIState, managementViewClientCriterion, targetManagement, deploymentManagement, uiProperties,
-                entityFactory, uiNotification, tagManagement, distributionSetManagement, uiExecutor, targetTable);
+                managementUIState, managementViewClientCriterion, targetManagement, uiProperties,
+                entityFactory, uiNotification, tagManagement, distributionSetManagement, targetImportManagement,
+                uiExecutor, targetTable);
 
         super.init(i18n, targetTableHeader, targetTable, targetDetails);
     }
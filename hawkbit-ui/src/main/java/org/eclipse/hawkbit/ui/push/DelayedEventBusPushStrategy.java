@@ -11,12 +11,15 @@ package org.eclipse.hawkbit.ui.push;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.im.authentication.TenantAwareAuthenticationDetails;
@@ -66,6 +69,9 @@ public class DelayedEventBusPushStrategy implements EventPushStrategy, Applicati
     private static final Logger LOG = LoggerFactory.getLogger(DelayedEventBusPushStrategy.class);
 
     private static final int BLOCK_SIZE = 10_000;
+    private static final Set<DelayedEventBusPushStrategy> ACTIVE_STRATEGIES = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong DROPPED_EVENTS = new AtomicLong();
+
     private final BlockingDeque<TenantAwareEvent> queue = new LinkedBlockingDeque<>(BLOCK_SIZE);
 
     private final ScheduledExecutorService executorService;
@@ -111,15 +117,40 @@ public class DelayedEventBusPushStrategy implements EventPushStrategy, Applicati
 
         jobHandle = executorService.scheduleWithFixedDelay(new DispatchRunnable(vaadinUI, vaadinUI.getSession()),
                 10_000, delay, TimeUnit.MILLISECONDS);
+        ACTIVE_STRATEGIES.add(this);
     }
 
     @Override
     public void clean() {
         LOG.info("Cleanup delayed event push strategy for UI {}", vaadinUI.getUIId());
         jobHandle.cancel(true);
+        ACTIVE_STRATEGIES.remove(this);
         queue.clear();
     }
 
+    /**
+     * @return number of UIs with an initialized push strategy
+     */
+    public static int getActiveStrategies() {
+        return ACTIVE_STRATEGIES.size();
+    }
+
+    /**
+     * @return number of events that are queued by all UIs and not yet
+     *         dispatched
+     */
+    public static int getQueuedEvents() {
+        return ACTIVE_STRATEGIES.stream().mapToInt(strategy -> strategy.queue.size()).sum();
+    }
+
+    /**
+     * @return total number of events that have been dropped because the queue
+     *         of a UI was full
+     */
+    public static long getDroppedEvents() {
+        return DROPPED_EVENTS.get();
+    }
+
     private final class DispatchRunnable implements Runnable {
 
         private final UI vaadinUI;
@@ -274,6 +305,7 @@ public class DelayedEventBusPushStrategy implements EventPushStrategy, Applicati
 
     private void offerEvent(final TenantAwareEvent event) {
         if (!queue.offer(event)) {
+            DROPPED_EVENTS.incrementAndGet();
             LOG.trace("Deque limit is reached, cannot add more events!!! Dropped event is {}", event);
         }
     }